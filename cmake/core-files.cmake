@@ -265,6 +265,8 @@ set(MBGL_CORE_FILES
     # renderer/sources
     src/mbgl/renderer/sources/render_custom_geometry_source.cpp
     src/mbgl/renderer/sources/render_custom_geometry_source.hpp
+    src/mbgl/renderer/sources/render_custom_raster_source.cpp
+    src/mbgl/renderer/sources/render_custom_raster_source.hpp
     src/mbgl/renderer/sources/render_geojson_source.cpp
     src/mbgl/renderer/sources/render_geojson_source.hpp
     src/mbgl/renderer/sources/render_image_source.cpp
@@ -374,6 +376,8 @@ set(MBGL_CORE_FILES
     include/mbgl/style/types.hpp
     include/mbgl/style/undefined.hpp
     src/mbgl/style/collection.hpp
+    src/mbgl/style/custom_raster_tile_loader.cpp
+    src/mbgl/style/custom_raster_tile_loader.hpp
     src/mbgl/style/custom_tile_loader.cpp
     src/mbgl/style/custom_tile_loader.hpp
     src/mbgl/style/filter.cpp
@@ -568,6 +572,7 @@ set(MBGL_CORE_FILES
 
     # style/sources
     include/mbgl/style/sources/custom_geometry_source.hpp
+    include/mbgl/style/sources/custom_raster_source.hpp
     include/mbgl/style/sources/geojson_source.hpp
     include/mbgl/style/sources/image_source.hpp
     include/mbgl/style/sources/raster_dem_source.hpp
@@ -576,6 +581,9 @@ set(MBGL_CORE_FILES
     src/mbgl/style/sources/custom_geometry_source.cpp
     src/mbgl/style/sources/custom_geometry_source_impl.cpp
     src/mbgl/style/sources/custom_geometry_source_impl.hpp
+    src/mbgl/style/sources/custom_raster_source.cpp
+    src/mbgl/style/sources/custom_raster_source_impl.cpp
+    src/mbgl/style/sources/custom_raster_source_impl.hpp
     src/mbgl/style/sources/geojson_source.cpp
     src/mbgl/style/sources/geojson_source_impl.cpp
     src/mbgl/style/sources/geojson_source_impl.hpp
@@ -625,6 +633,8 @@ set(MBGL_CORE_FILES
     include/mbgl/tile/tile_necessity.hpp
     src/mbgl/tile/custom_geometry_tile.cpp
     src/mbgl/tile/custom_geometry_tile.hpp
+    src/mbgl/tile/custom_raster_tile.cpp
+    src/mbgl/tile/custom_raster_tile.hpp
     src/mbgl/tile/geojson_tile.cpp
     src/mbgl/tile/geojson_tile.hpp
     src/mbgl/tile/geojson_tile_data.hpp
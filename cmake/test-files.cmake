@@ -121,6 +121,7 @@ set(MBGL_TEST_FILES
 
     # tile
     test/tile/custom_geometry_tile.test.cpp
+    test/tile/custom_raster_tile.test.cpp
     test/tile/geojson_tile.test.cpp
     test/tile/geometry_tile_data.test.cpp
     test/tile/raster_dem_tile.test.cpp
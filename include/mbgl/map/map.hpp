@@ -14,6 +14,7 @@
 #include <string>
 #include <functional>
 #include <vector>
+#include <utility>
 #include <memory>
 
 namespace mbgl {
@@ -142,6 +143,8 @@ public:
     // Projection
     ScreenCoordinate pixelForLatLng(const LatLng&) const;
     LatLng latLngForPixel(const ScreenCoordinate&) const;
+    std::vector<ScreenCoordinate> pixelsForLatLngs(const std::vector<LatLng>&) const;
+    std::vector<LatLng> latLngsForPixels(const std::vector<ScreenCoordinate>&) const;
 
     // Annotations
     void addAnnotationImage(std::unique_ptr<style::Image>);
@@ -150,6 +153,9 @@ public:
 
     AnnotationID addAnnotation(const Annotation&);
     void updateAnnotation(AnnotationID, const Annotation&);
+    void updateAnnotations(const std::vector<std::pair<AnnotationID, Annotation>>&);
+    // Appends points to a line annotation, without re-tiling the parts of the line that were added before.
+    void appendAnnotationPoints(AnnotationID, const LineString<double>&);
     void removeAnnotation(AnnotationID);
 
     // Tile prefetching
@@ -6,6 +6,11 @@
 #include <mbgl/util/range.hpp>
 #include <mbgl/util/constants.hpp>
 
+#include <memory>
+#include <string>
+#include <utility>
+#include <vector>
+
 namespace mbgl {
 
 class OverscaledTileID;
@@ -40,6 +45,11 @@ public:
     ~CustomGeometrySource() final;
     void loadDescription(FileSource&) final;
     void setTileData(const CanonicalTileID&, const GeoJSON&);
+    // Sets the data of several tiles in a single update of the tile loader
+    void setTileData(std::vector<std::pair<CanonicalTileID, GeoJSON>>);
+    // Sets the data of a tile to an encoded Mapbox Vector Tile, which is used as is. Style layers without
+    // a source layer use the first layer of the tile. Tile options don't apply to this data.
+    void setVectorTileData(const CanonicalTileID&, std::shared_ptr<const std::string>);
     void invalidateTile(const CanonicalTileID&);
     void invalidateRegion(const LatLngBounds&);
     // Private implementation
@@ -0,0 +1,52 @@
+#pragma once
+
+#include <mbgl/style/source.hpp>
+#include <mbgl/style/sources/custom_geometry_source.hpp>
+#include <mbgl/util/geo.hpp>
+#include <mbgl/util/image.hpp>
+#include <mbgl/util/range.hpp>
+#include <mbgl/util/constants.hpp>
+
+#include <memory>
+
+namespace mbgl {
+
+class CanonicalTileID;
+template <class T>
+class Actor;
+
+namespace style {
+
+class CustomRasterTileLoader;
+
+// Raster source whose tiles are provided by the application, see CustomGeometrySource.
+class CustomRasterSource : public Source {
+public:
+    struct Options {
+        TileFunction fetchTileFunction;
+        TileFunction cancelTileFunction;
+        Range<uint8_t> zoomRange = { 0, 22 };
+        uint16_t tileSize = util::tileSize;
+    };
+public:
+    CustomRasterSource(std::string id, CustomRasterSource::Options options);
+    ~CustomRasterSource() final;
+    void loadDescription(FileSource&) final;
+    // Sets the image of a tile, a null image leaves the tile empty
+    void setTileData(const CanonicalTileID&, std::shared_ptr<PremultipliedImage>);
+    void invalidateTile(const CanonicalTileID&);
+    void invalidateRegion(const LatLngBounds&);
+    // Private implementation
+    class Impl;
+    const Impl& impl() const;
+private:
+    std::unique_ptr<Actor<CustomRasterTileLoader>> loader;
+};
+
+template <>
+inline bool Source::is<CustomRasterSource>() const {
+    return getType() == SourceType::CustomRaster;
+}
+
+} // namespace style
+} // namespace mbgl
@@ -25,6 +25,8 @@ struct GeoJSONOptions {
     uint8_t clusterMaxZoom = 17;
 };
 
+class GeoJSONData;
+
 class GeoJSONSource : public Source {
 public:
     GeoJSONSource(const std::string& id, const GeoJSONOptions& = {});
@@ -33,6 +35,11 @@ public:
     void setURL(const std::string& url);
     void setGeoJSON(const GeoJSON&);
 
+    // Tiles the GeoJSON once, the result can be set on any number of sources, including sources
+    // of different maps. The options should match the options of the sources it is set on.
+    static std::shared_ptr<GeoJSONData> createData(const GeoJSON&, const GeoJSONOptions& = {});
+    void setGeoJSONData(std::shared_ptr<GeoJSONData>);
+
     optional<std::string> getURL() const;
 
     class Impl;
@@ -1,21 +1,33 @@
 package com.mapbox.mapboxsdk.annotations;
 
+import com.mapbox.mapboxsdk.constants.GeometryConstants;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Multipoint is an abstract annotation for combining geographical locations.
+ * <p>
+ * The points are stored as interleaved longitude/latitude pairs, which is also how they are transferred to the map.
+ * For large geometries, {@link #setPoints(double[])} and {@link #setPoints(DoubleBuffer)} avoid creating a
+ * {@link LatLng} object per point.
+ * </p>
  */
 public abstract class BasePointCollection extends Annotation {
 
-  private List<LatLng> points;
+  private static final int MIN_CAPACITY = 16;
+
+  // interleaved longitude/latitude pairs, read by native
+  private double[] coordinates;
+  private int pointCount;
   private float alpha = 1.0f;
 
   protected BasePointCollection() {
     super();
-    points = new ArrayList<>();
+    coordinates = new double[0];
   }
 
   /**
@@ -24,32 +36,113 @@ public abstract class BasePointCollection extends Annotation {
    * @return A {@link List} of points.
    */
   public List<LatLng> getPoints() {
-    return new ArrayList<>(points);
+    List<LatLng> points = new ArrayList<>(pointCount);
+    for (int i = 0; i < pointCount; i++) {
+      points.add(new LatLng(coordinates[i * 2 + 1], coordinates[i * 2]));
+    }
+    return points;
   }
 
   /**
-   * Sets the points of this polyline. This method will take a copy of the points, so further
-   * mutations to points will have no effect on this polyline.
+   * Returns a copy of the points as interleaved longitude/latitude pairs.
    *
-   * @param points A {@link List} of {@link LatLng} points making up the polyline.
+   * @return an array holding two values for every point
+   */
+  public double[] getCoordinates() {
+    return Arrays.copyOf(coordinates, pointCount * 2);
+  }
+
+  /**
+   * Returns a copy of the points from the given index on as interleaved longitude/latitude pairs.
+   *
+   * @param fromPoint the index of the first point
+   * @return an array holding two values for every point from the given index on
+   */
+  public double[] getCoordinates(int fromPoint) {
+    if (fromPoint < 0 || fromPoint > pointCount) {
+      throw new IndexOutOfBoundsException("Point " + fromPoint + " out of range, point count is " + pointCount);
+    }
+    return Arrays.copyOfRange(coordinates, fromPoint * 2, pointCount * 2);
+  }
+
+  /**
+   * Returns the amount of points.
+   *
+   * @return the point count
+   */
+  public int getPointCount() {
+    return pointCount;
+  }
+
+  /**
+   * Sets the points of this shape. This method will take a copy of the points, so further
+   * mutations to points will have no effect on this shape.
+   *
+   * @param points A {@link List} of {@link LatLng} points making up the shape.
    */
   public void setPoints(List<LatLng> points) {
-    this.points = new ArrayList<>(points);
+    pointCount = 0;
+    ensureCapacity(points.size());
+    for (LatLng point : points) {
+      appendPoint(point);
+    }
+    update();
+  }
+
+  /**
+   * Sets the points of this shape from interleaved longitude/latitude pairs. This method will take a copy of the
+   * coordinates, so further mutations to the array will have no effect on this shape.
+   *
+   * @param lonLat the coordinates, two values for every point
+   * @throws IllegalArgumentException if the values aren't pairs or a point is not a valid {@link LatLng}
+   */
+  public void setPoints(double[] lonLat) {
+    DoubleBuffer buffer = DoubleBuffer.wrap(lonLat);
+    checkCoordinates(buffer);
+    pointCount = 0;
+    appendCoordinates(buffer);
     update();
   }
 
   /**
-   * Add a point to the polyline.
+   * Sets the points of this shape from the remaining interleaved longitude/latitude pairs of a buffer. This method
+   * will take a copy of the coordinates and does not change the position of the buffer.
+   *
+   * @param lonLat the coordinates, two values for every point
+   * @throws IllegalArgumentException if the values aren't pairs or a point is not a valid {@link LatLng}
+   */
+  public void setPoints(DoubleBuffer lonLat) {
+    checkCoordinates(lonLat);
+    pointCount = 0;
+    appendCoordinates(lonLat);
+    update();
+  }
+
+  /**
+   * Add a point to the shape.
    *
    * @param point A {@link LatLng} point to be added.
    */
   public void addPoint(LatLng point) {
-    points.add(point);
-    update();
+    ensureCapacity(pointCount + 1);
+    appendPoint(point);
+    pointsAppended(pointCount - 1);
+  }
+
+  /**
+   * Add points to the shape.
+   *
+   * @param lonLat the coordinates to be added, two values for every point
+   * @throws IllegalArgumentException if the values aren't pairs or a point is not a valid {@link LatLng}
+   */
+  public void addPoints(double[] lonLat) {
+    int firstPoint = pointCount;
+    appendCoordinates(DoubleBuffer.wrap(lonLat));
+    pointsAppended(firstPoint);
   }
 
   /**
-   * Value between 0 and 1 defining the polyline alpha.
+   * Value between 0 and 1 defining the shape alpha.
    *
    * @return float value between 0 and 1.
    */
@@ -67,5 +160,62 @@ public abstract class BasePointCollection extends Annotation {
     update();
   }
 
+  /**
+   * Appends interleaved longitude/latitude pairs without updating the map.
+   */
+  void appendCoordinates(DoubleBuffer lonLat) {
+    checkCoordinates(lonLat);
+    int length = lonLat.remaining();
+    ensureCapacity(pointCount + length / 2);
+    lonLat.duplicate().get(coordinates, pointCount * 2, length);
+    pointCount += length / 2;
+  }
+
+  private static void checkCoordinates(DoubleBuffer lonLat) {
+    int length = lonLat.remaining();
+    if (length % 2 != 0) {
+      throw new IllegalArgumentException("Coordinates must be longitude/latitude pairs, got " + length + " values");
+    }
+    // same checks as LatLng, so getPoints() can't fail on stored coordinates
+    int position = lonLat.position();
+    for (int i = 0; i < length; i += 2) {
+      double longitude = lonLat.get(position + i);
+      double latitude = lonLat.get(position + i + 1);
+      if (Double.isNaN(longitude)) {
+        throw new IllegalArgumentException("longitude must not be NaN, point " + i / 2);
+      }
+      if (Double.isInfinite(longitude)) {
+        throw new IllegalArgumentException("longitude must not be infinite, point " + i / 2);
+      }
+      if (Double.isNaN(latitude)) {
+        throw new IllegalArgumentException("latitude must not be NaN, point " + i / 2);
+      }
+      if (Math.abs(latitude) > GeometryConstants.MAX_LATITUDE) {
+        throw new IllegalArgumentException("latitude must be between -90 and 90, point " + i / 2);
+      }
+    }
+  }
+
+  private void appendPoint(LatLng point) {
+    coordinates[pointCount * 2] = point.getLongitude();
+    coordinates[pointCount * 2 + 1] = point.getLatitude();
+    pointCount++;
+  }
+
+  private void ensureCapacity(int points) {
+    if (coordinates.length >= points * 2) {
+      return;
+    }
+    int capacity = Math.max(MIN_CAPACITY, Math.max(points, pointCount + (pointCount >> 1)));
+    coordinates = Arrays.copyOf(coordinates, capacity * 2);
+  }
+
+  /**
+   * Called when points were added to the end, updates the whole annotation unless overridden.
+   */
+  void pointsAppended(int firstPoint) {
+    update();
+  }
+
   abstract void update();
 }
@@ -0,0 +1,56 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+
+/**
+ * Marker shown in place of a group of nearby clustered markers.
+ * <p>
+ * Cluster markers are created by the map for markers added with
+ * {@link MapboxMap#setClusteredMarkers(java.util.List, com.mapbox.mapboxsdk.style.sources.ClusterOptions)} and are
+ * passed to {@link MapboxMap.OnMarkerClickListener} when tapped. The markers in a cluster can be retrieved with
+ * {@link MapboxMap#getClusterLeaves(ClusterMarker, int, int)}.
+ * </p>
+ */
+public class ClusterMarker extends Marker {
+
+  private final long clusterId;
+  private final int pointCount;
+
+  /**
+   * Do not use this constructor, cluster markers are created internally by the SDK.
+   *
+   * @param position   the position of the cluster
+   * @param icon       the icon showing the cluster
+   * @param clusterId  the id of the cluster in its cluster index
+   * @param pointCount the amount of markers in the cluster
+   */
+  public ClusterMarker(LatLng position, Icon icon, long clusterId, int pointCount) {
+    super(position, icon, null, null);
+    this.clusterId = clusterId;
+    this.pointCount = pointCount;
+  }
+
+  /**
+   * Returns the id of the cluster, stable for as long as the clustered markers don't change.
+   *
+   * @return the cluster id
+   */
+  public long getClusterId() {
+    return clusterId;
+  }
+
+  /**
+   * Returns the amount of markers in this cluster.
+   *
+   * @return the marker count
+   */
+  public int getPointCount() {
+    return pointCount;
+  }
+
+  @Override
+  public String toString() {
+    return "ClusterMarker [position[" + getPosition() + "], pointCount[" + pointCount + "]]";
+  }
+}
@@ -30,7 +30,8 @@ public class Marker extends Annotation {
   private LatLng position;
   private String snippet;
   private Icon icon;
-  //Redundantly stored for JNI access
+  // Id of the image shown on the map, equal to the icon id unless an identical image was loaded before.
+  // Stored for JNI access
   private String iconId;
   private String title;
 
@@ -145,7 +146,6 @@ public class Marker extends Annotation {
    */
   public void setIcon(@Nullable Icon icon) {
     this.icon = icon;
-    this.iconId = icon != null ? icon.getId() : null;
     MapboxMap map = getMapboxMap();
     if (map != null) {
       map.updateMarker(this);
@@ -252,6 +252,24 @@ public class Marker extends Annotation {
     this.topOffsetPixels = topOffsetPixels;
   }
 
+  /**
+   * Do not use this method, used internally by the SDK.
+   *
+   * @param iconId the id of the image on the map showing the icon.
+   */
+  public void setIconId(String iconId) {
+    this.iconId = iconId;
+  }
+
+  /**
+   * Do not use this method, used internally by the SDK.
+   *
+   * @return the id of the image on the map showing the icon.
+   */
+  public String getIconId() {
+    return iconId;
+  }
+
   /**
    * Do not use this method, used internally by the SDK.
    *
@@ -14,16 +14,23 @@ import android.view.ViewTreeObserver;
 import android.widget.ImageView;
 
 import com.mapbox.mapboxsdk.R;
+import com.mapbox.mapboxsdk.constants.GeometryConstants;
 import com.mapbox.mapboxsdk.constants.MapboxConstants;
+import com.mapbox.mapboxsdk.geometry.LatLng;
 import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.maps.Projection;
 import com.mapbox.mapboxsdk.utils.AnimatorUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface for interacting with ViewMarkers objects inside of a MapView.
@@ -36,6 +43,10 @@ import java.util.Map;
 @Deprecated
 public class MarkerViewManager implements MapView.OnMapChangedListener {
 
+  private static final int DEFAULT_MAX_POOLED_VIEWS = 32;
+  // part of the visible span added on every side before culling, keeps views of markers near the edge positioned
+  private static final float CULLING_PADDING = 0.25f;
+
   private final ViewGroup markerViewContainer;
   private final ViewTreeObserver.OnPreDrawListener markerViewPreDrawObserver =
     new ViewTreeObserver.OnPreDrawListener() {
@@ -49,6 +60,9 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
   private final Map<MarkerView, View> markerViewMap = new HashMap<>();
   private final LongSparseArray<OnMarkerViewAddedListener> markerViewAddedListenerMap = new LongSparseArray<>();
   private final List<MapboxMap.MarkerViewAdapter> markerViewAdapters = new ArrayList<>();
+  private final List<MarkerView> projectedMarkers = new ArrayList<>();
+  private final Set<MarkerView> nearbyMarkers = new HashSet<>();
+  private final RectF cullingRect = new RectF();
 
   // TODO refactor MapboxMap out for Projection and Transform
   // Requires removing MapboxMap from Annotations by using Peer model from #6912
@@ -58,6 +72,11 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
   private long updateTime;
   private MapboxMap.OnMarkerViewClickListener onMarkerViewClickListener;
   private boolean isWaitingForRenderInvoke;
+  private int maxMarkerViews = Integer.MAX_VALUE;
+  private int maxPooledViews = DEFAULT_MAX_POOLED_VIEWS;
+  private int pooledViewCount;
+  private double[] positions = new double[0];
+  private float[] screenLocations = new float[0];
 
   /**
    * Creates an instance of MarkerViewManager.
@@ -101,6 +120,37 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     isWaitingForRenderInvoke = waitingForRenderInvoke;
   }
 
+  /**
+   * Sets the maximum amount of MarkerViews that have a View at the same time.
+   * <p>
+   * When more MarkerViews are found in the viewport, selected MarkerViews and the ones closest to the center of the
+   * map are shown. By default there is no limit.
+   * </p>
+   *
+   * @param maxMarkerViews the maximum amount of shown MarkerViews
+   */
+  public void setMaxMarkerViews(int maxMarkerViews) {
+    if (maxMarkerViews < 0) {
+      throw new IllegalArgumentException("Maximum amount of MarkerViews must not be negative");
+    }
+    this.maxMarkerViews = maxMarkerViews;
+  }
+
+  /**
+   * Sets the maximum amount of Views that are kept for reuse, shared by all MarkerViewAdapters.
+   * <p>
+   * Views that are released while the limit is reached are removed from the map instead. Defaults to 32.
+   * </p>
+   *
+   * @param maxPooledViews the maximum amount of Views kept for reuse
+   */
+  public void setMaxPooledViews(int maxPooledViews) {
+    if (maxPooledViews < 0) {
+      throw new IllegalArgumentException("Maximum amount of pooled Views must not be negative");
+    }
+    this.maxPooledViews = maxPooledViews;
+  }
+
   /**
    * Animate a MarkerView to a given rotation.
    * <p>
@@ -191,39 +241,94 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    * If an item is View state is not visible and its related flag is set to visible, the
    * {@link MarkerView} will be animated to visible using alpha animation.
    * </p>
+   * <p>
+   * Views of MarkerViews that moved well outside of the viewport are hidden without being positioned. These are found
+   * with {@link MapboxMap#getMarkerViewsInRect(RectF)}, which uses the marker index when it is enabled.
+   * </p>
    */
   public void updateMarkerViewsPosition() {
-    for (final MarkerView marker : markerViewMap.keySet()) {
-      final View convertView = markerViewMap.get(marker);
+    if (markerViewMap.isEmpty()) {
+      return;
+    }
+
+    final Projection projection = mapboxMap.getProjection();
+    final boolean culling = findNearbyMarkers();
+    projectedMarkers.clear();
+    for (Map.Entry<MarkerView, View> entry : markerViewMap.entrySet()) {
+      final MarkerView marker = entry.getKey();
+      final View convertView = entry.getValue();
       if (convertView != null) {
-        PointF point = mapboxMap.getProjection().toScreenLocation(marker.getPosition());
-        if (marker.getOffsetX() == MapboxConstants.UNMEASURED) {
-          // ensure view is measured first
-          // #6805 invalidate marker views to ensure convertView width and height
-          // values are properly measured and up to date
-          if (marker.getWidth() == 0 && marker.isVisible()) {
-            convertView.getViewTreeObserver().addOnPreDrawListener(markerViewPreDrawObserver);
+        if (culling && !nearbyMarkers.contains(marker)) {
+          if (convertView.getVisibility() != View.GONE) {
+            convertView.setVisibility(View.GONE);
           }
+          continue;
         }
+        projectedMarkers.add(marker);
+      }
+    }
 
-        marker.setWidth(convertView.getWidth());
-        marker.setHeight(convertView.getHeight());
+    // project all remaining markers with a single call to the map
+    int count = projectedMarkers.size();
+    if (positions.length != count * 2) {
+      positions = new double[count * 2];
+      screenLocations = new float[count * 2];
+    }
+    for (int i = 0; i < count; i++) {
+      LatLng position = projectedMarkers.get(i).getPosition();
+      positions[i * 2] = position.getLongitude();
+      positions[i * 2 + 1] = position.getLatitude();
+    }
+    projection.toScreenLocations(positions, screenLocations);
 
-        if (marker.getWidth() != 0) {
-          int x = (int) (marker.getAnchorU() * marker.getWidth());
-          int y = (int) (marker.getAnchorV() * marker.getHeight());
-          marker.setOffset(x, y);
+    for (int i = 0; i < count; i++) {
+      final MarkerView marker = projectedMarkers.get(i);
+      final View convertView = markerViewMap.get(marker);
+      if (marker.getOffsetX() == MapboxConstants.UNMEASURED) {
+        // ensure view is measured first
+        // #6805 invalidate marker views to ensure convertView width and height
+        // values are properly measured and up to date
+        if (marker.getWidth() == 0 && marker.isVisible()) {
+          convertView.getViewTreeObserver().addOnPreDrawListener(markerViewPreDrawObserver);
         }
+      }
 
-        convertView.setX(point.x - marker.getOffsetX());
-        convertView.setY(point.y - marker.getOffsetY());
+      marker.setWidth(convertView.getWidth());
+      marker.setHeight(convertView.getHeight());
 
-        // animate visibility
-        if (marker.isVisible() && convertView.getVisibility() == View.GONE) {
-          animateVisible(marker, true);
-        }
+      if (marker.getWidth() != 0) {
+        int x = (int) (marker.getAnchorU() * marker.getWidth());
+        int y = (int) (marker.getAnchorV() * marker.getHeight());
+        marker.setOffset(x, y);
+      }
+
+      convertView.setX(screenLocations[i * 2] - marker.getOffsetX());
+      convertView.setY(screenLocations[i * 2 + 1] - marker.getOffsetY());
+
+      // animate visibility
+      if (marker.isVisible() && convertView.getVisibility() == View.GONE) {
+        animateVisible(marker, true);
       }
     }
+    projectedMarkers.clear();
+  }
+
+  /**
+   * Looks up the MarkerViews in the viewport padded on every side.
+   *
+   * @return false if the viewport has no size yet and nothing should be culled
+   */
+  private boolean findNearbyMarkers() {
+    nearbyMarkers.clear();
+    float width = markerViewContainer.getWidth();
+    float height = markerViewContainer.getHeight();
+    if (width == 0 || height == 0) {
+      return false;
+    }
+    cullingRect.set(-width * CULLING_PADDING, -height * CULLING_PADDING,
+      width * (1 + CULLING_PADDING), height * (1 + CULLING_PADDING));
+    nearbyMarkers.addAll(mapboxMap.getMarkerViewsInRect(cullingRect));
+    return true;
   }
 
   /**
@@ -408,7 +513,7 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
           if (adapter.prepareViewForReuse(marker, viewHolder)) {
             // reset offset for reuse
             marker.setOffset(MapboxConstants.UNMEASURED, MapboxConstants.UNMEASURED);
-            adapter.releaseView(viewHolder);
+            releaseView(adapter, viewHolder);
           }
         }
       }
@@ -479,23 +584,32 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    * This method will remove any markers that aren't in the viewport anymore and will add new
    * ones for each found Marker in the changed viewport.
    * </p>
+   * <p>
+   * When more markers are found than allowed by {@link #setMaxMarkerViews(int)}, only the selected markers and
+   * the markers closest to the center of the map are shown.
+   * </p>
    */
   public void invalidateViewMarkersInVisibleRegion() {
     RectF mapViewRect = new RectF(0, 0, markerViewContainer.getWidth(), markerViewContainer.getHeight());
     List<MarkerView> markers = mapboxMap.getMarkerViewsInRect(mapViewRect);
+    if (markers.size() > maxMarkerViews) {
+      markers = getClosestMarkerViews(markers);
+    }
+    Set<MarkerView> shownMarkers = new HashSet<>(markers);
     View convertView;
 
     // remove old markers
-    Iterator<MarkerView> iterator = markerViewMap.keySet().iterator();
+    Iterator<Map.Entry<MarkerView, View>> iterator = markerViewMap.entrySet().iterator();
     while (iterator.hasNext()) {
-      MarkerView marker = iterator.next();
-      if (!markers.contains(marker)) {
+      Map.Entry<MarkerView, View> entry = iterator.next();
+      MarkerView marker = entry.getKey();
+      if (!shownMarkers.contains(marker)) {
         // remove marker
-        convertView = markerViewMap.get(marker);
+        convertView = entry.getValue();
         for (MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
           if (adapter.getMarkerClass().equals(marker.getClass())) {
             adapter.prepareViewForReuse(marker, convertView);
-            adapter.releaseView(convertView);
+            releaseView(adapter, convertView);
             iterator.remove();
           }
         }
@@ -509,7 +623,7 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
           if (adapter.getMarkerClass().equals(marker.getClass())) {
 
             // Inflate View
-            convertView = (View) adapter.getViewReusePool().acquire();
+            convertView = acquireView(adapter);
             final View adaptedView = adapter.getView(marker, convertView, markerViewContainer);
             if (adaptedView != null) {
               adaptedView.setRotationX(marker.getTilt());
@@ -552,6 +666,62 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
     updateMarkerViewsPosition();
   }
 
+  /**
+   * Returns the selected markers followed by the markers closest to the center of the map, up to the maximum
+   * amount of MarkerViews.
+   */
+  private List<MarkerView> getClosestMarkerViews(List<MarkerView> markers) {
+    final LatLng target = mapboxMap.getCameraPosition().target;
+    final Set<Marker> selectedMarkers = new HashSet<>(mapboxMap.getSelectedMarkers());
+    final Map<MarkerView, Double> distances = new HashMap<>(markers.size());
+    for (MarkerView marker : markers) {
+      LatLng position = marker.getPosition();
+      double latitudeDelta = position.getLatitude() - target.getLatitude();
+      double longitudeDelta = Math.abs(position.getLongitude() - target.getLongitude());
+      if (longitudeDelta > GeometryConstants.LONGITUDE_SPAN / 2) {
+        longitudeDelta = GeometryConstants.LONGITUDE_SPAN - longitudeDelta;
+      }
+      distances.put(marker, latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta);
+    }
+
+    List<MarkerView> sortedMarkers = new ArrayList<>(markers);
+    Collections.sort(sortedMarkers, new Comparator<MarkerView>() {
+      @Override
+      public int compare(MarkerView first, MarkerView second) {
+        boolean firstSelected = selectedMarkers.contains(first);
+        if (firstSelected != selectedMarkers.contains(second)) {
+          return firstSelected ? -1 : 1;
+        }
+        return Double.compare(distances.get(first), distances.get(second));
+      }
+    });
+    return sortedMarkers.subList(0, maxMarkerViews);
+  }
+
+  /**
+   * Takes a View from the reuse pool of the adapter, null if the pool is empty.
+   */
+  @Nullable
+  private View acquireView(MapboxMap.MarkerViewAdapter adapter) {
+    View view = (View) adapter.getViewReusePool().acquire();
+    if (view != null && pooledViewCount > 0) {
+      pooledViewCount--;
+    }
+    return view;
+  }
+
+  /**
+   * Hands a View back to the reuse pool of the adapter, or removes it from the map if enough Views are pooled.
+   */
+  private void releaseView(MapboxMap.MarkerViewAdapter adapter, View view) {
+    if (pooledViewCount < maxPooledViews) {
+      adapter.releaseView(view);
+      pooledViewCount++;
+    } else {
+      markerViewContainer.removeView(view);
+    }
+  }
+
   /**
    * When the provided MarkerView is clicked on by a user, we check if a custom click
    * event has been created and if not, display a InfoWindow.
@@ -583,13 +753,16 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
    */
   public void ensureInfoWindowOffset(MarkerView marker) {
     View view = null;
+    MapboxMap.MarkerViewAdapter measuringAdapter = null;
+    View pooledView = null;
     if (markerViewMap.containsKey(marker)) {
       view = markerViewMap.get(marker);
     } else {
       for (final MapboxMap.MarkerViewAdapter adapter : markerViewAdapters) {
         if (adapter.getMarkerClass().equals(marker.getClass())) {
-          View convertView = (View) adapter.getViewReusePool().acquire();
-          view = adapter.getView(marker, convertView, markerViewContainer);
+          pooledView = acquireView(adapter);
+          view = adapter.getView(marker, pooledView, markerViewContainer);
+          measuringAdapter = adapter;
           break;
         }
       }
@@ -618,6 +791,11 @@ public class MarkerViewManager implements MapView.OnMapChangedListener {
       marker.setTopOffsetPixels(infoWindowOffsetY);
       marker.setRightOffsetPixels(infoWindowOffsetX);
     }
+
+    if (pooledView != null) {
+      // only borrowed for measuring, a newly inflated view isn't part of the container and can't be pooled
+      releaseView(measuringAdapter, pooledView);
+    }
   }
 
   public ViewGroup getMarkerViewContainer() {
@@ -6,6 +6,7 @@ import android.os.Parcelable;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -112,6 +113,28 @@ public final class PolygonOptions implements Parcelable {
     return this;
   }
 
+  /**
+   * Adds vertices to the outline of the polygon being built.
+   *
+   * @param lonLat interleaved longitude/latitude pairs, two values for every vertex
+   * @return This {@link PolygonOptions} object with the given points added to the outline.
+   */
+  public PolygonOptions addAll(double[] lonLat) {
+    polygon.appendCoordinates(DoubleBuffer.wrap(lonLat));
+    return this;
+  }
+
+  /**
+   * Adds vertices to the outline of the polygon being built, the position of the buffer is not changed.
+   *
+   * @param lonLat buffer of interleaved longitude/latitude pairs, two values for every vertex
+   * @return This {@link PolygonOptions} object with the given points added to the outline.
+   */
+  public PolygonOptions addAll(DoubleBuffer lonLat) {
+    polygon.appendCoordinates(lonLat);
+    return this;
+  }
+
   /**
    * Adds a hole to the outline of the polygon being built.
    *
@@ -6,6 +6,11 @@ import com.mapbox.mapboxsdk.maps.MapboxMap;
 
 /**
  * Polyline is a geometry feature with an unclosed list of coordinates drawn as a line
+ * <p>
+ * Points added with {@link #addPoint(com.mapbox.mapboxsdk.geometry.LatLng)} or {@link #addPoints(double[])} are
+ * appended to the line on the map, without sending the existing points again. This keeps the cost of recording a
+ * live track constant per point.
+ * </p>
  */
 public final class Polyline extends BasePointCollection {
 
@@ -54,6 +59,14 @@ public final class Polyline extends BasePointCollection {
     update();
   }
 
+  @Override
+  void pointsAppended(int firstPoint) {
+    MapboxMap mapboxMap = getMapboxMap();
+    if (mapboxMap != null) {
+      mapboxMap.appendPolylinePoints(this, firstPoint);
+    }
+  }
+
   @Override
   void update() {
     MapboxMap mapboxMap = getMapboxMap();
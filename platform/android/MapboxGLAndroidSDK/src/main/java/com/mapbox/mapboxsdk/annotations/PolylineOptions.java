@@ -5,6 +5,7 @@ import android.os.Parcelable;
 
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -108,6 +109,28 @@ public final class PolylineOptions implements Parcelable {
     return this;
   }
 
+  /**
+   * Adds vertices to the end of the polyline being built.
+   *
+   * @param lonLat interleaved longitude/latitude pairs, two values for every vertex
+   * @return This {@link PolylineOptions} object with the given points on the end.
+   */
+  public PolylineOptions addAll(double[] lonLat) {
+    polyline.appendCoordinates(DoubleBuffer.wrap(lonLat));
+    return this;
+  }
+
+  /**
+   * Adds vertices to the end of the polyline being built, the position of the buffer is not changed.
+   *
+   * @param lonLat buffer of interleaved longitude/latitude pairs, two values for every vertex
+   * @return This {@link PolylineOptions} object with the given points on the end.
+   */
+  public PolylineOptions addAll(DoubleBuffer lonLat) {
+    polyline.appendCoordinates(lonLat);
+    return this;
+  }
+
   /**
    * Set the alpha value of the polyline.
    *
@@ -29,9 +29,9 @@ class AnnotationContainer implements Annotations {
 
   @Override
   public List<Annotation> obtainAll() {
-    List<Annotation> annotations = new ArrayList<>();
+    List<Annotation> annotations = new ArrayList<>(this.annotations.size());
     for (int i = 0; i < this.annotations.size(); i++) {
-      annotations.add(this.annotations.get(this.annotations.keyAt(i)));
+      annotations.add(this.annotations.valueAt(i));
     }
     return annotations;
   }
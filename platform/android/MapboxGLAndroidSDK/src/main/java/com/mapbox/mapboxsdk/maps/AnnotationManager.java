@@ -14,6 +14,7 @@ import com.mapbox.mapboxsdk.R;
 import com.mapbox.mapboxsdk.annotations.Annotation;
 import com.mapbox.mapboxsdk.annotations.BaseMarkerOptions;
 import com.mapbox.mapboxsdk.annotations.BaseMarkerViewOptions;
+import com.mapbox.mapboxsdk.annotations.ClusterMarker;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.MarkerView;
 import com.mapbox.mapboxsdk.annotations.MarkerViewManager;
@@ -21,6 +22,7 @@ import com.mapbox.mapboxsdk.annotations.Polygon;
 import com.mapbox.mapboxsdk.annotations.PolygonOptions;
 import com.mapbox.mapboxsdk.annotations.Polyline;
 import com.mapbox.mapboxsdk.annotations.PolylineOptions;
+import com.mapbox.mapboxsdk.style.sources.ClusterOptions;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,12 +44,17 @@ class AnnotationManager {
 
   private static final long NO_ANNOTATION_ID = -1;
 
+  private final NativeMapView nativeMapView;
   private final MapView mapView;
   private final IconManager iconManager;
   private final InfoWindowManager infoWindowManager = new InfoWindowManager();
   private final MarkerViewManager markerViewManager;
   private final LongSparseArray<Annotation> annotationsArray;
   private final List<Marker> selectedMarkers = new ArrayList<>();
+  private final LongSparseArray<Annotation> pendingUpdates = new LongSparseArray<>();
+  private int updateDepth;
+  private MarkerIndex markerIndex;
+  private MarkerClusterManager markerClusterManager;
 
   private MapboxMap mapboxMap;
   private MapboxMap.OnMarkerClickListener onMarkerClickListener;
@@ -63,6 +70,7 @@ class AnnotationManager {
   AnnotationManager(NativeMapView view, MapView mapView, LongSparseArray<Annotation> annotationsArray,
                     MarkerViewManager markerViewManager, IconManager iconManager, Annotations annotations,
                     Markers markers, Polygons polygons, Polylines polylines, ShapeAnnotations shapeAnnotations) {
+    this.nativeMapView = view;
     this.mapView = mapView;
     this.annotationsArray = annotationsArray;
     this.markerViewManager = markerViewManager;
@@ -89,6 +97,9 @@ class AnnotationManager {
   void update() {
     markerViewManager.update();
     infoWindowManager.update();
+    if (markerClusterManager != null) {
+      markerClusterManager.update();
+    }
   }
 
   //
@@ -104,6 +115,15 @@ class AnnotationManager {
   }
 
   void removeAnnotation(long id) {
+    Annotation annotation = annotationsArray.get(id);
+    if (annotation != null) {
+      // clean up the marker icon and views as well
+      removeAnnotation(annotation);
+      return;
+    }
+    if (markerIndex != null) {
+      markerIndex.remove(id);
+    }
     annotations.removeBy(id);
   }
 
@@ -119,7 +139,10 @@ class AnnotationManager {
         markerViewManager.removeMarkerView((MarkerView) marker);
       } else {
         // do icon cleanup
-        iconManager.iconCleanup(marker.getIcon());
+        iconManager.iconCleanup(marker);
+      }
+      if (markerIndex != null) {
+        markerIndex.remove(marker.getId());
       }
     }
     annotations.removeBy(annotation);
@@ -137,7 +160,10 @@ class AnnotationManager {
         if (marker instanceof MarkerView) {
           markerViewManager.removeMarkerView((MarkerView) marker);
         } else {
-          iconManager.iconCleanup(marker.getIcon());
+          iconManager.iconCleanup(marker);
+        }
+        if (markerIndex != null) {
+          markerIndex.remove(marker.getId());
         }
       }
     }
@@ -145,6 +171,7 @@ class AnnotationManager {
   }
 
   void removeAnnotations() {
+    removeClusteredMarkers();
     Annotation annotation;
     int count = annotationsArray.size();
     long[] ids = new long[count];
@@ -158,10 +185,13 @@ class AnnotationManager {
         if (marker instanceof MarkerView) {
           markerViewManager.removeMarkerView((MarkerView) marker);
         } else {
-          iconManager.iconCleanup(marker.getIcon());
+          iconManager.iconCleanup(marker);
         }
       }
     }
+    if (markerIndex != null) {
+      markerIndex.clear();
+    }
     annotations.removeAll();
   }
 
@@ -170,11 +200,21 @@ class AnnotationManager {
   //
 
   Marker addMarker(@NonNull BaseMarkerOptions markerOptions, @NonNull MapboxMap mapboxMap) {
-    return markers.addBy(markerOptions, mapboxMap);
+    Marker marker = markers.addBy(markerOptions, mapboxMap);
+    indexMarker(marker);
+    return marker;
   }
 
   List<Marker> addMarkers(@NonNull List<? extends BaseMarkerOptions> markerOptionsList, @NonNull MapboxMap mapboxMap) {
-    return markers.addBy(markerOptionsList, mapboxMap);
+    List<Marker> addedMarkers = markers.addBy(markerOptionsList, mapboxMap);
+    indexMarkers(addedMarkers);
+    return addedMarkers;
+  }
+
+  List<Marker> addMarkers(@NonNull List<? extends Marker> markerList) {
+    List<Marker> addedMarkers = markers.add(markerList, mapboxMap);
+    indexMarkers(addedMarkers);
+    return addedMarkers;
   }
 
   void updateMarker(@NonNull Marker updatedMarker, @NonNull MapboxMap mapboxMap) {
@@ -182,7 +222,15 @@ class AnnotationManager {
       logNonAdded(updatedMarker);
       return;
     }
+    if (updateDepth > 0) {
+      if (!(updatedMarker instanceof MarkerView)) {
+        iconManager.ensureIconLoaded(updatedMarker, mapboxMap);
+      }
+      pendingUpdates.put(updatedMarker.getId(), updatedMarker);
+      return;
+    }
     markers.update(updatedMarker, mapboxMap);
+    indexMarker(updatedMarker);
   }
 
   List<Marker> getMarkers() {
@@ -191,25 +239,123 @@ class AnnotationManager {
 
   @NonNull
   List<Marker> getMarkersInRect(@NonNull RectF rectangle) {
+    if (markerIndex != null) {
+      return obtainIndexedMarkersIn(rectangle, Marker.class);
+    }
     return markers.obtainAllIn(rectangle);
   }
 
   MarkerView addMarker(@NonNull BaseMarkerViewOptions markerOptions, @NonNull MapboxMap mapboxMap,
                        @Nullable MarkerViewManager.OnMarkerViewAddedListener onMarkerViewAddedListener) {
-    return markers.addViewBy(markerOptions, mapboxMap, onMarkerViewAddedListener);
+    MarkerView markerView = markers.addViewBy(markerOptions, mapboxMap, onMarkerViewAddedListener);
+    indexMarker(markerView);
+    return markerView;
   }
 
   List<MarkerView> addMarkerViews(@NonNull List<? extends BaseMarkerViewOptions> markerViewOptions,
                                   @NonNull MapboxMap mapboxMap) {
-    return markers.addViewsBy(markerViewOptions, mapboxMap);
+    List<MarkerView> markerViews = markers.addViewsBy(markerViewOptions, mapboxMap);
+    indexMarkers(markerViews);
+    return markerViews;
   }
 
   List<MarkerView> getMarkerViewsInRect(@NonNull RectF rectangle) {
+    if (markerIndex != null) {
+      return obtainIndexedMarkersIn(rectangle, MarkerView.class);
+    }
     return markers.obtainViewsIn(rectangle);
   }
 
   void reloadMarkers() {
     markers.reload();
+    if (markerIndex != null) {
+      // reloading assigns new ids
+      rebuildMarkerIndex();
+    }
+  }
+
+  //
+  // Marker clustering
+  //
+
+  List<Marker> setClusteredMarkers(@NonNull List<? extends BaseMarkerOptions> markerOptionsList,
+                                   @NonNull ClusterOptions clusterOptions) {
+    removeClusteredMarkers();
+    List<Marker> clusteredMarkers = new ArrayList<>(markerOptionsList.size());
+    for (BaseMarkerOptions markerOptions : markerOptionsList) {
+      clusteredMarkers.add(markerOptions.getMarker());
+    }
+    markerClusterManager = new MarkerClusterManager(this, mapboxMap, clusteredMarkers, clusterOptions);
+    return clusteredMarkers;
+  }
+
+  void removeClusteredMarkers() {
+    if (markerClusterManager != null) {
+      MarkerClusterManager clusterManager = markerClusterManager;
+      markerClusterManager = null;
+      clusterManager.destroy();
+    }
+  }
+
+  /**
+   * Called when the map is destroyed, releases the worker thread of marker clustering.
+   */
+  void onDestroy() {
+    if (markerClusterManager != null) {
+      markerClusterManager.shutdown();
+    }
+  }
+
+  @NonNull
+  List<Marker> getClusterLeaves(@NonNull ClusterMarker cluster, int limit, int offset) {
+    if (markerClusterManager == null) {
+      return new ArrayList<>();
+    }
+    return markerClusterManager.getLeaves(cluster, limit, offset);
+  }
+
+  //
+  // Marker index
+  //
+
+  void setMarkerIndexEnabled(boolean enabled) {
+    if (enabled && markerIndex == null) {
+      markerIndex = new MarkerIndex();
+      rebuildMarkerIndex();
+    } else if (!enabled) {
+      markerIndex = null;
+    }
+  }
+
+  boolean isMarkerIndexEnabled() {
+    return markerIndex != null;
+  }
+
+  private void rebuildMarkerIndex() {
+    markerIndex.clear();
+    for (int i = 0; i < annotationsArray.size(); i++) {
+      Annotation annotation = annotationsArray.valueAt(i);
+      if (annotation instanceof Marker) {
+        markerIndex.put((Marker) annotation);
+      }
+    }
+  }
+
+  private void indexMarker(Marker marker) {
+    if (markerIndex != null && isAddedToMap(marker)) {
+      markerIndex.put(marker);
+    }
+  }
+
+  private void indexMarkers(List<? extends Marker> markerList) {
+    for (Marker marker : markerList) {
+      indexMarker(marker);
+    }
+  }
+
+  private <T extends Marker> List<T> obtainIndexedMarkersIn(RectF rectangle, Class<T> type) {
+    return markerIndex.obtainAllIn(rectangle, mapboxMap.getProjection(), mapboxMap.getCameraPosition().zoom,
+      nativeMapView.getPixelRatio(), type);
   }
 
   //
@@ -229,6 +375,10 @@ class AnnotationManager {
       logNonAdded(polygon);
       return;
     }
+    if (updateDepth > 0) {
+      pendingUpdates.put(polygon.getId(), polygon);
+      return;
+    }
     polygons.update(polygon);
   }
 
@@ -253,13 +403,77 @@ class AnnotationManager {
       logNonAdded(polyline);
       return;
     }
+    if (updateDepth > 0) {
+      pendingUpdates.put(polyline.getId(), polyline);
+      return;
+    }
     polylines.update(polyline);
   }
 
+  void appendPolylinePoints(Polyline polyline, int firstPoint) {
+    if (!isAddedToMap(polyline)) {
+      logNonAdded(polyline);
+      return;
+    }
+    if (updateDepth > 0) {
+      pendingUpdates.put(polyline.getId(), polyline);
+      return;
+    }
+    polylines.appendPoints(polyline, firstPoint);
+  }
+
   List<Polyline> getPolylines() {
     return polylines.obtainAll();
   }
 
+  long getUploadedIconBytes() {
+    return iconManager.getUploadedBytes();
+  }
+
+  void setUnusedIconCacheSize(long maxBytes) {
+    iconManager.setUnusedIconCacheSize(maxBytes);
+  }
+
+  //
+  // Batched updates
+  //
+
+  void beginUpdates() {
+    updateDepth++;
+  }
+
+  void commitUpdates() {
+    if (updateDepth == 0) {
+      throw new IllegalStateException("commitUpdates called without matching beginUpdates");
+    }
+    if (--updateDepth > 0 || pendingUpdates.size() == 0) {
+      return;
+    }
+
+    List<Marker> updatedMarkers = new ArrayList<>();
+    List<Polyline> updatedPolylines = new ArrayList<>();
+    List<Polygon> updatedPolygons = new ArrayList<>();
+    Annotation annotation;
+    for (int i = 0; i < pendingUpdates.size(); i++) {
+      annotation = pendingUpdates.valueAt(i);
+      if (!isAddedToMap(annotation)) {
+        // removed while the batch was open
+        continue;
+      }
+      annotationsArray.put(annotation.getId(), annotation);
+      if (annotation instanceof Marker) {
+        updatedMarkers.add((Marker) annotation);
+        indexMarker((Marker) annotation);
+      } else if (annotation instanceof Polyline) {
+        updatedPolylines.add((Polyline) annotation);
+      } else if (annotation instanceof Polygon) {
+        updatedPolygons.add((Polygon) annotation);
+      }
+    }
+    pendingUpdates.clear();
+    nativeMapView.updateAnnotations(updatedMarkers, updatedPolylines, updatedPolygons);
+  }
+
   // TODO Refactor from here still in progress
   void setOnMarkerClickListener(@Nullable MapboxMap.OnMarkerClickListener listener) {
     onMarkerClickListener = listener;
@@ -433,7 +647,11 @@ class AnnotationManager {
     }
 
     if (!handledDefaultClick) {
-      toggleMarkerSelectionState(marker);
+      if (marker instanceof ClusterMarker && markerClusterManager != null) {
+        markerClusterManager.zoomToCluster((ClusterMarker) marker);
+      } else {
+        toggleMarkerSelectionState(marker);
+      }
     }
     return true;
   }
@@ -8,7 +8,10 @@ import com.mapbox.mapboxsdk.annotations.IconFactory;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.MarkerView;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,22 +22,45 @@ import java.util.Map;
  * setting up {@link MarkerView} annotation ghosting.
  * </p>
  * <p>
+ * Icons with identical bitmaps share a single image on the map, even if they were created separately, for example
+ * with {@link IconFactory#fromBitmap(Bitmap)}. Images are matched by a hash of their pixels and uploaded straight
+ * from their bitmap.
+ * </p>
+ * <p>
+ * Images are reference counted by the markers showing them. Once no marker shows an image anymore it is removed from
+ * the map, or kept in a least recently used cache of unused images if a cache size is set. A {@link MarkerView} is
+ * drawn as a view, on the map it always shows the transparent image that is loaded for the lifetime of the manager.
+ * </p>
+ * <p>
  * Keep track of icons added and the resulting average icon size. This is used internally by our
  * gestures detection to calculate the size of a touch target.
  * </p>
  */
 class IconManager {
 
-  private final Map<Icon, Integer> iconMap = new HashMap<>();
+  private final Map<Icon, IconImage> iconMap = new HashMap<>();
+  private final Map<String, IconImage> imagesBySymbol = new HashMap<>();
+  private final Map<Integer, List<IconImage>> imagesByHash = new HashMap<>();
+  private final Map<String, IconImage> unusedImages = new LinkedHashMap<>(16, 0.75f, true);
 
   private NativeMapView nativeMapView;
   private int highestIconWidth;
   private int highestIconHeight;
+  private int[] rowBuffer = new int[0];
+  private int symbolCount;
+  private long uploadedBytes;
+  private long unusedBytes;
+  private long maxUnusedBytes;
 
   IconManager(NativeMapView nativeMapView) {
+    this(nativeMapView, IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, IconFactory.ICON_MARKERVIEW_BITMAP));
+  }
+
+  IconManager(NativeMapView nativeMapView, Icon markerViewIcon) {
     this.nativeMapView = nativeMapView;
     // load transparent icon for MarkerView to trace actual markers, see #6352
-    loadIcon(IconFactory.recreate(IconFactory.ICON_MARKERVIEW_ID, IconFactory.ICON_MARKERVIEW_BITMAP));
+    IconImage markerViewImage = obtainImage(markerViewIcon, true);
+    markerViewImage.pinned = true;
   }
 
   Icon loadIconForMarker(Marker marker) {
@@ -46,7 +72,7 @@ class IconManager {
     } else {
       updateHighestIconSize(icon);
     }
-    addIcon(icon);
+    addIcon(marker, icon, true);
     return icon;
   }
 
@@ -54,11 +80,14 @@ class IconManager {
     Icon icon = marker.getIcon();
     Bitmap bitmap = icon.getBitmap();
     updateHighestIconSize(bitmap);
-    addIcon(icon, false);
+    // the view shows the icon, the map traces the marker with the pinned transparent image
+    marker.setIconId(IconFactory.ICON_MARKERVIEW_ID);
   }
 
   int getTopOffsetPixelsForIcon(Icon icon) {
-    return (int) (nativeMapView.getTopOffsetPixelsForAnnotationSymbol(icon.getId()) * nativeMapView.getPixelRatio());
+    IconImage image = iconMap.get(icon);
+    String symbol = image != null ? image.symbol : icon.getId();
+    return (int) (nativeMapView.getTopOffsetPixelsForAnnotationSymbol(symbol) * nativeMapView.getPixelRatio());
   }
 
   int getHighestIconWidth() {
@@ -69,6 +98,31 @@ class IconManager {
     return highestIconHeight;
   }
 
+  /**
+   * @return the amount of icon pixel bytes that were uploaded to the map
+   */
+  long getUploadedBytes() {
+    return uploadedBytes;
+  }
+
+  /**
+   * Sets the amount of bytes of images no marker uses anymore that are kept on the map, for reuse by markers added
+   * later. Least recently used images are removed first.
+   *
+   * @param maxUnusedBytes the maximum amount of bytes, 0 to remove images as soon as they are unused
+   */
+  void setUnusedIconCacheSize(long maxUnusedBytes) {
+    this.maxUnusedBytes = maxUnusedBytes;
+    trimUnusedImages();
+  }
+
+  /**
+   * @return the amount of bytes of images on the map that no marker uses
+   */
+  long getUnusedIconBytes() {
+    return unusedBytes;
+  }
+
   private Icon loadDefaultIconForMarker(Marker marker) {
     Icon icon = IconFactory.getInstance(Mapbox.getApplicationContext()).defaultMarker();
     Bitmap bitmap = icon.getBitmap();
@@ -77,19 +131,81 @@ class IconManager {
     return icon;
   }
 
-  private void addIcon(Icon icon) {
-    addIcon(icon, true);
+  /**
+   * Makes the marker show the image of the icon, releasing the image it showed before.
+   */
+  private void addIcon(Marker marker, Icon icon, boolean addIconToMap) {
+    IconImage image = obtainImage(icon, addIconToMap);
+    IconImage previous = marker.getIconId() != null ? imagesBySymbol.get(marker.getIconId()) : null;
+    if (image != previous) {
+      retain(image);
+      marker.setIconId(image.symbol);
+      if (previous != null) {
+        release(previous);
+      }
+    }
+  }
+
+  /**
+   * Returns the image with the same pixels as the icon, the image is created if there is none.
+   */
+  private IconImage obtainImage(Icon icon, boolean addIconToMap) {
+    IconImage image = iconMap.get(icon);
+    if (image == null) {
+      image = findOrCreateImage(icon);
+      image.icons.add(icon);
+      iconMap.put(icon, image);
+    }
+    if (addIconToMap && !image.loaded) {
+      loadImage(image);
+    }
+    return image;
   }
 
-  private void addIcon(Icon icon, boolean addIconToMap) {
-    if (!iconMap.keySet().contains(icon)) {
-      iconMap.put(icon, 1);
-      if (addIconToMap) {
-        loadIcon(icon);
+  private IconImage findOrCreateImage(Icon icon) {
+    Bitmap bitmap = icon.getBitmap();
+    float scale = icon.getScale();
+    int hash = contentHash(bitmap, scale);
+
+    List<IconImage> images = imagesByHash.get(hash);
+    if (images == null) {
+      images = new ArrayList<>(1);
+      imagesByHash.put(hash, images);
+    }
+    for (IconImage image : images) {
+      if (image.scale == scale && image.bitmap.sameAs(bitmap)) {
+        return image;
       }
-    } else {
-      iconMap.put(icon, iconMap.get(icon) + 1);
     }
+
+    // icons can be recreated with the id of an icon with other pixels
+    String symbol = icon.getId();
+    if (imagesBySymbol.containsKey(symbol)) {
+      symbol = symbol + "#" + ++symbolCount;
+    }
+    IconImage image = new IconImage(symbol, bitmap, scale, hash);
+    images.add(image);
+    imagesBySymbol.put(symbol, image);
+    return image;
+  }
+
+  private int contentHash(Bitmap bitmap, float scale) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    if (rowBuffer.length < width) {
+      rowBuffer = new int[width];
+    }
+
+    int hash = Float.floatToIntBits(scale);
+    hash = 31 * hash + width;
+    hash = 31 * hash + height;
+    for (int y = 0; y < height; y++) {
+      bitmap.getPixels(rowBuffer, 0, width, 0, y, width, 1);
+      for (int x = 0; x < width; x++) {
+        hash = 31 * hash + rowBuffer[x];
+      }
+    }
+    return hash;
   }
 
   private void updateHighestIconSize(Icon icon) {
@@ -110,18 +226,17 @@ class IconManager {
     }
   }
 
-  private void loadIcon(Icon icon) {
-    Bitmap bitmap = icon.getBitmap();
-    nativeMapView.addAnnotationIcon(icon.getId(),
-      bitmap.getWidth(),
-      bitmap.getHeight(),
-      icon.getScale(),
-      icon.toBytes());
+  private void loadImage(IconImage image) {
+    nativeMapView.addAnnotationIcon(image.symbol, image.bitmap, image.scale);
+    uploadedBytes += image.getByteCount();
+    image.loaded = true;
   }
 
   void reloadIcons() {
-    for (Icon icon : iconMap.keySet()) {
-      loadIcon(icon);
+    for (IconImage image : imagesBySymbol.values()) {
+      if (image.loaded) {
+        loadImage(image);
+      }
     }
   }
 
@@ -130,7 +245,7 @@ class IconManager {
     if (icon == null) {
       icon = loadDefaultIconForMarker(marker);
     }
-    addIcon(icon);
+    addIcon(marker, icon, true);
     setTopOffsetPixels(marker, mapboxMap, icon);
   }
 
@@ -142,25 +257,83 @@ class IconManager {
     }
   }
 
-  void iconCleanup(Icon icon) {
-    Integer refCounter = iconMap.get(icon);
-    if (refCounter != null) {
-      refCounter--;
-      if (refCounter == 0) {
-        remove(icon);
-      } else {
-        updateIconRefCounter(icon, refCounter);
-      }
+  /**
+   * Releases the image shown by a marker that is removed from the map.
+   */
+  void iconCleanup(Marker marker) {
+    IconImage image = marker.getIconId() != null ? imagesBySymbol.get(marker.getIconId()) : null;
+    if (image != null) {
+      marker.setIconId(null);
+      release(image);
     }
   }
 
-  private void remove(Icon icon) {
-    nativeMapView.removeAnnotationIcon(icon.getId());
-    iconMap.remove(icon);
+  private void retain(IconImage image) {
+    if (image.refCount++ == 0 && unusedImages.remove(image.symbol) != null) {
+      unusedBytes -= image.getByteCount();
+    }
   }
 
-  private void updateIconRefCounter(Icon icon, int refCounter) {
-    iconMap.put(icon, refCounter);
+  private void release(IconImage image) {
+    if (--image.refCount > 0 || image.pinned) {
+      return;
+    }
+    if (image.loaded && maxUnusedBytes > 0) {
+      unusedImages.put(image.symbol, image);
+      unusedBytes += image.getByteCount();
+      trimUnusedImages();
+    } else {
+      remove(image);
+    }
   }
 
+  private void trimUnusedImages() {
+    Iterator<IconImage> iterator = unusedImages.values().iterator();
+    while (unusedBytes > maxUnusedBytes && iterator.hasNext()) {
+      IconImage image = iterator.next();
+      iterator.remove();
+      unusedBytes -= image.getByteCount();
+      remove(image);
+    }
+  }
+
+  private void remove(IconImage image) {
+    if (image.loaded) {
+      nativeMapView.removeAnnotationIcon(image.symbol);
+    }
+    imagesBySymbol.remove(image.symbol);
+    List<IconImage> images = imagesByHash.get(image.hash);
+    images.remove(image);
+    if (images.isEmpty()) {
+      imagesByHash.remove(image.hash);
+    }
+    for (Icon icon : image.icons) {
+      iconMap.remove(icon);
+    }
+  }
+
+  /**
+   * An image on the map, shared by all icons with the same pixels.
+   */
+  private static class IconImage {
+    final String symbol;
+    final Bitmap bitmap;
+    final float scale;
+    final int hash;
+    final List<Icon> icons = new ArrayList<>(1);
+    int refCount;
+    boolean loaded;
+    boolean pinned;
+
+    IconImage(String symbol, Bitmap bitmap, float scale, int hash) {
+      this.symbol = symbol;
+      this.bitmap = bitmap;
+      this.scale = scale;
+      this.hash = hash;
+    }
+
+    long getByteCount() {
+      return (long) bitmap.getWidth() * bitmap.getHeight() * 4;
+    }
+  }
 }
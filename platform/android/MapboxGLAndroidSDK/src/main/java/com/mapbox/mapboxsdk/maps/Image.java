@@ -1,17 +1,15 @@
 package com.mapbox.mapboxsdk.maps;
 
+import android.graphics.Bitmap;
+
 class Image {
-  private final byte[] buffer;
+  private final Bitmap bitmap;
   private final float pixelRatio;
   private final String name;
-  private final int width;
-  private final int height;
 
-  public Image(byte[] buffer, float pixelRatio, String name, int width, int height) {
-    this.buffer = buffer;
+  public Image(Bitmap bitmap, float pixelRatio, String name) {
+    this.bitmap = bitmap;
     this.pixelRatio = pixelRatio;
     this.name = name;
-    this.width = width;
-    this.height = height;
   }
 }
@@ -25,6 +25,7 @@ import com.mapbox.geojson.Geometry;
 import com.mapbox.mapboxsdk.annotations.Annotation;
 import com.mapbox.mapboxsdk.annotations.BaseMarkerOptions;
 import com.mapbox.mapboxsdk.annotations.BaseMarkerViewOptions;
+import com.mapbox.mapboxsdk.annotations.ClusterMarker;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.MarkerOptions;
 import com.mapbox.mapboxsdk.annotations.MarkerView;
@@ -43,6 +44,7 @@ import com.mapbox.mapboxsdk.geometry.LatLngBounds;
 import com.mapbox.mapboxsdk.style.expressions.Expression;
 import com.mapbox.mapboxsdk.style.layers.Layer;
 import com.mapbox.mapboxsdk.style.light.Light;
+import com.mapbox.mapboxsdk.style.sources.ClusterOptions;
 import com.mapbox.mapboxsdk.style.sources.Source;
 
 import java.lang.reflect.ParameterizedType;
@@ -115,6 +117,13 @@ public final class MapboxMap {
   void onStop() {
   }
 
+  /**
+   * Called when the hosting Activity/Fragment onDestroy() method is called.
+   */
+  void onDestroy() {
+    annotationManager.onDestroy();
+  }
+
   /**
    * Called when the hosting Activity/Fragment is going to be destroyed and map state needs to be saved.
    *
@@ -1205,6 +1214,49 @@ public final class MapboxMap {
     annotationManager.updateMarker(updatedMarker, this);
   }
 
+  /**
+   * Shows markers clustered with nearby markers, replacing the markers clustered before.
+   * <p>
+   * The markers are clustered on a worker thread. At every integer zoom level, the map shows the markers that aren't
+   * part of a cluster and a {@link ClusterMarker} for each cluster, only these are added to the map and returned by
+   * {@link #getMarkers()}. Markers move in and out of their clusters when the zoom level changes.
+   * </p>
+   * <p>
+   * Taps on a cluster are passed to {@link OnMarkerClickListener}. If not consumed, the map zooms in until the
+   * cluster breaks up. The clustered markers are managed by the map and should not be removed or moved individually.
+   * </p>
+   *
+   * @param markerOptionsList the options of the markers to cluster
+   * @param clusterOptions    the options used for clustering
+   * @return the clustered markers
+   */
+  @NonNull
+  public List<Marker> setClusteredMarkers(@NonNull List<? extends BaseMarkerOptions> markerOptionsList,
+                                          @NonNull ClusterOptions clusterOptions) {
+    return annotationManager.setClusteredMarkers(markerOptionsList, clusterOptions);
+  }
+
+  /**
+   * Stops clustering the markers set with {@link #setClusteredMarkers(List, ClusterOptions)} and removes them and
+   * their clusters from the map.
+   */
+  public void removeClusteredMarkers() {
+    annotationManager.removeClusteredMarkers();
+  }
+
+  /**
+   * Returns the markers contained in a cluster, with pagination.
+   *
+   * @param cluster the cluster
+   * @param limit   the maximum amount of markers to return
+   * @param offset  the amount of markers to skip
+   * @return the markers in the cluster
+   */
+  @NonNull
+  public List<Marker> getClusterLeaves(@NonNull ClusterMarker cluster, int limit, int offset) {
+    return annotationManager.getClusterLeaves(cluster, limit, offset);
+  }
+
   /**
    * Adds a polyline to this map.
    *
@@ -1236,6 +1288,17 @@ public final class MapboxMap {
     annotationManager.updatePolyline(polyline);
   }
 
+  /**
+   * Appends the points of a polyline from the given index on to the polyline on this map. The points before that
+   * index are expected to be on the map already and are not sent again.
+   *
+   * @param polyline   A polyline object with points added to its end.
+   * @param firstPoint The index of the first added point.
+   */
+  public void appendPolylinePoints(Polyline polyline, int firstPoint) {
+    annotationManager.appendPolylinePoints(polyline, firstPoint);
+  }
+
   /**
    * Adds a polygon to this map.
    *
@@ -1267,6 +1330,72 @@ public final class MapboxMap {
     annotationManager.updatePolygon(polygon);
   }
 
+  /**
+   * Returns the amount of marker icon pixel bytes that were uploaded to the map. Icons with identical bitmaps are
+   * uploaded once.
+   *
+   * @return the amount of uploaded bytes
+   */
+  public long getUploadedIconBytes() {
+    return annotationManager.getUploadedIconBytes();
+  }
+
+  /**
+   * Enables a spatial index of markers kept on the Java side.
+   * <p>
+   * When enabled, {@link #getMarkerViewsInRect(RectF)} and marker selection by tapping are answered from the index
+   * instead of querying the rendered map, which is faster with many markers.
+   * Markers are then matched by their position, not by the extent of their icon. Disabled by default.
+   * </p>
+   *
+   * @param enabled true to enable the index
+   */
+  public void setMarkerIndexEnabled(boolean enabled) {
+    annotationManager.setMarkerIndexEnabled(enabled);
+  }
+
+  /**
+   * Returns whether markers are looked up from a spatial index kept on the Java side.
+   *
+   * @return true if the index is enabled
+   * @see #setMarkerIndexEnabled(boolean)
+   */
+  public boolean isMarkerIndexEnabled() {
+    return annotationManager.isMarkerIndexEnabled();
+  }
+
+  /**
+   * Sets the amount of bytes of marker icons that are kept on the map after the last marker using them was removed,
+   * so markers added later with the same icon don't upload it again. The least recently used icons are removed first.
+   * By default icons are removed as soon as no marker uses them.
+   *
+   * @param maxBytes the maximum amount of bytes of unused icons, 0 to keep none
+   */
+  public void setUnusedIconCacheSize(long maxBytes) {
+    annotationManager.setUnusedIconCacheSize(maxBytes);
+  }
+
+  /**
+   * Starts a batch of annotation updates.
+   * <p>
+   * Until the matching {@link #commitAnnotationUpdates()}, calls to {@link #updateMarker(Marker)},
+   * {@link #updatePolyline(Polyline)} and {@link #updatePolygon(Polygon)}, including those made by the annotation
+   * setters, are collected instead of being applied one by one. Batches can be nested, only the outermost commit
+   * applies the updates.
+   * </p>
+   */
+  public void beginAnnotationUpdates() {
+    annotationManager.beginUpdates();
+  }
+
+  /**
+   * Applies the annotation updates collected since {@link #beginAnnotationUpdates()} to the map in a single pass,
+   * causing a single re-render. Only the latest state of an annotation updated multiple times is applied.
+   */
+  public void commitAnnotationUpdates() {
+    annotationManager.commitUpdates();
+  }
+
   /**
    * <p>
    * Convenience method for removing a Marker from the map.
@@ -2380,6 +2509,9 @@ public final class MapboxMap {
   public interface OnMarkerClickListener {
     /**
      * Called when the user clicks on a marker.
+     * <p>
+     * Clicks on clustered markers pass a {@link ClusterMarker}, if not consumed the map zooms in on the cluster.
+     * </p>
      *
      * @param marker The marker the user clicked on.
      * @return If true the listener has consumed the event and the info window will not be shown.
@@ -0,0 +1,500 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.v4.content.ContextCompat;
+import android.support.v4.util.LongSparseArray;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.Mapbox;
+import com.mapbox.mapboxsdk.R;
+import com.mapbox.mapboxsdk.annotations.ClusterMarker;
+import com.mapbox.mapboxsdk.annotations.Icon;
+import com.mapbox.mapboxsdk.annotations.IconFactory;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.camera.CameraUpdateFactory;
+import com.mapbox.mapboxsdk.constants.GeometryConstants;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.style.sources.ClusterIndex;
+import com.mapbox.mapboxsdk.style.sources.ClusterOptions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shows a set of markers clustered by a {@link ClusterIndex}.
+ * <p>
+ * The index is built and queried on a worker thread. For the visible region, padded by half its span on every side,
+ * the map shows the unclustered markers and a {@link ClusterMarker} for every cluster at the current integer zoom
+ * level. Queries are only repeated when the integer zoom level changes or the map moves out of the padded region.
+ * </p>
+ * <p>
+ * When the zoom level changes, markers splitting out of a cluster move out of its position and markers merging into
+ * a cluster move into its position. The positions of an animation frame are sent to the map as one batch.
+ * </p>
+ */
+class MarkerClusterManager {
+
+  private static final long ANIMATION_DURATION = 300;
+  private static final int MAX_ANIMATED_MARKERS = 300;
+  private static final double QUERY_PADDING = 0.5;
+
+  private final AnnotationManager annotationManager;
+  private final MapboxMap mapboxMap;
+  private final List<Marker> markers;
+  private final ClusterOptions clusterOptions;
+  private final ExecutorService executor;
+  private final Handler handler;
+  // shown markers, keyed by marker index * 2 for unclustered markers and cluster id * 2 + 1 for clusters
+  private final LongSparseArray<Marker> shownMarkers = new LongSparseArray<>();
+  private final Map<String, Icon> clusterIcons = new HashMap<>();
+
+  private ClusterIndex index;
+  private int generation;
+  private int shownZoom = -1;
+  private int requestedZoom = -1;
+  private LatLngBounds requestedBounds;
+  private ValueAnimator animator;
+  private MarkerAnimation animation;
+  private boolean destroyed;
+
+  MarkerClusterManager(@NonNull AnnotationManager annotationManager, @NonNull MapboxMap mapboxMap,
+                       @NonNull List<Marker> markers, @NonNull ClusterOptions clusterOptions) {
+    this(annotationManager, mapboxMap, markers, clusterOptions, Executors.newSingleThreadExecutor(),
+      new Handler(Looper.getMainLooper()));
+  }
+
+  /**
+   * @param executor the worker thread that builds and queries the index
+   * @param handler  the handler of the main thread, which receives the results
+   */
+  MarkerClusterManager(@NonNull AnnotationManager annotationManager, @NonNull MapboxMap mapboxMap,
+                       @NonNull List<Marker> markers, @NonNull ClusterOptions clusterOptions,
+                       @NonNull ExecutorService executor, @NonNull Handler handler) {
+    this.annotationManager = annotationManager;
+    this.mapboxMap = mapboxMap;
+    this.markers = markers;
+    this.clusterOptions = clusterOptions;
+    this.executor = executor;
+    this.handler = handler;
+    buildIndex();
+  }
+
+  private void buildIndex() {
+    final double[] lonLat = new double[markers.size() * 2];
+    for (int i = 0; i < markers.size(); i++) {
+      LatLng position = markers.get(i).getPosition();
+      lonLat[i * 2] = position.getLongitude();
+      lonLat[i * 2 + 1] = position.getLatitude();
+    }
+
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        List<Feature> features = new ArrayList<>(lonLat.length / 2);
+        for (int i = 0; i < lonLat.length / 2; i++) {
+          features.add(Feature.fromGeometry(Point.fromLngLat(lonLat[i * 2], lonLat[i * 2 + 1]),
+            new JsonObject(), String.valueOf(i)));
+        }
+        final ClusterIndex builtIndex = new ClusterIndex(features, clusterOptions);
+        handler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (!destroyed) {
+              index = builtIndex;
+              update();
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Called when the camera changed, queries the clusters again if the shown ones don't cover the map anymore.
+   */
+  void update() {
+    if (index == null || destroyed) {
+      return;
+    }
+
+    final int zoom = (int) Math.floor(mapboxMap.getCameraPosition().zoom);
+    LatLngBounds visibleBounds = mapboxMap.getProjection().getVisibleRegion().latLngBounds;
+    if (zoom == requestedZoom && requestedBounds != null && requestedBounds.contains(visibleBounds)) {
+      return;
+    }
+
+    final LatLngBounds queryBounds = padBounds(visibleBounds);
+    final ClusterIndex queryIndex = index;
+    final int queryGeneration = ++generation;
+    requestedZoom = zoom;
+    requestedBounds = queryBounds;
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        final List<Feature> features = queryIndex.getClusters(queryBounds, zoom);
+        handler.post(new Runnable() {
+          @Override
+          public void run() {
+            if (!destroyed && queryGeneration == generation) {
+              show(features, zoom);
+            }
+          }
+        });
+      }
+    });
+  }
+
+  /**
+   * Zooms the map in far enough for the cluster to break up.
+   */
+  void zoomToCluster(@NonNull ClusterMarker cluster) {
+    if (index != null) {
+      int expansionZoom = index.getClusterExpansionZoom(cluster.getClusterId());
+      mapboxMap.animateCamera(CameraUpdateFactory.newLatLngZoom(cluster.getPosition(), expansionZoom));
+    }
+  }
+
+  @NonNull
+  List<Marker> getLeaves(@NonNull ClusterMarker cluster, int limit, int offset) {
+    List<Marker> leaves = new ArrayList<>();
+    if (index != null) {
+      for (Feature feature : index.getLeaves(cluster.getClusterId(), limit, offset)) {
+        leaves.add(markers.get(Integer.parseInt(feature.id())));
+      }
+    }
+    return leaves;
+  }
+
+  /**
+   * Stops clustering and removes the shown markers from the map.
+   */
+  void destroy() {
+    shutdown();
+
+    List<Marker> shown = new ArrayList<>(shownMarkers.size());
+    for (int i = 0; i < shownMarkers.size(); i++) {
+      shown.add(shownMarkers.valueAt(i));
+    }
+    shownMarkers.clear();
+    removeMarkers(shown);
+  }
+
+  /**
+   * Stops clustering and releases the worker thread, the shown markers stay on the map. Called when the map is
+   * destroyed.
+   */
+  void shutdown() {
+    destroyed = true;
+    finishAnimation();
+    executor.shutdownNow();
+    handler.removeCallbacksAndMessages(null);
+  }
+
+  private void show(List<Feature> features, int zoom) {
+    finishAnimation();
+
+    LongSparseArray<Marker> nextMarkers = new LongSparseArray<>(features.size());
+    for (Feature feature : features) {
+      JsonObject properties = feature.properties();
+      if (properties != null && properties.has("cluster")) {
+        long clusterId = properties.get("cluster_id").getAsLong();
+        long key = clusterId * 2 + 1;
+        Marker cluster = shownMarkers.get(key);
+        if (cluster == null) {
+          Point point = (Point) feature.geometry();
+          int pointCount = properties.get("point_count").getAsInt();
+          Icon icon = getClusterIcon(pointCount, properties.get("point_count_abbreviated").getAsString());
+          cluster = new ClusterMarker(new LatLng(point.latitude(), point.longitude()), icon, clusterId, pointCount);
+        }
+        nextMarkers.put(key, cluster);
+      } else {
+        int markerIndex = Integer.parseInt(feature.id());
+        nextMarkers.put(markerIndex * 2L, markers.get(markerIndex));
+      }
+    }
+
+    List<Marker> added = new ArrayList<>();
+    for (int i = 0; i < nextMarkers.size(); i++) {
+      if (shownMarkers.indexOfKey(nextMarkers.keyAt(i)) < 0) {
+        added.add(nextMarkers.valueAt(i));
+      }
+    }
+    List<Marker> removed = new ArrayList<>();
+    for (int i = 0; i < shownMarkers.size(); i++) {
+      if (nextMarkers.indexOfKey(shownMarkers.keyAt(i)) < 0) {
+        removed.add(shownMarkers.valueAt(i));
+      }
+    }
+
+    boolean animate = shownZoom >= 0 && zoom != shownZoom && added.size() + removed.size() <= MAX_ANIMATED_MARKERS;
+    boolean zoomingIn = zoom > shownZoom;
+    shownZoom = zoom;
+    shownMarkers.clear();
+    for (int i = 0; i < nextMarkers.size(); i++) {
+      shownMarkers.put(nextMarkers.keyAt(i), nextMarkers.valueAt(i));
+    }
+
+    if (!animate) {
+      removeMarkers(removed);
+      annotationManager.addMarkers(added);
+    } else if (zoomingIn) {
+      // markers split out of the clusters that were shown before
+      List<Marker> moving = new ArrayList<>();
+      List<LatLng> from = new ArrayList<>();
+      for (Marker marker : added) {
+        Marker origin = findClosestCluster(marker.getPosition(), removed);
+        if (origin != null) {
+          moving.add(marker);
+          from.add(origin.getPosition());
+        }
+      }
+      removeMarkers(removed);
+      List<LatLng> to = movePositions(moving, from);
+      annotationManager.addMarkers(added);
+      animate(moving, from, to, new ArrayList<Marker>());
+    } else {
+      // markers merge into the clusters that are shown now
+      List<Marker> moving = new ArrayList<>();
+      List<LatLng> to = new ArrayList<>();
+      List<Marker> removedDirectly = new ArrayList<>();
+      for (Marker marker : removed) {
+        Marker target = findClosestCluster(marker.getPosition(), added);
+        if (target != null) {
+          moving.add(marker);
+          to.add(target.getPosition());
+        } else {
+          removedDirectly.add(marker);
+        }
+      }
+      removeMarkers(removedDirectly);
+      annotationManager.addMarkers(added);
+      List<LatLng> from = new ArrayList<>(moving.size());
+      for (Marker marker : moving) {
+        from.add(marker.getPosition());
+      }
+      animate(moving, from, to, moving);
+    }
+  }
+
+  /**
+   * Moves markers that aren't on the map to their start positions, returns their original positions.
+   */
+  private static List<LatLng> movePositions(List<Marker> moving, List<LatLng> from) {
+    List<LatLng> original = new ArrayList<>(moving.size());
+    for (int i = 0; i < moving.size(); i++) {
+      original.add(moving.get(i).getPosition());
+      moving.get(i).setPosition(from.get(i));
+    }
+    return original;
+  }
+
+  private void animate(List<Marker> moving, List<LatLng> from, List<LatLng> to, List<Marker> removeAtEnd) {
+    if (moving.isEmpty()) {
+      return;
+    }
+    animation = new MarkerAnimation(moving, from, to, removeAtEnd);
+    startAnimation(animation);
+  }
+
+  /**
+   * Runs the animation over {@link #ANIMATION_DURATION}, overridden in tests.
+   */
+  void startAnimation(final MarkerAnimation animation) {
+    animator = ValueAnimator.ofFloat(0, 1);
+    animator.setDuration(ANIMATION_DURATION);
+    animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+      @Override
+      public void onAnimationUpdate(ValueAnimator valueAnimator) {
+        animation.update((Float) valueAnimator.getAnimatedValue());
+      }
+    });
+    animator.addListener(new AnimatorListenerAdapter() {
+      @Override
+      public void onAnimationEnd(Animator valueAnimator) {
+        animator = null;
+        animation.end();
+      }
+    });
+    animator.start();
+  }
+
+  private void finishAnimation() {
+    if (animator != null) {
+      // ends the animation through its listener
+      animator.end();
+    }
+    if (animation != null) {
+      animation.end();
+    }
+  }
+
+  private void setPositions(List<Marker> moving, List<LatLng> from, List<LatLng> to, float fraction) {
+    mapboxMap.beginAnnotationUpdates();
+    try {
+      for (int i = 0; i < moving.size(); i++) {
+        moving.get(i).setPosition(interpolate(from.get(i), to.get(i), fraction));
+      }
+    } finally {
+      mapboxMap.commitAnnotationUpdates();
+    }
+  }
+
+  private void removeMarkers(List<Marker> removed) {
+    if (!removed.isEmpty()) {
+      annotationManager.removeAnnotations(removed);
+      for (Marker marker : removed) {
+        // detach, so positions can be changed without updating the map
+        marker.setMapboxMap(null);
+      }
+    }
+  }
+
+  private static Marker findClosestCluster(LatLng position, List<Marker> candidates) {
+    Marker closest = null;
+    double closestDistance = Double.MAX_VALUE;
+    for (Marker candidate : candidates) {
+      if (!(candidate instanceof ClusterMarker)) {
+        continue;
+      }
+      LatLng candidatePosition = candidate.getPosition();
+      double latitudeDelta = candidatePosition.getLatitude() - position.getLatitude();
+      double longitudeDelta = longitudeDelta(position.getLongitude(), candidatePosition.getLongitude());
+      double distance = latitudeDelta * latitudeDelta + longitudeDelta * longitudeDelta;
+      if (distance < closestDistance) {
+        closestDistance = distance;
+        closest = candidate;
+      }
+    }
+    return closest;
+  }
+
+  private static LatLng interpolate(LatLng from, LatLng to, float fraction) {
+    if (fraction >= 1) {
+      return to;
+    }
+    double latitude = from.getLatitude() + (to.getLatitude() - from.getLatitude()) * fraction;
+    double longitude = from.getLongitude() + longitudeDelta(from.getLongitude(), to.getLongitude()) * fraction;
+    return new LatLng(latitude, longitude).wrap();
+  }
+
+  private static double longitudeDelta(double from, double to) {
+    double delta = to - from;
+    if (delta > GeometryConstants.MAX_LONGITUDE) {
+      delta -= GeometryConstants.LONGITUDE_SPAN;
+    } else if (delta < GeometryConstants.MIN_LONGITUDE) {
+      delta += GeometryConstants.LONGITUDE_SPAN;
+    }
+    return delta;
+  }
+
+  private static LatLngBounds padBounds(LatLngBounds bounds) {
+    double latitudePadding = bounds.getLatitudeSpan() * QUERY_PADDING;
+    double longitudePadding = bounds.getLongitudeSpan() * QUERY_PADDING;
+    double north = Math.min(GeometryConstants.MAX_LATITUDE, bounds.getLatNorth() + latitudePadding);
+    double south = Math.max(GeometryConstants.MIN_LATITUDE, bounds.getLatSouth() - latitudePadding);
+    if (bounds.getLongitudeSpan() + 2 * longitudePadding >= GeometryConstants.LONGITUDE_SPAN) {
+      return LatLngBounds.from(north, GeometryConstants.MAX_LONGITUDE, south, GeometryConstants.MIN_LONGITUDE);
+    }
+    return LatLngBounds.from(north, bounds.getLonEast() + longitudePadding, south,
+      bounds.getLonWest() - longitudePadding);
+  }
+
+  /**
+   * Returns the icon of a cluster, overridden in tests.
+   */
+  Icon getClusterIcon(int pointCount, String text) {
+    Icon icon = clusterIcons.get(text);
+    if (icon == null) {
+      icon = createClusterIcon(pointCount, text);
+      clusterIcons.put(text, icon);
+    }
+    return icon;
+  }
+
+  private static Icon createClusterIcon(int pointCount, String text) {
+    Context context = Mapbox.getApplicationContext();
+    float density = context.getResources().getDisplayMetrics().density;
+    int sizeDp = pointCount < 10 ? 30 : pointCount < 100 ? 36 : pointCount < 1000 ? 42 : 48;
+    int size = (int) (sizeDp * density);
+    float radius = size / 2f;
+
+    Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(bitmap);
+    Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setColor(Color.WHITE);
+    canvas.drawCircle(radius, radius, radius, paint);
+    paint.setColor(ContextCompat.getColor(context, R.color.mapbox_blue));
+    canvas.drawCircle(radius, radius, radius - 2 * density, paint);
+
+    paint.setColor(Color.WHITE);
+    paint.setTextAlign(Paint.Align.CENTER);
+    paint.setTextSize(12 * density);
+    paint.setTypeface(Typeface.DEFAULT_BOLD);
+    canvas.drawText(text, radius, radius - (paint.descent() + paint.ascent()) / 2, paint);
+    return IconFactory.getInstance(context).fromBitmap(bitmap);
+  }
+
+  /**
+   * Markers moving between their positions and the position of a cluster.
+   */
+  class MarkerAnimation {
+    private final List<Marker> moving;
+    private final List<LatLng> from;
+    private final List<LatLng> to;
+    private final List<Marker> removeAtEnd;
+    private boolean ended;
+
+    MarkerAnimation(List<Marker> moving, List<LatLng> from, List<LatLng> to, List<Marker> removeAtEnd) {
+      this.moving = moving;
+      this.from = from;
+      this.to = to;
+      this.removeAtEnd = removeAtEnd;
+    }
+
+    void update(float fraction) {
+      if (!ended) {
+        setPositions(moving, from, to, fraction);
+      }
+    }
+
+    /**
+     * Moves the markers to their final positions, the markers merged into a cluster are removed.
+     */
+    void end() {
+      if (ended) {
+        return;
+      }
+      ended = true;
+      if (animation == this) {
+        animation = null;
+      }
+      if (removeAtEnd.isEmpty()) {
+        setPositions(moving, from, to, 1);
+      } else {
+        // restore the real positions of the markers merged into a cluster once they are off the map
+        removeMarkers(removeAtEnd);
+        for (int i = 0; i < removeAtEnd.size(); i++) {
+          removeAtEnd.get(i).setPosition(from.get(i));
+        }
+      }
+    }
+  }
+}
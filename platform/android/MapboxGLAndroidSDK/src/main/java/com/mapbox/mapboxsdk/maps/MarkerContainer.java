@@ -16,6 +16,7 @@ import com.mapbox.mapboxsdk.annotations.MarkerView;
 import com.mapbox.mapboxsdk.annotations.MarkerViewManager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -54,22 +55,28 @@ class MarkerContainer implements Markers {
     int count = markerOptionsList.size();
     List<Marker> markers = new ArrayList<>(count);
     if (nativeMapView != null && count > 0) {
-      BaseMarkerOptions markerOptions;
-      Marker marker;
       for (int i = 0; i < count; i++) {
-        markerOptions = markerOptionsList.get(i);
-        marker = prepareMarker(markerOptions);
-        markers.add(marker);
+        markers.add(markerOptionsList.get(i).getMarker());
+      }
+      add(markers, mapboxMap);
+    }
+    return markers;
+  }
+
+  @Override
+  public List<Marker> add(@NonNull List<? extends Marker> markerList, @NonNull MapboxMap mapboxMap) {
+    List<Marker> markers = new ArrayList<Marker>(markerList);
+    if (nativeMapView != null && markers.size() > 0) {
+      for (Marker marker : markers) {
+        prepareMarker(marker);
       }
 
-      if (markers.size() > 0) {
-        long[] ids = nativeMapView.addMarkers(markers);
-        for (int i = 0; i < ids.length; i++) {
-          Marker createdMarker = markers.get(i);
-          createdMarker.setMapboxMap(mapboxMap);
-          createdMarker.setId(ids[i]);
-          annotations.put(ids[i], createdMarker);
-        }
+      long[] ids = nativeMapView.addMarkers(markers);
+      for (int i = 0; i < ids.length; i++) {
+        Marker createdMarker = markers.get(i);
+        createdMarker.setMapboxMap(mapboxMap);
+        createdMarker.setId(ids[i]);
+        annotations.put(ids[i], createdMarker);
       }
     }
     return markers;
@@ -87,7 +94,7 @@ class MarkerContainer implements Markers {
     List<Marker> markers = new ArrayList<>();
     Annotation annotation;
     for (int i = 0; i < annotations.size(); i++) {
-      annotation = annotations.get(annotations.keyAt(i));
+      annotation = annotations.valueAt(i);
       if (annotation instanceof Marker) {
         markers.add((Marker) annotation);
       }
@@ -100,22 +107,7 @@ class MarkerContainer implements Markers {
   public List<Marker> obtainAllIn(@NonNull RectF rectangle) {
     RectF rect = nativeMapView.getDensityDependantRectangle(rectangle);
     long[] ids = nativeMapView.queryPointAnnotations(rect);
-    List<Long> idsList = new ArrayList<>(ids.length);
-    for (long id : ids) {
-      idsList.add(id);
-    }
-
-    List<Marker> annotations = new ArrayList<>(ids.length);
-    List<Annotation> annotationList = obtainAnnotations();
-    int count = annotationList.size();
-    for (int i = 0; i < count; i++) {
-      Annotation annotation = annotationList.get(i);
-      if (annotation instanceof com.mapbox.mapboxsdk.annotations.Marker && idsList.contains(annotation.getId())) {
-        annotations.add((com.mapbox.mapboxsdk.annotations.Marker) annotation);
-      }
-    }
-
-    return new ArrayList<>(annotations);
+    return obtainAllBy(ids, Marker.class);
   }
 
   @Override
@@ -140,10 +132,12 @@ class MarkerContainer implements Markers {
   @Override
   public List<MarkerView> addViewsBy(@NonNull List<? extends BaseMarkerViewOptions> markerViewOptions, @NonNull
     MapboxMap mapboxMap) {
-    List<MarkerView> markers = new ArrayList<>();
-    for (BaseMarkerViewOptions markerViewOption : markerViewOptions) {
+    int count = markerViewOptions.size();
+    List<MarkerView> markers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      BaseMarkerViewOptions markerViewOption = markerViewOptions.get(i);
       // if last marker
-      if (markerViewOptions.indexOf(markerViewOption) == markerViewOptions.size() - 1) {
+      if (i == count - 1) {
         // get notified when render occurs to invalidate and draw MarkerViews
         markerViewManager.setWaitingForRenderInvoke(true);
       }
@@ -169,23 +163,7 @@ class MarkerContainer implements Markers {
       rectangle.bottom / pixelRatio);
 
     long[] ids = nativeMapView.queryPointAnnotations(rect);
-
-    List<Long> idsList = new ArrayList<>(ids.length);
-    for (long id : ids) {
-      idsList.add(id);
-    }
-
-    List<MarkerView> annotations = new ArrayList<>(ids.length);
-    List<Annotation> annotationList = obtainAnnotations();
-    int count = annotationList.size();
-    for (int i = 0; i < count; i++) {
-      Annotation annotation = annotationList.get(i);
-      if (annotation instanceof MarkerView && idsList.contains(annotation.getId())) {
-        annotations.add((MarkerView) annotation);
-      }
-    }
-
-    return new ArrayList<>(annotations);
+    return obtainAllBy(ids, MarkerView.class);
   }
 
   @Override
@@ -204,7 +182,10 @@ class MarkerContainer implements Markers {
   }
 
   private Marker prepareMarker(BaseMarkerOptions markerOptions) {
-    Marker marker = markerOptions.getMarker();
+    return prepareMarker(markerOptions.getMarker());
+  }
+
+  private Marker prepareMarker(Marker marker) {
     Icon icon = iconManager.loadIconForMarker(marker);
     marker.setTopOffsetPixels(iconManager.getTopOffsetPixelsForIcon(icon));
     return marker;
@@ -216,12 +197,24 @@ class MarkerContainer implements Markers {
     }
   }
 
-  private List<Annotation> obtainAnnotations() {
-    List<Annotation> annotations = new ArrayList<>();
-    for (int i = 0; i < this.annotations.size(); i++) {
-      annotations.add(this.annotations.get(this.annotations.keyAt(i)));
+  /**
+   * Looks up the annotations of the given ids, in the order of their ids. Duplicate and unknown ids are skipped.
+   */
+  private <T extends Annotation> List<T> obtainAllBy(long[] ids, Class<T> type) {
+    long[] sortedIds = ids.clone();
+    Arrays.sort(sortedIds);
+
+    List<T> result = new ArrayList<>(sortedIds.length);
+    for (int i = 0; i < sortedIds.length; i++) {
+      if (i > 0 && sortedIds[i] == sortedIds[i - 1]) {
+        continue;
+      }
+      Annotation annotation = annotations.get(sortedIds[i]);
+      if (type.isInstance(annotation)) {
+        result.add(type.cast(annotation));
+      }
     }
-    return annotations;
+    return result;
   }
 
   private MarkerView prepareViewMarker(BaseMarkerViewOptions markerViewOptions) {
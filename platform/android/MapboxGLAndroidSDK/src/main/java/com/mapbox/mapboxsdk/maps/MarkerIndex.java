@@ -0,0 +1,310 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.constants.GeometryConstants;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Grid index of marker positions in spherical Mercator projected meters.
+ * <p>
+ * The index is kept up to date as markers are added, moved and removed, and answers rectangle queries without
+ * querying the map per marker: the corners of the rectangle are unprojected in a single call, the markers in the
+ * overlapped grid cells are projected back in a single call and tested against the rectangle.
+ * </p>
+ * <p>
+ * Markers are matched by their position, the extent of their icon is not taken into account.
+ * </p>
+ */
+class MarkerIndex {
+
+  // cells span about 39 km at the equator
+  private static final int GRID_ZOOM = 10;
+  private static final int GRID_SIZE = 1 << GRID_ZOOM;
+  private static final double WORLD_METERS = 2 * Math.PI * GeometryConstants.RADIUS_EARTH_METERS;
+  private static final double CELL_METERS = WORLD_METERS / GRID_SIZE;
+  private static final double TILE_SIZE = 512;
+
+  // rectangles spanning more than this part of the world width are answered by testing every marker,
+  // as their corners no longer tell which world copy is shown
+  private static final double MAX_INDEXED_WORLD_PART = 0.125;
+
+  private static final Comparator<Marker> ID_COMPARATOR = new Comparator<Marker>() {
+    @Override
+    public int compare(Marker first, Marker second) {
+      return first.getId() < second.getId() ? -1 : (first.getId() == second.getId() ? 0 : 1);
+    }
+  };
+
+  private final LongSparseArray<Entry> entries = new LongSparseArray<>();
+  private final LongSparseArray<List<Entry>> cells = new LongSparseArray<>();
+
+  /**
+   * Adds a marker to the index, or moves it if it was added before.
+   *
+   * @param marker the marker, must have been added to the map
+   */
+  void put(@NonNull Marker marker) {
+    LatLng position = marker.getPosition();
+    if (position == null) {
+      remove(marker.getId());
+      return;
+    }
+
+    double x = projectX(position.getLongitude());
+    double y = projectY(position.getLatitude());
+    long cellKey = cellKey(cellX(x), cellY(y));
+
+    Entry entry = entries.get(marker.getId());
+    if (entry != null && entry.cellKey != cellKey) {
+      removeFromCell(entry);
+      entry = null;
+    }
+    if (entry == null) {
+      entry = new Entry(marker, cellKey);
+      entries.put(marker.getId(), entry);
+      addToCell(entry);
+    }
+    entry.marker = marker;
+    entry.x = x;
+    entry.y = y;
+  }
+
+  void remove(long id) {
+    Entry entry = entries.get(id);
+    if (entry != null) {
+      entries.remove(id);
+      removeFromCell(entry);
+    }
+  }
+
+  void clear() {
+    entries.clear();
+    cells.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the markers of a type inside a rectangle on the screen, ordered by id.
+   *
+   * @param rectangle  the rectangle in screen pixels
+   * @param projection the projection of the map
+   * @param zoom       the zoom level of the map
+   * @param pixelRatio the pixel ratio of the map
+   * @param type       the type of markers to return
+   * @return the markers of which the position is inside the rectangle
+   */
+  @NonNull
+  <T extends Marker> List<T> obtainAllIn(@NonNull RectF rectangle, @NonNull Projection projection, double zoom,
+                                         float pixelRatio, @NonNull Class<T> type) {
+    List<Entry> candidates = new ArrayList<>();
+    double worldPixels = TILE_SIZE * Math.pow(2, zoom) * pixelRatio;
+    double maxSide = Math.max(rectangle.right - rectangle.left, rectangle.bottom - rectangle.top);
+    if (maxSide > worldPixels * MAX_INDEXED_WORLD_PART) {
+      for (int i = 0; i < entries.size(); i++) {
+        candidates.add(entries.valueAt(i));
+      }
+    } else {
+      float[] corners = new float[] {
+        rectangle.left, rectangle.top,
+        rectangle.right, rectangle.top,
+        rectangle.right, rectangle.bottom,
+        rectangle.left, rectangle.bottom,
+        (rectangle.left + rectangle.right) / 2, (rectangle.top + rectangle.bottom) / 2
+      };
+      double[] lonLat = new double[corners.length];
+      projection.fromScreenLocations(corners, lonLat);
+
+      // unwrap the corners around the center so rectangles crossing the antimeridian stay contiguous
+      double centerLongitude = lonLat[8];
+      double west = centerLongitude;
+      double east = centerLongitude;
+      double south = lonLat[9];
+      double north = lonLat[9];
+      for (int i = 0; i < 4; i++) {
+        double longitude = unwrap(lonLat[i * 2], centerLongitude);
+        west = Math.min(west, longitude);
+        east = Math.max(east, longitude);
+        south = Math.min(south, lonLat[i * 2 + 1]);
+        north = Math.max(north, lonLat[i * 2 + 1]);
+      }
+      collect(projectX(west), projectY(south), projectX(east), projectY(north), candidates);
+    }
+
+    int count = candidates.size();
+    double[] positions = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      LatLng position = candidates.get(i).marker.getPosition();
+      positions[i * 2] = position.getLongitude();
+      positions[i * 2 + 1] = position.getLatitude();
+    }
+    float[] screenLocations = new float[count * 2];
+    projection.toScreenLocations(positions, screenLocations);
+
+    List<T> result = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      float x = screenLocations[i * 2];
+      float y = screenLocations[i * 2 + 1];
+      Marker marker = candidates.get(i).marker;
+      if (x >= rectangle.left && x <= rectangle.right && y >= rectangle.top && y <= rectangle.bottom
+        && type.isInstance(marker)) {
+        result.add(type.cast(marker));
+      }
+    }
+    Collections.sort(result, ID_COMPARATOR);
+    return result;
+  }
+
+  /**
+   * Returns the markers inside a rectangle in projected meters, ordered by id. The west and east edges may extend
+   * beyond the antimeridian.
+   */
+  @NonNull
+  List<Marker> query(double west, double south, double east, double north) {
+    List<Entry> found = new ArrayList<>();
+    collect(west, south, east, north, found);
+
+    List<Marker> result = new ArrayList<>(found.size());
+    for (Entry entry : found) {
+      result.add(entry.marker);
+    }
+    Collections.sort(result, ID_COMPARATOR);
+    return result;
+  }
+
+  private void collect(double west, double south, double east, double north, List<Entry> result) {
+    double halfWorld = WORLD_METERS / 2;
+    if (east - west >= WORLD_METERS) {
+      collectWrapped(-halfWorld, south, halfWorld, north, result);
+    } else if (west < -halfWorld) {
+      collectWrapped(west + WORLD_METERS, south, halfWorld, north, result);
+      collectWrapped(-halfWorld, south, east, north, result);
+    } else if (east > halfWorld) {
+      collectWrapped(west, south, halfWorld, north, result);
+      collectWrapped(-halfWorld, south, east - WORLD_METERS, north, result);
+    } else {
+      collectWrapped(west, south, east, north, result);
+    }
+  }
+
+  private void collectWrapped(double west, double south, double east, double north, List<Entry> result) {
+    int minX = cellX(west);
+    int maxX = cellX(east);
+    int minY = cellY(north);
+    int maxY = cellY(south);
+
+    long rangeCells = (long) (maxX - minX + 1) * (maxY - minY + 1);
+    if (rangeCells > cells.size()) {
+      // fewer cells are occupied than overlapped, visit those
+      for (int i = 0; i < cells.size(); i++) {
+        long key = cells.keyAt(i);
+        int x = (int) (key >>> 32);
+        int y = (int) key;
+        if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+          collectFromCell(cells.valueAt(i), west, south, east, north, result);
+        }
+      }
+    } else {
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          List<Entry> cell = cells.get(cellKey(x, y));
+          if (cell != null) {
+            collectFromCell(cell, west, south, east, north, result);
+          }
+        }
+      }
+    }
+  }
+
+  private static void collectFromCell(List<Entry> cell, double west, double south, double east, double north,
+                                      List<Entry> result) {
+    for (Entry entry : cell) {
+      if (entry.x >= west && entry.x <= east && entry.y >= south && entry.y <= north) {
+        result.add(entry);
+      }
+    }
+  }
+
+  private void addToCell(Entry entry) {
+    List<Entry> cell = cells.get(entry.cellKey);
+    if (cell == null) {
+      cell = new ArrayList<>();
+      cells.put(entry.cellKey, cell);
+    }
+    entry.cellIndex = cell.size();
+    cell.add(entry);
+  }
+
+  private void removeFromCell(Entry entry) {
+    List<Entry> cell = cells.get(entry.cellKey);
+    // swap the last entry into the free slot
+    Entry last = cell.remove(cell.size() - 1);
+    if (last != entry) {
+      last.cellIndex = entry.cellIndex;
+      cell.set(entry.cellIndex, last);
+    }
+    if (cell.isEmpty()) {
+      cells.remove(entry.cellKey);
+    }
+  }
+
+  static double projectX(double longitude) {
+    return GeometryConstants.RADIUS_EARTH_METERS * Math.toRadians(longitude);
+  }
+
+  static double projectY(double latitude) {
+    double clamped = Math.max(GeometryConstants.MIN_MERCATOR_LATITUDE,
+      Math.min(GeometryConstants.MAX_MERCATOR_LATITUDE, latitude));
+    return GeometryConstants.RADIUS_EARTH_METERS * Math.log(Math.tan(Math.PI / 4 + Math.toRadians(clamped) / 2));
+  }
+
+  private static double unwrap(double longitude, double reference) {
+    double delta = longitude - reference;
+    if (delta > GeometryConstants.MAX_LONGITUDE) {
+      return longitude - GeometryConstants.LONGITUDE_SPAN;
+    } else if (delta < GeometryConstants.MIN_LONGITUDE) {
+      return longitude + GeometryConstants.LONGITUDE_SPAN;
+    }
+    return longitude;
+  }
+
+  private static int cellX(double x) {
+    return clampCell((int) Math.floor((x + WORLD_METERS / 2) / CELL_METERS));
+  }
+
+  private static int cellY(double y) {
+    return clampCell((int) Math.floor((WORLD_METERS / 2 - y) / CELL_METERS));
+  }
+
+  private static int clampCell(int cell) {
+    return Math.max(0, Math.min(GRID_SIZE - 1, cell));
+  }
+
+  private static long cellKey(int x, int y) {
+    return ((long) x << 32) | y;
+  }
+
+  private static class Entry {
+    Marker marker;
+    final long cellKey;
+    int cellIndex;
+    double x;
+    double y;
+
+    Entry(Marker marker, long cellKey) {
+      this.marker = marker;
+      this.cellKey = cellKey;
+    }
+  }
+}
@@ -21,6 +21,8 @@ interface Markers {
 
   List<Marker> addBy(@NonNull List<? extends BaseMarkerOptions> markerOptionsList, @NonNull MapboxMap mapboxMap);
 
+  List<Marker> add(@NonNull List<? extends Marker> markers, @NonNull MapboxMap mapboxMap);
+
   void update(@NonNull Marker updatedMarker, @NonNull MapboxMap mapboxMap);
 
   List<Marker> obtainAll();
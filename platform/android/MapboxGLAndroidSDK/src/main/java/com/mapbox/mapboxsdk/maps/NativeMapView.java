@@ -14,7 +14,6 @@ import android.util.DisplayMetrics;
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.Geometry;
 import com.mapbox.mapboxsdk.LibraryLoader;
-import com.mapbox.mapboxsdk.annotations.Icon;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.Polygon;
 import com.mapbox.mapboxsdk.annotations.Polyline;
@@ -32,7 +31,6 @@ import com.mapbox.mapboxsdk.style.sources.CannotAddSourceException;
 import com.mapbox.mapboxsdk.style.sources.Source;
 import com.mapbox.mapboxsdk.utils.BitmapUtils;
 
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -441,8 +439,7 @@ final class NativeMapView {
       return;
     }
     LatLng position = marker.getPosition();
-    Icon icon = marker.getIcon();
-    nativeUpdateMarker(marker.getId(), position.getLatitude(), position.getLongitude(), icon.getId());
+    nativeUpdateMarker(marker.getId(), position.getLatitude(), position.getLongitude(), marker.getIconId());
   }
 
   public void updatePolygon(Polygon polygon) {
@@ -459,6 +456,45 @@ final class NativeMapView {
     nativeUpdatePolyline(polyline.getId(), polyline);
   }
 
+  public void updateAnnotations(List<Marker> markers, List<Polyline> polylines, List<Polygon> polygons) {
+    if (isDestroyedOn("updateAnnotations")) {
+      return;
+    }
+    int markerCount = markers.size();
+    long[] markerIds = new long[markerCount];
+    double[] markerPositions = new double[markerCount * 2];
+    String[] markerIcons = new String[markerCount];
+    Marker marker;
+    for (int i = 0; i < markerCount; i++) {
+      marker = markers.get(i);
+      markerIds[i] = marker.getId();
+      markerPositions[i * 2] = marker.getPosition().getLatitude();
+      markerPositions[i * 2 + 1] = marker.getPosition().getLongitude();
+      markerIcons[i] = marker.getIconId();
+    }
+
+    long[] polylineIds = new long[polylines.size()];
+    for (int i = 0; i < polylineIds.length; i++) {
+      polylineIds[i] = polylines.get(i).getId();
+    }
+
+    long[] polygonIds = new long[polygons.size()];
+    for (int i = 0; i < polygonIds.length; i++) {
+      polygonIds[i] = polygons.get(i).getId();
+    }
+
+    nativeUpdateAnnotations(markerIds, markerPositions, markerIcons,
+      polylineIds, polylines.toArray(new Polyline[polylineIds.length]),
+      polygonIds, polygons.toArray(new Polygon[polygonIds.length]));
+  }
+
+  public void appendPolylinePoints(long id, double[] lonLat) {
+    if (isDestroyedOn("appendPolylinePoints")) {
+      return;
+    }
+    nativeAppendPolylinePoints(id, lonLat);
+  }
+
   public void removeAnnotation(long id) {
     if (isDestroyedOn("removeAnnotation")) {
       return;
@@ -488,11 +524,11 @@ final class NativeMapView {
     return nativeQueryShapeAnnotations(rectF);
   }
 
-  public void addAnnotationIcon(String symbol, int width, int height, float scale, byte[] pixels) {
+  public void addAnnotationIcon(String symbol, Bitmap bitmap, float scale) {
     if (isDestroyedOn("addAnnotationIcon")) {
       return;
     }
-    nativeAddAnnotationIcon(symbol, width, height, scale, pixels);
+    nativeAddAnnotationIcon(symbol, bitmap, scale);
   }
 
   public void removeAnnotationIcon(String symbol) {
@@ -589,6 +625,20 @@ final class NativeMapView {
     return nativeLatLngForPixel(pixel.x / pixelRatio, pixel.y / pixelRatio).wrap();
   }
 
+  public void pixelsForLatLngs(double[] lonLat, float[] pixels) {
+    if (isDestroyedOn("pixelsForLatLngs")) {
+      return;
+    }
+    nativePixelsForLatLngs(lonLat, pixels, pixelRatio);
+  }
+
+  public void latLngsForPixels(float[] pixels, double[] lonLat) {
+    if (isDestroyedOn("latLngsForPixels")) {
+      return;
+    }
+    nativeLatLngsForPixels(pixels, lonLat, pixelRatio);
+  }
+
   public double getTopOffsetPixelsForAnnotationSymbol(String symbolName) {
     if (isDestroyedOn("getTopOffsetPixelsForAnnotationSymbol")) {
       return 0;
@@ -962,7 +1012,7 @@ final class NativeMapView {
 
   private native long[] nativeQueryShapeAnnotations(RectF rect);
 
-  private native void nativeAddAnnotationIcon(String symbol, int width, int height, float scale, byte[] pixels);
+  private native void nativeAddAnnotationIcon(String symbol, Bitmap bitmap, float scale);
 
   private native void nativeRemoveAnnotationIcon(String symbol);
 
@@ -991,6 +1041,10 @@ final class NativeMapView {
 
   private native LatLng nativeLatLngForPixel(float x, float y);
 
+  private native void nativePixelsForLatLngs(double[] lonLat, float[] pixels, float pixelRatio);
+
+  private native void nativeLatLngsForPixels(float[] pixels, double[] lonLat, float pixelRatio);
+
   private native double nativeGetTopOffsetPixelsForAnnotationSymbol(String symbolName);
 
   private native void nativeJumpTo(double angle, double latitude, double longitude, double pitch, double zoom);
@@ -1048,6 +1102,12 @@ final class NativeMapView {
 
   private native void nativeUpdatePolyline(long polylineId, Polyline polyline);
 
+  private native void nativeAppendPolylinePoints(long polylineId, double[] lonLat);
+
+  private native void nativeUpdateAnnotations(long[] markerIds, double[] markerPositions, String[] markerIcons,
+                                              long[] polylineIds, Polyline[] polylines,
+                                              long[] polygonIds, Polygon[] polygons);
+
   private native void nativeTakeSnapshot();
 
   private native Feature[] nativeQueryRenderedFeaturesForPoint(float x, float y,
@@ -1148,7 +1208,6 @@ final class NativeMapView {
       HashMap<String, Bitmap> bitmapHashMap = params[0];
 
       List<Image> images = new ArrayList<>();
-      ByteBuffer buffer;
       String name;
       Bitmap bitmap;
 
@@ -1156,17 +1215,15 @@ final class NativeMapView {
         name = stringBitmapEntry.getKey();
         bitmap = stringBitmapEntry.getValue();
 
+        // Only converted here, the pixels are read by native code straight from the bitmap
         if (bitmap.getConfig() != Bitmap.Config.ARGB_8888) {
           bitmap = bitmap.copy(Bitmap.Config.ARGB_8888, false);
         }
 
-        buffer = ByteBuffer.allocate(bitmap.getByteCount());
-        bitmap.copyPixelsToBuffer(buffer);
-
         float density = bitmap.getDensity() == Bitmap.DENSITY_NONE ? Bitmap.DENSITY_NONE : bitmap.getDensity();
         float pixelRatio = density / DisplayMetrics.DENSITY_DEFAULT;
 
-        images.add(new Image(buffer.array(), pixelRatio, name, bitmap.getWidth(), bitmap.getHeight()));
+        images.add(new Image(bitmap, pixelRatio, name));
       }
 
       return images;
@@ -27,7 +27,7 @@ class PolygonContainer implements Polygons {
   @Override
   public Polygon addBy(@NonNull PolygonOptions polygonOptions, @NonNull MapboxMap mapboxMap) {
     Polygon polygon = polygonOptions.getPolygon();
-    if (!polygon.getPoints().isEmpty()) {
+    if (polygon.getPointCount() > 0) {
       long id = nativeMapView != null ? nativeMapView.addPolygon(polygon) : 0;
       polygon.setId(id);
       polygon.setMapboxMap(mapboxMap);
@@ -45,7 +45,7 @@ class PolygonContainer implements Polygons {
     if (nativeMapView != null && count > 0) {
       for (PolygonOptions polygonOptions : polygonOptionsList) {
         polygon = polygonOptions.getPolygon();
-        if (!polygon.getPoints().isEmpty()) {
+        if (polygon.getPointCount() > 0) {
           polygons.add(polygon);
         }
       }
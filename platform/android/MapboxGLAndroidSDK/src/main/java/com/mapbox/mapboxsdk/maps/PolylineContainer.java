@@ -27,7 +27,7 @@ class PolylineContainer implements Polylines {
   @Override
   public Polyline addBy(@NonNull PolylineOptions polylineOptions, @NonNull MapboxMap mapboxMap) {
     Polyline polyline = polylineOptions.getPolyline();
-    if (!polyline.getPoints().isEmpty()) {
+    if (polyline.getPointCount() > 0) {
       long id = nativeMapView != null ? nativeMapView.addPolyline(polyline) : 0;
       polyline.setMapboxMap(mapboxMap);
       polyline.setId(id);
@@ -44,7 +44,7 @@ class PolylineContainer implements Polylines {
     if (nativeMapView != null && count > 0) {
       for (PolylineOptions options : polylineOptionsList) {
         polyline = options.getPolyline();
-        if (!polyline.getPoints().isEmpty()) {
+        if (polyline.getPointCount() > 0) {
           polylines.add(polyline);
         }
       }
@@ -66,6 +66,13 @@ class PolylineContainer implements Polylines {
     annotations.setValueAt(annotations.indexOfKey(polyline.getId()), polyline);
   }
 
+  @Override
+  public void appendPoints(Polyline polyline, int firstPoint) {
+    if (firstPoint < polyline.getPointCount()) {
+      nativeMapView.appendPolylinePoints(polyline.getId(), polyline.getCoordinates(firstPoint));
+    }
+  }
+
   @Override
   public List<Polyline> obtainAll() {
     List<Polyline> polylines = new ArrayList<>();
@@ -18,5 +18,7 @@ interface Polylines {
 
   void update(Polyline polyline);
 
+  void appendPoints(Polyline polyline, int firstPoint);
+
   List<Polyline> obtainAll();
 }
@@ -93,10 +93,12 @@ public class Projection {
     float top = 0;
     float bottom = nativeMapView.getHeight();
 
-    LatLng topLeft = fromScreenLocation(new PointF(left, top));
-    LatLng topRight = fromScreenLocation(new PointF(right, top));
-    LatLng bottomRight = fromScreenLocation(new PointF(right, bottom));
-    LatLng bottomLeft = fromScreenLocation(new PointF(left, bottom));
+    double[] corners = new double[8];
+    fromScreenLocations(new float[] {left, top, right, top, right, bottom, left, bottom}, corners);
+    LatLng topLeft = new LatLng(corners[1], corners[0]);
+    LatLng topRight = new LatLng(corners[3], corners[2]);
+    LatLng bottomRight = new LatLng(corners[5], corners[4]);
+    LatLng bottomLeft = new LatLng(corners[7], corners[6]);
 
     // Map can be rotated, find correct LatLngBounds that encompasses the visible region (that might be rotated)
     List<LatLng> boundsPoints = new ArrayList<>();
@@ -155,6 +157,42 @@ public class Projection {
     return nativeMapView.pixelForLatLng(location);
   }
 
+  /**
+   * Converts geographical coordinates to screen locations in one go, without allocating a {@link PointF} per
+   * location. Prefer this over {@link #toScreenLocation(LatLng)} when projecting many locations, for example every
+   * frame.
+   *
+   * @param coordinates     the locations as interleaved longitude/latitude pairs
+   * @param screenLocations receives the screen locations in screen pixels as interleaved x/y pairs, must be at
+   *                        least as long as coordinates
+   */
+  public void toScreenLocations(double[] coordinates, float[] screenLocations) {
+    checkBatchLengths(coordinates.length, screenLocations.length);
+    nativeMapView.pixelsForLatLngs(coordinates, screenLocations);
+  }
+
+  /**
+   * Converts screen locations to geographical coordinates in one go, without allocating a {@link LatLng} per
+   * location.
+   *
+   * @param screenLocations the screen locations in screen pixels as interleaved x/y pairs
+   * @param coordinates     receives the locations as interleaved longitude/latitude pairs, must be at least as long
+   *                        as screenLocations
+   */
+  public void fromScreenLocations(float[] screenLocations, double[] coordinates) {
+    checkBatchLengths(screenLocations.length, coordinates.length);
+    nativeMapView.latLngsForPixels(screenLocations, coordinates);
+  }
+
+  private static void checkBatchLengths(int inputLength, int outputLength) {
+    if (inputLength % 2 != 0) {
+      throw new IllegalArgumentException("Input must hold pairs of values, got " + inputLength + " values");
+    }
+    if (outputLength < inputLength) {
+      throw new IllegalArgumentException("Output holds " + outputLength + " values, " + inputLength + " needed");
+    }
+  }
+
   float getHeight() {
     return nativeMapView.getHeight();
   }
@@ -26,7 +26,7 @@ class ShapeAnnotationContainer implements ShapeAnnotations {
   }
 
   private List<Annotation> getAnnotationsFromIds(long[] annotationIds) {
-    List<Annotation> shapeAnnotations = new ArrayList<>();
+    List<Annotation> shapeAnnotations = new ArrayList<>(annotationIds.length);
     for (long annotationId : annotationIds) {
       Annotation annotation = annotations.get(annotationId);
       if (annotation != null) {
@@ -0,0 +1,422 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.WorkerThread;
+import android.view.Choreographer;
+
+import com.mapbox.mapboxsdk.geometry.LatLngQuad;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import timber.log.Timber;
+
+/**
+ * Image source that shows an ordered sequence of frames, for example the images of a weather radar loop.
+ * <p>
+ * Frames are loaded and decoded ahead of time on a worker thread into a bounded buffer, see
+ * {@link AnimatedImageSourceOptions}. The shown frame is advanced in sync with the display refresh and the image is
+ * only updated when the frame changes. A frame that is not decoded by the time it is due is dropped, the previous
+ * frame stays visible until a later frame is ready.
+ * </p>
+ * <p>
+ * Call {@link #start()} after adding the source to the map and {@link #stop()} before removing it or when the map is
+ * no longer visible.
+ * </p>
+ */
+@UiThread
+public class AnimatedImageSource extends ImageSource {
+
+  private final FrameLoader loader;
+  private final long frameDuration;
+  private final boolean loop;
+  private final ImageFrameRing ring;
+  private final ExecutorService customExecutor;
+  private final AtomicBoolean preloading = new AtomicBoolean();
+  private ExecutorService executor;
+  private FrameClock clock;
+  private volatile boolean animating;
+  private long startTime;
+  private long shownSequence = -1;
+  private long shownFrameCount;
+  private long droppedFrameCount;
+
+  /**
+   * Create an AnimatedImageSource from decoded frames.
+   *
+   * @param id          The source id
+   * @param coordinates The Latitude and Longitude of the four corners of the image
+   * @param frames      The frames, in order
+   */
+  public AnimatedImageSource(String id, LatLngQuad coordinates, @NonNull Bitmap[] frames) {
+    this(id, coordinates, frames, new AnimatedImageSourceOptions());
+  }
+
+  /**
+   * Create an AnimatedImageSource from decoded frames with non-default AnimatedImageSourceOptions.
+   *
+   * @param id          The source id
+   * @param coordinates The Latitude and Longitude of the four corners of the image
+   * @param frames      The frames, in order
+   * @param options     AnimatedImageSourceOptions
+   */
+  public AnimatedImageSource(String id, LatLngQuad coordinates, @NonNull Bitmap[] frames,
+                             @NonNull AnimatedImageSourceOptions options) {
+    this(id, coordinates, new BitmapFrameLoader(frames), options);
+    setImage(frames[0]);
+  }
+
+  /**
+   * Create an AnimatedImageSource from image URLs, the images are downloaded and decoded while animating.
+   *
+   * @param id          The source id
+   * @param coordinates The Latitude and Longitude of the four corners of the image
+   * @param frames      The URLs of the frames, in order
+   */
+  public AnimatedImageSource(String id, LatLngQuad coordinates, @NonNull URL[] frames) {
+    this(id, coordinates, frames, new AnimatedImageSourceOptions());
+  }
+
+  /**
+   * Create an AnimatedImageSource from image URLs with non-default AnimatedImageSourceOptions.
+   *
+   * @param id          The source id
+   * @param coordinates The Latitude and Longitude of the four corners of the image
+   * @param frames      The URLs of the frames, in order
+   * @param options     AnimatedImageSourceOptions
+   */
+  public AnimatedImageSource(String id, LatLngQuad coordinates, @NonNull URL[] frames,
+                             @NonNull AnimatedImageSourceOptions options) {
+    this(id, coordinates, new UrlFrameLoader(frames), options);
+  }
+
+  private AnimatedImageSource(String id, LatLngQuad coordinates, FrameLoader loader,
+                              AnimatedImageSourceOptions options) {
+    super(id, coordinates);
+    if (loader.getFrameCount() == 0) {
+      throw new IllegalArgumentException("An animated image source needs at least one frame");
+    }
+    this.loader = loader;
+    this.frameDuration = options.getFrameDuration();
+    this.loop = options.isLoop();
+    // decoded bitmaps are always at hand, only frames that are loaded in every loop are worth keeping
+    boolean keepFrames = loop && loader instanceof UrlFrameLoader;
+    this.ring = new ImageFrameRing(options.getMaxBufferedFrames(), options.getMaxBufferedBytes(),
+      keepFrames ? loader.getFrameCount() : 0, keepFrames ? options.getMaxKeptBytes() : 0);
+    this.customExecutor = options.getExecutor();
+  }
+
+  /**
+   * Start the animation with the first frame.
+   */
+  public void start() {
+    if (animating) {
+      return;
+    }
+    animating = true;
+    ring.clear();
+    shownSequence = -1;
+    startTime = SystemClock.uptimeMillis();
+    if (executor == null) {
+      executor = customExecutor != null ? customExecutor : Executors.newSingleThreadExecutor();
+    }
+    if (clock == null) {
+      clock = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+        ? new ChoreographerClock(this) : new HandlerClock(this);
+    }
+    preload();
+    clock.post();
+  }
+
+  /**
+   * Stop the animation, the current frame stays visible. Buffered and kept frames are released.
+   */
+  public void stop() {
+    if (!animating) {
+      return;
+    }
+    animating = false;
+    clock.cancel();
+    if (customExecutor == null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+    ring.clear();
+  }
+
+  /**
+   * @return true if the animation is running
+   */
+  public boolean isAnimating() {
+    return animating;
+  }
+
+  /**
+   * @return the amount of frames that were shown since the source was created
+   */
+  public long getShownFrameCount() {
+    return shownFrameCount;
+  }
+
+  /**
+   * @return the amount of frames that were skipped because they were not decoded by the time they were due
+   */
+  public long getDroppedFrameCount() {
+    return droppedFrameCount;
+  }
+
+  /**
+   * @return the amount of frames decoded ahead of the shown frame
+   */
+  public int getBufferedFrameCount() {
+    return ring.size();
+  }
+
+  /**
+   * @return the amount of bytes held by the frames decoded ahead of the shown frame
+   */
+  public long getBufferedByteCount() {
+    return ring.getByteCount();
+  }
+
+  private void onFrame() {
+    if (!animating) {
+      return;
+    }
+
+    long now = SystemClock.uptimeMillis();
+    long sequence = (now - startTime) / frameDuration;
+    int frameCount = loader.getFrameCount();
+    if (!loop && sequence >= frameCount) {
+      sequence = frameCount - 1;
+    }
+
+    if (sequence > shownSequence) {
+      Bitmap frame = ring.poll(sequence);
+      if (frame != null) {
+        if (shownSequence >= 0) {
+          droppedFrameCount += sequence - shownSequence - 1;
+        }
+        shownSequence = sequence;
+        shownFrameCount++;
+        nativeSetImage(frame);
+      } else if (shownSequence < 0) {
+        // the animation starts once the first frame is decoded
+        startTime = now;
+      }
+    }
+
+    // checked on every display frame, which also picks up room freed while the last preloader was finishing
+    preload();
+
+    if (!loop && shownSequence == frameCount - 1) {
+      stop();
+      return;
+    }
+    clock.post();
+  }
+
+  private void preload() {
+    if (animating && ring.hasRoom() && preloading.compareAndSet(false, true)) {
+      try {
+        executor.execute(new Preloader(this));
+      } catch (RejectedExecutionException exception) {
+        Timber.e(exception, "Frames can't be preloaded, the executor was shut down");
+        preloading.set(false);
+      }
+    }
+  }
+
+  /**
+   * Loads frames into the ring until it is full. Only one runs at a time, it is only ever started from the UI thread
+   * which owns the executor.
+   */
+  private static class Preloader implements Runnable {
+    private final WeakReference<AnimatedImageSource> sourceRef;
+
+    Preloader(AnimatedImageSource source) {
+      sourceRef = new WeakReference<>(source);
+    }
+
+    @WorkerThread
+    public void run() {
+      AnimatedImageSource source = sourceRef.get();
+      if (source == null) {
+        return;
+      }
+
+      ImageFrameRing ring = source.ring;
+      int frameCount = source.loader.getFrameCount();
+      try {
+        while (source.animating && ring.hasRoom()) {
+          long sequence = ring.getNextSequence();
+          if (!source.loop && sequence >= frameCount) {
+            break;
+          }
+          int index = (int) (sequence % frameCount);
+          Bitmap frame = ring.getKept(index);
+          if (frame == null) {
+            frame = source.loader.load(index);
+            if (frame == null) {
+              // not loadable, the clock drops it
+              break;
+            }
+            ring.keep(index, frame);
+          }
+          // a frame the clock already moved past is discarded
+          ring.offer(sequence, frame);
+        }
+      } finally {
+        source.preloading.set(false);
+      }
+    }
+  }
+
+  private abstract static class FrameLoader {
+    abstract int getFrameCount();
+
+    @Nullable
+    @WorkerThread
+    abstract Bitmap load(int index);
+  }
+
+  private static class BitmapFrameLoader extends FrameLoader {
+    private final Bitmap[] frames;
+
+    BitmapFrameLoader(Bitmap[] frames) {
+      this.frames = frames.clone();
+    }
+
+    @Override
+    int getFrameCount() {
+      return frames.length;
+    }
+
+    @Override
+    Bitmap load(int index) {
+      return frames[index];
+    }
+  }
+
+  private static class UrlFrameLoader extends FrameLoader {
+    private final URL[] frames;
+
+    UrlFrameLoader(URL[] frames) {
+      this.frames = frames.clone();
+    }
+
+    @Override
+    int getFrameCount() {
+      return frames.length;
+    }
+
+    @Override
+    Bitmap load(int index) {
+      InputStream stream = null;
+      try {
+        stream = frames[index].openStream();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        return BitmapFactory.decodeStream(stream, null, options);
+      } catch (IOException exception) {
+        Timber.e(exception, "Failed to load frame %s", frames[index]);
+        return null;
+      } finally {
+        if (stream != null) {
+          try {
+            stream.close();
+          } catch (IOException ignored) {
+            // ignore
+          }
+        }
+      }
+    }
+  }
+
+  private abstract static class FrameClock {
+    final WeakReference<AnimatedImageSource> sourceRef;
+
+    FrameClock(AnimatedImageSource source) {
+      sourceRef = new WeakReference<>(source);
+    }
+
+    abstract void post();
+
+    abstract void cancel();
+
+    void onFrame() {
+      AnimatedImageSource source = sourceRef.get();
+      if (source != null) {
+        source.onFrame();
+      }
+    }
+  }
+
+  /**
+   * Advances the animation on every display frame.
+   */
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static class ChoreographerClock extends FrameClock implements Choreographer.FrameCallback {
+
+    ChoreographerClock(AnimatedImageSource source) {
+      super(source);
+    }
+
+    @Override
+    void post() {
+      Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    void cancel() {
+      Choreographer.getInstance().removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      onFrame();
+    }
+  }
+
+  /**
+   * Fallback for devices without {@link Choreographer}, polls at roughly the display refresh rate.
+   */
+  private static class HandlerClock extends FrameClock implements Runnable {
+    private static final long FRAME_INTERVAL = 16;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    HandlerClock(AnimatedImageSource source) {
+      super(source);
+    }
+
+    @Override
+    void post() {
+      handler.postDelayed(this, FRAME_INTERVAL);
+    }
+
+    @Override
+    void cancel() {
+      handler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+      onFrame();
+    }
+  }
+}
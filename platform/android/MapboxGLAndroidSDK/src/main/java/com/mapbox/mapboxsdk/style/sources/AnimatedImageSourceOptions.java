@@ -0,0 +1,122 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builder class for composing {@link AnimatedImageSource} objects.
+ */
+public class AnimatedImageSourceOptions {
+
+  private long frameDuration = 100;
+  private boolean loop = true;
+  private int maxBufferedFrames = 4;
+  private long maxBufferedBytes = 32 * 1024 * 1024;
+  private long maxKeptBytes = 32 * 1024 * 1024;
+  private ExecutorService executor;
+
+  /**
+   * Time each frame is shown.
+   *
+   * @param frameDuration the frame duration in milliseconds, must be positive - Defaults to 100, 10 frames per second.
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withFrameDuration(long frameDuration) {
+    if (frameDuration <= 0) {
+      throw new IllegalArgumentException("Frame duration must be positive");
+    }
+    this.frameDuration = frameDuration;
+    return this;
+  }
+
+  /**
+   * Restart with the first frame after the last frame was shown.
+   *
+   * @param loop true to loop - Defaults to true.
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withLoop(boolean loop) {
+    this.loop = loop;
+    return this;
+  }
+
+  /**
+   * Maximum amount of frames decoded ahead of the shown frame.
+   *
+   * @param maxBufferedFrames the maximum amount of buffered frames - Defaults to 4.
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withMaxBufferedFrames(int maxBufferedFrames) {
+    this.maxBufferedFrames = maxBufferedFrames;
+    return this;
+  }
+
+  /**
+   * Maximum amount of bytes held by the frames decoded ahead of the shown frame. One frame is always buffered, even
+   * when it is larger.
+   *
+   * @param maxBufferedBytes the maximum amount of buffered bytes - Defaults to 32 MB.
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withMaxBufferedBytes(long maxBufferedBytes) {
+    this.maxBufferedBytes = maxBufferedBytes;
+    return this;
+  }
+
+  /**
+   * Maximum amount of bytes held by frames loaded from URLs that are kept decoded for the next loop, so they are not
+   * downloaded and decoded again. Frames that do not fit are loaded again in every loop. Kept frames are released when
+   * the animation is stopped.
+   *
+   * @param maxKeptBytes the maximum amount of kept bytes, 0 to load every frame in every loop - Defaults to 32 MB.
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withMaxKeptBytes(long maxKeptBytes) {
+    if (maxKeptBytes < 0) {
+      throw new IllegalArgumentException("Kept bytes must not be negative");
+    }
+    this.maxKeptBytes = maxKeptBytes;
+    return this;
+  }
+
+  /**
+   * Executor that loads and decodes the frames.
+   * <p>
+   * The source does not shut down an executor that is set here, its lifecycle is managed by the caller.
+   * </p>
+   *
+   * @param executor the executor - Defaults to a single thread owned by the source while it is animating
+   * @return the current instance for chaining
+   */
+  public AnimatedImageSourceOptions withExecutor(@NonNull ExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  long getFrameDuration() {
+    return frameDuration;
+  }
+
+  boolean isLoop() {
+    return loop;
+  }
+
+  int getMaxBufferedFrames() {
+    return maxBufferedFrames;
+  }
+
+  long getMaxBufferedBytes() {
+    return maxBufferedBytes;
+  }
+
+  long getMaxKeptBytes() {
+    return maxKeptBytes;
+  }
+
+  @Nullable
+  ExecutorService getExecutor() {
+    return executor;
+  }
+}
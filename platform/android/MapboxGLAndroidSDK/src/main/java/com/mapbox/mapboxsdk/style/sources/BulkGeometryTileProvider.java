@@ -0,0 +1,39 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+/**
+ * {@link GeometryTileProvider} that answers the requests for several tiles with a single query.
+ * <p>
+ * When enabled with {@link CustomGeometrySourceOptions#withBulkRequests(boolean)}, {@link CustomGeometrySource}
+ * collects the queued requests of a zoom level and calls {@link #getFeaturesForTiles(LatLngBounds, int)} once with
+ * the union of their buffered bounds, instead of calling {@link #getFeaturesForBounds(LatLngBounds, int)} for every
+ * tile. The source then assigns every returned feature to the tiles its bounding box intersects, taking the tile
+ * buffer into account. Use {@link CustomGeometrySourceOptions#withClip(boolean)} to clip features to the tiles as
+ * well.
+ * </p>
+ * <p>
+ * Computing the bounding boxes from the coordinates of every returned feature can cost more than the separate
+ * queries it saves. Return features with a GeoJSON bbox, for example the bounding boxes the backing index stores
+ * anyway, to have them assigned without visiting their coordinates.
+ * </p>
+ */
+public interface BulkGeometryTileProvider extends GeometryTileProvider {
+
+  /**
+   * Interface method called by {@link CustomGeometrySource} to request features for several tiles.
+   *
+   * @param bounds    {@link LatLngBounds} enclosing all requested tiles and their buffers.
+   * @param zoomLevel Zoom level of the requested tiles.
+   * @return Return a @{link FeatureCollection} with the features intersecting the bounds, the source distributes
+   * these over the tiles.
+   */
+  @Nullable
+  @WorkerThread
+  FeatureCollection getFeaturesForTiles(@NonNull LatLngBounds bounds, int zoomLevel);
+}
@@ -0,0 +1,31 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+/**
+ * {@link GeometryTileProvider} that can abort work for tiles that are no longer needed.
+ * <p>
+ * {@link CustomGeometrySource} calls {@link #getFeaturesForBounds(LatLngBounds, int, CancellationToken)} instead of
+ * {@link #getFeaturesForBounds(LatLngBounds, int)} for providers implementing this interface.
+ * </p>
+ */
+public interface CancellableGeometryTileProvider extends GeometryTileProvider {
+
+  /**
+   * Interface method called by {@link CustomGeometrySource} to request features for a tile.
+   *
+   * @param bounds    {@link LatLngBounds} of the tile.
+   * @param zoomLevel Tile zoom level.
+   * @param token     Token that is cancelled when the tile is no longer needed.
+   * @return Return a @{link FeatureCollection} to be displayed in the requested tile, or null when cancelled.
+   */
+  @Nullable
+  @WorkerThread
+  FeatureCollection getFeaturesForBounds(@NonNull LatLngBounds bounds, int zoomLevel,
+                                         @NonNull CancellationToken token);
+}
@@ -0,0 +1,29 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+/**
+ * Cooperative cancellation of a tile request, see {@link CancellableGeometryTileProvider}.
+ * <p>
+ * A request is cancelled when its tile is no longer needed, for example because it moved out of the viewport.
+ * Long-running providers should check {@link #isCancelled()} regularly and return early when it is set.
+ * </p>
+ */
+public final class CancellationToken {
+
+  private volatile boolean cancelled;
+
+  CancellationToken() {
+  }
+
+  /**
+   * Check whether the request was cancelled.
+   *
+   * @return true if the result of the request is no longer needed
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  void cancel() {
+    cancelled = true;
+  }
+}
@@ -0,0 +1,143 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+
+/**
+ * Aggregation of a numeric value over all points contained in a cluster of a {@link ClusterIndex}.
+ * <p>
+ * Each point is mapped to a value with {@link #map(Feature)}, the values of points and nested clusters are combined
+ * with {@link #reduce(double, double)}. The result is exposed on cluster features as a property with the name of the
+ * aggregation.
+ * </p>
+ * <p>
+ * Use one of the static factory methods for common aggregations or subclass for a custom reducer.
+ * </p>
+ */
+public abstract class ClusterAggregation {
+
+  private final String name;
+
+  /**
+   * Create an aggregation.
+   *
+   * @param name the name of the property the aggregated value is exposed as on cluster features
+   */
+  protected ClusterAggregation(@NonNull String name) {
+    this.name = name;
+  }
+
+  /**
+   * Get the name of the property the aggregated value is exposed as on cluster features.
+   *
+   * @return the property name
+   */
+  @NonNull
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Map an input point to the value that is aggregated.
+   *
+   * @param feature the input point feature
+   * @return the value for this point
+   */
+  public abstract double map(@NonNull Feature feature);
+
+  /**
+   * Combine two values into one.
+   *
+   * @param accumulated the accumulated value so far
+   * @param value       the value of another point or cluster
+   * @return the combined value
+   */
+  public abstract double reduce(double accumulated, double value);
+
+  /**
+   * Sum of a numeric feature property. Points without the property contribute 0.
+   *
+   * @param name     the name of the output property
+   * @param property the input feature property
+   * @return the aggregation
+   */
+  public static ClusterAggregation sum(@NonNull String name, @NonNull final String property) {
+    return new ClusterAggregation(name) {
+      @Override
+      public double map(@NonNull Feature feature) {
+        return numberProperty(feature, property, 0);
+      }
+
+      @Override
+      public double reduce(double accumulated, double value) {
+        return accumulated + value;
+      }
+    };
+  }
+
+  /**
+   * Maximum of a numeric feature property. Points without the property are ignored.
+   *
+   * @param name     the name of the output property
+   * @param property the input feature property
+   * @return the aggregation
+   */
+  public static ClusterAggregation max(@NonNull String name, @NonNull final String property) {
+    return new ClusterAggregation(name) {
+      @Override
+      public double map(@NonNull Feature feature) {
+        return numberProperty(feature, property, Double.NEGATIVE_INFINITY);
+      }
+
+      @Override
+      public double reduce(double accumulated, double value) {
+        return Math.max(accumulated, value);
+      }
+    };
+  }
+
+  /**
+   * Minimum of a numeric feature property. Points without the property are ignored.
+   *
+   * @param name     the name of the output property
+   * @param property the input feature property
+   * @return the aggregation
+   */
+  public static ClusterAggregation min(@NonNull String name, @NonNull final String property) {
+    return new ClusterAggregation(name) {
+      @Override
+      public double map(@NonNull Feature feature) {
+        return numberProperty(feature, property, Double.POSITIVE_INFINITY);
+      }
+
+      @Override
+      public double reduce(double accumulated, double value) {
+        return Math.min(accumulated, value);
+      }
+    };
+  }
+
+  /**
+   * Read a numeric property from a feature.
+   *
+   * @param feature      the feature
+   * @param property     the property name
+   * @param defaultValue the value returned if the property is missing or not a number
+   * @return the property value
+   */
+  protected static double numberProperty(@NonNull Feature feature, @NonNull String property, double defaultValue) {
+    JsonObject properties = feature.properties();
+    if (properties == null) {
+      return defaultValue;
+    }
+
+    JsonElement element = properties.get(property);
+    if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+      return defaultValue;
+    }
+    return element.getAsDouble();
+  }
+}
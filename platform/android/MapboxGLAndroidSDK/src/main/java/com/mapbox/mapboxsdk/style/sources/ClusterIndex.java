@@ -0,0 +1,456 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical point clustering index, computed on the Java side.
+ * <p>
+ * Points are clustered once for every zoom level between the configured minimum and maximum zoom. Each zoom level is
+ * backed by a KD-tree which allows fast retrieval of the clusters in a region as well as of the children and leaves
+ * of a tapped cluster. Cluster features carry the {@code cluster}, {@code cluster_id}, {@code point_count} and
+ * {@code point_count_abbreviated} properties, as well as a property for each configured {@link ClusterAggregation}.
+ * </p>
+ * <p>
+ * The index implements {@link GeometryTileProvider} and can be used directly as the provider of a
+ * {@link CustomGeometrySource}. Building the index is expensive for large inputs and should happen on a worker thread.
+ * </p>
+ */
+public class ClusterIndex implements GeometryTileProvider {
+
+  private static final int ZOOM_BITS = 5;
+  private static final int MAX_SUPPORTED_ZOOM = (1 << ZOOM_BITS) - 2;
+
+  private final Feature[] points;
+  private final ClusterAggregation[] aggregations;
+  private final Level[] levels;
+  private final int minZoom;
+  private final int maxZoom;
+  private final int radius;
+  private final int extent;
+
+  /**
+   * Create a ClusterIndex from the point features of a FeatureCollection.
+   *
+   * @param features the features, features without a point geometry are ignored
+   * @param options  the cluster options
+   */
+  @WorkerThread
+  public ClusterIndex(@NonNull FeatureCollection features, @NonNull ClusterOptions options) {
+    this(features.features(), options);
+  }
+
+  /**
+   * Create a ClusterIndex from a list of point features.
+   *
+   * @param features the features, features without a point geometry are ignored
+   * @param options  the cluster options
+   */
+  @WorkerThread
+  public ClusterIndex(@NonNull List<Feature> features, @NonNull ClusterOptions options) {
+    minZoom = options.getMinZoom();
+    maxZoom = options.getMaxZoom();
+    radius = options.getRadius();
+    extent = options.getExtent();
+    if (minZoom < 0 || maxZoom > MAX_SUPPORTED_ZOOM || minZoom > maxZoom) {
+      throw new IllegalArgumentException(
+        "Cluster zoom levels need to satisfy 0 <= minZoom <= maxZoom <= " + MAX_SUPPORTED_ZOOM);
+    }
+
+    List<ClusterAggregation> aggregationList = options.getAggregations();
+    aggregations = aggregationList.toArray(new ClusterAggregation[aggregationList.size()]);
+
+    List<Feature> pointFeatures = new ArrayList<>(features.size());
+    for (Feature feature : features) {
+      if (feature != null && feature.geometry() instanceof Point) {
+        pointFeatures.add(feature);
+      }
+    }
+    points = pointFeatures.toArray(new Feature[pointFeatures.size()]);
+
+    levels = new Level[maxZoom + 2];
+    Level leaves = new Level(points.length, aggregations.length);
+    for (int i = 0; i < points.length; i++) {
+      Point point = (Point) points[i].geometry();
+      int index = leaves.add(lngX(point.longitude()), latY(point.latitude()), 1, i, -1);
+      for (int k = 0; k < aggregations.length; k++) {
+        leaves.aggregates[k][index] = aggregations[k].map(points[i]);
+      }
+    }
+    leaves.index(options.getNodeSize());
+    levels[maxZoom + 1] = leaves;
+
+    for (int zoom = maxZoom; zoom >= minZoom; zoom--) {
+      levels[zoom] = cluster(levels[zoom + 1], zoom, options.getNodeSize());
+    }
+  }
+
+  /**
+   * Get the amount of points in this index.
+   *
+   * @return the point count
+   */
+  public int getPointCount() {
+    return points.length;
+  }
+
+  /**
+   * Get the clusters and unclustered points in the given bounds at a zoom level.
+   *
+   * @param bounds the bounds
+   * @param zoom   the zoom level
+   * @return the cluster and point features
+   */
+  @NonNull
+  public List<Feature> getClusters(@NonNull LatLngBounds bounds, int zoom) {
+    return getClusters(bounds.getLonWest(), bounds.getLatSouth(), bounds.getLonEast(), bounds.getLatNorth(), zoom);
+  }
+
+  /**
+   * Get the clusters and unclustered points in the given bounds at a zoom level.
+   *
+   * @param west  the western longitude
+   * @param south the southern latitude
+   * @param east  the eastern longitude
+   * @param north the northern latitude
+   * @param zoom  the zoom level
+   * @return the cluster and point features
+   */
+  @NonNull
+  public List<Feature> getClusters(double west, double south, double east, double north, int zoom) {
+    double minLng = ((west + 180) % 360 + 360) % 360 - 180;
+    double minLat = Math.max(-90, Math.min(90, south));
+    double maxLng = east == 180 ? 180 : ((east + 180) % 360 + 360) % 360 - 180;
+    double maxLat = Math.max(-90, Math.min(90, north));
+
+    if (east - west >= 360) {
+      minLng = -180;
+      maxLng = 180;
+    }
+
+    Level level = levels[limitZoom(zoom)];
+    KdBush.Results results = new KdBush.Results(64);
+    if (minLng > maxLng) {
+      // crossing the antimeridian, query both sides
+      level.tree.range(lngX(minLng), latY(maxLat), lngX(180), latY(minLat), results);
+      level.tree.range(lngX(-180), latY(maxLat), lngX(maxLng), latY(minLat), results);
+    } else {
+      level.tree.range(lngX(minLng), latY(maxLat), lngX(maxLng), latY(minLat), results);
+    }
+
+    List<Feature> features = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      features.add(toFeature(level, results.get(i)));
+    }
+    return features;
+  }
+
+  /**
+   * Get the direct children of a cluster, these can be clusters themselves on the next zoom level.
+   *
+   * @param clusterId the value of the {@code cluster_id} property of a cluster feature
+   * @return the child features
+   */
+  @NonNull
+  public List<Feature> getChildren(long clusterId) {
+    Level level = levels[originZoom(clusterId)];
+    KdBush.Results children = childIndices(clusterId);
+    List<Feature> features = new ArrayList<>(children.size());
+    for (int i = 0; i < children.size(); i++) {
+      features.add(toFeature(level, children.get(i)));
+    }
+    return features;
+  }
+
+  /**
+   * Get the original point features contained in a cluster, with pagination.
+   *
+   * @param clusterId the value of the {@code cluster_id} property of a cluster feature
+   * @param limit     the maximum amount of points to return
+   * @param offset    the amount of points to skip
+   * @return the point features
+   */
+  @NonNull
+  public List<Feature> getLeaves(long clusterId, int limit, int offset) {
+    List<Feature> leaves = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+    if (limit > 0) {
+      appendLeaves(leaves, clusterId, limit, offset, 0);
+    }
+    return leaves;
+  }
+
+  /**
+   * Get the zoom level at which a cluster expands into multiple children.
+   *
+   * @param clusterId the value of the {@code cluster_id} property of a cluster feature
+   * @return the expansion zoom level
+   */
+  public int getClusterExpansionZoom(long clusterId) {
+    int expansionZoom = originZoom(clusterId) - 1;
+    while (expansionZoom <= maxZoom) {
+      KdBush.Results children = childIndices(clusterId);
+      expansionZoom++;
+      if (children.size() != 1) {
+        break;
+      }
+
+      Level level = levels[originZoom(clusterId)];
+      int child = children.get(0);
+      if (level.source[child] >= 0) {
+        break;
+      }
+      clusterId = level.id[child];
+    }
+    return expansionZoom;
+  }
+
+  @Override
+  public FeatureCollection getFeaturesForBounds(LatLngBounds bounds, int zoomLevel) {
+    return FeatureCollection.fromFeatures(getClusters(bounds, zoomLevel));
+  }
+
+  private Level cluster(Level previous, int zoom, int nodeSize) {
+    double r = radius / (extent * Math.pow(2, zoom));
+    Level next = new Level(previous.size, aggregations.length);
+    KdBush.Results neighbors = new KdBush.Results(64);
+    double[] accumulated = new double[aggregations.length];
+    boolean[] visited = new boolean[previous.size];
+
+    for (int position = 0; position < previous.size; position++) {
+      // visit in tree order, neighbouring points are close in memory which keeps the radius queries cache friendly
+      int i = previous.tree.idAt(position);
+      if (visited[i]) {
+        continue;
+      }
+      visited[i] = true;
+
+      neighbors.clear();
+      previous.tree.within(previous.x[i], previous.y[i], r, neighbors);
+
+      int numPoints = previous.numPoints[i];
+      double wx = previous.x[i] * numPoints;
+      double wy = previous.y[i] * numPoints;
+      for (int k = 0; k < aggregations.length; k++) {
+        accumulated[k] = previous.aggregates[k][i];
+      }
+
+      long clusterId = ((long) i << ZOOM_BITS) + (zoom + 1);
+      for (int n = 0; n < neighbors.size(); n++) {
+        int b = neighbors.get(n);
+        if (visited[b]) {
+          continue;
+        }
+        visited[b] = true;
+
+        int count = previous.numPoints[b];
+        wx += previous.x[b] * count;
+        wy += previous.y[b] * count;
+        numPoints += count;
+        previous.parent[b] = clusterId;
+        for (int k = 0; k < aggregations.length; k++) {
+          accumulated[k] = aggregations[k].reduce(accumulated[k], previous.aggregates[k][b]);
+        }
+      }
+
+      int index;
+      if (numPoints == previous.numPoints[i]) {
+        index = next.add(previous.x[i], previous.y[i], numPoints, previous.source[i], previous.id[i]);
+      } else {
+        previous.parent[i] = clusterId;
+        index = next.add(wx / numPoints, wy / numPoints, numPoints, -1, clusterId);
+      }
+      for (int k = 0; k < aggregations.length; k++) {
+        next.aggregates[k][index] = accumulated[k];
+      }
+    }
+
+    next.index(nodeSize);
+    return next;
+  }
+
+  private KdBush.Results childIndices(long clusterId) {
+    int originZoom = originZoom(clusterId);
+    int originId = (int) (clusterId >> ZOOM_BITS);
+    Level level = levels[originZoom];
+    if (originId < 0 || originId >= level.size) {
+      throw new IllegalArgumentException("No cluster with the specified id: " + clusterId);
+    }
+
+    double r = radius / (extent * Math.pow(2, originZoom - 1));
+    KdBush.Results candidates = new KdBush.Results(16);
+    level.tree.within(level.x[originId], level.y[originId], r, candidates);
+
+    KdBush.Results children = new KdBush.Results(candidates.size());
+    for (int i = 0; i < candidates.size(); i++) {
+      int candidate = candidates.get(i);
+      if (level.parent[candidate] == clusterId) {
+        children.add(candidate);
+      }
+    }
+
+    if (children.size() == 0) {
+      throw new IllegalArgumentException("No cluster with the specified id: " + clusterId);
+    }
+    return children;
+  }
+
+  private int appendLeaves(List<Feature> result, long clusterId, int limit, int offset, int skipped) {
+    Level level = levels[originZoom(clusterId)];
+    KdBush.Results children = childIndices(clusterId);
+
+    for (int i = 0; i < children.size(); i++) {
+      int child = children.get(i);
+      if (level.source[child] < 0) {
+        if (skipped + level.numPoints[child] <= offset) {
+          // skip the whole cluster
+          skipped += level.numPoints[child];
+        } else {
+          // enter the cluster
+          skipped = appendLeaves(result, level.id[child], limit, offset, skipped);
+        }
+      } else if (skipped < offset) {
+        // skip a single point
+        skipped++;
+      } else {
+        // add a single point
+        result.add(points[level.source[child]]);
+      }
+
+      if (result.size() == limit) {
+        break;
+      }
+    }
+    return skipped;
+  }
+
+  private int originZoom(long clusterId) {
+    int originZoom = (int) (clusterId & ((1 << ZOOM_BITS) - 1));
+    if (originZoom <= minZoom || originZoom > maxZoom + 1) {
+      throw new IllegalArgumentException("No cluster with the specified id: " + clusterId);
+    }
+    return originZoom;
+  }
+
+  private int limitZoom(int zoom) {
+    return Math.max(minZoom, Math.min(zoom, maxZoom + 1));
+  }
+
+  private Feature toFeature(Level level, int index) {
+    int source = level.source[index];
+    if (source >= 0) {
+      return points[source];
+    }
+
+    long clusterId = level.id[index];
+    int count = level.numPoints[index];
+    JsonObject properties = new JsonObject();
+    properties.addProperty("cluster", true);
+    properties.addProperty("cluster_id", clusterId);
+    properties.addProperty("point_count", count);
+    properties.addProperty("point_count_abbreviated", abbreviate(count));
+    for (int k = 0; k < aggregations.length; k++) {
+      double value = level.aggregates[k][index];
+      if (!Double.isInfinite(value) && !Double.isNaN(value)) {
+        properties.addProperty(aggregations[k].getName(), value);
+      }
+    }
+
+    Point point = Point.fromLngLat(xLng(level.x[index]), yLat(level.y[index]));
+    return Feature.fromGeometry(point, properties, String.valueOf(clusterId));
+  }
+
+  private static String abbreviate(int count) {
+    if (count >= 10000) {
+      return Math.round(count / 1000.0) + "k";
+    } else if (count >= 1000) {
+      return (Math.round(count / 100.0) / 10.0) + "k";
+    }
+    return String.valueOf(count);
+  }
+
+  // spherical mercator to [0..1] range
+  private static double lngX(double lng) {
+    return lng / 360 + 0.5;
+  }
+
+  private static double latY(double lat) {
+    double sin = Math.sin(lat * Math.PI / 180);
+    double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    return y < 0 ? 0 : y > 1 ? 1 : y;
+  }
+
+  private static double xLng(double x) {
+    return (x - 0.5) * 360;
+  }
+
+  private static double yLat(double y) {
+    double y2 = (180 - y * 360) * Math.PI / 180;
+    return 360 * Math.atan(Math.exp(y2)) / Math.PI - 90;
+  }
+
+  /**
+   * Points and clusters of a single zoom level, stored in parallel primitive arrays.
+   */
+  private static final class Level {
+
+    int size;
+    double[] x;
+    double[] y;
+    int[] numPoints;
+    // index into the input points for unclustered points, -1 for clusters
+    int[] source;
+    // cluster id for clusters, -1 for unclustered points
+    long[] id;
+    // id of the cluster this entry was merged into on the next lower zoom level
+    long[] parent;
+    double[][] aggregates;
+    KdBush tree;
+
+    Level(int capacity, int aggregationCount) {
+      x = new double[capacity];
+      y = new double[capacity];
+      numPoints = new int[capacity];
+      source = new int[capacity];
+      id = new long[capacity];
+      parent = new long[capacity];
+      aggregates = new double[aggregationCount][capacity];
+    }
+
+    int add(double x, double y, int numPoints, int source, long id) {
+      int index = size++;
+      this.x[index] = x;
+      this.y[index] = y;
+      this.numPoints[index] = numPoints;
+      this.source[index] = source;
+      this.id[index] = id;
+      this.parent[index] = -1;
+      return index;
+    }
+
+    void index(int nodeSize) {
+      if (size < x.length) {
+        // release the unused capacity, levels below the maximum zoom shrink as points get merged
+        x = Arrays.copyOf(x, size);
+        y = Arrays.copyOf(y, size);
+        numPoints = Arrays.copyOf(numPoints, size);
+        source = Arrays.copyOf(source, size);
+        id = Arrays.copyOf(id, size);
+        parent = Arrays.copyOf(parent, size);
+        for (int k = 0; k < aggregates.length; k++) {
+          aggregates[k] = Arrays.copyOf(aggregates[k], size);
+        }
+      }
+      tree = new KdBush(x, y, size, nodeSize);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builder class for composing {@link ClusterIndex} objects.
+ *
+ * @see ClusterIndex
+ */
+public class ClusterOptions {
+
+  private int minZoom = 0;
+  private int maxZoom = 17;
+  private int radius = 50;
+  private int extent = 512;
+  private int nodeSize = 64;
+  private final List<ClusterAggregation> aggregations = new ArrayList<>();
+
+  /**
+   * Minimum zoom level at which clusters are generated.
+   *
+   * @param minZoom the minimum zoom - Defaults to 0.
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withMinZoom(int minZoom) {
+    this.minZoom = minZoom;
+    return this;
+  }
+
+  /**
+   * Maximum zoom level at which clusters are generated, points are never clustered above this zoom level.
+   *
+   * @param maxZoom the maximum zoom - Defaults to 17.
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withMaxZoom(int maxZoom) {
+    this.maxZoom = maxZoom;
+    return this;
+  }
+
+  /**
+   * Radius of each cluster when clustering points, measured in 1/extent of a tile.
+   *
+   * @param radius cluster radius - Defaults to 50
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withRadius(int radius) {
+    this.radius = radius;
+    return this;
+  }
+
+  /**
+   * Tile extent the radius is calculated relative to.
+   *
+   * @param extent the tile extent - Defaults to 512
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withExtent(int extent) {
+    this.extent = extent;
+    return this;
+  }
+
+  /**
+   * Size of the leaf nodes of the KD-tree backing each zoom level, affects index build time versus query performance.
+   *
+   * @param nodeSize the node size - Defaults to 64
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withNodeSize(int nodeSize) {
+    this.nodeSize = nodeSize;
+    return this;
+  }
+
+  /**
+   * Add an aggregation that is calculated for every cluster and exposed as a property on cluster features.
+   *
+   * @param aggregation the aggregation
+   * @return the current instance for chaining
+   */
+  public ClusterOptions withAggregation(@NonNull ClusterAggregation aggregation) {
+    this.aggregations.add(aggregation);
+    return this;
+  }
+
+  int getMinZoom() {
+    return minZoom;
+  }
+
+  int getMaxZoom() {
+    return maxZoom;
+  }
+
+  int getRadius() {
+    return radius;
+  }
+
+  int getExtent() {
+    return extent;
+  }
+
+  int getNodeSize() {
+    return nodeSize;
+  }
+
+  List<ClusterAggregation> getAggregations() {
+    return Collections.unmodifiableList(aggregations);
+  }
+}
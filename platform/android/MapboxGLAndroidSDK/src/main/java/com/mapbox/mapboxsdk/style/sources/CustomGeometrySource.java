@@ -4,6 +4,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
 import android.support.annotation.WorkerThread;
+import android.support.v4.util.LongSparseArray;
 
 import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.FeatureCollection;
@@ -13,12 +14,8 @@ import com.mapbox.mapboxsdk.style.expressions.Expression;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Custom Vector Source, allows using FeatureCollections.
@@ -26,9 +23,18 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 @UiThread
 public class CustomGeometrySource extends Source {
-  private ExecutorService executor;
+  // Tile size the buffer option is measured in
+  private static final double TILE_SIZE = 512;
+  // Maximum amount of tiles requested from a BulkGeometryTileProvider at once
+  private static final int MAX_BULK_TILES = 64;
+
+  private final TileRequestExecutor executor;
+  private final GeometryTileCache tileCache;
+  private final double tileBuffer;
+  private final boolean bulkRequests;
   private GeometryTileProvider provider;
-  private final Map<TileID, AtomicBoolean> cancelledTileRequests = new ConcurrentHashMap<>();
+  private VectorTileProvider vectorTileProvider;
+  private final TileRequestQueue<GeometryTileRequest> tileRequests = new TileRequestQueue<>();
 
   /**
    * Create a CustomGeometrySource
@@ -42,15 +48,55 @@ public class CustomGeometrySource extends Source {
 
   /**
    * Create a CustomGeometrySource with non-default CustomGeometrySourceOptions.
-   * <p>Supported options are minZoom, maxZoom, buffer, and tolerance.</p>
+   * <p>Supported options are minZoom, maxZoom, buffer, tolerance, executor, tileCache and bulkRequests.</p>
    *
    * @param id      The source id.
    * @param provider The tile provider that returns geometry data for this source.
    * @param options CustomGeometrySourceOptions.
    */
   public CustomGeometrySource(String id, GeometryTileProvider provider, CustomGeometrySourceOptions options) {
+    this(id, provider, null, options);
+  }
+
+  /**
+   * Create a CustomGeometrySource with encoded vector tiles.
+   * <p>
+   * This is a factory method rather than a constructor, so {@code new CustomGeometrySource(id, null)} keeps resolving
+   * to {@link #CustomGeometrySource(String, GeometryTileProvider)}.
+   * </p>
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns encoded vector tiles for this source.
+   * @return the source
+   */
+  @NonNull
+  public static CustomGeometrySource fromVectorTiles(String id, @NonNull VectorTileProvider provider) {
+    return fromVectorTiles(id, provider, new CustomGeometrySourceOptions());
+  }
+
+  /**
+   * Create a CustomGeometrySource with encoded vector tiles and non-default CustomGeometrySourceOptions.
+   * <p>Supported options are minZoom, maxZoom and executor.</p>
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns encoded vector tiles for this source.
+   * @param options  CustomGeometrySourceOptions.
+   * @return the source
+   */
+  @NonNull
+  public static CustomGeometrySource fromVectorTiles(String id, @NonNull VectorTileProvider provider,
+                                                     CustomGeometrySourceOptions options) {
+    return new CustomGeometrySource(id, null, provider, options);
+  }
+
+  private CustomGeometrySource(String id, GeometryTileProvider provider, VectorTileProvider vectorTileProvider,
+                               CustomGeometrySourceOptions options) {
     this.provider = provider;
-    executor = Executors.newFixedThreadPool(4);
+    this.vectorTileProvider = vectorTileProvider;
+    executor = new TileRequestExecutor(options.getExecutor());
+    tileCache = options.getTileCache();
+    tileBuffer = options.getBuffer() / TILE_SIZE;
+    bulkRequests = options.isBulkRequests() && provider instanceof BulkGeometryTileProvider;
     initialize(id, options);
   }
 
@@ -62,6 +108,9 @@ public class CustomGeometrySource extends Source {
    * @param bounds The region in which features should be invalidated at all zoom levels
    */
   public void invalidateRegion(LatLngBounds bounds) {
+    if (tileCache != null) {
+      tileCache.invalidate(bounds);
+    }
     nativeInvalidateBounds(bounds);
   }
 
@@ -74,6 +123,9 @@ public class CustomGeometrySource extends Source {
    * @param y Tile Y coordinate.
    */
   public void invalidateTile(int zoomLevel, int x, int y) {
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
     nativeInvalidateTile(zoomLevel, x, y);
   }
 
@@ -88,9 +140,66 @@ public class CustomGeometrySource extends Source {
    * @param data Feature collection for the tile.
    */
   public void setTileData(int zoomLevel, int x, int y, FeatureCollection data) {
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
     nativeSetTileData(zoomLevel, x, y, data);
   }
 
+  /**
+   * Set or update geometry contents of a specific tile, with properties provided in columnar form.
+   * Row {@code i} of the columns is added to the properties of feature {@code i}. This method can be called from
+   * background threads.
+   *
+   * @param zoomLevel  Tile zoom level.
+   * @param x          Tile X coordinate.
+   * @param y          Tile Y coordinate.
+   * @param data       Feature collection for the tile.
+   * @param properties Feature properties for the tile, one row per feature.
+   */
+  public void setTileData(int zoomLevel, int x, int y, FeatureCollection data, PropertyColumns properties) {
+    GeoJsonSource.checkRowCount(data, properties);
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
+    nativeSetTileDataWithColumns(zoomLevel, x, y, data, properties);
+  }
+
+  /**
+   * Set or update the contents of a specific tile with an encoded Mapbox Vector Tile, see {@link VectorTileProvider}.
+   * This method can be called from background threads.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x Tile X coordinate.
+   * @param y Tile Y coordinate.
+   * @param data The uncompressed Mapbox Vector Tile encoded tile.
+   */
+  public void setVectorTileData(int zoomLevel, int x, int y, @NonNull byte[] data) {
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
+    nativeSetVectorTileData(zoomLevel, x, y, data);
+  }
+
+  /**
+   * Set or update geometry contents of several tiles at once. The tiles are delivered in a single call to the native
+   * side and updated together, this is faster than calling {@link #setTileData(int, int, int, FeatureCollection)}
+   * for every tile when many tiles are computed together. This method can be called from background threads.
+   *
+   * @param batch The geometry contents of the tiles.
+   */
+  public void setTileData(@NonNull TileDataBatch batch) {
+    if (batch.size() == 0) {
+      return;
+    }
+    if (tileCache != null) {
+      for (int i = 0; i < batch.size(); i++) {
+        tileCache.invalidate(batch.getZoomLevel(i), batch.getX(i), batch.getY(i));
+      }
+    }
+    nativeSetTileDataBatch(batch.getTiles(), batch.getData());
+  }
+
   /**
    * Queries the source for features.
    *
@@ -103,12 +212,35 @@ public class CustomGeometrySource extends Source {
     return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
   }
 
+  /**
+   * Queries the source for features, delivering the result in pages.
+   * <p>
+   * Only one page of features is converted at a time, this keeps the peak allocation small on large sources.
+   * The callback is invoked synchronously on the calling thread before this method returns.
+   * </p>
+   *
+   * @param options  the query options
+   * @param callback the callback receiving the pages, return false from it to stop the query early
+   */
+  public void querySourceFeatures(@NonNull QueryFeaturesOptions options, @NonNull QueryFeaturesCallback callback) {
+    nativeQuerySourceFeaturesPaged(options.getFilter(), options.getProperties(), new FeaturePager(options, callback));
+  }
+
   protected native void initialize(String sourceId, Object options);
 
   private native Feature[] querySourceFeatures(Object[] filter);
 
+  private native void nativeQuerySourceFeaturesPaged(Object[] filter, String[] properties, FeaturePager pager);
+
   private native void nativeSetTileData(int z, int x, int y, FeatureCollection data);
 
+  private native void nativeSetTileDataWithColumns(int z, int x, int y, FeatureCollection data,
+                                                   PropertyColumns properties);
+
+  private native void nativeSetVectorTileData(int z, int x, int y, byte[] data);
+
+  private native void nativeSetTileDataBatch(int[] tiles, FeatureCollection[] data);
+
   private native void nativeInvalidateTile(int z, int x, int y);
 
   private native void nativeInvalidateBounds(LatLngBounds bounds);
@@ -116,72 +248,148 @@ public class CustomGeometrySource extends Source {
   @Override
   protected native void finalize() throws Throwable;
 
-  private void setTileData(TileID tileId, FeatureCollection data) {
-    cancelledTileRequests.remove(tileId);
-    nativeSetTileData(tileId.z, tileId.x, tileId.y, data);
-  }
-
   @WorkerThread
   private void fetchTile(int z, int x, int y) {
-    AtomicBoolean cancelFlag = new AtomicBoolean(false);
-    TileID tileID = new TileID(z, x, y);
-    cancelledTileRequests.put(tileID, cancelFlag);
-    GeometryTileRequest request = new GeometryTileRequest(tileID, provider, this, cancelFlag);
-    executor.execute(request);
+    long key = TileKey.pack(z, x, y);
+    tileRequests.put(new GeometryTileRequest(key, provider, vectorTileProvider, tileCache, this));
+    if (!executor.execute(new NextTileRequest(this))) {
+      // the source was removed or the executor was shut down, nothing will run the request
+      tileRequests.cancel(key);
+    }
   }
 
   @WorkerThread
   private void cancelTile(int z, int x, int y) {
-    AtomicBoolean cancelFlag = cancelledTileRequests.get(new TileID(z, x, y));
-    if (cancelFlag != null) {
-      cancelFlag.compareAndSet(false, true);
-    }
+    tileRequests.cancel(TileKey.pack(z, x, y));
   }
 
-  private static class TileID {
-    public int z;
-    public int x;
-    public int y;
+  /**
+   * Called from native when the source was removed from the map or destroyed along with it.
+   */
+  private void releaseExecutor() {
+    executor.release();
+  }
 
-    public TileID(int _z, int _x, int _y) {
-      z = _z;
-      x = _x;
-      y = _y;
+  /**
+   * Runs the most important queued request at the time it is executed, see {@link TileRequestQueue#poll()}.
+   * One is submitted for every fetched tile, these find nothing to do for requests that were cancelled while queued.
+   */
+  private static class NextTileRequest implements Runnable {
+    private WeakReference<CustomGeometrySource> sourceRef;
+
+    NextTileRequest(CustomGeometrySource source) {
+      sourceRef = new WeakReference<>(source);
     }
 
-    public int hashCode() {
-      return Arrays.hashCode(new int[]{z, x, y});
+    public void run() {
+      CustomGeometrySource source = sourceRef.get();
+      if (source == null) {
+        return;
+      }
+
+      Runnable request = null;
+      if (source.bulkRequests) {
+        List<GeometryTileRequest> requests = source.tileRequests.poll(MAX_BULK_TILES);
+        if (!requests.isEmpty()) {
+          request = new BulkTileRequest(requests, (BulkGeometryTileProvider) source.provider, source.tileCache,
+            source.tileBuffer, source);
+        }
+      } else {
+        request = source.tileRequests.poll();
+      }
+
+      // the request only keeps a weak reference while the provider runs
+      source = null;
+      if (request != null) {
+        request.run();
+      }
     }
+  }
 
-    public boolean equals(Object object) {
-      if (object == this) {
-        return true;
+  /**
+   * Requests the features of several tiles of a zoom level with a single query, distributes them over the tiles and
+   * delivers all tiles at once.
+   */
+  private static class BulkTileRequest implements Runnable {
+    private final List<GeometryTileRequest> requests;
+    private final BulkGeometryTileProvider provider;
+    private final GeometryTileCache cache;
+    private final double buffer;
+    private final WeakReference<CustomGeometrySource> sourceRef;
+
+    BulkTileRequest(List<GeometryTileRequest> requests, BulkGeometryTileProvider provider, GeometryTileCache cache,
+                    double buffer, CustomGeometrySource source) {
+      this.requests = requests;
+      this.provider = provider;
+      this.cache = cache;
+      this.buffer = buffer;
+      this.sourceRef = new WeakReference<>(source);
+    }
+
+    public void run() {
+      TileDataBatch batch = new TileDataBatch();
+      LongSparseArray<GeometryTileRequest> remaining = new LongSparseArray<>(requests.size());
+      for (GeometryTileRequest request : requests) {
+        if (request.isCancelled()) {
+          continue;
+        }
+        FeatureCollection data = cache != null ? cache.get(request.z, request.x, request.y) : null;
+        if (data != null) {
+          batch.add(request.z, request.x, request.y, data);
+        } else {
+          remaining.put(request.key, request);
+        }
       }
 
-      if (object == null || getClass() != object.getClass()) {
-        return false;
+      if (remaining.size() > 0) {
+        long generation = cache != null ? cache.getGeneration() : 0;
+        int zoom = remaining.valueAt(0).z;
+        LatLngBounds bounds = FeatureTiler.getBounds(zoom, buffer, remaining);
+        FeatureCollection features = provider.getFeaturesForTiles(bounds, zoom);
+        if (features != null) {
+          LongSparseArray<List<Feature>> tiles = FeatureTiler.distribute(
+            features.features() != null ? features.features() : Collections.<Feature>emptyList(), zoom, buffer,
+            remaining);
+          for (int i = 0; i < remaining.size(); i++) {
+            GeometryTileRequest request = remaining.valueAt(i);
+            List<Feature> tileFeatures = tiles.get(request.key);
+            FeatureCollection data = FeatureCollection.fromFeatures(
+              tileFeatures != null ? tileFeatures : new ArrayList<Feature>());
+            if (!request.isCancelled()) {
+              if (cache != null) {
+                cache.put(request.z, request.x, request.y, data, generation);
+              }
+              batch.add(request.z, request.x, request.y, data);
+            }
+          }
+        }
       }
 
-      if (object instanceof TileID) {
-        TileID other = (TileID)object;
-        return this.z == other.z && this.x == other.x && this.y == other.y;
+      CustomGeometrySource source = sourceRef.get();
+      if (source != null) {
+        for (GeometryTileRequest request : requests) {
+          source.tileRequests.complete(request);
+        }
+        if (batch.size() > 0) {
+          source.nativeSetTileDataBatch(batch.getTiles(), batch.getData());
+        }
       }
-      return false;
     }
   }
 
-  private static class GeometryTileRequest implements Runnable {
-    private TileID id;
+  private static class GeometryTileRequest extends TileRequestQueue.Request implements Runnable {
     private GeometryTileProvider provider;
+    private VectorTileProvider vectorTileProvider;
+    private GeometryTileCache cache;
     private WeakReference<CustomGeometrySource> sourceRef;
-    private AtomicBoolean cancelled;
 
-    public GeometryTileRequest(TileID _id, GeometryTileProvider p,
-                               CustomGeometrySource _source, AtomicBoolean _cancelled) {
-      id = _id;
+    public GeometryTileRequest(long _key, GeometryTileProvider p, VectorTileProvider vp, GeometryTileCache _cache,
+                               CustomGeometrySource _source) {
+      super(_key);
       provider = p;
+      vectorTileProvider = vp;
+      cache = _cache;
       sourceRef = new WeakReference<>(_source);
-      cancelled = _cancelled;
     }
 
     public void run() {
@@ -189,15 +397,45 @@ public class CustomGeometrySource extends Source {
         return;
       }
 
-      FeatureCollection data = provider.getFeaturesForBounds(LatLngBounds.from(id.z, id.x, id.y), id.z);
+      if (vectorTileProvider != null) {
+        runVectorTile();
+        return;
+      }
+
+      FeatureCollection data = cache != null ? cache.get(z, x, y) : null;
+      if (data == null) {
+        long generation = cache != null ? cache.getGeneration() : 0;
+        data = getFeatures();
+        if (cache != null && data != null && !isCancelled()) {
+          cache.put(z, x, y, data, generation);
+        }
+      }
+      CustomGeometrySource source = sourceRef.get();
+      if (source != null) {
+        source.tileRequests.complete(this);
+        if (!isCancelled() && data != null) {
+          source.nativeSetTileData(z, x, y, data);
+        }
+      }
+    }
+
+    private void runVectorTile() {
+      byte[] data = vectorTileProvider.getVectorTile(z, x, y, token);
       CustomGeometrySource source = sourceRef.get();
-      if (!isCancelled() && source != null && data != null)  {
-        source.setTileData(id, data);
+      if (source != null) {
+        source.tileRequests.complete(this);
+        if (!isCancelled() && data != null) {
+          source.nativeSetVectorTileData(z, x, y, data);
+        }
       }
     }
 
-    private Boolean isCancelled() {
-      return cancelled.get();
+    private FeatureCollection getFeatures() {
+      LatLngBounds bounds = LatLngBounds.from(z, x, y);
+      if (provider instanceof CancellableGeometryTileProvider) {
+        return ((CancellableGeometryTileProvider) provider).getFeaturesForBounds(bounds, z, token);
+      }
+      return provider.getFeaturesForBounds(bounds, z);
     }
   }
 }
@@ -1,10 +1,22 @@
 package com.mapbox.mapboxsdk.style.sources;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ExecutorService;
+
 /**
  * Builder class for composing CustomGeometrySource objects.
  */
 public class CustomGeometrySourceOptions extends GeoJsonOptions {
 
+  private static final int DEFAULT_BUFFER = 128;
+
+  // Not part of the map, only used on the Java side
+  private ExecutorService executor;
+  private GeometryTileCache tileCache;
+  private boolean bulkRequests;
+
   /**
    * If the data includes wrapped coordinates, setting this to true unwraps the coordinates.
    *
@@ -28,4 +40,64 @@ public class CustomGeometrySourceOptions extends GeoJsonOptions {
     return this;
   }
 
+  /**
+   * Executor that runs the requests to the {@link GeometryTileProvider}.
+   * <p>
+   * By default all sources share a pool with one thread per core. The source does not shut down an executor that is
+   * set here, its lifecycle is managed by the caller.
+   * </p>
+   *
+   * @param executor the executor - Defaults to a pool shared by all sources
+   * @return the current instance for chaining
+   */
+  public CustomGeometrySourceOptions withExecutor(@NonNull ExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Cache for the output of the {@link GeometryTileProvider}, tiles found in the cache are not requested again.
+   *
+   * @param tileCache the cache - Defaults to no caching
+   * @return the current instance for chaining
+   */
+  public CustomGeometrySourceOptions withTileCache(@NonNull GeometryTileCache tileCache) {
+    this.tileCache = tileCache;
+    return this;
+  }
+
+  /**
+   * Request the features of several tiles with a single query from a {@link BulkGeometryTileProvider}.
+   * <p>
+   * Assigning the returned features to the tiles costs more than separate queries to a plain in-memory index. Enable
+   * this when a query has a fixed cost, like a database round trip, or when the provider creates a new Feature for
+   * every result, as the buffers of neighbouring tiles overlap. Has no effect for other providers.
+   * </p>
+   *
+   * @param bulkRequests defaults to false
+   * @return the current instance for chaining
+   */
+  public CustomGeometrySourceOptions withBulkRequests(boolean bulkRequests) {
+    this.bulkRequests = bulkRequests;
+    return this;
+  }
+
+  int getBuffer() {
+    Object buffer = get("buffer");
+    return buffer instanceof Number ? ((Number) buffer).intValue() : DEFAULT_BUFFER;
+  }
+
+  @Nullable
+  ExecutorService getExecutor() {
+    return executor;
+  }
+
+  @Nullable
+  GeometryTileCache getTileCache() {
+    return tileCache;
+  }
+
+  boolean isBulkRequests() {
+    return bulkRequests;
+  }
 }
@@ -0,0 +1,249 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Custom Raster Source, allows providing the images of the tiles from application code.
+ * <p>
+ * Tiles are requested from a {@link RasterTileProvider} or an {@link EncodedRasterTileProvider} on a pool of worker
+ * threads, only for tiles that are needed by the map. Requests for tiles that leave the viewport are cancelled.
+ * Use a {@link com.mapbox.mapboxsdk.style.layers.RasterLayer} to display the source.
+ * </p>
+ */
+@UiThread
+public class CustomRasterSource extends Source {
+
+  private final TileRequestExecutor executor;
+  private final RasterTileCache tileCache;
+  private RasterTileProvider provider;
+  private EncodedRasterTileProvider encodedProvider;
+  // Requests that are queued or running, keyed by TileKey
+  private final LongObjectMap<RasterTileRequest> tileRequests = new LongObjectMap<>();
+
+  /**
+   * Create a CustomRasterSource
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns the images of this source.
+   */
+  public CustomRasterSource(String id, RasterTileProvider provider) {
+    this(id, provider, new CustomRasterSourceOptions());
+  }
+
+  /**
+   * Create a CustomRasterSource with non-default CustomRasterSourceOptions.
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns the images of this source.
+   * @param options  CustomRasterSourceOptions.
+   */
+  public CustomRasterSource(String id, RasterTileProvider provider, CustomRasterSourceOptions options) {
+    this(id, provider, null, options);
+  }
+
+  /**
+   * Create a CustomRasterSource with encoded images.
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns the encoded images of this source.
+   */
+  public CustomRasterSource(String id, EncodedRasterTileProvider provider) {
+    this(id, provider, new CustomRasterSourceOptions());
+  }
+
+  /**
+   * Create a CustomRasterSource with encoded images and non-default CustomRasterSourceOptions.
+   *
+   * @param id       The source id.
+   * @param provider The tile provider that returns the encoded images of this source.
+   * @param options  CustomRasterSourceOptions.
+   */
+  public CustomRasterSource(String id, EncodedRasterTileProvider provider, CustomRasterSourceOptions options) {
+    this(id, null, provider, options);
+  }
+
+  private CustomRasterSource(String id, RasterTileProvider provider, EncodedRasterTileProvider encodedProvider,
+                             CustomRasterSourceOptions options) {
+    this.provider = provider;
+    this.encodedProvider = encodedProvider;
+    executor = new TileRequestExecutor(options.getExecutor());
+    tileCache = options.getTileCache();
+    initialize(id, options.getMinZoom(), options.getMaxZoom(), options.getTileSize());
+  }
+
+  /**
+   * Invalidate previously provided images within a given bounds at all zoom levels.
+   * Invoking this method will result in new requests to the provider for regions
+   * that contain, include, or intersect with the provided bounds.
+   *
+   * @param bounds The region in which images should be invalidated at all zoom levels
+   */
+  public void invalidateRegion(LatLngBounds bounds) {
+    if (tileCache != null) {
+      tileCache.invalidate(bounds);
+    }
+    nativeInvalidateBounds(bounds);
+  }
+
+  /**
+   * Invalidate the image of a specific tile. Invoking this method will result
+   * in new requests to the provider for visible tiles.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   */
+  public void invalidateTile(int zoomLevel, int x, int y) {
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
+    nativeInvalidateTile(zoomLevel, x, y);
+  }
+
+  /**
+   * Set or update the image of a specific tile. Use this method to update tiles
+   * for which the provider was previously invoked. This method can be called from
+   * background threads.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   * @param image     The image of the tile, or null to leave the tile empty.
+   */
+  public void setTileImage(int zoomLevel, int x, int y, @Nullable Bitmap image) {
+    if (tileCache != null) {
+      tileCache.invalidate(zoomLevel, x, y);
+    }
+    nativeSetTileImage(zoomLevel, x, y, image);
+  }
+
+  protected native void initialize(String sourceId, int minZoom, int maxZoom, int tileSize);
+
+  private native void nativeSetTileImage(int z, int x, int y, Bitmap image);
+
+  private native void nativeInvalidateTile(int z, int x, int y);
+
+  private native void nativeInvalidateBounds(LatLngBounds bounds);
+
+  @Override
+  protected native void finalize() throws Throwable;
+
+  @WorkerThread
+  private void fetchTile(int z, int x, int y) {
+    long key = TileKey.pack(z, x, y);
+    RasterTileRequest request = new RasterTileRequest(key, provider, encodedProvider, tileCache, this);
+    synchronized (tileRequests) {
+      RasterTileRequest previous = tileRequests.put(key, request);
+      if (previous != null) {
+        previous.token.cancel();
+      }
+    }
+    if (!executor.execute(request)) {
+      // the source was removed or the executor was shut down, nothing will run the request
+      request.token.cancel();
+      completeTileRequest(request);
+    }
+  }
+
+  @WorkerThread
+  private void cancelTile(int z, int x, int y) {
+    long key = TileKey.pack(z, x, y);
+    synchronized (tileRequests) {
+      RasterTileRequest request = tileRequests.remove(key);
+      if (request != null) {
+        request.token.cancel();
+      }
+    }
+  }
+
+  private void completeTileRequest(RasterTileRequest request) {
+    synchronized (tileRequests) {
+      if (tileRequests.get(request.key) == request) {
+        tileRequests.remove(request.key);
+      }
+    }
+  }
+
+  /**
+   * Called from native when the source was removed from the map or destroyed along with it.
+   */
+  private void releaseExecutor() {
+    executor.release();
+  }
+
+  private static class RasterTileRequest implements Runnable {
+    private final long key;
+    private final int z;
+    private final int x;
+    private final int y;
+    private final CancellationToken token = new CancellationToken();
+    private final RasterTileProvider provider;
+    private final EncodedRasterTileProvider encodedProvider;
+    private final RasterTileCache cache;
+    private final WeakReference<CustomRasterSource> sourceRef;
+
+    RasterTileRequest(long key, RasterTileProvider provider, EncodedRasterTileProvider encodedProvider,
+                      RasterTileCache cache, CustomRasterSource source) {
+      this.key = key;
+      this.z = TileKey.z(key);
+      this.x = TileKey.x(key);
+      this.y = TileKey.y(key);
+      this.provider = provider;
+      this.encodedProvider = encodedProvider;
+      this.cache = cache;
+      this.sourceRef = new WeakReference<>(source);
+    }
+
+    public void run() {
+      if (token.isCancelled()) {
+        return;
+      }
+
+      Bitmap image = cache != null ? cache.get(z, x, y) : null;
+      if (image == null) {
+        long generation = cache != null ? cache.getGeneration() : 0;
+        image = getImage();
+        if (cache != null && image != null && !token.isCancelled()) {
+          cache.put(z, x, y, image, generation);
+        }
+      }
+
+      CustomRasterSource source = sourceRef.get();
+      if (source != null) {
+        source.completeTileRequest(this);
+        if (!token.isCancelled()) {
+          source.nativeSetTileImage(z, x, y, image);
+        }
+      }
+    }
+
+    @Nullable
+    private Bitmap getImage() {
+      if (provider != null) {
+        return provider.getRasterTile(z, x, y, token);
+      }
+
+      byte[] data = encodedProvider.getEncodedRasterTile(z, x, y, token);
+      if (data == null || token.isCancelled()) {
+        return null;
+      }
+      return decode(data);
+    }
+
+    @Nullable
+    private static Bitmap decode(@NonNull byte[] data) {
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+      return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builder class for composing {@link CustomRasterSource} objects.
+ */
+public class CustomRasterSourceOptions {
+
+  private int minZoom = 0;
+  private int maxZoom = 22;
+  private int tileSize = 512;
+  private ExecutorService executor;
+  private RasterTileCache tileCache;
+
+  /**
+   * Minimum zoom level at which tiles are requested, lower zoom levels show no tiles.
+   *
+   * @param minZoom the minimum zoom - Defaults to 0.
+   * @return the current instance for chaining
+   */
+  public CustomRasterSourceOptions withMinZoom(int minZoom) {
+    this.minZoom = minZoom;
+    return this;
+  }
+
+  /**
+   * Maximum zoom level at which tiles are requested, higher zoom levels scale the tiles of this zoom level.
+   *
+   * @param maxZoom the maximum zoom - Defaults to 22.
+   * @return the current instance for chaining
+   */
+  public CustomRasterSourceOptions withMaxZoom(int maxZoom) {
+    this.maxZoom = maxZoom;
+    return this;
+  }
+
+  /**
+   * Size of a tile in screen pixels, independent of the size of the provided images.
+   *
+   * @param tileSize the tile size - Defaults to 512.
+   * @return the current instance for chaining
+   */
+  public CustomRasterSourceOptions withTileSize(int tileSize) {
+    this.tileSize = tileSize;
+    return this;
+  }
+
+  /**
+   * Executor that runs the requests to the provider and decodes encoded tiles.
+   * <p>
+   * By default all custom sources share a pool with one thread per core. The source does not shut down an executor
+   * that is set here, its lifecycle is managed by the caller.
+   * </p>
+   *
+   * @param executor the executor - Defaults to a pool shared by all sources
+   * @return the current instance for chaining
+   */
+  public CustomRasterSourceOptions withExecutor(@NonNull ExecutorService executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Cache for the tile images, tiles found in the cache are not requested or decoded again.
+   *
+   * @param tileCache the cache - Defaults to no caching
+   * @return the current instance for chaining
+   */
+  public CustomRasterSourceOptions withTileCache(@NonNull RasterTileCache tileCache) {
+    this.tileCache = tileCache;
+    return this;
+  }
+
+  int getMinZoom() {
+    return minZoom;
+  }
+
+  int getMaxZoom() {
+    return maxZoom;
+  }
+
+  int getTileSize() {
+    return tileSize;
+  }
+
+  @Nullable
+  ExecutorService getExecutor() {
+    return executor;
+  }
+
+  @Nullable
+  RasterTileCache getTileCache() {
+    return tileCache;
+  }
+}
@@ -0,0 +1,30 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+/**
+ * Interface that provides the images of a {@link CustomRasterSource} as encoded PNG, JPEG or WebP images.
+ * <p>
+ * The images are decoded by the source on the worker thread that requested them, so several tiles are decoded in
+ * parallel and the decoding never blocks the render thread.
+ * </p>
+ *
+ * @see RasterTileProvider
+ */
+public interface EncodedRasterTileProvider {
+
+  /**
+   * Interface method called by {@link CustomRasterSource} to request a tile.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   * @param token     Token that is cancelled when the tile is no longer needed.
+   * @return Return the encoded image of the tile, or null to leave the tile empty.
+   */
+  @Nullable
+  @WorkerThread
+  byte[] getEncodedRasterTile(int zoomLevel, int x, int y, @NonNull CancellationToken token);
+}
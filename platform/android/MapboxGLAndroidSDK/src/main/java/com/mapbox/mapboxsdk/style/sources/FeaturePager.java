@@ -0,0 +1,70 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Feature;
+
+import java.util.Arrays;
+
+/**
+ * Splits the result of a paged source query into pages and hands them to a {@link QueryFeaturesCallback}.
+ * <p>
+ * The native side converts features in the order of the result, starting at offset 0, and asks the pager for the
+ * size of every page: it calls {@link #begin(int)} with the amount of matching features, then converts as many
+ * features as returned and passes them to {@link #onPage(Feature[])}, until either returns 0.
+ * </p>
+ */
+class FeaturePager {
+
+  private final int pageSize;
+  private final int limit;
+  private final QueryFeaturesCallback callback;
+
+  private int total;
+  private int offset;
+
+  FeaturePager(@NonNull QueryFeaturesOptions options, @NonNull QueryFeaturesCallback callback) {
+    this.pageSize = options.getPageSize();
+    this.limit = options.getLimit();
+    this.callback = callback;
+  }
+
+  /**
+   * Called from native when the query has run.
+   *
+   * @param featureCount the amount of features matching the query
+   * @return the size of the first page, 0 if there are no features to deliver
+   */
+  int begin(int featureCount) {
+    total = limit > 0 ? Math.min(featureCount, limit) : featureCount;
+    offset = 0;
+    return nextPageSize();
+  }
+
+  /**
+   * Called from native with the features of the current page.
+   *
+   * @param features the features, as many as requested for this page
+   * @return the size of the next page, 0 to stop the query
+   */
+  int onPage(@NonNull Feature[] features) {
+    offset += features.length;
+    if (!callback.onFeatures(Arrays.asList(features))) {
+      return 0;
+    }
+    return nextPageSize();
+  }
+
+  /**
+   * Returns the amount of features delivered so far, which is the offset of the next page.
+   *
+   * @return the offset
+   */
+  int getOffset() {
+    return offset;
+  }
+
+  private int nextPageSize() {
+    return Math.max(0, Math.min(pageSize, total - offset));
+  }
+}
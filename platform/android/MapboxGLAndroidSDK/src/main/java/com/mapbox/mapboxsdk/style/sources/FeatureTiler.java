@@ -0,0 +1,214 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.geojson.BoundingBox;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.GeometryCollection;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.MultiLineString;
+import com.mapbox.geojson.MultiPoint;
+import com.mapbox.geojson.MultiPolygon;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+import com.mapbox.mapboxsdk.constants.GeometryConstants;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distributes features over the tiles of a zoom level by their bounding boxes, see {@link BulkGeometryTileProvider}.
+ */
+final class FeatureTiler {
+
+  private FeatureTiler() {
+  }
+
+  /**
+   * Assign every feature to the requested tiles its bounding box intersects. The GeoJSON bbox of a feature or of its
+   * geometry is used when set, otherwise the bounding box is computed from the coordinates.
+   *
+   * @param features the features
+   * @param zoom     the zoom level of the tiles
+   * @param buffer   the buffer around each tile, as a fraction of the tile size
+   * @param tiles    the requested tiles, keyed by {@link TileKey}
+   * @return the features of every requested tile that is intersected by at least one feature, keyed by TileKey
+   */
+  @NonNull
+  static LongSparseArray<List<Feature>> distribute(@NonNull List<Feature> features, int zoom, double buffer,
+                                                   @NonNull LongSparseArray<?> tiles) {
+    LongSparseArray<List<Feature>> result = new LongSparseArray<>(tiles.size());
+    if (tiles.size() == 0) {
+      return result;
+    }
+
+    // the buffered edges of the requested columns and rows, which avoids projecting every feature
+    int[] columns = distinct(tiles, true);
+    int[] rows = distinct(tiles, false);
+    double scale = Math.pow(2, zoom);
+    double[] west = new double[columns.length];
+    double[] east = new double[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      west[i] = xLng((columns[i] - buffer) / scale);
+      east[i] = xLng((columns[i] + 1 + buffer) / scale);
+    }
+    double[] north = new double[rows.length];
+    double[] south = new double[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      north[i] = yLat((rows[i] - buffer) / scale);
+      south[i] = yLat((rows[i] + 1 + buffer) / scale);
+    }
+
+    double[] bbox = new double[4];
+    for (Feature feature : features) {
+      Geometry geometry = feature.geometry();
+      if (geometry == null) {
+        continue;
+      }
+
+      BoundingBox box = feature.bbox() != null ? feature.bbox() : geometry.bbox();
+      if (box != null) {
+        bbox[0] = box.west();
+        bbox[1] = box.south();
+        bbox[2] = box.east();
+        bbox[3] = box.north();
+      } else {
+        bbox[0] = Double.POSITIVE_INFINITY;
+        bbox[1] = Double.POSITIVE_INFINITY;
+        bbox[2] = Double.NEGATIVE_INFINITY;
+        bbox[3] = Double.NEGATIVE_INFINITY;
+        extend(bbox, geometry);
+      }
+      if (bbox[0] > bbox[2]) {
+        continue;
+      }
+
+      // longitude increases with the column, latitude decreases with the row
+      for (int i = 0; i < columns.length && west[i] <= bbox[2]; i++) {
+        if (east[i] < bbox[0]) {
+          continue;
+        }
+        for (int j = 0; j < rows.length && north[j] >= bbox[1]; j++) {
+          if (south[j] > bbox[3]) {
+            continue;
+          }
+          long key = TileKey.pack(zoom, columns[i], rows[j]);
+          if (tiles.get(key) == null) {
+            continue;
+          }
+          List<Feature> tileFeatures = result.get(key);
+          if (tileFeatures == null) {
+            tileFeatures = new ArrayList<>();
+            result.put(key, tileFeatures);
+          }
+          tileFeatures.add(feature);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the bounds enclosing the requested tiles including their buffers, which is the area
+   * {@link #distribute(List, int, double, LongSparseArray)} assigns features from.
+   *
+   * @param zoom   the zoom level of the tiles
+   * @param buffer the buffer around each tile, as a fraction of the tile size
+   * @param tiles  the requested tiles, keyed by {@link TileKey}, not empty
+   * @return the bounds, limited to the valid longitude range
+   */
+  @NonNull
+  static LatLngBounds getBounds(int zoom, double buffer, @NonNull LongSparseArray<?> tiles) {
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (int i = 0; i < tiles.size(); i++) {
+      long key = tiles.keyAt(i);
+      minX = Math.min(minX, TileKey.x(key));
+      minY = Math.min(minY, TileKey.y(key));
+      maxX = Math.max(maxX, TileKey.x(key));
+      maxY = Math.max(maxY, TileKey.y(key));
+    }
+
+    double scale = Math.pow(2, zoom);
+    return LatLngBounds.from(
+      yLat((minY - buffer) / scale),
+      Math.min(GeometryConstants.MAX_LONGITUDE, xLng((maxX + 1 + buffer) / scale)),
+      yLat((maxY + 1 + buffer) / scale),
+      Math.max(GeometryConstants.MIN_LONGITUDE, xLng((minX - buffer) / scale)));
+  }
+
+  private static int[] distinct(LongSparseArray<?> tiles, boolean columns) {
+    int[] values = new int[tiles.size()];
+    for (int i = 0; i < values.length; i++) {
+      long key = tiles.keyAt(i);
+      values[i] = columns ? TileKey.x(key) : TileKey.y(key);
+    }
+    Arrays.sort(values);
+    int count = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (i == 0 || values[i] != values[i - 1]) {
+        values[count++] = values[i];
+      }
+    }
+    return Arrays.copyOf(values, count);
+  }
+
+  private static void extend(double[] bbox, Geometry geometry) {
+    if (geometry instanceof Point) {
+      extend(bbox, (Point) geometry);
+    } else if (geometry instanceof MultiPoint) {
+      extend(bbox, ((MultiPoint) geometry).coordinates());
+    } else if (geometry instanceof LineString) {
+      extend(bbox, ((LineString) geometry).coordinates());
+    } else if (geometry instanceof MultiLineString) {
+      for (List<Point> line : ((MultiLineString) geometry).coordinates()) {
+        extend(bbox, line);
+      }
+    } else if (geometry instanceof Polygon) {
+      // the outer ring encloses the holes
+      List<List<Point>> rings = ((Polygon) geometry).coordinates();
+      if (!rings.isEmpty()) {
+        extend(bbox, rings.get(0));
+      }
+    } else if (geometry instanceof MultiPolygon) {
+      for (List<List<Point>> rings : ((MultiPolygon) geometry).coordinates()) {
+        if (!rings.isEmpty()) {
+          extend(bbox, rings.get(0));
+        }
+      }
+    } else if (geometry instanceof GeometryCollection) {
+      for (Geometry child : ((GeometryCollection) geometry).geometries()) {
+        extend(bbox, child);
+      }
+    }
+  }
+
+  private static void extend(double[] bbox, List<Point> points) {
+    for (Point point : points) {
+      extend(bbox, point);
+    }
+  }
+
+  private static void extend(double[] bbox, Point point) {
+    bbox[0] = Math.min(bbox[0], point.longitude());
+    bbox[1] = Math.min(bbox[1], point.latitude());
+    bbox[2] = Math.max(bbox[2], point.longitude());
+    bbox[3] = Math.max(bbox[3], point.latitude());
+  }
+
+  // spherical mercator from [0..1] range
+  private static double xLng(double x) {
+    return x * 360 - 180;
+  }
+
+  private static double yLat(double y) {
+    double n = Math.PI - 2 * Math.PI * y;
+    return Math.toDegrees(Math.atan(0.5 * (Math.exp(n) - Math.exp(-n))));
+  }
+}
@@ -200,6 +200,38 @@ public class GeoJsonSource extends Source {
     nativeSetFeatureCollection(features);
   }
 
+  /**
+   * Updates the GeoJson with properties provided in columnar form.
+   * <p>
+   * Row {@code i} of the columns is added to the properties of feature {@code i}. Prefer this over attaching
+   * properties to every {@link Feature} when features carry many properties, as the columns are transferred to
+   * native with a few bulk copies.
+   * </p>
+   *
+   * @param features   the GeoJSON FeatureCollection
+   * @param properties the feature properties, one row per feature
+   */
+  public void setGeoJson(FeatureCollection features, PropertyColumns properties) {
+    checkRowCount(features, properties);
+    nativeSetFeatureCollectionWithColumns(features, properties);
+  }
+
+  /**
+   * Updates the GeoJson with shared data.
+   * <p>
+   * The data is not copied, use this to show the same features in multiple maps without converting and
+   * tiling them for every map.
+   * </p>
+   *
+   * @param data the shared GeoJSON data
+   */
+  public void setGeoJson(@NonNull GeoJsonSourceData data) {
+    if (data == null) {
+      throw new IllegalArgumentException("GeoJsonSourceData can't be null");
+    }
+    nativeSetGeoJsonData(data);
+  }
+
   /**
    * Updates the GeoJson
    *
@@ -247,6 +279,28 @@ public class GeoJsonSource extends Source {
     return features != null ? Arrays.asList(features) : new ArrayList<Feature>();
   }
 
+  /**
+   * Queries the source for features, delivering the result in pages.
+   * <p>
+   * Only one page of features is converted at a time, this keeps the peak allocation small on large sources.
+   * The callback is invoked synchronously on the calling thread before this method returns.
+   * </p>
+   *
+   * @param options  the query options
+   * @param callback the callback receiving the pages, return false from it to stop the query early
+   */
+  public void querySourceFeatures(@NonNull QueryFeaturesOptions options, @NonNull QueryFeaturesCallback callback) {
+    nativeQuerySourceFeaturesPaged(options.getFilter(), options.getProperties(), new FeaturePager(options, callback));
+  }
+
+  static void checkRowCount(FeatureCollection features, PropertyColumns properties) {
+    int featureCount = features.features() != null ? features.features().size() : 0;
+    if (properties.getRowCount() != featureCount) {
+      throw new IllegalArgumentException(String.format(
+        "Property columns have %d rows, expected one per feature (%d)", properties.getRowCount(), featureCount));
+    }
+  }
+
   protected native void initialize(String layerId, Object options);
 
   protected native void nativeSetUrl(String url);
@@ -257,12 +311,18 @@ public class GeoJsonSource extends Source {
 
   private native void nativeSetFeatureCollection(FeatureCollection geoJson);
 
+  private native void nativeSetFeatureCollectionWithColumns(FeatureCollection geoJson, PropertyColumns properties);
+
+  private native void nativeSetGeoJsonData(GeoJsonSourceData data);
+
   private native void nativeSetFeature(Feature feature);
 
   private native void nativeSetGeometry(Geometry geometry);
 
   private native Feature[] querySourceFeatures(Object[] filter);
 
+  private native void nativeQuerySourceFeaturesPaged(Object[] filter, String[] properties, FeaturePager pager);
+
   @Override
   protected native void finalize() throws Throwable;
 
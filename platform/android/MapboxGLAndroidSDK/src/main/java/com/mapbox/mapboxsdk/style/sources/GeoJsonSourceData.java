@@ -0,0 +1,58 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.LibraryLoader;
+
+/**
+ * Immutable GeoJSON data that can be shared by any number of {@link GeoJsonSource}s, including sources of
+ * different maps.
+ * <p>
+ * The features are converted and tiled once when the data is created. Sources reference the native data instead of
+ * holding a copy, it is released when neither this object nor any source refers to it anymore. This avoids
+ * converting and tiling the same features for every map on screens showing multiple maps.
+ * </p>
+ * <p>
+ * The data is tiled with the options it was created with, use the same options for the sources it is set on.
+ * </p>
+ *
+ * @see GeoJsonSource#setGeoJson(GeoJsonSourceData)
+ */
+public class GeoJsonSourceData {
+
+  static {
+    LibraryLoader.load();
+  }
+
+  // Holds the pointer to the native peer
+  private long nativePtr;
+
+  /**
+   * Create shared data from a FeatureCollection with default GeoJsonOptions.
+   *
+   * @param features the features
+   */
+  @WorkerThread
+  public GeoJsonSourceData(@NonNull FeatureCollection features) {
+    this(features, null);
+  }
+
+  /**
+   * Create shared data from a FeatureCollection.
+   *
+   * @param features the features
+   * @param options  the options used for tiling the features, should match the options of the sources
+   */
+  @WorkerThread
+  public GeoJsonSourceData(@NonNull FeatureCollection features, @Nullable GeoJsonOptions options) {
+    initialize(features, options);
+  }
+
+  private native void initialize(FeatureCollection features, Object options);
+
+  @Override
+  protected native void finalize() throws Throwable;
+}
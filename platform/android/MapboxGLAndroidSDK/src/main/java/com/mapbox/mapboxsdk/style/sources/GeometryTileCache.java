@@ -0,0 +1,190 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of {@link GeometryTileProvider} output, keyed by tile.
+ * <p>
+ * When set with {@link CustomGeometrySourceOptions#withTileCache(GeometryTileCache)}, tiles that were produced before
+ * are served from the cache instead of calling the provider again, for example when panning back and forth. The
+ * cache is bounded by the total amount of cached features and is invalidated by
+ * {@link CustomGeometrySource#invalidateTile(int, int, int)} and
+ * {@link CustomGeometrySource#invalidateRegion(LatLngBounds)}.
+ * </p>
+ * <p>
+ * A cache holds the tiles of a single source and should not be shared between sources.
+ * </p>
+ */
+public class GeometryTileCache {
+
+  private final int maxFeatures;
+  private final Map<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private int featureCount;
+  private long generation;
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * Create a cache.
+   *
+   * @param maxFeatures the maximum amount of features held by all cached tiles together
+   */
+  public GeometryTileCache(int maxFeatures) {
+    if (maxFeatures <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive");
+    }
+    this.maxFeatures = maxFeatures;
+  }
+
+  /**
+   * Get a cached tile, counts as a hit or miss.
+   *
+   * @param z the tile zoom level
+   * @param x the tile x coordinate
+   * @param y the tile y coordinate
+   * @return the features, or null if not cached
+   */
+  @Nullable
+  public synchronized FeatureCollection get(int z, int x, int y) {
+    Entry entry = entries.get(TileKey.pack(z, x, y));
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.features;
+  }
+
+  /**
+   * Add a tile to the cache, evicting the least recently used tiles if the cache is full.
+   *
+   * @param z        the tile zoom level
+   * @param x        the tile x coordinate
+   * @param y        the tile y coordinate
+   * @param features the features of the tile
+   */
+  public synchronized void put(int z, int x, int y, @NonNull FeatureCollection features) {
+    int size = features.features() != null ? features.features().size() : 0;
+    if (size > maxFeatures) {
+      return;
+    }
+
+    long key = TileKey.pack(z, x, y);
+    Entry previous = entries.put(key, new Entry(key, features, size));
+    if (previous != null) {
+      featureCount -= previous.size;
+    }
+    featureCount += size;
+
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (featureCount > maxFeatures) {
+      featureCount -= iterator.next().size;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Remove a tile from the cache.
+   *
+   * @param z the tile zoom level
+   * @param x the tile x coordinate
+   * @param y the tile y coordinate
+   */
+  public synchronized void invalidate(int z, int x, int y) {
+    generation++;
+    Entry entry = entries.remove(TileKey.pack(z, x, y));
+    if (entry != null) {
+      featureCount -= entry.size;
+    }
+  }
+
+  /**
+   * Remove all tiles intersecting the bounds from the cache, at all zoom levels.
+   *
+   * @param bounds the bounds
+   */
+  public synchronized void invalidate(@NonNull LatLngBounds bounds) {
+    generation++;
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      LatLngBounds tile = LatLngBounds.from(TileKey.z(entry.key), TileKey.x(entry.key), TileKey.y(entry.key));
+      if (tile.getLonWest() <= bounds.getLonEast() && tile.getLonEast() >= bounds.getLonWest()
+        && tile.getLatSouth() <= bounds.getLatNorth() && tile.getLatNorth() >= bounds.getLatSouth()) {
+        featureCount -= entry.size;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Remove all tiles from the cache.
+   */
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+    featureCount = 0;
+  }
+
+  /**
+   * @return the amount of cached tiles
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the amount of features of all cached tiles together
+   */
+  public synchronized int getFeatureCount() {
+    return featureCount;
+  }
+
+  /**
+   * @return the amount of lookups that were served from the cache
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the amount of lookups that were not found in the cache
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * The generation changes with every invalidation. Results computed while it changed are not cached, as they might
+   * be based on data that was invalidated in the meantime.
+   */
+  synchronized long getGeneration() {
+    return generation;
+  }
+
+  synchronized void put(int z, int x, int y, @NonNull FeatureCollection features, long expectedGeneration) {
+    if (generation == expectedGeneration) {
+      put(z, x, y, features);
+    }
+  }
+
+  private static class Entry {
+    final long key;
+    final FeatureCollection features;
+    final int size;
+
+    Entry(long key, FeatureCollection features, int size) {
+      this.key = key;
+      this.features = features;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Bounded ring of decoded frames of an {@link AnimatedImageSource}, keyed by a monotonic frame sequence number.
+ * <p>
+ * Frames are added in sequence order by the preloader and taken in sequence order by the animation clock. The ring
+ * is bounded by an amount of frames and by the bytes of the buffered bitmaps. The byte bound is soft, a frame is
+ * only refused when the ring is already at or over it, so at least one frame can always be buffered.
+ * </p>
+ * <p>
+ * Next to the ring, decoded frames can be kept by their index in the loop, so that a frame loaded in an earlier loop
+ * does not have to be loaded again. Kept frames are bounded by their own amount of bytes, frames that do not fit are
+ * loaded again in every loop.
+ * </p>
+ */
+class ImageFrameRing {
+
+  private final Bitmap[] frames;
+  private final long[] sizes;
+  private final long maxBytes;
+  private final Bitmap[] kept;
+  private final long maxKeptBytes;
+  // sequence number of the oldest buffered frame and amount of buffered frames
+  private long head;
+  private int count;
+  private long byteCount;
+  private long keptByteCount;
+
+  ImageFrameRing(int maxFrames, long maxBytes) {
+    this(maxFrames, maxBytes, 0, 0);
+  }
+
+  /**
+   * @param maxFrames    the maximum amount of buffered frames
+   * @param maxBytes     the maximum amount of bytes of buffered frames
+   * @param loopLength   the amount of frames in a loop, 0 to keep no frames
+   * @param maxKeptBytes the maximum amount of bytes of kept frames, 0 to keep no frames
+   */
+  ImageFrameRing(int maxFrames, long maxBytes, int loopLength, long maxKeptBytes) {
+    if (maxFrames <= 0 || maxBytes <= 0) {
+      throw new IllegalArgumentException("Frame ring size must be positive");
+    }
+    if (loopLength < 0 || maxKeptBytes < 0) {
+      throw new IllegalArgumentException("Kept frames must not be negative");
+    }
+    this.frames = new Bitmap[maxFrames];
+    this.sizes = new long[maxFrames];
+    this.maxBytes = maxBytes;
+    this.kept = new Bitmap[maxKeptBytes > 0 ? loopLength : 0];
+    this.maxKeptBytes = maxKeptBytes;
+  }
+
+  /**
+   * @return true if another frame can be added
+   */
+  synchronized boolean hasRoom() {
+    return count < frames.length && byteCount < maxBytes;
+  }
+
+  /**
+   * @return the sequence number of the next frame to add
+   */
+  synchronized long getNextSequence() {
+    return head + count;
+  }
+
+  /**
+   * Add the next frame.
+   *
+   * @param sequence the sequence number of the frame, see {@link #getNextSequence()}
+   * @param frame    the decoded frame
+   * @return false if the frame was not added because the ring is full or the frame is no longer the next one
+   */
+  synchronized boolean offer(long sequence, @NonNull Bitmap frame) {
+    if (!hasRoom() || sequence != head + count) {
+      return false;
+    }
+    int slot = (int) (sequence % frames.length);
+    frames[slot] = frame;
+    sizes[slot] = getByteCount(frame);
+    byteCount += sizes[slot];
+    count++;
+    return true;
+  }
+
+  /**
+   * Take a frame, releasing it and all frames before it. When the frame is not buffered yet, it becomes the next
+   * frame to add.
+   *
+   * @param sequence the sequence number of the frame
+   * @return the frame, or null if it was not buffered
+   */
+  @Nullable
+  synchronized Bitmap poll(long sequence) {
+    Bitmap result = null;
+    while (count > 0 && head <= sequence) {
+      int slot = (int) (head % frames.length);
+      if (head == sequence) {
+        result = frames[slot];
+      }
+      byteCount -= sizes[slot];
+      frames[slot] = null;
+      sizes[slot] = 0;
+      head++;
+      count--;
+    }
+    if (count == 0 && head < sequence) {
+      head = sequence;
+    }
+    return result;
+  }
+
+  /**
+   * Keep a decoded frame for later loops, if it fits.
+   *
+   * @param index the index of the frame in the loop
+   * @param frame the decoded frame
+   * @return true if the frame is kept
+   */
+  synchronized boolean keep(int index, @NonNull Bitmap frame) {
+    if (index >= kept.length || kept[index] != null) {
+      return false;
+    }
+    long size = getByteCount(frame);
+    if (keptByteCount + size > maxKeptBytes) {
+      return false;
+    }
+    kept[index] = frame;
+    keptByteCount += size;
+    return true;
+  }
+
+  /**
+   * @param index the index of the frame in the loop
+   * @return the kept frame, or null if it was not kept
+   */
+  @Nullable
+  synchronized Bitmap getKept(int index) {
+    return index < kept.length ? kept[index] : null;
+  }
+
+  /**
+   * Release all frames, including kept frames.
+   */
+  synchronized void clear() {
+    for (int i = 0; i < frames.length; i++) {
+      frames[i] = null;
+      sizes[i] = 0;
+    }
+    for (int i = 0; i < kept.length; i++) {
+      kept[i] = null;
+    }
+    head = 0;
+    count = 0;
+    byteCount = 0;
+    keptByteCount = 0;
+  }
+
+  synchronized int size() {
+    return count;
+  }
+
+  synchronized long getByteCount() {
+    return byteCount;
+  }
+
+  synchronized long getKeptByteCount() {
+    return keptByteCount;
+  }
+
+  private static long getByteCount(Bitmap frame) {
+    return (long) frame.getRowBytes() * frame.getHeight();
+  }
+}
@@ -37,6 +37,10 @@ public class ImageSource extends Source {
     super(nativePtr);
   }
 
+  ImageSource(String id, LatLngQuad coordinates) {
+    initialize(id, coordinates);
+  }
+
   /**
    * Create an ImageSource from coordinates and an image URL
    *
@@ -0,0 +1,278 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+/**
+ * Static, flat KD-tree over 2D points used to answer range and radius queries.
+ * <p>
+ * The tree is built once from primitive coordinate arrays and is immutable afterwards. Points are referenced by
+ * the index they had in the input arrays.
+ * </p>
+ */
+final class KdBush {
+
+  private final int nodeSize;
+  private final int[] ids;
+  private final double[] coords;
+
+  /**
+   * Build an index over the first {@code count} points of the given coordinate arrays.
+   *
+   * @param xs       the x coordinates
+   * @param ys       the y coordinates
+   * @param count    the amount of points to index
+   * @param nodeSize the size of the leaf nodes, trades index build time for query performance
+   */
+  KdBush(double[] xs, double[] ys, int count, int nodeSize) {
+    this.nodeSize = nodeSize;
+    this.ids = new int[count];
+    this.coords = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      ids[i] = i;
+      coords[2 * i] = xs[i];
+      coords[2 * i + 1] = ys[i];
+    }
+    sortKd(0, count - 1, 0);
+  }
+
+  /**
+   * Amount of indexed points.
+   *
+   * @return the size of the index
+   */
+  int size() {
+    return ids.length;
+  }
+
+  /**
+   * Get the index of the point stored at a position of the tree. Iterating over positions visits the points in
+   * spatially coherent order.
+   *
+   * @param position the position in the tree
+   * @return the index of the point in the input arrays
+   */
+  int idAt(int position) {
+    return ids[position];
+  }
+
+  /**
+   * Find all points within the given bounding box.
+   *
+   * @param minX   the minimum x coordinate
+   * @param minY   the minimum y coordinate
+   * @param maxX   the maximum x coordinate
+   * @param maxY   the maximum y coordinate
+   * @param result the collector receiving the indices of the matched points
+   */
+  void range(double minX, double minY, double maxX, double maxY, Results result) {
+    if (ids.length == 0) {
+      return;
+    }
+
+    Results stack = new Results(32);
+    stack.add(0);
+    stack.add(ids.length - 1);
+    stack.add(0);
+
+    while (stack.size > 0) {
+      int axis = stack.data[--stack.size];
+      int right = stack.data[--stack.size];
+      int left = stack.data[--stack.size];
+
+      if (right - left <= nodeSize) {
+        for (int i = left; i <= right; i++) {
+          double x = coords[2 * i];
+          double y = coords[2 * i + 1];
+          if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+            result.add(ids[i]);
+          }
+        }
+        continue;
+      }
+
+      int m = (left + right) >> 1;
+      double x = coords[2 * m];
+      double y = coords[2 * m + 1];
+      if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+        result.add(ids[m]);
+      }
+
+      if (axis == 0 ? minX <= x : minY <= y) {
+        stack.add(left);
+        stack.add(m - 1);
+        stack.add(1 - axis);
+      }
+      if (axis == 0 ? maxX >= x : maxY >= y) {
+        stack.add(m + 1);
+        stack.add(right);
+        stack.add(1 - axis);
+      }
+    }
+  }
+
+  /**
+   * Find all points within the given radius of a query point.
+   *
+   * @param qx     the x coordinate of the query point
+   * @param qy     the y coordinate of the query point
+   * @param r      the radius
+   * @param result the collector receiving the indices of the matched points
+   */
+  void within(double qx, double qy, double r, Results result) {
+    if (ids.length == 0) {
+      return;
+    }
+
+    Results stack = new Results(32);
+    stack.add(0);
+    stack.add(ids.length - 1);
+    stack.add(0);
+    double r2 = r * r;
+
+    while (stack.size > 0) {
+      int axis = stack.data[--stack.size];
+      int right = stack.data[--stack.size];
+      int left = stack.data[--stack.size];
+
+      if (right - left <= nodeSize) {
+        for (int i = left; i <= right; i++) {
+          if (sqDist(coords[2 * i], coords[2 * i + 1], qx, qy) <= r2) {
+            result.add(ids[i]);
+          }
+        }
+        continue;
+      }
+
+      int m = (left + right) >> 1;
+      double x = coords[2 * m];
+      double y = coords[2 * m + 1];
+      if (sqDist(x, y, qx, qy) <= r2) {
+        result.add(ids[m]);
+      }
+
+      if (axis == 0 ? qx - r <= x : qy - r <= y) {
+        stack.add(left);
+        stack.add(m - 1);
+        stack.add(1 - axis);
+      }
+      if (axis == 0 ? qx + r >= x : qy + r >= y) {
+        stack.add(m + 1);
+        stack.add(right);
+        stack.add(1 - axis);
+      }
+    }
+  }
+
+  private void sortKd(int left, int right, int axis) {
+    if (right - left <= nodeSize) {
+      return;
+    }
+    int m = (left + right) >> 1;
+    select(m, left, right, axis);
+    sortKd(left, m - 1, 1 - axis);
+    sortKd(m + 1, right, 1 - axis);
+  }
+
+  // Floyd-Rivest selection, partially sorts the range so that the k-th element ends up in place
+  private void select(int k, int left, int right, int axis) {
+    while (right > left) {
+      if (right - left > 600) {
+        int n = right - left + 1;
+        int m = k - left + 1;
+        double z = Math.log(n);
+        double s = 0.5 * Math.exp(2 * z / 3);
+        double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * (m - n / 2.0 < 0 ? -1 : 1);
+        int newLeft = (int) Math.max(left, Math.floor(k - m * s / n + sd));
+        int newRight = (int) Math.min(right, Math.floor(k + (n - m) * s / n + sd));
+        select(k, newLeft, newRight, axis);
+      }
+
+      double t = coords[2 * k + axis];
+      int i = left;
+      int j = right;
+
+      swapItem(left, k);
+      if (coords[2 * right + axis] > t) {
+        swapItem(left, right);
+      }
+
+      while (i < j) {
+        swapItem(i, j);
+        i++;
+        j--;
+        while (coords[2 * i + axis] < t) {
+          i++;
+        }
+        while (coords[2 * j + axis] > t) {
+          j--;
+        }
+      }
+
+      if (coords[2 * left + axis] == t) {
+        swapItem(left, j);
+      } else {
+        j++;
+        swapItem(j, right);
+      }
+
+      if (j <= k) {
+        left = j + 1;
+      }
+      if (k <= j) {
+        right = j - 1;
+      }
+    }
+  }
+
+  private void swapItem(int i, int j) {
+    int id = ids[i];
+    ids[i] = ids[j];
+    ids[j] = id;
+
+    double x = coords[2 * i];
+    coords[2 * i] = coords[2 * j];
+    coords[2 * j] = x;
+
+    double y = coords[2 * i + 1];
+    coords[2 * i + 1] = coords[2 * j + 1];
+    coords[2 * j + 1] = y;
+  }
+
+  private static double sqDist(double ax, double ay, double bx, double by) {
+    double dx = ax - bx;
+    double dy = ay - by;
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Growable primitive int collector used for query results, avoids boxing on hot query paths.
+   */
+  static final class Results {
+
+    int[] data;
+    int size;
+
+    Results(int capacity) {
+      data = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+      if (size == data.length) {
+        int[] grown = new int[size * 2];
+        System.arraycopy(data, 0, grown, 0, size);
+        data = grown;
+      }
+      data[size++] = value;
+    }
+
+    int get(int index) {
+      return data[index];
+    }
+
+    int size() {
+      return size;
+    }
+
+    void clear() {
+      size = 0;
+    }
+  }
+}
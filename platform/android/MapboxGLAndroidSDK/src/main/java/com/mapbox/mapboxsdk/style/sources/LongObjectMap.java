@@ -0,0 +1,164 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Open-addressing hash map from primitive long keys to objects, used to track tile requests by {@link TileKey}.
+ * <p>
+ * Lookups, insertions and removals take constant time on average without boxing the keys or allocating entries.
+ * Collisions are resolved by linear probing and removals shift the following entries back, so no tombstones are
+ * left behind. Entries are visited by slot, see {@link #capacity()} and {@link #valueAt(int)}. Not thread safe.
+ * </p>
+ *
+ * @param <V> the type of the values
+ */
+final class LongObjectMap<V> {
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+
+  LongObjectMap() {
+    keys = new long[MIN_CAPACITY];
+    values = new Object[MIN_CAPACITY];
+    mask = MIN_CAPACITY - 1;
+  }
+
+  /**
+   * @return the amount of entries
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Get the value of a key.
+   *
+   * @param key the key
+   * @return the value, or null if the key is absent
+   */
+  @Nullable
+  V get(long key) {
+    int slot = find(key);
+    return slot >= 0 ? valueAt(slot) : null;
+  }
+
+  /**
+   * Set the value of a key.
+   *
+   * @param key   the key
+   * @param value the value
+   * @return the previous value, or null if the key was absent
+   */
+  @Nullable
+  V put(long key, @NonNull V value) {
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = valueAt(slot);
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    // keep the load factor at or below 0.5
+    if (++size * 2 > values.length) {
+      resize(values.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Remove a key.
+   *
+   * @param key the key
+   * @return the removed value, or null if the key was absent
+   */
+  @Nullable
+  V remove(long key) {
+    int slot = find(key);
+    if (slot < 0) {
+      return null;
+    }
+
+    V removed = valueAt(slot);
+    // shift back the entries that probed past the freed slot
+    int free = slot;
+    int next = (slot + 1) & mask;
+    while (values[next] != null) {
+      int home = slot(keys[next]);
+      if (((next - home) & mask) >= ((next - free) & mask)) {
+        keys[free] = keys[next];
+        values[free] = values[next];
+        free = next;
+      }
+      next = (next + 1) & mask;
+    }
+    values[free] = null;
+    // shrink after a burst of requests, so visiting the slots stays proportional to the entries
+    if (--size * 8 < values.length && values.length > MIN_CAPACITY) {
+      resize(values.length / 2);
+    }
+    return removed;
+  }
+
+  /**
+   * @return the amount of slots, the upper bound for {@link #valueAt(int)}
+   */
+  int capacity() {
+    return values.length;
+  }
+
+  /**
+   * Get the value stored in a slot.
+   *
+   * @param slot the slot, between 0 and {@link #capacity()}
+   * @return the value, or null if the slot is empty
+   */
+  @SuppressWarnings("unchecked")
+  @Nullable
+  V valueAt(int slot) {
+    return (V) values[slot];
+  }
+
+  private int find(long key) {
+    int slot = slot(key);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i]);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, pre-serialized encoding of feature properties.
+ * <p>
+ * Instead of attaching a Gson {@code JsonObject} to every feature, properties are described by a schema of named,
+ * typed columns backed by primitive arrays, with one row per feature. This allows the native side to read all
+ * property values with a handful of bulk array copies instead of walking every property of every feature.
+ * </p>
+ * <ul>
+ * <li>Number columns are stored as {@code double} values, {@link Double#NaN} marks an absent value.</li>
+ * <li>Boolean columns are stored as {@code byte} values.</li>
+ * <li>String columns are dictionary encoded, each distinct string is transferred only once.</li>
+ * </ul>
+ * <p>
+ * Use {@link GeoJsonSource#setGeoJson(com.mapbox.geojson.FeatureCollection, PropertyColumns)} or
+ * {@link CustomGeometrySource#setTileData(int, int, int, com.mapbox.geojson.FeatureCollection, PropertyColumns)}
+ * to combine the columns with the geometries of a FeatureCollection; row {@code i} is applied to feature {@code i}.
+ * </p>
+ */
+public class PropertyColumns {
+
+  static final byte TYPE_NUMBER = 0;
+  static final byte TYPE_BOOLEAN = 1;
+  static final byte TYPE_STRING = 2;
+
+  static final byte BOOLEAN_FALSE = 0;
+  static final byte BOOLEAN_TRUE = 1;
+
+  // Fields below are read directly from native code, see property_columns.cpp
+  private final int rowCount;
+  private final String[] names;
+  private final byte[] types;
+  private final double[] numbers;
+  private final byte[] booleans;
+  private final int[] strings;
+  private final String[] dictionary;
+
+  private PropertyColumns(Builder builder) {
+    rowCount = builder.rowCount;
+    int columnCount = builder.names.size();
+    names = builder.names.toArray(new String[columnCount]);
+    types = new byte[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      types[i] = builder.types.get(i);
+    }
+
+    numbers = new double[builder.numberColumns.size() * rowCount];
+    for (int i = 0; i < builder.numberColumns.size(); i++) {
+      System.arraycopy(builder.numberColumns.get(i), 0, numbers, i * rowCount, rowCount);
+    }
+
+    booleans = new byte[builder.booleanColumns.size() * rowCount];
+    for (int i = 0; i < builder.booleanColumns.size(); i++) {
+      System.arraycopy(builder.booleanColumns.get(i), 0, booleans, i * rowCount, rowCount);
+    }
+
+    strings = new int[builder.stringColumns.size() * rowCount];
+    for (int i = 0; i < builder.stringColumns.size(); i++) {
+      System.arraycopy(builder.stringColumns.get(i), 0, strings, i * rowCount, rowCount);
+    }
+    dictionary = builder.dictionary.toArray(new String[builder.dictionary.size()]);
+  }
+
+  /**
+   * Get the amount of rows, this equals the amount of features the properties apply to.
+   *
+   * @return the row count
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Get the amount of columns.
+   *
+   * @return the column count
+   */
+  public int getColumnCount() {
+    return names.length;
+  }
+
+  /**
+   * Get the name of a column.
+   *
+   * @param column the column index
+   * @return the property name
+   */
+  @NonNull
+  public String getName(int column) {
+    return names[column];
+  }
+
+  /**
+   * Builder class for composing PropertyColumns objects.
+   */
+  public static class Builder {
+
+    private final int rowCount;
+    private final List<String> names = new ArrayList<>();
+    private final List<Byte> types = new ArrayList<>();
+    private final List<double[]> numberColumns = new ArrayList<>();
+    private final List<byte[]> booleanColumns = new ArrayList<>();
+    private final List<int[]> stringColumns = new ArrayList<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    /**
+     * Create a builder for a fixed amount of rows.
+     *
+     * @param rowCount the amount of rows, must match the amount of features the properties are applied to
+     */
+    public Builder(int rowCount) {
+      if (rowCount < 0) {
+        throw new IllegalArgumentException("Row count can't be negative");
+      }
+      this.rowCount = rowCount;
+    }
+
+    /**
+     * Add a numeric column.
+     *
+     * @param name   the property name
+     * @param values the values, one per row, {@link Double#NaN} marks an absent value
+     * @return this
+     */
+    public Builder addNumberColumn(@NonNull String name, @NonNull double[] values) {
+      checkColumn(name, values.length);
+      double[] column = new double[rowCount];
+      System.arraycopy(values, 0, column, 0, rowCount);
+      numberColumns.add(column);
+      names.add(name);
+      types.add(TYPE_NUMBER);
+      return this;
+    }
+
+    /**
+     * Add a boolean column.
+     *
+     * @param name   the property name
+     * @param values the values, one per row
+     * @return this
+     */
+    public Builder addBooleanColumn(@NonNull String name, @NonNull boolean[] values) {
+      checkColumn(name, values.length);
+      byte[] column = new byte[rowCount];
+      for (int i = 0; i < rowCount; i++) {
+        column[i] = values[i] ? BOOLEAN_TRUE : BOOLEAN_FALSE;
+      }
+      booleanColumns.add(column);
+      names.add(name);
+      types.add(TYPE_BOOLEAN);
+      return this;
+    }
+
+    /**
+     * Add a string column. Repeated values are stored only once.
+     *
+     * @param name   the property name
+     * @param values the values, one per row, null marks an absent value
+     * @return this
+     */
+    public Builder addStringColumn(@NonNull String name, @NonNull String[] values) {
+      checkColumn(name, values.length);
+      int[] column = new int[rowCount];
+      for (int i = 0; i < rowCount; i++) {
+        String value = values[i];
+        if (value == null) {
+          column[i] = -1;
+          continue;
+        }
+
+        Integer index = dictionaryIndex.get(value);
+        if (index == null) {
+          index = dictionary.size();
+          dictionary.add(value);
+          dictionaryIndex.put(value, index);
+        }
+        column[i] = index;
+      }
+      stringColumns.add(column);
+      names.add(name);
+      types.add(TYPE_STRING);
+      return this;
+    }
+
+    /**
+     * Build the PropertyColumns.
+     *
+     * @return the PropertyColumns
+     */
+    public PropertyColumns build() {
+      return new PropertyColumns(this);
+    }
+
+    private void checkColumn(String name, int length) {
+      if (names.contains(name)) {
+        throw new IllegalArgumentException("Duplicate column " + name);
+      }
+      if (length != rowCount) {
+        throw new IllegalArgumentException(
+          String.format("Column %s has %d values, expected %d", name, length, rowCount));
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Feature;
+
+import java.util.List;
+
+/**
+ * Receives the result of a paged source query, one page at a time.
+ *
+ * @see QueryFeaturesOptions
+ */
+public interface QueryFeaturesCallback {
+
+  /**
+   * Invoked for each page of features. References to the page may be dropped as soon as this method returns,
+   * which allows the features to be garbage collected before the next page is converted.
+   *
+   * @param features the features of this page
+   * @return true to receive the next page, false to stop the query
+   */
+  boolean onFeatures(@NonNull List<Feature> features);
+}
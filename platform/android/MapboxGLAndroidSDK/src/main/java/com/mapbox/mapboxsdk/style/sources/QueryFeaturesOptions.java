@@ -0,0 +1,89 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.mapboxsdk.style.expressions.Expression;
+
+/**
+ * Builder class for composing paged source queries.
+ * <p>
+ * Instead of materializing all matching features at once, the result is converted and delivered in pages to a
+ * {@link QueryFeaturesCallback}. A property projection limits the converted properties to the ones needed.
+ * </p>
+ */
+public class QueryFeaturesOptions {
+
+  private Expression filter;
+  private int pageSize = 256;
+  private int limit = 0;
+  private String[] properties;
+
+  /**
+   * Only return features matching the filter.
+   *
+   * @param filter the filter expression - Defaults to null, which matches all features.
+   * @return the current instance for chaining
+   */
+  public QueryFeaturesOptions withFilter(@Nullable Expression filter) {
+    this.filter = filter;
+    return this;
+  }
+
+  /**
+   * Maximum amount of features delivered per page.
+   *
+   * @param pageSize the page size - Defaults to 256.
+   * @return the current instance for chaining
+   */
+  public QueryFeaturesOptions withPageSize(int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive");
+    }
+    this.pageSize = pageSize;
+    return this;
+  }
+
+  /**
+   * Maximum amount of features delivered in total.
+   *
+   * @param limit the limit - Defaults to 0, which is unlimited.
+   * @return the current instance for chaining
+   */
+  public QueryFeaturesOptions withLimit(int limit) {
+    if (limit < 0) {
+      throw new IllegalArgumentException("Limit can't be negative");
+    }
+    this.limit = limit;
+    return this;
+  }
+
+  /**
+   * Only include the given properties in the returned features.
+   *
+   * @param properties the property names - Defaults to all properties.
+   * @return the current instance for chaining
+   */
+  public QueryFeaturesOptions withProperties(@NonNull String... properties) {
+    this.properties = properties.clone();
+    return this;
+  }
+
+  @Nullable
+  Object[] getFilter() {
+    return filter != null ? filter.toArray() : null;
+  }
+
+  int getPageSize() {
+    return pageSize;
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  @Nullable
+  String[] getProperties() {
+    return properties;
+  }
+}
@@ -0,0 +1,189 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of {@link CustomRasterSource} tile images, keyed by tile.
+ * <p>
+ * When set with {@link CustomRasterSourceOptions#withTileCache(RasterTileCache)}, tiles that were produced before
+ * are served from the cache instead of calling the provider and decoding them again. The cache is bounded by the
+ * total amount of bytes of the cached bitmaps and is invalidated by
+ * {@link CustomRasterSource#invalidateTile(int, int, int)} and
+ * {@link CustomRasterSource#invalidateRegion(LatLngBounds)}.
+ * </p>
+ * <p>
+ * A cache holds the tiles of a single source and should not be shared between sources.
+ * </p>
+ */
+public class RasterTileCache {
+
+  private final long maxBytes;
+  private final Map<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+  private long byteCount;
+  private long generation;
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * Create a cache.
+   *
+   * @param maxBytes the maximum amount of bytes held by all cached bitmaps together
+   */
+  public RasterTileCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Cache size must be positive");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Get a cached tile, counts as a hit or miss.
+   *
+   * @param z the tile zoom level
+   * @param x the tile x coordinate
+   * @param y the tile y coordinate
+   * @return the image, or null if not cached
+   */
+  @Nullable
+  public synchronized Bitmap get(int z, int x, int y) {
+    Entry entry = entries.get(TileKey.pack(z, x, y));
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.bitmap;
+  }
+
+  /**
+   * Add a tile to the cache, evicting the least recently used tiles if the cache is full.
+   *
+   * @param z      the tile zoom level
+   * @param x      the tile x coordinate
+   * @param y      the tile y coordinate
+   * @param bitmap the image of the tile
+   */
+  public synchronized void put(int z, int x, int y, @NonNull Bitmap bitmap) {
+    long size = (long) bitmap.getRowBytes() * bitmap.getHeight();
+    if (size > maxBytes) {
+      return;
+    }
+
+    long key = TileKey.pack(z, x, y);
+    Entry previous = entries.put(key, new Entry(key, bitmap, size));
+    if (previous != null) {
+      byteCount -= previous.size;
+    }
+    byteCount += size;
+
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (byteCount > maxBytes) {
+      byteCount -= iterator.next().size;
+      iterator.remove();
+    }
+  }
+
+  /**
+   * Remove a tile from the cache.
+   *
+   * @param z the tile zoom level
+   * @param x the tile x coordinate
+   * @param y the tile y coordinate
+   */
+  public synchronized void invalidate(int z, int x, int y) {
+    generation++;
+    Entry entry = entries.remove(TileKey.pack(z, x, y));
+    if (entry != null) {
+      byteCount -= entry.size;
+    }
+  }
+
+  /**
+   * Remove all tiles intersecting the bounds from the cache, at all zoom levels.
+   *
+   * @param bounds the bounds
+   */
+  public synchronized void invalidate(@NonNull LatLngBounds bounds) {
+    generation++;
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      LatLngBounds tile = LatLngBounds.from(TileKey.z(entry.key), TileKey.x(entry.key), TileKey.y(entry.key));
+      if (tile.getLonWest() <= bounds.getLonEast() && tile.getLonEast() >= bounds.getLonWest()
+        && tile.getLatSouth() <= bounds.getLatNorth() && tile.getLatNorth() >= bounds.getLatSouth()) {
+        byteCount -= entry.size;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Remove all tiles from the cache.
+   */
+  public synchronized void clear() {
+    generation++;
+    entries.clear();
+    byteCount = 0;
+  }
+
+  /**
+   * @return the amount of cached tiles
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the amount of bytes of all cached bitmaps together
+   */
+  public synchronized long getByteCount() {
+    return byteCount;
+  }
+
+  /**
+   * @return the amount of lookups that were served from the cache
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the amount of lookups that were not found in the cache
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * The generation changes with every invalidation, see {@link GeometryTileCache#getGeneration()}.
+   */
+  synchronized long getGeneration() {
+    return generation;
+  }
+
+  synchronized void put(int z, int x, int y, @NonNull Bitmap bitmap, long expectedGeneration) {
+    if (generation == expectedGeneration) {
+      put(z, x, y, bitmap);
+    }
+  }
+
+  private static class Entry {
+    final long key;
+    final Bitmap bitmap;
+    final long size;
+
+    Entry(long key, Bitmap bitmap, long size) {
+      this.key = key;
+      this.bitmap = bitmap;
+      this.size = size;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+/**
+ * Interface that provides the images of a {@link CustomRasterSource} as bitmaps.
+ * <p>
+ * Tiles are requested on a worker thread, several tiles can be requested at the same time.
+ * </p>
+ *
+ * @see EncodedRasterTileProvider
+ */
+public interface RasterTileProvider {
+
+  /**
+   * Interface method called by {@link CustomRasterSource} to request a tile.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   * @param token     Token that is cancelled when the tile is no longer needed.
+   * @return Return the image of the tile, or null to leave the tile empty.
+   */
+  @Nullable
+  @WorkerThread
+  Bitmap getRasterTile(int zoomLevel, int x, int y, @NonNull CancellationToken token);
+}
@@ -0,0 +1,642 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.Geometry;
+import com.mapbox.geojson.GeometryCollection;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.MultiLineString;
+import com.mapbox.geojson.MultiPoint;
+import com.mapbox.geojson.MultiPolygon;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-resolution representation of line and polygon features, computed on the Java side.
+ * <p>
+ * Every vertex is ranked once with Douglas-Peucker, the rank being the tolerance up to which the vertex is needed.
+ * The geometries of a zoom level are derived by a single pass over the ranks instead of simplifying the input again,
+ * recently used zoom levels are cached up to {@link SimplificationOptions#withCacheSize(int)} vertices. Endpoints of
+ * lines and rings as well as vertices shared between several lines or rings are always kept, which preserves the
+ * connections between geometries at every zoom level.
+ * </p>
+ * <p>
+ * Vertices are held in primitive arrays, which takes a fraction of the memory of the equivalent GeoJSON objects.
+ * Vertices that are not needed at the maximum zoom level are dropped when the index is built.
+ * </p>
+ * <p>
+ * Use {@link #getFeatures(int)} to update a {@link GeoJsonSource} when the zoom level changes, or use the index
+ * directly as the {@link GeometryTileProvider} of a {@link CustomGeometrySource}, where the features of a tile are
+ * looked up by their bounding boxes in a KD-tree. Building the index is expensive for large inputs and should
+ * happen on a worker thread.
+ * </p>
+ */
+public class SimplificationIndex implements GeometryTileProvider {
+
+  private static final int TYPE_LINE_STRING = 0;
+  private static final int TYPE_MULTI_LINE_STRING = 1;
+  private static final int TYPE_POLYGON = 2;
+  private static final int TYPE_MULTI_POLYGON = 3;
+
+  private final Entry[] entries;
+  private final List<Feature> unsimplified = new ArrayList<>();
+  // west, south, east and north of the entries followed by the unsimplified features
+  private final double[] featureBounds;
+  // centers of the non-empty bounds, queried with the largest half extent as padding
+  private final KdBush boundsIndex;
+  private final int[] boundsIds;
+  private double maxHalfWidth;
+  private double maxHalfHeight;
+  private final int maxZoom;
+  private final double tolerance;
+  private final int extent;
+  private final int cacheSize;
+  private final int vertexCount;
+  private final Map<Integer, Level> levels = new LinkedHashMap<>(16, 0.75f, true);
+  private int cachedVertexCount;
+
+  /**
+   * Create a SimplificationIndex from the features of a FeatureCollection.
+   *
+   * @param features the features, features without a line or polygon geometry are included unchanged at every zoom
+   * @param options  the simplification options
+   */
+  @WorkerThread
+  public SimplificationIndex(@NonNull FeatureCollection features, @NonNull SimplificationOptions options) {
+    this(features.features(), options);
+  }
+
+  /**
+   * Create a SimplificationIndex from a list of features.
+   *
+   * @param features the features, features without a line or polygon geometry are included unchanged at every zoom
+   * @param options  the simplification options
+   */
+  @WorkerThread
+  public SimplificationIndex(@NonNull List<Feature> features, @NonNull SimplificationOptions options) {
+    maxZoom = options.getMaxZoom();
+    tolerance = options.getTolerance();
+    extent = options.getExtent();
+    cacheSize = options.getCacheSize();
+    if (maxZoom < 0 || maxZoom > 24 || tolerance < 0 || extent <= 0) {
+      throw new IllegalArgumentException("Simplification needs 0 <= maxZoom <= 24, tolerance >= 0 and extent > 0");
+    }
+
+    int count = 0;
+    List<Entry> entryList = new ArrayList<>(features.size());
+    List<Part> parts = new ArrayList<>();
+    for (Feature feature : features) {
+      if (feature == null) {
+        continue;
+      }
+      Entry entry = createEntry(feature);
+      if (entry == null) {
+        unsimplified.add(feature);
+        continue;
+      }
+      entryList.add(entry);
+      for (Part[] group : entry.parts) {
+        parts.addAll(Arrays.asList(group));
+      }
+    }
+    entries = entryList.toArray(new Entry[entryList.size()]);
+
+    int featureCount = entries.length + unsimplified.size();
+    featureBounds = new double[featureCount * 4];
+    for (int i = 0; i < featureCount; i++) {
+      double[] box;
+      if (i < entries.length) {
+        Entry entry = entries[i];
+        box = new double[] {entry.west, entry.south, entry.east, entry.north};
+      } else {
+        box = new double[] {
+          Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        extend(box, unsimplified.get(i - entries.length).geometry());
+      }
+      System.arraycopy(box, 0, featureBounds, i * 4, 4);
+    }
+    boundsIds = new int[featureCount];
+    boundsIndex = createBoundsIndex();
+
+    for (Part part : parts) {
+      count += part.size();
+    }
+    vertexCount = count;
+    markSharedVertices(parts, count);
+    double sqTolerance = sqTolerance(maxZoom);
+    for (Part part : parts) {
+      rank(part, sqTolerance);
+    }
+  }
+
+  /**
+   * Get the amount of vertices of the input lines and polygons.
+   *
+   * @return the vertex count
+   */
+  public int getVertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * Get the amount of vertices of the lines and polygons at a zoom level.
+   *
+   * @param zoom the zoom level
+   * @return the vertex count
+   */
+  public int getVertexCount(int zoom) {
+    return getLevel(zoom).vertexCount;
+  }
+
+  /**
+   * Get all features simplified for a zoom level.
+   *
+   * @param zoom the zoom level, levels above the maximum zoom return the geometries of the maximum zoom
+   * @return the features
+   */
+  @NonNull
+  public FeatureCollection getFeatures(int zoom) {
+    Feature[] level = getLevel(zoom).features;
+    List<Feature> result = new ArrayList<>(level.length + unsimplified.size());
+    for (Feature feature : level) {
+      if (feature != null) {
+        result.add(feature);
+      }
+    }
+    result.addAll(unsimplified);
+    return FeatureCollection.fromFeatures(result);
+  }
+
+  @Override
+  public FeatureCollection getFeaturesForBounds(LatLngBounds bounds, int zoomLevel) {
+    Feature[] level = getLevel(zoomLevel).features;
+    double west = bounds.getLonWest();
+    double south = bounds.getLatSouth();
+    double east = bounds.getLonEast();
+    double north = bounds.getLatNorth();
+
+    KdBush.Results candidates = new KdBush.Results(64);
+    boundsIndex.range(west - maxHalfWidth, south - maxHalfHeight, east + maxHalfWidth, north + maxHalfHeight,
+      candidates);
+    // keep the input order of the features
+    Arrays.sort(candidates.data, 0, candidates.size());
+
+    List<Feature> result = new ArrayList<>(candidates.size());
+    for (int k = 0; k < candidates.size(); k++) {
+      int i = boundsIds[candidates.get(k)];
+      if (featureBounds[i * 4] <= east && featureBounds[i * 4 + 2] >= west
+        && featureBounds[i * 4 + 1] <= north && featureBounds[i * 4 + 3] >= south) {
+        if (i >= entries.length) {
+          result.add(unsimplified.get(i - entries.length));
+        } else if (level[i] != null) {
+          result.add(level[i]);
+        }
+      }
+    }
+    return FeatureCollection.fromFeatures(result);
+  }
+
+  private KdBush createBoundsIndex() {
+    int featureCount = boundsIds.length;
+    double[] xs = new double[featureCount];
+    double[] ys = new double[featureCount];
+    int count = 0;
+    for (int i = 0; i < featureCount; i++) {
+      double west = featureBounds[i * 4];
+      double south = featureBounds[i * 4 + 1];
+      double east = featureBounds[i * 4 + 2];
+      double north = featureBounds[i * 4 + 3];
+      if (west > east) {
+        // no coordinates
+        continue;
+      }
+      xs[count] = (west + east) / 2;
+      ys[count] = (south + north) / 2;
+      boundsIds[count++] = i;
+      maxHalfWidth = Math.max(maxHalfWidth, (east - west) / 2);
+      maxHalfHeight = Math.max(maxHalfHeight, (north - south) / 2);
+    }
+    return new KdBush(xs, ys, count, 64);
+  }
+
+  private synchronized Level getLevel(int zoom) {
+    zoom = Math.max(0, Math.min(maxZoom, zoom));
+    Level level = levels.get(zoom);
+    if (level == null) {
+      level = createLevel(zoom);
+      levels.put(zoom, level);
+      cachedVertexCount += level.vertexCount;
+
+      // evict the least recently used levels, the requested level is always kept
+      Iterator<Level> iterator = levels.values().iterator();
+      while (cachedVertexCount > cacheSize && levels.size() > 1) {
+        cachedVertexCount -= iterator.next().vertexCount;
+        iterator.remove();
+      }
+    }
+    return level;
+  }
+
+  private Level createLevel(int zoom) {
+    double sqTolerance = sqTolerance(zoom);
+    Feature[] features = new Feature[entries.length];
+    int count = 0;
+    for (int i = 0; i < entries.length; i++) {
+      Entry entry = entries[i];
+      List<List<List<Point>>> groups = new ArrayList<>(entry.parts.length);
+      for (Part[] group : entry.parts) {
+        List<List<Point>> lines = new ArrayList<>(group.length);
+        for (Part part : group) {
+          List<Point> points = part.simplify(sqTolerance);
+          if (points != null) {
+            lines.add(points);
+            count += points.size();
+          } else if (part.ring && lines.isEmpty()) {
+            // the outer ring collapsed, so do the holes
+            break;
+          }
+        }
+        if (!lines.isEmpty()) {
+          groups.add(lines);
+        }
+      }
+      if (!groups.isEmpty()) {
+        features[i] = Feature.fromGeometry(toGeometry(entry.type, groups), entry.properties, entry.id);
+      }
+    }
+    return new Level(features, count);
+  }
+
+  private double sqTolerance(int zoom) {
+    double value = tolerance / (Math.pow(2, zoom) * extent);
+    return value * value;
+  }
+
+  private static Entry createEntry(Feature feature) {
+    Geometry geometry = feature.geometry();
+    Entry entry;
+    if (geometry instanceof LineString) {
+      entry = new Entry(TYPE_LINE_STRING, 1);
+      entry.parts[0] = new Part[] {entry.createPart(((LineString) geometry).coordinates(), false)};
+    } else if (geometry instanceof MultiLineString) {
+      List<List<Point>> lines = ((MultiLineString) geometry).coordinates();
+      entry = new Entry(TYPE_MULTI_LINE_STRING, lines.size());
+      for (int i = 0; i < lines.size(); i++) {
+        entry.parts[i] = new Part[] {entry.createPart(lines.get(i), false)};
+      }
+    } else if (geometry instanceof Polygon) {
+      entry = new Entry(TYPE_POLYGON, 1);
+      entry.parts[0] = entry.createRings(((Polygon) geometry).coordinates());
+    } else if (geometry instanceof MultiPolygon) {
+      List<List<List<Point>>> polygons = ((MultiPolygon) geometry).coordinates();
+      entry = new Entry(TYPE_MULTI_POLYGON, polygons.size());
+      for (int i = 0; i < polygons.size(); i++) {
+        entry.parts[i] = entry.createRings(polygons.get(i));
+      }
+    } else {
+      return null;
+    }
+    entry.properties = feature.properties();
+    entry.id = feature.id();
+    return entry;
+  }
+
+  /**
+   * Extends a west, south, east, north box by the coordinates of a geometry of any type.
+   */
+  private static void extend(double[] box, Geometry geometry) {
+    if (geometry instanceof Point) {
+      extend(box, (Point) geometry);
+    } else if (geometry instanceof MultiPoint) {
+      extend(box, ((MultiPoint) geometry).coordinates());
+    } else if (geometry instanceof LineString) {
+      extend(box, ((LineString) geometry).coordinates());
+    } else if (geometry instanceof MultiLineString) {
+      for (List<Point> line : ((MultiLineString) geometry).coordinates()) {
+        extend(box, line);
+      }
+    } else if (geometry instanceof Polygon) {
+      for (List<Point> ring : ((Polygon) geometry).coordinates()) {
+        extend(box, ring);
+      }
+    } else if (geometry instanceof MultiPolygon) {
+      for (List<List<Point>> polygon : ((MultiPolygon) geometry).coordinates()) {
+        for (List<Point> ring : polygon) {
+          extend(box, ring);
+        }
+      }
+    } else if (geometry instanceof GeometryCollection) {
+      for (Geometry child : ((GeometryCollection) geometry).geometries()) {
+        extend(box, child);
+      }
+    }
+  }
+
+  private static void extend(double[] box, List<Point> points) {
+    for (Point point : points) {
+      extend(box, point);
+    }
+  }
+
+  private static void extend(double[] box, Point point) {
+    box[0] = Math.min(box[0], point.longitude());
+    box[1] = Math.min(box[1], point.latitude());
+    box[2] = Math.max(box[2], point.longitude());
+    box[3] = Math.max(box[3], point.latitude());
+  }
+
+  private static Geometry toGeometry(int type, List<List<List<Point>>> groups) {
+    switch (type) {
+      case TYPE_LINE_STRING:
+        return LineString.fromLngLats(groups.get(0).get(0));
+      case TYPE_MULTI_LINE_STRING:
+        List<List<Point>> lines = new ArrayList<>(groups.size());
+        for (List<List<Point>> group : groups) {
+          lines.add(group.get(0));
+        }
+        return MultiLineString.fromLngLats(lines);
+      case TYPE_POLYGON:
+        return Polygon.fromLngLats(groups.get(0));
+      default:
+        return MultiPolygon.fromLngLats(groups);
+    }
+  }
+
+  /**
+   * Flags vertices that occur in more than one line or ring, these are kept at every zoom level. The temporary hash
+   * table only holds the part and position of a vertex, the coordinates are read from the part.
+   */
+  private static void markSharedVertices(List<Part> parts, int total) {
+    if (parts.size() < 2) {
+      return;
+    }
+
+    int capacity = Integer.highestOneBit(Math.max(1, total) * 2 - 1) << 1;
+    int mask = capacity - 1;
+    // part index + 1, 0 marks an empty slot
+    int[] owners = new int[capacity];
+    int[] positions = new int[capacity];
+
+    for (int p = 0; p < parts.size(); p++) {
+      Part part = parts.get(p);
+      for (int i = 0; i < part.size(); i++) {
+        double lng = part.coordinates[i * 2];
+        double lat = part.coordinates[i * 2 + 1];
+        long bits = Double.doubleToLongBits(lng) * 31 + Double.doubleToLongBits(lat);
+        int slot = (int) (bits ^ (bits >>> 32)) * 0x9E3779B9 & mask;
+        while (owners[slot] != 0) {
+          double[] coordinates = parts.get(owners[slot] - 1).coordinates;
+          if (coordinates[positions[slot] * 2] == lng && coordinates[positions[slot] * 2 + 1] == lat) {
+            break;
+          }
+          slot = (slot + 1) & mask;
+        }
+
+        if (owners[slot] == 0) {
+          owners[slot] = p + 1;
+          positions[slot] = i;
+        } else if (owners[slot] != p + 1) {
+          parts.get(owners[slot] - 1).ranks[positions[slot]] = Double.POSITIVE_INFINITY;
+          part.ranks[i] = Double.POSITIVE_INFINITY;
+        }
+      }
+    }
+  }
+
+  /**
+   * Ranks every vertex with the squared tolerance up to which it is needed, following Douglas-Peucker between every
+   * two consecutive vertices that are always kept. Vertices not needed at the given tolerance are dropped.
+   */
+  private static void rank(Part part, double sqTolerance) {
+    int size = part.size();
+    if (size < 3) {
+      Arrays.fill(part.ranks, Double.POSITIVE_INFINITY);
+      return;
+    }
+
+    double[] x = new double[size];
+    double[] y = new double[size];
+    for (int i = 0; i < size; i++) {
+      x[i] = lngX(part.coordinates[i * 2]);
+      y[i] = latY(part.coordinates[i * 2 + 1]);
+    }
+
+    double[] ranks = part.ranks;
+    ranks[0] = Double.POSITIVE_INFINITY;
+    ranks[size - 1] = Double.POSITIVE_INFINITY;
+
+    int[] stack = new int[64];
+    double[] limits = new double[32];
+    int first = 0;
+    for (int last = 1; last < size; last++) {
+      if (ranks[last] != Double.POSITIVE_INFINITY) {
+        continue;
+      }
+
+      int top = 0;
+      stack[0] = first;
+      stack[1] = last;
+      limits[0] = Double.POSITIVE_INFINITY;
+      while (top >= 0) {
+        int start = stack[top * 2];
+        int end = stack[top * 2 + 1];
+        double limit = limits[top];
+        top--;
+
+        double maxSqDist = sqTolerance;
+        int index = -1;
+        for (int i = start + 1; i < end; i++) {
+          double sqDist = sqSegmentDistance(x[i], y[i], x[start], y[start], x[end], y[end]);
+          if (sqDist > maxSqDist) {
+            index = i;
+            maxSqDist = sqDist;
+          }
+        }
+
+        if (index != -1) {
+          // a vertex is never needed at a larger tolerance than the vertices it was split from
+          ranks[index] = Math.min(maxSqDist, limit);
+          if (top + 2 >= limits.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            limits = Arrays.copyOf(limits, limits.length * 2);
+          }
+          top++;
+          stack[top * 2] = start;
+          stack[top * 2 + 1] = index;
+          limits[top] = ranks[index];
+          top++;
+          stack[top * 2] = index;
+          stack[top * 2 + 1] = end;
+          limits[top] = ranks[index];
+        }
+      }
+      first = last;
+    }
+
+    part.compact();
+  }
+
+  private static double sqSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+    double x = ax;
+    double y = ay;
+    double dx = bx - ax;
+    double dy = by - ay;
+
+    if (dx != 0 || dy != 0) {
+      double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+      if (t > 1) {
+        x = bx;
+        y = by;
+      } else if (t > 0) {
+        x += dx * t;
+        y += dy * t;
+      }
+    }
+
+    dx = px - x;
+    dy = py - y;
+    return dx * dx + dy * dy;
+  }
+
+  // spherical mercator to [0..1] range
+  private static double lngX(double lng) {
+    return lng / 360 + 0.5;
+  }
+
+  private static double latY(double lat) {
+    double sin = Math.sin(lat * Math.PI / 180);
+    double y = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    return y < 0 ? 0 : y > 1 ? 1 : y;
+  }
+
+  /**
+   * The simplified features of a zoom level, parallel to the entries.
+   */
+  private static final class Level {
+
+    final Feature[] features;
+    final int vertexCount;
+
+    Level(Feature[] features, int vertexCount) {
+      this.features = features;
+      this.vertexCount = vertexCount;
+    }
+  }
+
+  /**
+   * A feature, its bounding box and its lines or rings. Lines are stored as groups of one part, polygons as groups
+   * of rings with the outer ring first.
+   */
+  private static final class Entry {
+
+    final int type;
+    final Part[][] parts;
+    JsonObject properties;
+    String id;
+    double west = Double.POSITIVE_INFINITY;
+    double south = Double.POSITIVE_INFINITY;
+    double east = Double.NEGATIVE_INFINITY;
+    double north = Double.NEGATIVE_INFINITY;
+
+    Entry(int type, int groupCount) {
+      this.type = type;
+      this.parts = new Part[groupCount][];
+    }
+
+    Part[] createRings(List<List<Point>> rings) {
+      Part[] result = new Part[rings.size()];
+      for (int i = 0; i < rings.size(); i++) {
+        result[i] = createPart(rings.get(i), true);
+      }
+      return result;
+    }
+
+    Part createPart(List<Point> points, boolean ring) {
+      double[] coordinates = new double[points.size() * 2];
+      for (int i = 0; i < points.size(); i++) {
+        Point point = points.get(i);
+        coordinates[i * 2] = point.longitude();
+        coordinates[i * 2 + 1] = point.latitude();
+        west = Math.min(west, point.longitude());
+        east = Math.max(east, point.longitude());
+        south = Math.min(south, point.latitude());
+        north = Math.max(north, point.latitude());
+      }
+      return new Part(coordinates, ring);
+    }
+  }
+
+  /**
+   * A single line or ring with the rank of each vertex.
+   */
+  private static final class Part {
+
+    final boolean ring;
+    double[] coordinates;
+    double[] ranks;
+
+    Part(double[] coordinates, boolean ring) {
+      this.coordinates = coordinates;
+      this.ring = ring;
+      this.ranks = new double[coordinates.length / 2];
+    }
+
+    int size() {
+      return ranks.length;
+    }
+
+    /**
+     * Drops vertices that are not needed at any zoom level.
+     */
+    void compact() {
+      int count = 0;
+      for (double rank : ranks) {
+        if (rank > 0) {
+          count++;
+        }
+      }
+      if (count == ranks.length) {
+        return;
+      }
+
+      double[] keptCoordinates = new double[count * 2];
+      double[] keptRanks = new double[count];
+      int index = 0;
+      for (int i = 0; i < ranks.length; i++) {
+        if (ranks[i] > 0) {
+          keptCoordinates[index * 2] = coordinates[i * 2];
+          keptCoordinates[index * 2 + 1] = coordinates[i * 2 + 1];
+          keptRanks[index++] = ranks[i];
+        }
+      }
+      coordinates = keptCoordinates;
+      ranks = keptRanks;
+    }
+
+    /**
+     * @return the vertices needed at the given tolerance, or null if the line or ring collapsed
+     */
+    List<Point> simplify(double sqTolerance) {
+      List<Point> points = new ArrayList<>();
+      for (int i = 0; i < ranks.length; i++) {
+        if (ranks[i] > sqTolerance) {
+          points.add(Point.fromLngLat(coordinates[i * 2], coordinates[i * 2 + 1]));
+        }
+      }
+      return points.size() < (ring ? 4 : 2) ? null : points;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+/**
+ * Builder class for composing {@link SimplificationIndex} objects.
+ *
+ * @see SimplificationIndex
+ */
+public class SimplificationOptions {
+
+  private int maxZoom = 18;
+  private double tolerance = 0.375;
+  private int extent = 4096;
+  private int cacheSize = 500000;
+
+  /**
+   * Maximum zoom level at which geometries are simplified, higher zoom levels use the geometries of this zoom level.
+   *
+   * @param maxZoom the maximum zoom - Defaults to 18.
+   * @return the current instance for chaining
+   */
+  public SimplificationOptions withMaxZoom(int maxZoom) {
+    this.maxZoom = maxZoom;
+    return this;
+  }
+
+  /**
+   * Douglas-Peucker simplification tolerance (higher means simpler geometries and faster performance).
+   *
+   * @param tolerance the tolerance, measured in 1/extent of a tile - Defaults to 0.375
+   * @return the current instance for chaining
+   */
+  public SimplificationOptions withTolerance(double tolerance) {
+    this.tolerance = tolerance;
+    return this;
+  }
+
+  /**
+   * Tile extent the tolerance is calculated relative to.
+   *
+   * @param extent the tile extent - Defaults to 4096
+   * @return the current instance for chaining
+   */
+  public SimplificationOptions withExtent(int extent) {
+    this.extent = extent;
+    return this;
+  }
+
+  /**
+   * Maximum amount of vertices held by the simplified zoom levels that are kept in memory for reuse.
+   * The most recently used zoom level is always kept.
+   *
+   * @param cacheSize the maximum amount of cached vertices - Defaults to 500000
+   * @return the current instance for chaining
+   */
+  public SimplificationOptions withCacheSize(int cacheSize) {
+    this.cacheSize = cacheSize;
+    return this;
+  }
+
+  int getMaxZoom() {
+    return maxZoom;
+  }
+
+  double getTolerance() {
+    return tolerance;
+  }
+
+  int getExtent() {
+    return extent;
+  }
+
+  int getCacheSize() {
+    return cacheSize;
+  }
+}
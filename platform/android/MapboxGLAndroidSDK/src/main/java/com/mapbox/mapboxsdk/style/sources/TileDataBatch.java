@@ -0,0 +1,76 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.FeatureCollection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geometry contents of several tiles, delivered together with
+ * {@link CustomGeometrySource#setTileData(TileDataBatch)}.
+ * <p>
+ * Delivering a batch crosses JNI once and updates the tiles of the source in a single transaction, so tiles that
+ * are computed together, for example by a grid generator, are rendered together as well.
+ * </p>
+ */
+public class TileDataBatch {
+
+  private int[] tiles = new int[3 * 16];
+  private final List<FeatureCollection> data = new ArrayList<>();
+
+  /**
+   * Add the geometry contents of a tile to the batch.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   * @param features  Feature collection for the tile.
+   * @return the current instance for chaining
+   */
+  public TileDataBatch add(int zoomLevel, int x, int y, @NonNull FeatureCollection features) {
+    int index = data.size() * 3;
+    if (index + 3 > tiles.length) {
+      tiles = Arrays.copyOf(tiles, tiles.length * 2);
+    }
+    tiles[index] = zoomLevel;
+    tiles[index + 1] = x;
+    tiles[index + 2] = y;
+    data.add(features);
+    return this;
+  }
+
+  /**
+   * Get the amount of tiles in the batch.
+   *
+   * @return the tile count
+   */
+  public int size() {
+    return data.size();
+  }
+
+  int getZoomLevel(int i) {
+    return tiles[i * 3];
+  }
+
+  int getX(int i) {
+    return tiles[i * 3 + 1];
+  }
+
+  int getY(int i) {
+    return tiles[i * 3 + 2];
+  }
+
+  /**
+   * @return z, x and y of every tile, in the order they were added
+   */
+  int[] getTiles() {
+    return Arrays.copyOf(tiles, data.size() * 3);
+  }
+
+  FeatureCollection[] getData() {
+    return data.toArray(new FeatureCollection[data.size()]);
+  }
+}
@@ -0,0 +1,32 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+/**
+ * Packs tile coordinates into a single {@code long}, which can be used as a map key without allocating.
+ * <p>
+ * The zoom level takes the upper 6 bits, x and y 29 bits each, which covers all tiles up to zoom level 29.
+ * </p>
+ */
+final class TileKey {
+
+  private static final int COORDINATE_BITS = 29;
+  private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+  private TileKey() {
+  }
+
+  static long pack(int z, int x, int y) {
+    return ((long) z << (COORDINATE_BITS * 2)) | ((x & COORDINATE_MASK) << COORDINATE_BITS) | (y & COORDINATE_MASK);
+  }
+
+  static int z(long key) {
+    return (int) (key >>> (COORDINATE_BITS * 2));
+  }
+
+  static int x(long key) {
+    return (int) ((key >>> COORDINATE_BITS) & COORDINATE_MASK);
+  }
+
+  static int y(long key) {
+    return (int) (key & COORDINATE_MASK);
+  }
+}
@@ -0,0 +1,132 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for the tile requests of a {@link CustomGeometrySource} or {@link CustomRasterSource}.
+ * <p>
+ * Requests run on the executor injected through the source options or, by default, on a pool shared by all sources.
+ * The pool is bounded to the amount of cores and all sources feed the same queue, so idle threads pick up requests
+ * of whichever source has work. Idle threads time out, the pool is shut down once the last source using it is
+ * removed from its map or destroyed along with it.
+ * </p>
+ * <p>
+ * Each source holds one instance, which acquires the shared pool on the first request and releases it once. Requests
+ * are handed to the pool under the same lock as the release, so the pool can't be shut down in between. Requests
+ * made after the release, or rejected by an injected executor, are dropped and reported as such to the caller.
+ * </p>
+ */
+final class TileRequestExecutor {
+
+  private static final long KEEP_ALIVE_SECONDS = 30;
+
+  private static ThreadPoolExecutor sharedExecutor;
+  private static int referenceCount;
+
+  private final ExecutorService customExecutor;
+  private ExecutorService executor;
+  private boolean released;
+
+  /**
+   * Create the executor of a source.
+   *
+   * @param customExecutor the executor injected through the source options, null to use the shared pool
+   */
+  TileRequestExecutor(@Nullable ExecutorService customExecutor) {
+    this.customExecutor = customExecutor;
+  }
+
+  /**
+   * Run a tile request, acquiring the shared pool on the first request.
+   *
+   * @param request the request
+   * @return false if the request was dropped because the source was released or the executor rejected it
+   */
+  synchronized boolean execute(@NonNull Runnable request) {
+    if (released) {
+      return false;
+    }
+    if (executor == null) {
+      executor = customExecutor != null ? customExecutor : acquire();
+    }
+    try {
+      executor.execute(request);
+      return true;
+    } catch (RejectedExecutionException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Release the shared pool when the source is removed from its map or destroyed, later requests are dropped.
+   * Injected executors are left to the caller.
+   */
+  synchronized void release() {
+    if (executor != null && customExecutor == null) {
+      releaseShared();
+    }
+    executor = null;
+    released = true;
+  }
+
+  /**
+   * Get the shared executor, creating it if needed. Every call needs to be balanced by {@link #releaseShared()}.
+   *
+   * @return the shared executor
+   */
+  @NonNull
+  static synchronized ExecutorService acquire() {
+    if (sharedExecutor == null) {
+      int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+      sharedExecutor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new TileRequestThreadFactory());
+      sharedExecutor.allowCoreThreadTimeOut(true);
+    }
+    referenceCount++;
+    return sharedExecutor;
+  }
+
+  /**
+   * Release a reference obtained with {@link #acquire()}, shuts the executor down when it was the last one.
+   * Requests that are already queued still run to completion.
+   */
+  static synchronized void releaseShared() {
+    if (referenceCount == 0) {
+      return;
+    }
+
+    referenceCount--;
+    if (referenceCount == 0) {
+      sharedExecutor.shutdown();
+      sharedExecutor = null;
+    }
+  }
+
+  /**
+   * @return the amount of threads currently in the shared pool
+   */
+  static synchronized int getPoolSize() {
+    return sharedExecutor != null ? sharedExecutor.getPoolSize() : 0;
+  }
+
+  private static class TileRequestThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(@NonNull Runnable runnable) {
+      Thread thread = new Thread(runnable, "TileRequest-" + count.incrementAndGet());
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The queued and running tile requests of a source, keyed by {@link TileKey}.
+ * <p>
+ * Requests are not run in the order they were made: every time a thread becomes available it polls the most
+ * important queued request at that time, see {@link #poll()}. A request that is replaced by a new request for the same
+ * tile or cancelled while queued is never polled, a request that is cancelled while running has its token cancelled.
+ * </p>
+ *
+ * @param <T> the type of the requests
+ */
+class TileRequestQueue<T extends TileRequestQueue.Request> {
+
+  // Requests that are queued or running, keyed by TileKey
+  private final LongObjectMap<T> requests = new LongObjectMap<>();
+  private int latestZoom;
+
+  /**
+   * Adds a request, cancelling a previous request for the same tile.
+   *
+   * @param request the request
+   */
+  synchronized void put(@NonNull T request) {
+    latestZoom = request.z;
+    T previous = requests.put(request.key, request);
+    if (previous != null) {
+      previous.token.cancel();
+    }
+  }
+
+  /**
+   * Cancels and removes the request for a tile, if any.
+   *
+   * @param key the key of the tile
+   */
+  synchronized void cancel(long key) {
+    T request = requests.remove(key);
+    if (request != null) {
+      request.token.cancel();
+    }
+  }
+
+  /**
+   * Removes a finished request, unless it was replaced by a newer request for the same tile in the meantime.
+   *
+   * @param request the finished request
+   */
+  synchronized void complete(@NonNull T request) {
+    if (requests.get(request.key) == request) {
+      requests.remove(request.key);
+    }
+  }
+
+  /**
+   * Takes the most important queued request: tiles of the most recently requested zoom level first, then the tiles
+   * closest to the center of the queued tiles of that zoom level, which follows the center of the viewport.
+   *
+   * @return the request, or null if no request is queued
+   */
+  @Nullable
+  synchronized T poll() {
+    double centerX = 0;
+    double centerY = 0;
+    int count = 0;
+    for (int i = 0; i < requests.capacity(); i++) {
+      T request = requests.valueAt(i);
+      if (request != null && request.queued && request.z == latestZoom) {
+        centerX += request.x;
+        centerY += request.y;
+        count++;
+      }
+    }
+    if (count > 0) {
+      centerX /= count;
+      centerY /= count;
+    }
+
+    T best = null;
+    int bestZoomDistance = Integer.MAX_VALUE;
+    double bestDistance = Double.MAX_VALUE;
+    for (int i = 0; i < requests.capacity(); i++) {
+      T request = requests.valueAt(i);
+      if (request == null || !request.queued) {
+        continue;
+      }
+
+      int zoomDistance = Math.abs(request.z - latestZoom);
+      double scale = Math.pow(2, latestZoom - request.z);
+      double dx = (request.x + 0.5) * scale - 0.5 - centerX;
+      double dy = (request.y + 0.5) * scale - 0.5 - centerY;
+      double distance = dx * dx + dy * dy;
+      // ties go to the lowest key, independent of the order of the slots
+      if (zoomDistance < bestZoomDistance || (zoomDistance == bestZoomDistance && (distance < bestDistance
+        || (distance == bestDistance && request.key < best.key)))) {
+        best = request;
+        bestZoomDistance = zoomDistance;
+        bestDistance = distance;
+      }
+    }
+
+    if (best != null) {
+      best.queued = false;
+    }
+    return best;
+  }
+
+  /**
+   * Takes the most important queued request together with other queued requests of its zoom level.
+   *
+   * @param maxCount the maximum amount of requests to take
+   * @return the requests, the most important one first, empty if no request is queued
+   */
+  @NonNull
+  synchronized List<T> poll(int maxCount) {
+    T first = poll();
+    if (first == null) {
+      return Collections.emptyList();
+    }
+
+    List<T> result = new ArrayList<>();
+    result.add(first);
+    for (int i = 0; i < requests.capacity() && result.size() < maxCount; i++) {
+      T request = requests.valueAt(i);
+      if (request != null && request.queued && request.z == first.z) {
+        request.queued = false;
+        result.add(request);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A request for the data of a tile.
+   */
+  static class Request {
+    final long key;
+    final int z;
+    final int x;
+    final int y;
+    final CancellationToken token = new CancellationToken();
+
+    // guarded by the queue
+    boolean queued = true;
+
+    Request(long key) {
+      this.key = key;
+      this.z = TileKey.z(key);
+      this.x = TileKey.x(key);
+      this.y = TileKey.y(key);
+    }
+
+    boolean isCancelled() {
+      return token.isCancelled();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+/**
+ * Interface that provides encoded Mapbox Vector Tiles to a {@link CustomGeometrySource}, see
+ * {@link CustomGeometrySource#fromVectorTiles(String, VectorTileProvider)}.
+ * <p>
+ * The tiles are handed to the native vector tile parser as is, which avoids decoding them into
+ * {@link com.mapbox.geojson.FeatureCollection} objects first. Style layers without a source layer use the first
+ * layer of a tile. The buffer, tolerance, clip and wrap options don't apply to these tiles.
+ * </p>
+ */
+public interface VectorTileProvider {
+
+  /**
+   * Interface method called by {@link CustomGeometrySource} to request a tile.
+   *
+   * @param zoomLevel Tile zoom level.
+   * @param x         Tile X coordinate.
+   * @param y         Tile Y coordinate.
+   * @param token     Token that is cancelled when the tile is no longer needed.
+   * @return Return the uncompressed Mapbox Vector Tile encoded tile, or null to leave the tile empty or when
+   * cancelled.
+   */
+  @Nullable
+  @WorkerThread
+  byte[] getVectorTile(int zoomLevel, int x, int y, @NonNull CancellationToken token);
+}
@@ -0,0 +1,172 @@
+package com.mapbox.mapboxsdk.annotations;
+
+import android.content.Context;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.maps.MapboxMap;
+import com.mapbox.mapboxsdk.maps.Projection;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MarkerViewManagerTest {
+
+  private static final int SIZE = 100;
+
+  private ViewGroup container;
+  private Projection projection;
+  private MarkerViewManager markerViewManager;
+  private TestAdapter adapter;
+  // markers returned for the viewport and for the padded viewport used for culling
+  private List<TestMarkerView> visibleMarkers = new ArrayList<>();
+  private List<TestMarkerView> nearbyMarkers = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    Context context = mock(Context.class);
+    when(context.getSystemService(Context.LAYOUT_INFLATER_SERVICE)).thenReturn(mock(LayoutInflater.class));
+    container = mock(ViewGroup.class);
+    when(container.getContext()).thenReturn(context);
+    when(container.getWidth()).thenReturn(SIZE);
+    when(container.getHeight()).thenReturn(SIZE);
+
+    projection = mock(Projection.class);
+    MapboxMap mapboxMap = mock(MapboxMap.class);
+    when(mapboxMap.getProjection()).thenReturn(projection);
+    when(mapboxMap.getMarkerViewsInRect(any(RectF.class))).thenAnswer(new Answer<List<MarkerView>>() {
+      @Override
+      public List<MarkerView> answer(InvocationOnMock invocation) {
+        RectF rect = invocation.getArgument(0);
+        boolean padded = rect.left < 0 && rect.top < 0 && rect.right > SIZE && rect.bottom > SIZE;
+        return new ArrayList<MarkerView>(padded ? nearbyMarkers : visibleMarkers);
+      }
+    });
+
+    markerViewManager = new MarkerViewManager(container);
+    markerViewManager.bind(mapboxMap);
+    adapter = new TestAdapter(context);
+    markerViewManager.addMarkerViewAdapter(adapter);
+  }
+
+  @Test
+  public void releasedViewsArePooledUpToLimit() {
+    markerViewManager.setMaxPooledViews(1);
+    show(marker(0, 0), marker(1, 1), marker(2, 2));
+    verify(container, times(3)).addView(any(View.class));
+
+    show();
+    // one view is kept for reuse, the others leave the map
+    verify(container, times(2)).removeView(any(View.class));
+
+    show(marker(3, 3), marker(4, 4));
+    assertNotNull(adapter.convertViews.get(3));
+    assertNull(adapter.convertViews.get(4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativePoolSize() {
+    markerViewManager.setMaxPooledViews(-1);
+  }
+
+  @Test
+  public void viewsOutsidePaddedViewportAreCulled() {
+    TestMarkerView near = marker(1, 2);
+    TestMarkerView far = marker(50, 60);
+    show(near, far);
+    View farView = markerViewManager.getView(far);
+    clearInvocations(farView);
+
+    // the camera moved, only one marker is still around the viewport
+    nearbyMarkers = Collections.singletonList(near);
+    markerViewManager.updateMarkerViewsPosition();
+
+    ArgumentCaptor<double[]> positions = ArgumentCaptor.forClass(double[].class);
+    verify(projection, times(2)).toScreenLocations(positions.capture(), any(float[].class));
+    assertArrayEquals(new double[] {2, 1}, positions.getValue(), 0);
+    verify(farView).setVisibility(View.GONE);
+  }
+
+  @Test
+  public void nothingIsCulledBeforeLayout() {
+    when(container.getWidth()).thenReturn(0);
+    when(container.getHeight()).thenReturn(0);
+    TestMarkerView marker = marker(1, 2);
+    show(marker);
+    nearbyMarkers = Collections.emptyList();
+
+    markerViewManager.updateMarkerViewsPosition();
+    ArgumentCaptor<double[]> positions = ArgumentCaptor.forClass(double[].class);
+    verify(projection, times(2)).toScreenLocations(positions.capture(), any(float[].class));
+    assertEquals(2, positions.getValue().length);
+    verify(markerViewManager.getView(marker), never()).setVisibility(View.VISIBLE);
+  }
+
+  private void show(TestMarkerView... markers) {
+    visibleMarkers = Arrays.asList(markers);
+    nearbyMarkers = visibleMarkers;
+    markerViewManager.invalidateViewMarkersInVisibleRegion();
+  }
+
+  private static TestMarkerView marker(double latitude, double longitude) {
+    TestMarkerView marker = new TestMarkerView();
+    marker.setId((long) latitude);
+    marker.setPosition(new LatLng(latitude, longitude));
+    return marker;
+  }
+
+  private static class TestMarkerView extends MarkerView {
+  }
+
+  private static class TestAdapter extends MapboxMap.MarkerViewAdapter<TestMarkerView> {
+
+    // the View handed in for every marker, by latitude
+    private final List<View> convertViews = new ArrayList<>();
+
+    TestAdapter(Context context) {
+      super(context);
+    }
+
+    @Nullable
+    @Override
+    public View getView(@NonNull TestMarkerView marker, @Nullable View convertView, @NonNull ViewGroup parent) {
+      int index = (int) marker.getPosition().getLatitude();
+      while (convertViews.size() <= index) {
+        convertViews.add(null);
+      }
+      convertViews.set(index, convertView);
+      if (convertView != null) {
+        return convertView;
+      }
+      View view = mock(View.class);
+      when(view.getViewTreeObserver()).thenReturn(mock(ViewTreeObserver.class));
+      return view;
+    }
+  }
+}
@@ -4,11 +4,14 @@ import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import org.junit.Test;
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 public class PolylineTest {
 
@@ -58,6 +61,96 @@ public class PolylineTest {
     assertEquals(new LatLng(0, 0), polyline.getPoints().get(0));
   }
 
+  @Test
+  public void testAddAllCoordinates() {
+    Polyline polyline = new PolylineOptions()
+      .add(new LatLng(1, 2))
+      .addAll(new double[] {4, 3, 6, 5})
+      .getPolyline();
+    assertEquals(3, polyline.getPointCount());
+    assertEquals(new LatLng(3, 4), polyline.getPoints().get(1));
+    assertEquals(new LatLng(5, 6), polyline.getPoints().get(2));
+  }
+
+  @Test
+  public void testSetPointsFromBuffer() {
+    DoubleBuffer buffer = DoubleBuffer.wrap(new double[] {0, 0, 2, 1, 4, 3});
+    buffer.position(2);
+    Polyline polyline = new PolylineOptions().getPolyline();
+    polyline.setPoints(buffer);
+    assertEquals(2, buffer.position());
+    assertArrayEquals(new double[] {2, 1, 4, 3}, polyline.getCoordinates(), 0);
+  }
+
+  @Test
+  public void testAddPointGrows() {
+    Polyline polyline = new PolylineOptions().getPolyline();
+    for (int i = 0; i < 100; i++) {
+      polyline.addPoint(new LatLng(i / 2.0, -i));
+    }
+    assertEquals(100, polyline.getPointCount());
+    assertEquals(new LatLng(49.5, -99), polyline.getPoints().get(99));
+    assertEquals(200, polyline.getCoordinates().length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOddCoordinateCount() {
+    new PolylineOptions().addAll(new double[] {1, 2, 3});
+  }
+
+  @Test
+  public void testOddCoordinateCountKeepsPoints() {
+    Polyline polyline = new PolylineOptions().addAll(new double[] {2, 1, 4, 3}).getPolyline();
+    try {
+      polyline.setPoints(new double[] {1, 2, 3});
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException exception) {
+      assertArrayEquals(new double[] {2, 1, 4, 3}, polyline.getCoordinates(), 0);
+    }
+    try {
+      polyline.setPoints(DoubleBuffer.wrap(new double[] {1}));
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException exception) {
+      assertEquals(2, polyline.getPointCount());
+    }
+  }
+
+  @Test
+  public void testInvalidCoordinatesKeepPoints() {
+    Polyline polyline = new PolylineOptions().addAll(new double[] {2, 1, 4, 3}).getPolyline();
+    double[][] invalid = {
+      {1, 2, Double.NaN, 3},
+      {1, 2, Double.POSITIVE_INFINITY, 3},
+      {1, Double.NaN},
+      {1, 2, 3, 90.5},
+      {1, -91}
+    };
+    for (double[] lonLat : invalid) {
+      try {
+        polyline.setPoints(lonLat);
+        fail("Expected IllegalArgumentException");
+      } catch (IllegalArgumentException exception) {
+        assertEquals(2, polyline.getPointCount());
+      }
+      try {
+        polyline.setPoints(DoubleBuffer.wrap(lonLat));
+        fail("Expected IllegalArgumentException");
+      } catch (IllegalArgumentException exception) {
+        assertEquals(2, polyline.getPointCount());
+      }
+      try {
+        polyline.addPoints(lonLat);
+        fail("Expected IllegalArgumentException");
+      } catch (IllegalArgumentException exception) {
+        assertEquals(2, polyline.getPointCount());
+      }
+    }
+    assertEquals(new LatLng(3, 4), polyline.getPoints().get(1));
+
+    polyline.setPoints(new double[] {-180, -90, 540, 90});
+    assertEquals(new LatLng(90, 540), polyline.getPoints().get(1));
+  }
+
   @Test
   public void testBuilder() {
     PolylineOptions polylineOptions = new PolylineOptions();
@@ -1,5 +1,6 @@
 package com.mapbox.mapboxsdk.maps;
 
+import android.graphics.RectF;
 import android.support.v4.util.LongSparseArray;
 
 import com.mapbox.mapboxsdk.annotations.Annotation;
@@ -7,17 +8,24 @@ import com.mapbox.mapboxsdk.annotations.BaseMarkerOptions;
 import com.mapbox.mapboxsdk.annotations.Marker;
 import com.mapbox.mapboxsdk.annotations.MarkerOptions;
 import com.mapbox.mapboxsdk.annotations.MarkerViewManager;
+import com.mapbox.mapboxsdk.annotations.Polygon;
+import com.mapbox.mapboxsdk.annotations.Polyline;
+import com.mapbox.mapboxsdk.annotations.PolylineOptions;
 import com.mapbox.mapboxsdk.geometry.LatLng;
 
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class AnnotationManagerTest {
@@ -85,4 +93,159 @@ public class AnnotationManagerTest {
     assertEquals("first", ((Marker) annotationManager.getAnnotation(firstId)).getTitle());
     assertEquals("second", ((Marker) annotationManager.getAnnotation(secondId)).getTitle());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void checksReaddRemovedMarker() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    ShapeAnnotations shapeAnnotations = new ShapeAnnotationContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines, shapeAnnotations);
+    annotationManager.bind(mock(MapboxMap.class));
+    Marker marker = new MarkerOptions().position(new LatLng()).title("clustered").getMarker();
+    when(aNativeMapView.addMarkers(ArgumentMatchers.<Marker>anyList()))
+      .thenReturn(new long[] {1L}, new long[] {2L});
+
+    annotationManager.addMarkers(Collections.singletonList(marker));
+    annotationManager.removeAnnotations(Collections.singletonList(marker));
+    annotationManager.addMarkers(Collections.singletonList(marker));
+
+    assertEquals(1, annotationManager.getAnnotations().size());
+    assertEquals(2L, marker.getId());
+    assertEquals(marker, annotationManager.getAnnotation(2L));
+  }
+
+  @Test
+  public void checksRemoveMarkerById() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    ShapeAnnotations shapeAnnotations = new ShapeAnnotationContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines, shapeAnnotations);
+    Marker marker = new MarkerOptions().position(new LatLng()).getMarker();
+    marker.setId(1L);
+    annotationsArray.put(1L, marker);
+
+    annotationManager.removeAnnotation(1L);
+    annotationManager.removeAnnotation(2L);
+
+    verify(aIconManager, times(1)).iconCleanup(marker);
+    verify(aNativeMapView, times(1)).removeAnnotation(1L);
+    verify(aNativeMapView, times(1)).removeAnnotation(2L);
+    assertEquals(0, annotationsArray.size());
+  }
+
+  @Test
+  public void checksMarkersInRect() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    ShapeAnnotations shapeAnnotations = new ShapeAnnotationContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines, shapeAnnotations);
+    Marker first = mock(Marker.class);
+    Marker second = mock(Marker.class);
+    annotationsArray.put(1L, first);
+    annotationsArray.put(2L, second);
+    annotationsArray.put(3L, mock(Marker.class));
+    annotationsArray.put(4L, mock(Polygon.class));
+    when(aNativeMapView.queryPointAnnotations(any(RectF.class))).thenReturn(new long[] {2L, 4L, 1L, 2L, 7L});
+    when(aNativeMapView.getDensityDependantRectangle(any(RectF.class))).thenReturn(new RectF());
+
+    List<Marker> hits = annotationManager.getMarkersInRect(new RectF());
+
+    assertEquals(2, hits.size());
+    assertEquals(first, hits.get(0));
+    assertEquals(second, hits.get(1));
+  }
+
+  @Test
+  public void checksBatchedUpdates() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    ShapeAnnotations shapeAnnotations = new ShapeAnnotationContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines, shapeAnnotations);
+    MapboxMap aMapboxMap = mock(MapboxMap.class);
+    Marker marker = mock(Marker.class);
+    Polygon polygon = mock(Polygon.class);
+    Marker removed = mock(Marker.class);
+    when(marker.getId()).thenReturn(1L);
+    when(polygon.getId()).thenReturn(2L);
+    when(removed.getId()).thenReturn(3L);
+    annotationsArray.put(1L, marker);
+    annotationsArray.put(2L, polygon);
+    annotationsArray.put(3L, removed);
+
+    annotationManager.beginUpdates();
+    annotationManager.beginUpdates();
+    annotationManager.updateMarker(marker, aMapboxMap);
+    annotationManager.updateMarker(marker, aMapboxMap);
+    annotationManager.updatePolygon(polygon);
+    annotationManager.updateMarker(removed, aMapboxMap);
+    annotationsArray.remove(3L);
+    annotationManager.commitUpdates();
+    verify(aNativeMapView, never()).updateAnnotations(
+      ArgumentMatchers.<Marker>anyList(), ArgumentMatchers.<Polyline>anyList(), ArgumentMatchers.<Polygon>anyList());
+    annotationManager.commitUpdates();
+
+    verify(aNativeMapView, never()).updateMarker(any(Marker.class));
+    verify(aNativeMapView, never()).updatePolygon(any(Polygon.class));
+    verify(aNativeMapView, times(1)).updateAnnotations(Collections.singletonList(marker),
+      Collections.<Polyline>emptyList(), Collections.singletonList(polygon));
+  }
+
+  @Test
+  public void checksAppendPolylinePoints() throws Exception {
+    NativeMapView aNativeMapView = mock(NativeMapView.class);
+    MapView aMapView = mock(MapView.class);
+    LongSparseArray<Annotation> annotationsArray = new LongSparseArray<>();
+    MarkerViewManager aMarkerViewManager = mock(MarkerViewManager.class);
+    IconManager aIconManager = mock(IconManager.class);
+    Annotations annotations = new AnnotationContainer(aNativeMapView, annotationsArray);
+    Markers markers = new MarkerContainer(aNativeMapView, aMapView, annotationsArray, aIconManager, aMarkerViewManager);
+    Polygons polygons = new PolygonContainer(aNativeMapView, annotationsArray);
+    Polylines polylines = new PolylineContainer(aNativeMapView, annotationsArray);
+    ShapeAnnotations shapeAnnotations = new ShapeAnnotationContainer(aNativeMapView, annotationsArray);
+    AnnotationManager annotationManager = new AnnotationManager(aNativeMapView, aMapView, annotationsArray,
+      aMarkerViewManager, aIconManager, annotations, markers, polygons, polylines, shapeAnnotations);
+    MapboxMap aMapboxMap = mock(MapboxMap.class);
+    long aId = 3L;
+    when(aNativeMapView.addPolyline(any(Polyline.class))).thenReturn(aId);
+    Polyline polyline = annotationManager.addPolyline(
+      new PolylineOptions().addAll(new double[] {0, 0, 1, 1}), aMapboxMap);
+
+    polyline.addPoints(new double[] {2, 2, 3, 3});
+    annotationManager.appendPolylinePoints(polyline, 2);
+
+    verify(aNativeMapView, times(1)).appendPolylinePoints(aId, new double[] {2, 2, 3, 3});
+    verify(aNativeMapView, never()).updatePolyline(any(Polyline.class));
+  }
+}
@@ -0,0 +1,190 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.Bitmap;
+
+import com.mapbox.mapboxsdk.annotations.BaseMarkerOptions;
+import com.mapbox.mapboxsdk.annotations.Icon;
+import com.mapbox.mapboxsdk.annotations.IconFactory;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.MarkerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IconManagerTest {
+
+  private NativeMapView nativeMapView;
+  private Bitmap markerViewBitmap;
+  private IconManager iconManager;
+
+  @Before
+  public void setUp() {
+    nativeMapView = mock(NativeMapView.class);
+    markerViewBitmap = bitmap(1, 0);
+    iconManager = new IconManager(nativeMapView, icon(IconFactory.ICON_MARKERVIEW_ID, markerViewBitmap));
+  }
+
+  @Test
+  public void identicalBitmapsShareOneUpload() {
+    Marker first = marker(icon("first", bitmap(2, 0xff0000ff)));
+    Marker second = marker(icon("second", bitmap(2, 0xff0000ff)));
+    iconManager.loadIconForMarker(first);
+    iconManager.loadIconForMarker(second);
+
+    assertEquals(first.getIconId(), second.getIconId());
+    verify(nativeMapView, times(1)).addAnnotationIcon(eq("first"), any(Bitmap.class), anyFloat());
+    verify(nativeMapView, never()).addAnnotationIcon(eq("second"), any(Bitmap.class), anyFloat());
+    assertEquals(16 + 4, iconManager.getUploadedBytes());
+  }
+
+  @Test
+  public void differentBitmapsAreUploadedSeparately() {
+    Marker first = marker(icon("first", bitmap(2, 0xff0000ff)));
+    Marker second = marker(icon("second", bitmap(2, 0xffff0000)));
+    iconManager.loadIconForMarker(first);
+    iconManager.loadIconForMarker(second);
+
+    assertNotEquals(first.getIconId(), second.getIconId());
+    verify(nativeMapView).addAnnotationIcon(eq("first"), any(Bitmap.class), anyFloat());
+    verify(nativeMapView).addAnnotationIcon(eq("second"), any(Bitmap.class), anyFloat());
+  }
+
+  @Test
+  public void recreatedIdWithOtherPixelsGetsOwnSymbol() {
+    Marker first = marker(icon("icon", bitmap(2, 0xff0000ff)));
+    Marker second = marker(icon("icon", bitmap(2, 0xffff0000)));
+    iconManager.loadIconForMarker(first);
+    iconManager.loadIconForMarker(second);
+
+    assertEquals("icon", first.getIconId());
+    assertNotEquals("icon", second.getIconId());
+    verify(nativeMapView).addAnnotationIcon(eq(second.getIconId()), any(Bitmap.class), anyFloat());
+  }
+
+  @Test
+  public void imageIsRemovedWhenLastMarkerIsRemoved() {
+    Bitmap bitmap = bitmap(2, 0xff0000ff);
+    Marker first = marker(icon("first", bitmap));
+    Marker second = marker(icon("second", bitmap));
+    iconManager.loadIconForMarker(first);
+    iconManager.loadIconForMarker(second);
+
+    iconManager.iconCleanup(first);
+    verify(nativeMapView, never()).removeAnnotationIcon(anyString());
+    iconManager.iconCleanup(second);
+    verify(nativeMapView).removeAnnotationIcon("first");
+
+    // a marker added later uploads the image again
+    iconManager.loadIconForMarker(marker(icon("third", bitmap)));
+    verify(nativeMapView).addAnnotationIcon(eq("third"), any(Bitmap.class), anyFloat());
+  }
+
+  @Test
+  public void unusedImagesAreEvictedLeastRecentlyUsedFirst() {
+    // every image is 16 bytes, the cache holds two
+    iconManager.setUnusedIconCacheSize(32);
+    Marker first = marker(icon("first", bitmap(2, 1)));
+    Marker second = marker(icon("second", bitmap(2, 2)));
+    Marker third = marker(icon("third", bitmap(2, 3)));
+    iconManager.loadIconForMarker(first);
+    iconManager.loadIconForMarker(second);
+    iconManager.loadIconForMarker(third);
+
+    iconManager.iconCleanup(first);
+    iconManager.iconCleanup(second);
+    assertEquals(32, iconManager.getUnusedIconBytes());
+    verify(nativeMapView, never()).removeAnnotationIcon(anyString());
+
+    iconManager.iconCleanup(third);
+    verify(nativeMapView).removeAnnotationIcon("first");
+    assertEquals(32, iconManager.getUnusedIconBytes());
+
+    // reusing a cached image does not upload it again
+    iconManager.loadIconForMarker(marker(icon("second", second.getIcon().getBitmap())));
+    verify(nativeMapView, times(1)).addAnnotationIcon(eq("second"), any(Bitmap.class), anyFloat());
+    assertEquals(16, iconManager.getUnusedIconBytes());
+
+    // shrinking the cache evicts right away
+    iconManager.setUnusedIconCacheSize(0);
+    verify(nativeMapView).removeAnnotationIcon("third");
+    assertEquals(0, iconManager.getUnusedIconBytes());
+  }
+
+  @Test
+  public void markerViewShowsTransparentImage() {
+    MarkerView markerView = mock(MarkerView.class);
+    Icon icon = icon(IconFactory.ICON_MARKERVIEW_ID, bitmap(8, 0xff00ff00));
+    when(markerView.getIcon()).thenReturn(icon);
+    iconManager.loadIconForMarkerView(markerView);
+
+    verify(markerView).setIconId(IconFactory.ICON_MARKERVIEW_ID);
+    // only the transparent image was uploaded, when the manager was created
+    verify(nativeMapView, times(1)).addAnnotationIcon(anyString(), any(Bitmap.class), anyFloat());
+    verify(nativeMapView).addAnnotationIcon(IconFactory.ICON_MARKERVIEW_ID, markerViewBitmap, 1);
+    assertEquals(8, iconManager.getHighestIconWidth());
+  }
+
+  private static Marker marker(Icon icon) {
+    Marker marker = new Marker(mock(BaseMarkerOptions.class));
+    marker.setIcon(icon);
+    return marker;
+  }
+
+  private static Icon icon(String id, Bitmap bitmap) {
+    Icon icon = mock(Icon.class);
+    when(icon.getId()).thenReturn(id);
+    when(icon.getBitmap()).thenReturn(bitmap);
+    when(icon.getScale()).thenReturn(1f);
+    return icon;
+  }
+
+  /**
+   * Creates a square bitmap of a single color.
+   */
+  private static Bitmap bitmap(final int size, final int color) {
+    final Bitmap bitmap = mock(Bitmap.class);
+    when(bitmap.getWidth()).thenReturn(size);
+    when(bitmap.getHeight()).thenReturn(size);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        int[] pixels = invocation.getArgument(0);
+        int offset = invocation.getArgument(1);
+        int width = invocation.getArgument(5);
+        Arrays.fill(pixels, offset, offset + width, color);
+        return null;
+      }
+    }).when(bitmap).getPixels(any(int[].class), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+    when(bitmap.sameAs(any(Bitmap.class))).thenAnswer(new Answer<Boolean>() {
+      @Override
+      public Boolean answer(InvocationOnMock invocation) {
+        Bitmap other = invocation.getArgument(0);
+        if (other.getWidth() != size || other.getHeight() != size) {
+          return false;
+        }
+        int[] pixel = new int[1];
+        other.getPixels(pixel, 0, 1, 0, 0, 1, 1);
+        return pixel[0] == color;
+      }
+    });
+    return bitmap;
+  }
+}
@@ -0,0 +1,271 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.os.Handler;
+
+import com.mapbox.mapboxsdk.annotations.BaseMarkerOptions;
+import com.mapbox.mapboxsdk.annotations.ClusterMarker;
+import com.mapbox.mapboxsdk.annotations.Icon;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.camera.CameraPosition;
+import com.mapbox.mapboxsdk.camera.CameraUpdate;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.geometry.VisibleRegion;
+import com.mapbox.mapboxsdk.style.sources.ClusterOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MarkerClusterManagerTest {
+
+  private static final LatLng FIRST = new LatLng(10, 10);
+  private static final LatLng SECOND = new LatLng(10.001, 10.001);
+  private static final LatLng FAR = new LatLng(-40, -100);
+
+  private AnnotationManager annotationManager;
+  private MapboxMap mapboxMap;
+  private ExecutorService executor;
+  // posted to the main thread, run by flush()
+  private final List<Runnable> posted = new ArrayList<>();
+  private List<Marker> markers;
+  private TestClusterManager clusterManager;
+
+  @Before
+  public void setUp() {
+    annotationManager = mock(AnnotationManager.class);
+    mapboxMap = mock(MapboxMap.class);
+    Projection projection = mock(Projection.class);
+    when(mapboxMap.getProjection()).thenReturn(projection);
+    LatLngBounds world = LatLngBounds.from(85, 180, -85, -180);
+    when(projection.getVisibleRegion()).thenReturn(new VisibleRegion(
+      new LatLng(85, -180), new LatLng(85, 180), new LatLng(-85, -180), new LatLng(-85, 180), world));
+
+    executor = mock(ExecutorService.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        ((Runnable) invocation.getArgument(0)).run();
+        return null;
+      }
+    }).when(executor).execute(any(Runnable.class));
+    Handler handler = mock(Handler.class);
+    when(handler.post(any(Runnable.class))).thenAnswer(new Answer<Boolean>() {
+      @Override
+      public Boolean answer(InvocationOnMock invocation) {
+        posted.add((Runnable) invocation.getArgument(0));
+        return true;
+      }
+    });
+
+    markers = Arrays.asList(marker(FIRST), marker(SECOND), marker(FAR));
+    setZoom(2);
+    clusterManager = new TestClusterManager(annotationManager, mapboxMap, markers, executor, handler);
+    flush();
+  }
+
+  @Test
+  public void showsClustersAndUnclusteredMarkers() {
+    List<Marker> added = captureAdded();
+    assertEquals(2, added.size());
+    ClusterMarker cluster = findCluster(added);
+    assertNotNull(cluster);
+    assertEquals(2, cluster.getPointCount());
+    assertTrue(added.contains(markers.get(2)));
+    verify(annotationManager, never()).removeAnnotations(ArgumentMatchers.<Marker>anyList());
+  }
+
+  @Test
+  public void showAddsAndRemovesByClusterKey() {
+    ClusterMarker cluster = findCluster(captureAdded());
+    clearInvocations(annotationManager);
+
+    // moving within the queried region at the same zoom level doesn't query again
+    clusterManager.update();
+    flush();
+    verify(annotationManager, never()).addMarkers(ArgumentMatchers.<Marker>anyList());
+
+    // breaking up the cluster adds its markers and removes the cluster, the far marker stays
+    zoomTo(18);
+    List<Marker> added = captureAdded();
+    assertEquals(2, added.size());
+    assertTrue(added.containsAll(markers.subList(0, 2)));
+    assertEquals(Arrays.<Marker>asList(cluster), captureRemoved());
+  }
+
+  @Test
+  public void zoomingInMovesMarkersOutOfTheCluster() {
+    ClusterMarker cluster = findCluster(captureAdded());
+    zoomTo(18);
+
+    // the split markers start at the cluster
+    MarkerClusterManager.MarkerAnimation animation = clusterManager.animation;
+    assertNotNull(animation);
+    assertEquals(cluster.getPosition(), markers.get(0).getPosition());
+    assertEquals(cluster.getPosition(), markers.get(1).getPosition());
+
+    animation.end();
+    assertEquals(FIRST, markers.get(0).getPosition());
+    assertEquals(SECOND, markers.get(1).getPosition());
+    assertEquals(FAR, markers.get(2).getPosition());
+  }
+
+  @Test
+  public void zoomingOutMovesMarkersIntoTheCluster() {
+    zoomTo(18);
+    clusterManager.animation.end();
+    clusterManager.animation = null;
+    clearInvocations(annotationManager);
+
+    zoomTo(2);
+    ClusterMarker cluster = findCluster(captureAdded());
+    assertNotNull(cluster);
+    // the merging markers stay on the map until the animation ends
+    verify(annotationManager, never()).removeAnnotations(ArgumentMatchers.<Marker>anyList());
+
+    MarkerClusterManager.MarkerAnimation animation = clusterManager.animation;
+    animation.update(1);
+    assertEquals(cluster.getPosition(), markers.get(0).getPosition());
+
+    animation.end();
+    List<Marker> removed = captureRemoved();
+    assertEquals(2, removed.size());
+    assertTrue(removed.containsAll(markers.subList(0, 2)));
+    // positions are restored once the markers are off the map
+    assertEquals(FIRST, markers.get(0).getPosition());
+    assertEquals(SECOND, markers.get(1).getPosition());
+  }
+
+  @Test
+  public void newQueryEndsRunningAnimation() {
+    zoomTo(18);
+    assertNotNull(clusterManager.animation);
+    zoomTo(5);
+    assertEquals(FIRST, markers.get(0).getPosition());
+  }
+
+  @Test
+  public void zoomToClusterBreaksItUp() {
+    ClusterMarker cluster = findCluster(captureAdded());
+    clusterManager.zoomToCluster(cluster);
+
+    ArgumentCaptor<CameraUpdate> update = ArgumentCaptor.forClass(CameraUpdate.class);
+    verify(mapboxMap).animateCamera(update.capture());
+    CameraPosition position = update.getValue().getCameraPosition(mapboxMap);
+    assertEquals(cluster.getPosition(), position.target);
+    assertTrue(position.zoom > 2);
+
+    // at that zoom level the markers are no longer clustered
+    clearInvocations(annotationManager);
+    zoomTo(position.zoom);
+    assertNull(findCluster(captureAdded()));
+  }
+
+  @Test
+  public void shutdownReleasesWorker() {
+    clearInvocations(annotationManager);
+    clusterManager.shutdown();
+    verify(executor).shutdownNow();
+
+    zoomTo(18);
+    verify(annotationManager, never()).addMarkers(ArgumentMatchers.<Marker>anyList());
+    verify(annotationManager, never()).removeAnnotations(ArgumentMatchers.<Marker>anyList());
+  }
+
+  @Test
+  public void destroyRemovesShownMarkers() {
+    List<Marker> added = captureAdded();
+    clusterManager.destroy();
+    verify(executor).shutdownNow();
+    List<Marker> removed = captureRemoved();
+    assertEquals(added.size(), removed.size());
+    assertTrue(removed.containsAll(added));
+  }
+
+  private void zoomTo(double zoom) {
+    setZoom(zoom);
+    clusterManager.update();
+    flush();
+  }
+
+  private void setZoom(double zoom) {
+    when(mapboxMap.getCameraPosition()).thenReturn(new CameraPosition.Builder()
+      .target(new LatLng()).zoom(zoom).build());
+  }
+
+  private void flush() {
+    while (!posted.isEmpty()) {
+      posted.remove(0).run();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Marker> captureAdded() {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(annotationManager).addMarkers(captor.capture());
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Marker> captureRemoved() {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(annotationManager).removeAnnotations(captor.capture());
+    return captor.getValue();
+  }
+
+  private static ClusterMarker findCluster(List<Marker> markers) {
+    for (Marker marker : markers) {
+      if (marker instanceof ClusterMarker) {
+        return (ClusterMarker) marker;
+      }
+    }
+    return null;
+  }
+
+  private static Marker marker(LatLng position) {
+    Marker marker = new Marker(mock(BaseMarkerOptions.class));
+    marker.setPosition(position);
+    return marker;
+  }
+
+  private static class TestClusterManager extends MarkerClusterManager {
+
+    private MarkerAnimation animation;
+
+    TestClusterManager(AnnotationManager annotationManager, MapboxMap mapboxMap, List<Marker> markers,
+                       ExecutorService executor, Handler handler) {
+      super(annotationManager, mapboxMap, markers, new ClusterOptions(), executor, handler);
+    }
+
+    @Override
+    void startAnimation(MarkerAnimation animation) {
+      // ended by the test
+      this.animation = animation;
+    }
+
+    @Override
+    Icon getClusterIcon(int pointCount, String text) {
+      return mock(Icon.class);
+    }
+  }
+}
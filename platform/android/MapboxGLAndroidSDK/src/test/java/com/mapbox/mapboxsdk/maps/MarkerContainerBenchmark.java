@@ -0,0 +1,102 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.RectF;
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.mapboxsdk.annotations.Annotation;
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.MarkerOptions;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of {@link MarkerContainer#obtainAllIn(RectF)} with 1k, 10k and 100k markers, for a tap hitting 10 markers
+ * and a selection rectangle hitting 1000 markers. Each run does 100 queries.
+ * <p>
+ * The reference is the previous lookup, which copied all annotations into a list and checked each of them against a
+ * boxed list of the hit ids.
+ * </p>
+ */
+public class MarkerContainerBenchmark {
+
+  private static final int QUERIES = 100;
+
+  public static void main(String[] args) {
+    for (int count : new int[] {1000, 10000, 100000}) {
+      final LongSparseArray<Annotation> annotations = new LongSparseArray<>();
+      for (long id = 0; id < count; id++) {
+        Marker marker = new MarkerOptions().position(new LatLng()).getMarker();
+        marker.setId(id);
+        annotations.put(id, marker);
+      }
+
+      for (int hitCount : new int[] {10, 1000}) {
+        final long[] ids = new long[hitCount];
+        Random random = new Random(1);
+        for (int i = 0; i < ids.length; i++) {
+          ids[i] = random.nextInt(count);
+        }
+        NativeMapView nativeMapView = mock(NativeMapView.class);
+        when(nativeMapView.getDensityDependantRectangle(any(RectF.class))).thenReturn(new RectF());
+        when(nativeMapView.queryPointAnnotations(any(RectF.class))).thenReturn(ids);
+        final MarkerContainer markers = new MarkerContainer(nativeMapView, null, annotations, null, null);
+        final RectF rectangle = new RectF();
+
+        String name = count + " markers, " + hitCount + " hits: ";
+        MicroBenchmark.measure(name + "obtainAllIn", 50, 30, new MicroBenchmark.Task() {
+          @Override
+          public Object run() {
+            int size = 0;
+            for (int i = 0; i < QUERIES; i++) {
+              size += markers.obtainAllIn(rectangle).size();
+            }
+            return size;
+          }
+        });
+
+        // the quadratic reference doesn't finish in reasonable time with many iterations
+        int iterations = (long) count * hitCount > 10000000 ? 3 : 30;
+        MicroBenchmark.measure(name + "scan (reference)", 2, iterations, new MicroBenchmark.Task() {
+          @Override
+          public Object run() {
+            int size = 0;
+            for (int i = 0; i < QUERIES; i++) {
+              size += scan(annotations, ids).size();
+            }
+            return size;
+          }
+        });
+      }
+    }
+  }
+
+  private static List<Marker> scan(LongSparseArray<Annotation> annotations, long[] ids) {
+    List<Long> idsList = new ArrayList<>(ids.length);
+    for (long id : ids) {
+      idsList.add(id);
+    }
+
+    List<Annotation> annotationList = new ArrayList<>();
+    for (int i = 0; i < annotations.size(); i++) {
+      annotationList.add(annotations.get(annotations.keyAt(i)));
+    }
+
+    List<Marker> result = new ArrayList<>(ids.length);
+    int count = annotationList.size();
+    for (int i = 0; i < count; i++) {
+      Annotation annotation = annotationList.get(i);
+      if (annotation instanceof Marker && idsList.contains(annotation.getId())) {
+        result.add((Marker) annotation);
+      }
+    }
+    return new ArrayList<>(result);
+  }
+}
@@ -0,0 +1,151 @@
+package com.mapbox.mapboxsdk.maps;
+
+import android.graphics.RectF;
+
+import com.mapbox.mapboxsdk.annotations.Marker;
+import com.mapbox.mapboxsdk.annotations.MarkerView;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MarkerIndexTest {
+
+  // screen pixels per degree of the fake projection, the origin is at the center of a 1000 by 1000 screen
+  private static final float SCALE = 100;
+
+  @Test
+  public void queriesMeters() {
+    MarkerIndex index = new MarkerIndex();
+    Marker berlin = marker(3, 52.52, 13.40);
+    Marker paris = marker(1, 48.86, 2.35);
+    index.put(berlin);
+    index.put(paris);
+    index.put(marker(2, -33.87, 151.21));
+
+    List<Marker> europe = index.query(MarkerIndex.projectX(-10), MarkerIndex.projectY(35),
+      MarkerIndex.projectX(30), MarkerIndex.projectY(60));
+
+    assertEquals(2, europe.size());
+    assertEquals(paris, europe.get(0));
+    assertEquals(berlin, europe.get(1));
+  }
+
+  @Test
+  public void queriesAcrossAntimeridian() {
+    MarkerIndex index = new MarkerIndex();
+    index.put(marker(1, 0, 179.5));
+    index.put(marker(2, 0, -179.5));
+    index.put(marker(3, 0, 0));
+
+    List<Marker> found = index.query(MarkerIndex.projectX(179), MarkerIndex.projectY(-1),
+      MarkerIndex.projectX(181), MarkerIndex.projectY(1));
+
+    assertEquals(2, found.size());
+    assertEquals(1, found.get(0).getId());
+    assertEquals(2, found.get(1).getId());
+  }
+
+  @Test
+  public void movesAndRemoves() {
+    MarkerIndex index = new MarkerIndex();
+    Marker marker = marker(1, 10, 10);
+    index.put(marker);
+    index.put(marker(2, 10, 10.001));
+
+    when(marker.getPosition()).thenReturn(new LatLng(-10, -10));
+    index.put(marker);
+    assertEquals(2, index.size());
+    assertEquals(1, index.query(MarkerIndex.projectX(9), MarkerIndex.projectY(9),
+      MarkerIndex.projectX(11), MarkerIndex.projectY(11)).size());
+    assertEquals(marker, index.query(MarkerIndex.projectX(-11), MarkerIndex.projectY(-11),
+      MarkerIndex.projectX(-9), MarkerIndex.projectY(-9)).get(0));
+
+    index.remove(2);
+    assertEquals(1, index.size());
+    assertEquals(0, index.query(MarkerIndex.projectX(9), MarkerIndex.projectY(9),
+      MarkerIndex.projectX(11), MarkerIndex.projectY(11)).size());
+  }
+
+  @Test
+  public void obtainsMarkersInScreenRectangle() {
+    MarkerIndex index = new MarkerIndex();
+    Marker marker = marker(1, 1, 1);
+    MarkerView markerView = mock(MarkerView.class);
+    when(markerView.getId()).thenReturn(2L);
+    when(markerView.getPosition()).thenReturn(new LatLng(-1, -1));
+    index.put(marker);
+    index.put(markerView);
+    index.put(marker(3, 10, 10));
+
+    Projection projection = fakeProjection();
+    RectF screen = rect(0, 0, 1000, 1000);
+
+    assertEquals(2, index.obtainAllIn(screen, projection, 10, 1, Marker.class).size());
+    List<MarkerView> markerViews = index.obtainAllIn(screen, projection, 10, 1, MarkerView.class);
+    assertEquals(1, markerViews.size());
+    assertEquals(markerView, markerViews.get(0));
+
+    // around the first marker only
+    List<Marker> tapped = index.obtainAllIn(rect(590, 390, 610, 410), projection, 10, 1, Marker.class);
+    assertEquals(1, tapped.size());
+    assertEquals(marker, tapped.get(0));
+
+    // zoomed out far enough to test every marker
+    assertEquals(2, index.obtainAllIn(screen, projection, 0, 1, Marker.class).size());
+  }
+
+  private static Marker marker(long id, double latitude, double longitude) {
+    Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn(id);
+    when(marker.getPosition()).thenReturn(new LatLng(latitude, longitude));
+    return marker;
+  }
+
+  private static RectF rect(float left, float top, float right, float bottom) {
+    RectF rect = new RectF();
+    rect.left = left;
+    rect.top = top;
+    rect.right = right;
+    rect.bottom = bottom;
+    return rect;
+  }
+
+  private static Projection fakeProjection() {
+    Projection projection = mock(Projection.class);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        double[] lonLat = invocation.getArgument(0);
+        float[] pixels = invocation.getArgument(1);
+        for (int i = 0; i < lonLat.length / 2; i++) {
+          pixels[i * 2] = (float) (500 + lonLat[i * 2] * SCALE);
+          pixels[i * 2 + 1] = (float) (500 - lonLat[i * 2 + 1] * SCALE);
+        }
+        return null;
+      }
+    }).when(projection).toScreenLocations(any(double[].class), any(float[].class));
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        float[] pixels = invocation.getArgument(0);
+        double[] lonLat = invocation.getArgument(1);
+        for (int i = 0; i < pixels.length / 2; i++) {
+          lonLat[i * 2] = (pixels[i * 2] - 500) / SCALE;
+          lonLat[i * 2 + 1] = (500 - pixels[i * 2 + 1]) / SCALE;
+        }
+        return null;
+      }
+    }).when(projection).fromScreenLocations(any(float[].class), any(double[].class));
+    return projection;
+  }
+}
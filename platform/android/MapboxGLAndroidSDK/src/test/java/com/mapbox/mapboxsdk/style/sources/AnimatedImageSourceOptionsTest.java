@@ -0,0 +1,35 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AnimatedImageSourceOptionsTest {
+
+  @Test
+  public void defaults() {
+    AnimatedImageSourceOptions options = new AnimatedImageSourceOptions();
+    assertEquals(100, options.getFrameDuration());
+    assertEquals(32 * 1024 * 1024, options.getMaxKeptBytes());
+  }
+
+  @Test
+  public void acceptsPositiveFrameDuration() {
+    assertEquals(1, new AnimatedImageSourceOptions().withFrameDuration(1).getFrameDuration());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsZeroFrameDuration() {
+    new AnimatedImageSourceOptions().withFrameDuration(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeFrameDuration() {
+    new AnimatedImageSourceOptions().withFrameDuration(-100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeKeptBytes() {
+    new AnimatedImageSourceOptions().withMaxKeptBytes(-1);
+  }
+}
@@ -0,0 +1,208 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.geojson.BoundingBox;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of loading the 30 tiles of a viewport from an in-memory R-tree of 300k short lines, with a query per tile
+ * versus a single {@link BulkGeometryTileProvider} query that is distributed over the tiles.
+ * <p>
+ * Both paths follow what {@link CustomGeometrySource} does: per tile it queries the tile bounds, in bulk it queries
+ * {@link FeatureTiler#getBounds(int, double, LongSparseArray)} and assigns the result with
+ * {@link FeatureTiler#distribute(List, int, double, LongSparseArray)}. The bulk query runs both on features without a
+ * GeoJSON bbox, whose bounding boxes are computed from their coordinates, and on features carrying the bbox the tree
+ * stores. The later rounds add a fixed cost to every query, standing in for a backing store with per-query overhead
+ * such as a database.
+ * </p>
+ */
+public class BulkGeometryTileProviderBenchmark {
+
+  private static final int FEATURE_COUNT = 300000;
+  private static final int NODE_SIZE = 16;
+  private static final int ZOOM = 12;
+  // 6 by 5 tiles around Berlin
+  private static final int MIN_X = 2198;
+  private static final int MIN_Y = 1341;
+  private static final double BUFFER = 128 / 512.0;
+
+  public static void main(String[] args) {
+    final Node root = createTree(false);
+    final Node boxedRoot = createTree(true);
+
+    final LongSparseArray<Object> tiles = new LongSparseArray<>();
+    for (int x = MIN_X; x < MIN_X + 6; x++) {
+      for (int y = MIN_Y; y < MIN_Y + 5; y++) {
+        tiles.put(TileKey.pack(ZOOM, x, y), Boolean.TRUE);
+      }
+    }
+
+    for (final long queryNanos : new long[] {0, 1000000, 5000000}) {
+      String suffix = queryNanos == 0 ? "" : ", " + queryNanos / 1000000 + " ms/query";
+      MicroBenchmark.measure("per tile, 30 queries" + suffix, 20, 50, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          int count = 0;
+          for (int i = 0; i < tiles.size(); i++) {
+            long key = tiles.keyAt(i);
+            LatLngBounds bounds = LatLngBounds.from(ZOOM, TileKey.x(key), TileKey.y(key));
+            count += query(root, bounds, queryNanos).features().size();
+          }
+          return count;
+        }
+      });
+
+      bulk("bulk, 1 query + distribute" + suffix, root, tiles, queryNanos);
+      bulk("bulk with bbox" + suffix, boxedRoot, tiles, queryNanos);
+    }
+  }
+
+  private static void bulk(String name, final Node root, final LongSparseArray<Object> tiles, final long queryNanos) {
+    MicroBenchmark.measure(name, 20, 50, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        FeatureCollection features = query(root, FeatureTiler.getBounds(ZOOM, BUFFER, tiles), queryNanos);
+        LongSparseArray<List<Feature>> result = FeatureTiler.distribute(features.features(), ZOOM, BUFFER, tiles);
+        int count = 0;
+        for (int i = 0; i < result.size(); i++) {
+          count += FeatureCollection.fromFeatures(result.valueAt(i)).features().size();
+        }
+        return count;
+      }
+    });
+  }
+
+  private static Node createTree(boolean withBoundingBox) {
+    Random random = new Random(1);
+    List<Entry> entries = new ArrayList<>(FEATURE_COUNT);
+    for (int i = 0; i < FEATURE_COUNT; i++) {
+      double lng = 13 + random.nextDouble() * 0.8;
+      double lat = 52 + random.nextDouble() * 0.5;
+      LineString line = LineString.fromLngLats(
+        Arrays.asList(Point.fromLngLat(lng, lat), Point.fromLngLat(lng + 0.001, lat + 0.0005)));
+      Feature feature = withBoundingBox
+        ? Feature.fromGeometry(line, BoundingBox.fromCoordinates(lng, lat, lng + 0.001, lat + 0.0005))
+        : Feature.fromGeometry(line);
+      entries.add(new Entry(feature, new double[] {lng, lat, lng + 0.001, lat + 0.0005}));
+    }
+    return Node.build(entries);
+  }
+
+  private static FeatureCollection query(Node root, LatLngBounds bounds, long queryNanos) {
+    long start = System.nanoTime();
+    List<Feature> result = new ArrayList<>();
+    root.search(bounds.getLonWest(), bounds.getLatSouth(), bounds.getLonEast(), bounds.getLatNorth(), result);
+    while (System.nanoTime() - start < queryNanos) {
+      // per-query overhead of the backing store
+    }
+    return FeatureCollection.fromFeatures(result);
+  }
+
+  private static final class Entry {
+
+    final Feature feature;
+    final double[] box;
+
+    Entry(Feature feature, double[] box) {
+      this.feature = feature;
+      this.box = box;
+    }
+  }
+
+  /**
+   * Node of a static R-tree packed with Sort-Tile-Recursive.
+   */
+  private static final class Node {
+
+    final double[] box = {
+      Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+    };
+    Node[] children;
+    Entry[] entries;
+
+    static Node build(List<Entry> entries) {
+      List<Entry> sorted = new ArrayList<>(entries);
+      Collections.sort(sorted, new Comparator<Entry>() {
+        @Override
+        public int compare(Entry first, Entry second) {
+          return Double.compare(first.box[0], second.box[0]);
+        }
+      });
+      int slices = (int) Math.ceil(Math.sqrt(Math.ceil(sorted.size() / (double) NODE_SIZE)));
+      int sliceSize = slices * NODE_SIZE;
+
+      List<Node> level = new ArrayList<>();
+      for (int start = 0; start < sorted.size(); start += sliceSize) {
+        List<Entry> slice = new ArrayList<>(sorted.subList(start, Math.min(sorted.size(), start + sliceSize)));
+        Collections.sort(slice, new Comparator<Entry>() {
+          @Override
+          public int compare(Entry first, Entry second) {
+            return Double.compare(first.box[1], second.box[1]);
+          }
+        });
+        for (int i = 0; i < slice.size(); i += NODE_SIZE) {
+          Node node = new Node();
+          List<Entry> group = slice.subList(i, Math.min(slice.size(), i + NODE_SIZE));
+          node.entries = group.toArray(new Entry[group.size()]);
+          for (Entry entry : node.entries) {
+            node.extend(entry.box);
+          }
+          level.add(node);
+        }
+      }
+
+      while (level.size() > 1) {
+        List<Node> parents = new ArrayList<>();
+        for (int i = 0; i < level.size(); i += NODE_SIZE) {
+          Node node = new Node();
+          List<Node> group = level.subList(i, Math.min(level.size(), i + NODE_SIZE));
+          node.children = group.toArray(new Node[group.size()]);
+          for (Node child : node.children) {
+            node.extend(child.box);
+          }
+          parents.add(node);
+        }
+        level = parents;
+      }
+      return level.get(0);
+    }
+
+    void extend(double[] other) {
+      box[0] = Math.min(box[0], other[0]);
+      box[1] = Math.min(box[1], other[1]);
+      box[2] = Math.max(box[2], other[2]);
+      box[3] = Math.max(box[3], other[3]);
+    }
+
+    void search(double west, double south, double east, double north, List<Feature> result) {
+      if (box[0] > east || box[2] < west || box[1] > north || box[3] < south) {
+        return;
+      }
+      if (entries != null) {
+        for (Entry entry : entries) {
+          double[] other = entry.box;
+          if (other[0] <= east && other[2] >= west && other[1] <= north && other[3] >= south) {
+            result.add(entry.feature);
+          }
+        }
+      } else {
+        for (Node child : children) {
+          child.search(west, south, east, north, result);
+        }
+      }
+    }
+  }
+}
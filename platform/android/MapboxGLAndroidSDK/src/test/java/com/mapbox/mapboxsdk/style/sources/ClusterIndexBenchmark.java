@@ -0,0 +1,104 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of building and querying a {@link ClusterIndex} over 1M random points.
+ * <p>
+ * The linear scan is the reference cost of answering a viewport query without an index.
+ * </p>
+ */
+public class ClusterIndexBenchmark {
+
+  private static final int POINT_COUNT = 1000000;
+
+  public static void main(String[] args) {
+    final List<Feature> features = createFeatures(POINT_COUNT);
+    final ClusterOptions options = new ClusterOptions().withAggregation(ClusterAggregation.sum("sum", "value"));
+
+    MicroBenchmark.measure("build 1M points", 1, 5, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return new ClusterIndex(features, options);
+      }
+    });
+
+    final ClusterIndex index = new ClusterIndex(features, options);
+    queryViewport(index, 3, 40);
+    queryViewport(index, 8, 2);
+    queryViewport(index, 14, 0.05);
+
+    MicroBenchmark.measure("linear scan viewport (reference)", 3, 20, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        int count = 0;
+        for (Feature feature : features) {
+          Point point = (Point) feature.geometry();
+          if (point.longitude() >= -2 && point.longitude() <= 2 && point.latitude() >= -2 && point.latitude() <= 2) {
+            count++;
+          }
+        }
+        return count;
+      }
+    });
+
+    final long clusterId = largestCluster(index.getClusters(-180, -85, 180, 85, 0));
+    MicroBenchmark.measure("getChildren of largest z0 cluster", 100, 1000, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return index.getChildren(clusterId);
+      }
+    });
+    MicroBenchmark.measure("getLeaves(100) of largest z0 cluster", 100, 1000, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return index.getLeaves(clusterId, 100, 0);
+      }
+    });
+    MicroBenchmark.measure("getClusterExpansionZoom", 100, 1000, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return index.getClusterExpansionZoom(clusterId);
+      }
+    });
+  }
+
+  private static void queryViewport(final ClusterIndex index, final int zoom, final double halfSpan) {
+    MicroBenchmark.measure("getClusters z" + zoom, 100, 1000, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return index.getClusters(-halfSpan, -halfSpan, halfSpan, halfSpan, zoom);
+      }
+    });
+  }
+
+  private static long largestCluster(List<Feature> clusters) {
+    long clusterId = -1;
+    int maxCount = 0;
+    for (Feature cluster : clusters) {
+      if (cluster.hasProperty("cluster_id") && cluster.getNumberProperty("point_count").intValue() > maxCount) {
+        maxCount = cluster.getNumberProperty("point_count").intValue();
+        clusterId = cluster.getNumberProperty("cluster_id").longValue();
+      }
+    }
+    return clusterId;
+  }
+
+  private static List<Feature> createFeatures(int count) {
+    Random random = new Random(1);
+    List<Feature> features = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Feature feature = Feature.fromGeometry(
+        Point.fromLngLat(random.nextDouble() * 360 - 180, random.nextDouble() * 170 - 85));
+      feature.addNumberProperty("value", i % 7);
+      features.add(feature);
+    }
+    return features;
+  }
+}
@@ -0,0 +1,139 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClusterIndexTest {
+
+  private static final int POINT_COUNT = 5000;
+
+  private List<Feature> features;
+  private ClusterIndex clusterIndex;
+
+  @Before
+  public void beforeTest() {
+    Random random = new Random(42);
+    features = new ArrayList<>(POINT_COUNT);
+    for (int i = 0; i < POINT_COUNT; i++) {
+      Feature feature = Feature.fromGeometry(
+        Point.fromLngLat(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10));
+      feature.addNumberProperty("value", i % 10);
+      features.add(feature);
+    }
+
+    clusterIndex = new ClusterIndex(features, new ClusterOptions()
+      .withMaxZoom(16)
+      .withAggregation(ClusterAggregation.sum("sum", "value"))
+      .withAggregation(ClusterAggregation.max("max", "value")));
+  }
+
+  @Test
+  public void pointCountMatchesAtEveryZoom() {
+    for (int zoom = 0; zoom <= 17; zoom++) {
+      int count = 0;
+      for (Feature feature : clusterIndex.getClusters(-180, -85, 180, 85, zoom)) {
+        count += isCluster(feature) ? feature.getNumberProperty("point_count").intValue() : 1;
+      }
+      assertEquals("Zoom " + zoom + " should contain all points", POINT_COUNT, count);
+    }
+  }
+
+  @Test
+  public void unclusteredAboveMaxZoom() {
+    List<Feature> clusters = clusterIndex.getClusters(-180, -85, 180, 85, 17);
+    assertEquals(POINT_COUNT, clusters.size());
+    assertFalse(isCluster(clusters.get(0)));
+  }
+
+  @Test
+  public void aggregationsAreReduced() {
+    double sum = 0;
+    for (Feature feature : clusterIndex.getClusters(-180, -85, 180, 85, 0)) {
+      if (isCluster(feature)) {
+        sum += feature.getNumberProperty("sum").doubleValue();
+        assertEquals(9, feature.getNumberProperty("max").doubleValue(), 0);
+      } else {
+        sum += feature.getNumberProperty("value").doubleValue();
+      }
+    }
+    assertEquals(POINT_COUNT / 10 * 45, sum, 0);
+  }
+
+  @Test
+  public void leavesMatchPointCount() {
+    for (Feature feature : clusterIndex.getClusters(-180, -85, 180, 85, 4)) {
+      if (isCluster(feature)) {
+        long clusterId = feature.getNumberProperty("cluster_id").longValue();
+        int pointCount = feature.getNumberProperty("point_count").intValue();
+
+        Set<Feature> leaves = new HashSet<>(clusterIndex.getLeaves(clusterId, Integer.MAX_VALUE, 0));
+        assertEquals(pointCount, leaves.size());
+
+        List<Feature> page = clusterIndex.getLeaves(clusterId, 10, pointCount - 5);
+        assertEquals(Math.min(5, pointCount), page.size());
+      }
+    }
+  }
+
+  @Test
+  public void childrenSumUpToCluster() {
+    for (Feature feature : clusterIndex.getClusters(-180, -85, 180, 85, 2)) {
+      if (isCluster(feature)) {
+        long clusterId = feature.getNumberProperty("cluster_id").longValue();
+        int count = 0;
+        for (Feature child : clusterIndex.getChildren(clusterId)) {
+          count += isCluster(child) ? child.getNumberProperty("point_count").intValue() : 1;
+        }
+        assertEquals(feature.getNumberProperty("point_count").intValue(), count);
+        assertTrue(clusterIndex.getClusterExpansionZoom(clusterId) > 2);
+      }
+    }
+  }
+
+  @Test
+  public void tileBoundsQuery() {
+    List<Feature> all = clusterIndex.getClusters(-180, -85, 180, 85, 17);
+    List<Feature> tile = clusterIndex.getFeaturesForBounds(LatLngBounds.from(1, 1, 0), 17).features();
+    int expected = 0;
+    for (Feature feature : all) {
+      Point point = (Point) feature.geometry();
+      if (point.longitude() >= 0 && point.latitude() >= 0) {
+        expected++;
+      }
+    }
+    assertEquals(expected, tile.size());
+  }
+
+  @Test
+  public void antimeridianQuery() {
+    List<Feature> points = new ArrayList<>();
+    points.add(Feature.fromGeometry(Point.fromLngLat(179, 0)));
+    points.add(Feature.fromGeometry(Point.fromLngLat(-179, 0)));
+    points.add(Feature.fromGeometry(Point.fromLngLat(0, 0)));
+    ClusterIndex index = new ClusterIndex(points, new ClusterOptions());
+    assertEquals(2, index.getClusters(170, -10, -170, 10, 18).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidClusterId() {
+    clusterIndex.getChildren(12345L << 5);
+  }
+
+  private static boolean isCluster(Feature feature) {
+    return feature.hasProperty("cluster");
+  }
+}
@@ -0,0 +1,102 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.v4.util.LongSparseArray;
+
+import com.mapbox.geojson.BoundingBox;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLng;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FeatureTilerTest {
+
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void distributesByBoundingBox() {
+    // zoom 1: tile 0/0 is north-west, 1/0 north-east, 0/1 south-west, 1/1 south-east
+    LongSparseArray<Object> tiles = tiles(1, new int[][] {{0, 0}, {1, 0}, {0, 1}});
+    Feature point = Feature.fromGeometry(Point.fromLngLat(-90, 45));
+    Feature line = Feature.fromGeometry(LineString.fromLngLats(Arrays.asList(
+      Point.fromLngLat(-90, 45), Point.fromLngLat(90, 45))));
+
+    LongSparseArray<List<Feature>> result = FeatureTiler.distribute(Arrays.asList(point, line), 1, 0, tiles);
+
+    assertEquals(Arrays.asList(point, line), result.get(TileKey.pack(1, 0, 0)));
+    assertEquals(Collections.singletonList(line), result.get(TileKey.pack(1, 1, 0)));
+    assertNull(result.get(TileKey.pack(1, 0, 1)));
+  }
+
+  @Test
+  public void distributesByGeoJsonBoundingBox() {
+    LongSparseArray<Object> tiles = tiles(1, new int[][] {{0, 0}, {1, 0}});
+    // the bbox spans both tiles while the coordinates only lie in the western one
+    Feature point = Feature.fromGeometry(Point.fromLngLat(-90, 45), BoundingBox.fromCoordinates(-90, 40, 90, 50));
+
+    LongSparseArray<List<Feature>> result = FeatureTiler.distribute(Collections.singletonList(point), 1, 0, tiles);
+
+    assertEquals(Collections.singletonList(point), result.get(TileKey.pack(1, 0, 0)));
+    assertEquals(Collections.singletonList(point), result.get(TileKey.pack(1, 1, 0)));
+  }
+
+  @Test
+  public void bufferReachesNeighbours() {
+    LongSparseArray<Object> tiles = tiles(2, new int[][] {{1, 1}, {2, 1}});
+    // just west of the tile border at longitude 0
+    Feature point = Feature.fromGeometry(Point.fromLngLat(-1, 10));
+
+    assertNull(FeatureTiler.distribute(Collections.singletonList(point), 2, 0, tiles).get(TileKey.pack(2, 2, 1)));
+    LongSparseArray<List<Feature>> result = FeatureTiler.distribute(Collections.singletonList(point), 2, 0.25, tiles);
+    assertEquals(1, result.get(TileKey.pack(2, 1, 1)).size());
+    assertEquals(1, result.get(TileKey.pack(2, 2, 1)).size());
+  }
+
+  @Test
+  public void boundsIncludeBuffer() {
+    // zoom 2: columns and rows span 90 degrees of longitude
+    LongSparseArray<Object> tiles = tiles(2, new int[][] {{1, 1}, {2, 1}});
+    LatLngBounds unbuffered = FeatureTiler.getBounds(2, 0, tiles);
+    assertEquals(-90, unbuffered.getLonWest(), DELTA);
+    assertEquals(90, unbuffered.getLonEast(), DELTA);
+    assertEquals(LatLngBounds.from(2, 1, 1).getLatNorth(), unbuffered.getLatNorth(), DELTA);
+    assertEquals(0, unbuffered.getLatSouth(), DELTA);
+
+    LatLngBounds buffered = FeatureTiler.getBounds(2, 0.25, tiles);
+    assertEquals(-112.5, buffered.getLonWest(), DELTA);
+    assertEquals(112.5, buffered.getLonEast(), DELTA);
+    assertTrue(buffered.getLatNorth() > unbuffered.getLatNorth());
+    assertTrue(buffered.getLatSouth() < 0);
+
+    // a point only in the buffer of a requested tile is inside the bounds and assigned to that tile
+    Point point = Point.fromLngLat(100, 10);
+    assertTrue(buffered.contains(new LatLng(point.latitude(), point.longitude())));
+    assertEquals(1, FeatureTiler.distribute(Collections.singletonList(Feature.fromGeometry(point)), 2, 0.25, tiles)
+      .get(TileKey.pack(2, 2, 1)).size());
+  }
+
+  @Test
+  public void boundsStayWithinLongitudeRange() {
+    LatLngBounds bounds = FeatureTiler.getBounds(1, 0.5, tiles(1, new int[][] {{0, 0}, {1, 0}}));
+    assertEquals(-180, bounds.getLonWest(), DELTA);
+    assertEquals(180, bounds.getLonEast(), DELTA);
+  }
+
+  private static LongSparseArray<Object> tiles(int zoom, int[][] coordinates) {
+    LongSparseArray<Object> tiles = new LongSparseArray<>();
+    for (int[] tile : coordinates) {
+      tiles.put(TileKey.pack(zoom, tile[0], tile[1]), Boolean.TRUE);
+    }
+    return tiles;
+  }
+}
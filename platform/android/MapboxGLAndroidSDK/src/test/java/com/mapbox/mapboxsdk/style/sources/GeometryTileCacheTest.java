@@ -0,0 +1,90 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GeometryTileCacheTest {
+
+  @Test
+  public void hitsAndMisses() {
+    GeometryTileCache cache = new GeometryTileCache(100);
+    FeatureCollection tile = features(10);
+    assertNull(cache.get(1, 0, 0));
+    cache.put(1, 0, 0, tile);
+    assertSame(tile, cache.get(1, 0, 0));
+    assertSame(tile, cache.get(1, 0, 0));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    GeometryTileCache cache = new GeometryTileCache(25);
+    cache.put(2, 0, 0, features(10));
+    cache.put(2, 1, 0, features(10));
+    cache.get(2, 0, 0);
+    cache.put(2, 2, 0, features(10));
+
+    assertEquals(2, cache.size());
+    assertEquals(20, cache.getFeatureCount());
+    assertNotNull(cache.get(2, 0, 0));
+    assertNull(cache.get(2, 1, 0));
+  }
+
+  @Test
+  public void invalidateTile() {
+    GeometryTileCache cache = new GeometryTileCache(100);
+    cache.put(3, 1, 2, features(5));
+    cache.put(3, 2, 1, features(5));
+    cache.invalidate(3, 1, 2);
+
+    assertNull(cache.get(3, 1, 2));
+    assertNotNull(cache.get(3, 2, 1));
+    assertEquals(5, cache.getFeatureCount());
+  }
+
+  @Test
+  public void invalidateRegion() {
+    GeometryTileCache cache = new GeometryTileCache(100);
+    cache.put(1, 0, 0, features(1));
+    cache.put(1, 1, 1, features(1));
+    cache.put(0, 0, 0, features(1));
+
+    // north-west quadrant
+    cache.invalidate(LatLngBounds.from(80, -100, 10, -170));
+
+    assertNull(cache.get(1, 0, 0));
+    assertNull(cache.get(0, 0, 0));
+    assertNotNull(cache.get(1, 1, 1));
+  }
+
+  @Test
+  public void staleResultsAreNotCached() {
+    GeometryTileCache cache = new GeometryTileCache(100);
+    long generation = cache.getGeneration();
+    cache.invalidate(4, 0, 0);
+    cache.put(4, 0, 0, features(1), generation);
+    assertNull(cache.get(4, 0, 0));
+  }
+
+  private static FeatureCollection features(int count) {
+    List<Feature> features = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      features.add(Feature.fromGeometry(Point.fromLngLat(i, i)));
+    }
+    return FeatureCollection.fromFeatures(features);
+  }
+}
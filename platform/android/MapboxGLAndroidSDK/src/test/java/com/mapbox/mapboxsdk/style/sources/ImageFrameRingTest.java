@@ -0,0 +1,101 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ImageFrameRingTest {
+
+  @Test
+  public void boundedByFrames() {
+    ImageFrameRing ring = new ImageFrameRing(2, 1000);
+    assertTrue(ring.offer(0, frame(10)));
+    assertTrue(ring.offer(1, frame(10)));
+    assertFalse(ring.hasRoom());
+    assertFalse(ring.offer(2, frame(10)));
+    assertEquals(2, ring.size());
+    assertEquals(20, ring.getByteCount());
+  }
+
+  @Test
+  public void boundedByBytes() {
+    ImageFrameRing ring = new ImageFrameRing(10, 100);
+    assertTrue(ring.offer(0, frame(60)));
+    assertTrue(ring.offer(1, frame(60)));
+    assertFalse(ring.hasRoom());
+    assertEquals(120, ring.getByteCount());
+  }
+
+  @Test
+  public void pollReleasesEarlierFrames() {
+    ImageFrameRing ring = new ImageFrameRing(4, 1000);
+    Bitmap second = frame(10);
+    ring.offer(0, frame(10));
+    ring.offer(1, frame(10));
+    ring.offer(2, second);
+    ring.offer(3, frame(10));
+
+    assertSame(second, ring.poll(2));
+    assertEquals(1, ring.size());
+    assertEquals(10, ring.getByteCount());
+    assertEquals(4, ring.getNextSequence());
+  }
+
+  @Test
+  public void pollSkipsAheadWhenBehind() {
+    ImageFrameRing ring = new ImageFrameRing(4, 1000);
+    ring.offer(0, frame(10));
+
+    // frame 5 is due but not decoded, it becomes the next frame to decode
+    assertNull(ring.poll(5));
+    assertEquals(0, ring.size());
+    assertEquals(5, ring.getNextSequence());
+
+    // a frame that was decoded meanwhile for an older sequence is discarded
+    assertFalse(ring.offer(1, frame(10)));
+    assertTrue(ring.offer(5, frame(10)));
+  }
+
+  @Test
+  public void keepsFramesForLaterLoops() {
+    ImageFrameRing ring = new ImageFrameRing(2, 1000, 3, 25);
+    Bitmap first = frame(10);
+    assertTrue(ring.keep(0, first));
+    assertTrue(ring.keep(1, frame(10)));
+    // over the kept bytes, loaded again in every loop
+    assertFalse(ring.keep(2, frame(10)));
+    assertEquals(20, ring.getKeptByteCount());
+
+    // taking a frame from the ring does not release the kept frame
+    ring.offer(0, first);
+    assertSame(first, ring.poll(0));
+    assertSame(first, ring.getKept(0));
+    assertNull(ring.getKept(2));
+
+    ring.clear();
+    assertNull(ring.getKept(0));
+    assertEquals(0, ring.getKeptByteCount());
+  }
+
+  @Test
+  public void keepsNothingByDefault() {
+    ImageFrameRing ring = new ImageFrameRing(2, 1000);
+    assertFalse(ring.keep(0, frame(10)));
+    assertNull(ring.getKept(0));
+  }
+
+  private static Bitmap frame(int bytes) {
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmap.getRowBytes()).thenReturn(bytes);
+    when(bitmap.getHeight()).thenReturn(1);
+    return bitmap;
+  }
+}
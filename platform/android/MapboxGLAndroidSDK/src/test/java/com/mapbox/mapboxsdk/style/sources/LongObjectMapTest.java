@@ -0,0 +1,87 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LongObjectMapTest {
+
+  @Test
+  public void putReplacesAndReturnsPrevious() {
+    LongObjectMap<String> map = new LongObjectMap<>();
+    assertNull(map.put(0, "first"));
+    assertEquals("first", map.put(0, "second"));
+    assertEquals("second", map.get(0));
+    assertEquals(1, map.size());
+    assertEquals("second", map.remove(0));
+    assertNull(map.remove(0));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  public void matchesHashMap() {
+    LongObjectMap<Long> map = new LongObjectMap<>();
+    Map<Long, Long> expected = new HashMap<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 100000; i++) {
+      // few distinct keys of tiles in a small area, so probes collide and entries get shifted on removal
+      long key = TileKey.pack(14, random.nextInt(40), random.nextInt(40));
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.remove(key), map.remove(key));
+      } else {
+        Long value = (long) i;
+        assertEquals(expected.put(key, value), map.put(key, value));
+      }
+      assertEquals(expected.size(), map.size());
+    }
+
+    for (long x = 0; x < 40; x++) {
+      for (long y = 0; y < 40; y++) {
+        long key = TileKey.pack(14, (int) x, (int) y);
+        assertEquals(expected.get(key), map.get(key));
+      }
+    }
+  }
+
+  @Test
+  public void slotsVisitEveryValueOnce() {
+    LongObjectMap<Object> map = new LongObjectMap<>();
+    Object[] values = new Object[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = new Object();
+      map.put(i, values[i]);
+    }
+    for (int i = 0; i < values.length; i += 2) {
+      map.remove(i);
+    }
+
+    int count = 0;
+    for (int slot = 0; slot < map.capacity(); slot++) {
+      Object value = map.valueAt(slot);
+      if (value != null) {
+        count++;
+      }
+    }
+    assertEquals(500, count);
+    assertSame(values[1], map.get(1));
+    assertNull(map.get(2));
+  }
+
+  @Test
+  public void shrinksAfterRemovals() {
+    LongObjectMap<Object> map = new LongObjectMap<>();
+    for (int i = 0; i < 4096; i++) {
+      map.put(i, i);
+    }
+    for (int i = 0; i < 4096; i++) {
+      map.remove(i);
+    }
+    assertEquals(16, map.capacity());
+  }
+}
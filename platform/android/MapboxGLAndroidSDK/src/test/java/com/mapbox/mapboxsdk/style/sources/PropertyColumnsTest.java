@@ -0,0 +1,35 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertyColumnsTest {
+
+  @Test
+  public void testSanity() {
+    PropertyColumns columns = new PropertyColumns.Builder(3)
+      .addNumberColumn("speed", new double[] {1, Double.NaN, 3})
+      .addBooleanColumn("active", new boolean[] {true, false, true})
+      .addStringColumn("type", new String[] {"bus", null, "bus"})
+      .build();
+
+    assertEquals(3, columns.getRowCount());
+    assertEquals(3, columns.getColumnCount());
+    assertEquals("speed", columns.getName(0));
+    assertEquals("active", columns.getName(1));
+    assertEquals("type", columns.getName(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void columnLengthMismatch() {
+    new PropertyColumns.Builder(3).addNumberColumn("speed", new double[] {1, 2});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void duplicateColumn() {
+    new PropertyColumns.Builder(1)
+      .addNumberColumn("speed", new double[] {1})
+      .addStringColumn("speed", new String[] {"fast"});
+  }
+}
@@ -0,0 +1,130 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.support.annotation.NonNull;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class QueryFeaturesOptionsTest {
+
+  @Test
+  public void defaults() {
+    QueryFeaturesOptions options = new QueryFeaturesOptions();
+    assertEquals(256, options.getPageSize());
+    assertEquals(0, options.getLimit());
+    assertNull(options.getFilter());
+    assertNull(options.getProperties());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsZeroPageSize() {
+    new QueryFeaturesOptions().withPageSize(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativePageSize() {
+    new QueryFeaturesOptions().withPageSize(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativeLimit() {
+    new QueryFeaturesOptions().withLimit(-1);
+  }
+
+  @Test
+  public void copiesProperties() {
+    String[] properties = {"name", "height"};
+    QueryFeaturesOptions options = new QueryFeaturesOptions().withProperties(properties);
+    properties[0] = "other";
+    assertArrayEquals(new String[] {"name", "height"}, options.getProperties());
+  }
+
+  @Test
+  public void pagesAllFeatures() {
+    RecordingCallback callback = new RecordingCallback(true);
+    FeaturePager pager = new FeaturePager(new QueryFeaturesOptions().withPageSize(4), callback);
+    assertEquals(10, deliver(pager, 10));
+    assertEquals(10, pager.getOffset());
+    assertEquals(3, callback.pageSizes.size());
+    assertEquals(4, (int) callback.pageSizes.get(0));
+    assertEquals(4, (int) callback.pageSizes.get(1));
+    assertEquals(2, (int) callback.pageSizes.get(2));
+  }
+
+  @Test
+  public void stopsAtLimit() {
+    RecordingCallback callback = new RecordingCallback(true);
+    FeaturePager pager = new FeaturePager(new QueryFeaturesOptions().withPageSize(4).withLimit(6), callback);
+    assertEquals(6, deliver(pager, 10));
+    assertEquals(2, callback.pageSizes.size());
+    assertEquals(2, (int) callback.pageSizes.get(1));
+  }
+
+  @Test
+  public void limitAboveFeatureCount() {
+    RecordingCallback callback = new RecordingCallback(true);
+    FeaturePager pager = new FeaturePager(new QueryFeaturesOptions().withPageSize(4).withLimit(100), callback);
+    assertEquals(5, deliver(pager, 5));
+    assertEquals(2, callback.pageSizes.size());
+  }
+
+  @Test
+  public void stopsWhenCallbackDeclines() {
+    RecordingCallback callback = new RecordingCallback(false);
+    FeaturePager pager = new FeaturePager(new QueryFeaturesOptions().withPageSize(4), callback);
+    assertEquals(4, deliver(pager, 10));
+    assertEquals(4, pager.getOffset());
+    assertEquals(1, callback.pageSizes.size());
+  }
+
+  @Test
+  public void noFeatures() {
+    RecordingCallback callback = new RecordingCallback(true);
+    FeaturePager pager = new FeaturePager(new QueryFeaturesOptions(), callback);
+    assertEquals(0, pager.begin(0));
+    assertEquals(0, callback.pageSizes.size());
+  }
+
+  /**
+   * Mirrors the native paging loop, returns the amount of features delivered.
+   */
+  private static int deliver(FeaturePager pager, int featureCount) {
+    int offset = 0;
+    int size = pager.begin(featureCount);
+    while (size > 0 && offset < featureCount) {
+      int end = Math.min(offset + size, featureCount);
+      Feature[] page = new Feature[end - offset];
+      for (int i = 0; i < page.length; i++) {
+        page[i] = Feature.fromGeometry(Point.fromLngLat(0, 0), null, String.valueOf(offset + i));
+      }
+      offset = end;
+      size = pager.onPage(page);
+    }
+    return offset;
+  }
+
+  private static class RecordingCallback implements QueryFeaturesCallback {
+
+    private final boolean proceed;
+    private final List<Integer> pageSizes = new ArrayList<>();
+
+    RecordingCallback(boolean proceed) {
+      this.proceed = proceed;
+    }
+
+    @Override
+    public boolean onFeatures(@NonNull List<Feature> features) {
+      pageSizes.add(features.size());
+      return proceed;
+    }
+  }
+}
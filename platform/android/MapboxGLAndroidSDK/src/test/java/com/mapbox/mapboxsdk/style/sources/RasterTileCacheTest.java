@@ -0,0 +1,74 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import android.graphics.Bitmap;
+
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RasterTileCacheTest {
+
+  @Test
+  public void hitsAndMisses() {
+    RasterTileCache cache = new RasterTileCache(1000);
+    Bitmap tile = bitmap(100);
+    assertNull(cache.get(1, 0, 0));
+    cache.put(1, 0, 0, tile);
+    assertSame(tile, cache.get(1, 0, 0));
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(100, cache.getByteCount());
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    RasterTileCache cache = new RasterTileCache(250);
+    cache.put(2, 0, 0, bitmap(100));
+    cache.put(2, 1, 0, bitmap(100));
+    cache.get(2, 0, 0);
+    cache.put(2, 2, 0, bitmap(100));
+
+    assertEquals(2, cache.size());
+    assertEquals(200, cache.getByteCount());
+    assertNotNull(cache.get(2, 0, 0));
+    assertNull(cache.get(2, 1, 0));
+  }
+
+  @Test
+  public void invalidateRegion() {
+    RasterTileCache cache = new RasterTileCache(1000);
+    cache.put(1, 0, 0, bitmap(10));
+    cache.put(1, 1, 1, bitmap(10));
+
+    // north-west quadrant
+    cache.invalidate(LatLngBounds.from(80, -100, 10, -170));
+
+    assertNull(cache.get(1, 0, 0));
+    assertNotNull(cache.get(1, 1, 1));
+    assertEquals(10, cache.getByteCount());
+  }
+
+  @Test
+  public void staleResultsAreNotCached() {
+    RasterTileCache cache = new RasterTileCache(1000);
+    long generation = cache.getGeneration();
+    cache.invalidate(4, 0, 0);
+    cache.put(4, 0, 0, bitmap(10), generation);
+    assertNull(cache.get(4, 0, 0));
+  }
+
+  private static Bitmap bitmap(int bytes) {
+    Bitmap bitmap = mock(Bitmap.class);
+    when(bitmap.getRowBytes()).thenReturn(bytes);
+    when(bitmap.getHeight()).thenReturn(1);
+    return bitmap;
+  }
+}
@@ -0,0 +1,223 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of a {@link SimplificationIndex} over a synthetic GPS trace of 1M vertices and a synthetic network of
+ * 100k connected lines.
+ * <p>
+ * The reference for deriving the zoom levels is running Douglas-Peucker again on the full trace for every zoom
+ * level, the way a single tolerance per zoom would be applied without the index.
+ * </p>
+ */
+public class SimplificationIndexBenchmark {
+
+  private static final int VERTEX_COUNT = 1000000;
+  private static final int LINE_COUNT = 100000;
+  private static final int MAX_ZOOM = 18;
+  private static final double TOLERANCE = 0.375;
+  private static final int EXTENT = 4096;
+
+  public static void main(String[] args) {
+    benchmarkTrace();
+    benchmarkNetwork();
+  }
+
+  private static void benchmarkTrace() {
+    long baseMemory = MicroBenchmark.usedMemory();
+    MicroBenchmark.consume(createTrace());
+    MicroBenchmark.report("trace: GeoJSON input heap", (MicroBenchmark.usedMemory() - baseMemory) / 1e6, "MB");
+    MicroBenchmark.consume(null);
+
+    baseMemory = MicroBenchmark.usedMemory();
+    MicroBenchmark.consume(createTraceIndex());
+    MicroBenchmark.report("trace: index heap, input dropped", (MicroBenchmark.usedMemory() - baseMemory) / 1e6, "MB");
+    MicroBenchmark.consume(null);
+
+    final List<Feature> features = createTrace();
+    final List<Point> trace = ((LineString) features.get(0).geometry()).coordinates();
+    // a cache of 0 vertices keeps only the last requested level
+    final SimplificationIndex index = new SimplificationIndex(features, new SimplificationOptions().withCacheSize(0));
+    reportBuild("trace", features, new SimplificationOptions());
+
+    final double[] xs = new double[trace.size()];
+    final double[] ys = new double[trace.size()];
+    for (int i = 0; i < trace.size(); i++) {
+      xs[i] = trace.get(i).longitude() / 360 + 0.5;
+      double sin = Math.sin(trace.get(i).latitude() * Math.PI / 180);
+      ys[i] = 0.5 - 0.25 * Math.log((1 + sin) / (1 - sin)) / Math.PI;
+    }
+
+    for (final int zoom : new int[] {6, 12, 18}) {
+      MicroBenchmark.measure("trace: derive z" + zoom + " from index", 5, 15, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          // switch to the smallest level first, so the measured level isn't cached
+          index.getVertexCount(0);
+          return index.getFeatures(zoom);
+        }
+      });
+      MicroBenchmark.measure("trace: Douglas-Peucker z" + zoom + " (reference)", 5, 15, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          double tolerance = TOLERANCE / (Math.pow(2, zoom) * EXTENT);
+          return simplify(trace, xs, ys, tolerance * tolerance);
+        }
+      });
+      MicroBenchmark.measure("trace: cached z" + zoom, 100, 1000, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          return index.getFeatures(zoom);
+        }
+      });
+    }
+
+    StringBuilder counts = new StringBuilder();
+    for (int zoom = 0; zoom <= MAX_ZOOM; zoom += 3) {
+      counts.append(" z").append(zoom).append('=').append(index.getVertexCount(zoom));
+    }
+    System.out.println("trace: vertices per zoom" + counts);
+  }
+
+  private static List<Feature> createTrace() {
+    List<Point> trace = createWalk(new Random(1), 0, 0, VERTEX_COUNT, 0.0002);
+    return Collections.singletonList(Feature.fromGeometry(LineString.fromLngLats(trace)));
+  }
+
+  private static SimplificationIndex createTraceIndex() {
+    return new SimplificationIndex(createTrace(), new SimplificationOptions());
+  }
+
+  private static void benchmarkNetwork() {
+    Random random = new Random(2);
+    final List<Feature> features = new ArrayList<>(LINE_COUNT);
+    Point start = Point.fromLngLat(0, 0);
+    for (int i = 0; i < LINE_COUNT; i++) {
+      List<Point> line = createWalk(random, start.longitude(), start.latitude(), VERTEX_COUNT / LINE_COUNT, 0.002);
+      features.add(Feature.fromGeometry(LineString.fromLngLats(line)));
+      // lines are connected at their endpoints, or start over somewhere in the area
+      start = i % 4 == 3
+        ? Point.fromLngLat(random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1) : line.get(line.size() - 1);
+    }
+
+    final SimplificationOptions options = new SimplificationOptions();
+    reportBuild("network", features, options);
+
+    final SimplificationIndex index = new SimplificationIndex(features, options);
+    index.getFeatures(14);
+    final List<LatLngBounds> tiles = new ArrayList<>();
+    for (int x = 0; x < 8; x++) {
+      for (int y = 0; y < 8; y++) {
+        double west = -0.2 + x * 0.022;
+        double south = -0.2 + y * 0.022;
+        tiles.add(LatLngBounds.from(south + 0.022, west + 0.022, south, west));
+      }
+    }
+    MicroBenchmark.measure("network: getFeaturesForBounds 64 z14 tiles", 5, 20, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        int count = 0;
+        for (LatLngBounds tile : tiles) {
+          count += index.getFeaturesForBounds(tile, 14).features().size();
+        }
+        return count;
+      }
+    });
+  }
+
+  private static void reportBuild(String name, final List<Feature> features, final SimplificationOptions options) {
+    MicroBenchmark.measure(name + ": build index", 2, 5, new MicroBenchmark.Task() {
+      @Override
+      public Object run() {
+        return new SimplificationIndex(features, options);
+      }
+    });
+    long allocated = MicroBenchmark.allocatedBytes();
+    MicroBenchmark.consume(new SimplificationIndex(features, options));
+    MicroBenchmark.report(name + ": allocated during build", (MicroBenchmark.allocatedBytes() - allocated) / 1e6, "MB");
+  }
+
+  private static List<Point> createWalk(Random random, double lng, double lat, int count, double step) {
+    List<Point> points = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      points.add(Point.fromLngLat(lng, lat));
+      lng += (random.nextDouble() - 0.5) * step;
+      lat += (random.nextDouble() - 0.5) * step;
+    }
+    return points;
+  }
+
+  private static List<Point> simplify(List<Point> points, double[] xs, double[] ys, double sqTolerance) {
+    int size = points.size();
+    boolean[] keep = new boolean[size];
+    keep[0] = true;
+    keep[size - 1] = true;
+
+    int[] stack = new int[size * 2];
+    int top = 0;
+    stack[0] = 0;
+    stack[1] = size - 1;
+    while (top >= 0) {
+      int start = stack[top * 2];
+      int end = stack[top * 2 + 1];
+      top--;
+
+      double maxSqDist = sqTolerance;
+      int index = -1;
+      for (int i = start + 1; i < end; i++) {
+        double sqDist = sqSegmentDistance(xs[i], ys[i], xs[start], ys[start], xs[end], ys[end]);
+        if (sqDist > maxSqDist) {
+          index = i;
+          maxSqDist = sqDist;
+        }
+      }
+
+      if (index != -1) {
+        keep[index] = true;
+        top++;
+        stack[top * 2] = start;
+        stack[top * 2 + 1] = index;
+        top++;
+        stack[top * 2] = index;
+        stack[top * 2 + 1] = end;
+      }
+    }
+
+    List<Point> result = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (keep[i]) {
+        result.add(Point.fromLngLat(points.get(i).longitude(), points.get(i).latitude()));
+      }
+    }
+    return result;
+  }
+
+  private static double sqSegmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+    double x = ax;
+    double y = ay;
+    double dx = bx - ax;
+    double dy = by - ay;
+    if (dx != 0 || dy != 0) {
+      double t = ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy);
+      if (t > 1) {
+        x = bx;
+        y = by;
+      } else if (t > 0) {
+        x += dx * t;
+        y += dy * t;
+      }
+    }
+    dx = px - x;
+    dy = py - y;
+    return dx * dx + dy * dy;
+  }
+}
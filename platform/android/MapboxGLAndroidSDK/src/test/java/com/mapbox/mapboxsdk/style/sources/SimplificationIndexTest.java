@@ -0,0 +1,147 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.LineString;
+import com.mapbox.geojson.MultiPoint;
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+import com.mapbox.mapboxsdk.geometry.LatLngBounds;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SimplificationIndexTest {
+
+  private static final int VERTEX_COUNT = 100000;
+
+  private List<Point> trace;
+  private SimplificationIndex index;
+
+  @Before
+  public void beforeTest() {
+    // random walk, similar to a dense GPS trace
+    Random random = new Random(42);
+    trace = new ArrayList<>(VERTEX_COUNT);
+    double lng = 0;
+    double lat = 0;
+    for (int i = 0; i < VERTEX_COUNT; i++) {
+      lng += (random.nextDouble() - 0.5) * 0.0002;
+      lat += (random.nextDouble() - 0.5) * 0.0002;
+      trace.add(Point.fromLngLat(lng, lat));
+    }
+    index = new SimplificationIndex(
+      Collections.singletonList(Feature.fromGeometry(LineString.fromLngLats(trace))), new SimplificationOptions());
+  }
+
+  @Test
+  public void vertexCountGrowsWithZoom() {
+    assertEquals(VERTEX_COUNT, index.getVertexCount());
+    int previous = 0;
+    for (int zoom = 0; zoom <= 18; zoom++) {
+      int count = index.getVertexCount(zoom);
+      assertTrue("Zoom " + zoom + " should not have fewer vertices than the zoom below", count >= previous);
+      previous = count;
+    }
+    assertTrue(index.getVertexCount(0) < VERTEX_COUNT / 100);
+    assertTrue(index.getVertexCount(18) <= VERTEX_COUNT);
+  }
+
+  @Test
+  public void lowerZoomIsSubsetOfHigherZoom() {
+    List<Point> low = ((LineString) index.getFeatures(8).features().get(0).geometry()).coordinates();
+    List<Point> high = ((LineString) index.getFeatures(12).features().get(0).geometry()).coordinates();
+    assertTrue(high.containsAll(low));
+  }
+
+  @Test
+  public void endpointsAreKept() {
+    LineString line = (LineString) index.getFeatures(0).features().get(0).geometry();
+    assertEquals(trace.get(0), line.coordinates().get(0));
+    assertEquals(trace.get(VERTEX_COUNT - 1), line.coordinates().get(line.coordinates().size() - 1));
+  }
+
+  @Test
+  public void levelsAreCached() {
+    Feature first = index.getFeatures(10).features().get(0);
+    Feature second = index.getFeaturesForBounds(LatLngBounds.from(1, 1, -1, -1), 10).features().get(0);
+    assertSame(first, second);
+  }
+
+  @Test
+  public void sharedVerticesAreKept() {
+    Point junction = Point.fromLngLat(0.5, 0.0001);
+    List<Feature> features = new ArrayList<>();
+    features.add(Feature.fromGeometry(LineString.fromLngLats(
+      Arrays.asList(Point.fromLngLat(0, 0), junction, Point.fromLngLat(1, 0)))));
+    features.add(Feature.fromGeometry(LineString.fromLngLats(
+      Arrays.asList(junction, Point.fromLngLat(0.5, 1)))));
+
+    SimplificationIndex index = new SimplificationIndex(features, new SimplificationOptions());
+    LineString line = (LineString) index.getFeatures(0).features().get(0).geometry();
+    assertTrue(line.coordinates().contains(junction));
+  }
+
+  @Test
+  public void collapsedPolygonsAreDropped() {
+    List<Point> ring = Arrays.asList(Point.fromLngLat(0, 0), Point.fromLngLat(0.00001, 0),
+      Point.fromLngLat(0.00001, 0.00001), Point.fromLngLat(0, 0.00001), Point.fromLngLat(0, 0));
+    SimplificationIndex index = new SimplificationIndex(
+      Collections.singletonList(Feature.fromGeometry(Polygon.fromLngLats(Collections.singletonList(ring)))),
+      new SimplificationOptions());
+
+    assertEquals(0, index.getFeatures(0).features().size());
+    assertEquals(5, index.getVertexCount(18));
+  }
+
+  @Test
+  public void unsimplifiedFeaturesAreFilteredByBounds() {
+    List<Feature> features = new ArrayList<>();
+    features.add(Feature.fromGeometry(Point.fromLngLat(10, 10), null, "inside"));
+    features.add(Feature.fromGeometry(Point.fromLngLat(50, 50), null, "outside"));
+    features.add(Feature.fromGeometry(MultiPoint.fromLngLats(
+      Arrays.asList(Point.fromLngLat(-30, -30), Point.fromLngLat(30, 30))), null, "spanning"));
+    features.add(Feature.fromGeometry(null, null, "empty"));
+
+    SimplificationIndex index = new SimplificationIndex(features, new SimplificationOptions());
+    List<Feature> found = index.getFeaturesForBounds(LatLngBounds.from(20, 20, 0, 0), 5).features();
+    assertEquals(2, found.size());
+    assertEquals("inside", found.get(0).id());
+    assertEquals("spanning", found.get(1).id());
+
+    // all features are kept when not querying by bounds
+    assertEquals(4, index.getFeatures(5).features().size());
+  }
+
+  @Test
+  public void linesAreFilteredByBounds() {
+    List<Feature> features = new ArrayList<>();
+    features.add(Feature.fromGeometry(LineString.fromLngLats(
+      Arrays.asList(Point.fromLngLat(10, 10), Point.fromLngLat(11, 11))), null, "small"));
+    // the center of the line is outside the bounds, the line itself is not
+    features.add(Feature.fromGeometry(LineString.fromLngLats(
+      Arrays.asList(Point.fromLngLat(1, 5), Point.fromLngLat(179, 5))), null, "long"));
+    features.add(Feature.fromGeometry(LineString.fromLngLats(
+      Arrays.asList(Point.fromLngLat(50, 50), Point.fromLngLat(51, 51))), null, "far"));
+
+    SimplificationIndex index = new SimplificationIndex(features, new SimplificationOptions());
+    List<Feature> found = index.getFeaturesForBounds(LatLngBounds.from(20, 20, 0, 0), 5).features();
+    assertEquals(2, found.size());
+    assertEquals("small", found.get(0).id());
+    assertEquals("long", found.get(1).id());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidZoomRange() {
+    new SimplificationIndex(new ArrayList<Feature>(), new SimplificationOptions().withMaxZoom(25));
+  }
+}
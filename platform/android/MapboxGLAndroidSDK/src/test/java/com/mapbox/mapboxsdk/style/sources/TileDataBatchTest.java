@@ -0,0 +1,35 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.FeatureCollection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TileDataBatchTest {
+
+  @Test
+  public void packsTilesInOrder() {
+    TileDataBatch batch = new TileDataBatch();
+    FeatureCollection[] data = new FeatureCollection[40];
+    int[] expected = new int[data.length * 3];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = FeatureCollection.fromFeatures(new Feature[0]);
+      batch.add(10, i, i + 1, data[i]);
+      expected[i * 3] = 10;
+      expected[i * 3 + 1] = i;
+      expected[i * 3 + 2] = i + 1;
+    }
+
+    assertEquals(data.length, batch.size());
+    assertArrayEquals(expected, batch.getTiles());
+    assertEquals(10, batch.getX(10));
+    assertEquals(11, batch.getY(10));
+    for (int i = 0; i < data.length; i++) {
+      assertSame(data[i], batch.getData()[i]);
+    }
+  }
+}
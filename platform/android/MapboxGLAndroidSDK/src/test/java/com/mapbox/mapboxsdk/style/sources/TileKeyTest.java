@@ -0,0 +1,28 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TileKeyTest {
+
+  @Test
+  public void roundTrip() {
+    int[][] tiles = {
+      {0, 0, 0}, {1, 1, 0}, {14, 8190, 5461}, {22, (1 << 22) - 1, (1 << 22) - 1}, {29, 0, (1 << 29) - 1}
+    };
+    for (int[] tile : tiles) {
+      long key = TileKey.pack(tile[0], tile[1], tile[2]);
+      assertEquals(tile[0], TileKey.z(key));
+      assertEquals(tile[1], TileKey.x(key));
+      assertEquals(tile[2], TileKey.y(key));
+    }
+  }
+
+  @Test
+  public void distinctKeys() {
+    assertNotEquals(TileKey.pack(1, 0, 1), TileKey.pack(1, 1, 0));
+    assertNotEquals(TileKey.pack(0, 0, 0), TileKey.pack(1, 0, 0));
+  }
+}
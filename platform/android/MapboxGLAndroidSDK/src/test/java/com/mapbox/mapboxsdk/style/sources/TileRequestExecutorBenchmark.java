@@ -0,0 +1,83 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Benchmark of the tile request latency of 10 sources requesting 200 tiles each, with every request doing 1 ms of
+ * provider work. The latency is the time between handing a request to the executor and it starting to run.
+ * <p>
+ * The reference is the previous setup of a fixed pool of 4 threads per source.
+ * </p>
+ */
+public class TileRequestExecutorBenchmark {
+
+  private static final int SOURCE_COUNT = 10;
+  private static final int TILE_COUNT = 200;
+  private static final long WORK_NANOS = 1000000;
+
+  public static void main(String[] args) throws InterruptedException {
+    for (int round = 0; round < 3; round++) {
+      // the first rounds warm up
+      boolean report = round == 2;
+
+      TileRequestExecutor[] shared = new TileRequestExecutor[SOURCE_COUNT];
+      for (int i = 0; i < SOURCE_COUNT; i++) {
+        shared[i] = new TileRequestExecutor(null);
+      }
+      run("shared, " + Runtime.getRuntime().availableProcessors() + " threads", shared, report);
+      for (TileRequestExecutor executor : shared) {
+        executor.release();
+      }
+
+      ExecutorService[] pools = new ExecutorService[SOURCE_COUNT];
+      TileRequestExecutor[] perSource = new TileRequestExecutor[SOURCE_COUNT];
+      for (int i = 0; i < SOURCE_COUNT; i++) {
+        pools[i] = Executors.newFixedThreadPool(4);
+        perSource[i] = new TileRequestExecutor(pools[i]);
+      }
+      run("per source, " + SOURCE_COUNT * 4 + " threads", perSource, report);
+      for (ExecutorService pool : pools) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  private static void run(String name, TileRequestExecutor[] executors, boolean report)
+    throws InterruptedException {
+    final long[] latencies = new long[SOURCE_COUNT * TILE_COUNT];
+    final CountDownLatch done = new CountDownLatch(latencies.length);
+    long start = System.nanoTime();
+    for (int tile = 0; tile < TILE_COUNT; tile++) {
+      for (int source = 0; source < SOURCE_COUNT; source++) {
+        final int index = tile * SOURCE_COUNT + source;
+        final long submitted = System.nanoTime();
+        executors[source].execute(new Runnable() {
+          @Override
+          public void run() {
+            long started = System.nanoTime();
+            latencies[index] = started - submitted;
+            while (System.nanoTime() - started < WORK_NANOS) {
+              // provider work
+            }
+            done.countDown();
+          }
+        });
+      }
+    }
+    done.await();
+    long total = System.nanoTime() - start;
+
+    if (report) {
+      Arrays.sort(latencies);
+      MicroBenchmark.report(name + ": total", total / 1e6, "ms");
+      MicroBenchmark.report(name + ": latency p50", latencies[latencies.length / 2] / 1e6, "ms");
+      MicroBenchmark.report(name + ": latency p95", latencies[latencies.length * 95 / 100] / 1e6, "ms");
+      MicroBenchmark.report(name + ": latency max", latencies[latencies.length - 1] / 1e6, "ms");
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TileRequestExecutorTest {
+
+  private static final int SOURCE_COUNT = 10;
+  private static final int TILE_COUNT = 200;
+  private static final Runnable NO_OP = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  @Test
+  public void sourcesShareBoundedPool() throws InterruptedException {
+    ExecutorService[] executors = new ExecutorService[SOURCE_COUNT];
+    for (int i = 0; i < SOURCE_COUNT; i++) {
+      executors[i] = TileRequestExecutor.acquire();
+      assertSame(executors[0], executors[i]);
+    }
+
+    // occupy every thread of the pool, the remaining requests queue up instead of creating threads
+    int cores = Runtime.getRuntime().availableProcessors();
+    final CountDownLatch started = new CountDownLatch(cores);
+    final CountDownLatch gate = new CountDownLatch(1);
+    for (int i = 0; i < cores; i++) {
+      executors[i % SOURCE_COUNT].execute(new Runnable() {
+        @Override
+        public void run() {
+          started.countDown();
+          awaitUninterruptibly(gate);
+        }
+      });
+    }
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    final CountDownLatch done = new CountDownLatch(SOURCE_COUNT * TILE_COUNT);
+    for (int tile = 0; tile < TILE_COUNT; tile++) {
+      for (ExecutorService executor : executors) {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            done.countDown();
+          }
+        });
+      }
+    }
+    assertEquals("Thread count should be bounded by the cores", cores, TileRequestExecutor.getPoolSize());
+    assertEquals(SOURCE_COUNT * TILE_COUNT, done.getCount());
+
+    gate.countDown();
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+
+    for (int i = 0; i < SOURCE_COUNT; i++) {
+      TileRequestExecutor.releaseShared();
+    }
+    assertTrue(executors[0].isShutdown());
+    assertEquals(0, TileRequestExecutor.getPoolSize());
+  }
+
+  @Test
+  public void recreatedAfterShutdown() {
+    ExecutorService first = TileRequestExecutor.acquire();
+    TileRequestExecutor.releaseShared();
+    ExecutorService second = TileRequestExecutor.acquire();
+    assertNotSame(first, second);
+    assertTrue(first.isShutdown());
+    TileRequestExecutor.releaseShared();
+  }
+
+  @Test
+  public void requestsAfterReleaseAreDropped() {
+    TileRequestExecutor removed = new TileRequestExecutor(null);
+    TileRequestExecutor remaining = new TileRequestExecutor(null);
+    assertTrue(removed.execute(NO_OP));
+    assertTrue(remaining.execute(NO_OP));
+
+    // releasing the last source shuts the pool down, late requests of that source don't reach it
+    removed.release();
+    remaining.release();
+    assertEquals(0, TileRequestExecutor.getPoolSize());
+    assertFalse(removed.execute(NO_OP));
+    assertFalse(remaining.execute(NO_OP));
+  }
+
+  @Test
+  public void concurrentReleaseNeverRejects() throws InterruptedException {
+    for (int round = 0; round < 100; round++) {
+      final TileRequestExecutor executor = new TileRequestExecutor(null);
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+      Thread requests = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < TILE_COUNT; i++) {
+              executor.execute(NO_OP);
+            }
+          } catch (Throwable throwable) {
+            error.set(throwable);
+          }
+        }
+      });
+      requests.start();
+      executor.release();
+      requests.join();
+      assertNull(error.get());
+      assertFalse(executor.execute(NO_OP));
+    }
+  }
+
+  @Test
+  public void rejectedRequestsAreDropped() {
+    ExecutorService custom = Executors.newSingleThreadExecutor();
+    custom.shutdown();
+    TileRequestExecutor executor = new TileRequestExecutor(custom);
+    assertFalse(executor.execute(NO_OP));
+
+    // injected executors are not shut down on release
+    ExecutorService running = Executors.newSingleThreadExecutor();
+    executor = new TileRequestExecutor(running);
+    assertTrue(executor.execute(NO_OP));
+    executor.release();
+    assertFalse(running.isShutdown());
+    running.shutdown();
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import com.mapbox.mapboxsdk.utils.MicroBenchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Benchmark of the fetch and cancel throughput of {@link TileRequestQueue} with 64, 256 and 4096 outstanding tile
+ * requests, as a fling keeps requesting new tiles and cancelling the ones that left the viewport.
+ * <p>
+ * The reference is the previous bookkeeping: a ConcurrentHashMap of tokens and a HashMap of pending requests, both
+ * keyed by a TileID object whose hash code allocated an array. The cost of polling the most important request, which
+ * runs once per fetched tile, is reported alongside.
+ * </p>
+ */
+public class TileRequestQueueBenchmark {
+
+  private static final int OPERATIONS = 100000;
+  private static final int ZOOM = 14;
+
+  public static void main(String[] args) {
+    for (int outstanding : new int[] {64, 256, 4096}) {
+      final long[] keys = createKeys(outstanding + OPERATIONS);
+      final int count = outstanding;
+
+      MicroBenchmark.measure(count + " tiles: TileRequestQueue, 100k fetch+cancel", 5, 15, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          TileRequestQueue<TileRequestQueue.Request> queue = new TileRequestQueue<>();
+          for (int i = 0; i < count; i++) {
+            queue.put(new TileRequestQueue.Request(keys[i]));
+          }
+          for (int i = 0; i < OPERATIONS; i++) {
+            queue.put(new TileRequestQueue.Request(keys[count + i]));
+            queue.cancel(keys[i]);
+          }
+          return queue;
+        }
+      });
+
+      MicroBenchmark.measure(count + " tiles: TileID maps (reference)", 5, 15, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          Map<TileId, CancellationToken> tokens = new ConcurrentHashMap<>();
+          Map<TileId, Object> pending = new HashMap<>();
+          for (int i = 0; i < count; i++) {
+            fetch(tokens, pending, keys[i]);
+          }
+          for (int i = 0; i < OPERATIONS; i++) {
+            fetch(tokens, pending, keys[count + i]);
+            cancel(tokens, pending, keys[i]);
+          }
+          return pending;
+        }
+      });
+
+      final TileRequestQueue<TileRequestQueue.Request> queue = new TileRequestQueue<>();
+      MicroBenchmark.measure(count + " tiles: TileRequestQueue, poll all", 5, 15, new MicroBenchmark.Task() {
+        @Override
+        public Object run() {
+          for (int i = 0; i < count; i++) {
+            queue.put(new TileRequestQueue.Request(keys[i]));
+          }
+          Object last = null;
+          for (int i = 0; i < count; i++) {
+            TileRequestQueue.Request request = queue.poll();
+            queue.complete(request);
+            last = request;
+          }
+          return last;
+        }
+      });
+    }
+  }
+
+  private static void fetch(Map<TileId, CancellationToken> tokens, Map<TileId, Object> pending, long key) {
+    TileId id = new TileId(TileKey.z(key), TileKey.x(key), TileKey.y(key));
+    CancellationToken token = new CancellationToken();
+    tokens.put(id, token);
+    synchronized (pending) {
+      pending.put(id, token);
+    }
+  }
+
+  private static void cancel(Map<TileId, CancellationToken> tokens, Map<TileId, Object> pending, long key) {
+    TileId id = new TileId(TileKey.z(key), TileKey.x(key), TileKey.y(key));
+    CancellationToken token = tokens.remove(id);
+    if (token != null) {
+      token.cancel();
+    }
+    synchronized (pending) {
+      pending.remove(id);
+    }
+  }
+
+  /**
+   * Tiles of a viewport 64 tiles high moving west, so new keys land in front of all sorted keys, the worst case for
+   * inserting into a LongSparseArray.
+   */
+  private static long[] createKeys(int count) {
+    long[] keys = new long[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = TileKey.pack(ZOOM, 10000 - i / 64, 1000 + i % 64);
+    }
+    return keys;
+  }
+
+  private static final class TileId {
+
+    private final int z;
+    private final int x;
+    private final int y;
+
+    TileId(int z, int x, int y) {
+      this.z = z;
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (object instanceof TileId) {
+        TileId other = (TileId) object;
+        return z == other.z && x == other.x && y == other.y;
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(new int[] {z, x, y});
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.mapbox.mapboxsdk.style.sources;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TileRequestQueueTest {
+
+  @Test
+  public void cancelledRequestIsNotDelivered() throws InterruptedException {
+    final TileRequestQueue<RecordingRequest> queue = new TileRequestQueue<>();
+    final List<Long> delivered = Collections.synchronizedList(new ArrayList<Long>());
+    RecordingRequest cancelled = new RecordingRequest(TileKey.pack(3, 1, 1), delivered);
+    RecordingRequest kept = new RecordingRequest(TileKey.pack(3, 2, 2), delivered);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch gate = block(executor);
+    submit(queue, cancelled, executor);
+    submit(queue, kept, executor);
+    queue.cancel(cancelled.key);
+    gate.countDown();
+    finish(executor);
+
+    assertTrue(cancelled.isCancelled());
+    assertEquals(Collections.singletonList(kept.key), delivered);
+  }
+
+  @Test
+  public void replacedRequestIsCancelled() {
+    TileRequestQueue<RecordingRequest> queue = new TileRequestQueue<>();
+    List<Long> delivered = new ArrayList<>();
+    RecordingRequest first = new RecordingRequest(TileKey.pack(3, 1, 1), delivered);
+    RecordingRequest second = new RecordingRequest(TileKey.pack(3, 1, 1), delivered);
+    queue.put(first);
+    assertSame(first, queue.poll());
+    queue.put(second);
+
+    // the running request finishes after it was replaced, the new request stays queued
+    assertTrue(first.isCancelled());
+    queue.complete(first);
+    assertSame(second, queue.poll());
+    assertFalse(second.isCancelled());
+  }
+
+  @Test
+  public void higherPriorityRequestsRunFirst() throws InterruptedException {
+    final TileRequestQueue<RecordingRequest> queue = new TileRequestQueue<>();
+    final List<Long> delivered = Collections.synchronizedList(new ArrayList<Long>());
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    CountDownLatch gate = block(executor);
+    // requested in order: an outdated zoom level, then z4 tiles in a row
+    long outdated = TileKey.pack(3, 2, 2);
+    long far = TileKey.pack(4, 10, 5);
+    long near = TileKey.pack(4, 5, 5);
+    long center = TileKey.pack(4, 6, 5);
+    long west = TileKey.pack(4, 4, 5);
+    for (long key : new long[] {outdated, far, near, center, west}) {
+      submit(queue, new RecordingRequest(key, delivered), executor);
+    }
+    gate.countDown();
+    finish(executor);
+
+    // the queued z4 tiles are centered at x 6.25, then at x 6.33 once the first one ran
+    assertEquals(5, delivered.size());
+    assertEquals(center, (long) delivered.get(0));
+    assertEquals(near, (long) delivered.get(1));
+    assertTrue(delivered.subList(2, 4).containsAll(Arrays.asList(far, west)));
+    assertEquals(outdated, (long) delivered.get(4));
+  }
+
+  @Test
+  public void pollsBatchOfSameZoom() {
+    TileRequestQueue<RecordingRequest> queue = new TileRequestQueue<>();
+    List<Long> delivered = new ArrayList<>();
+    queue.put(new RecordingRequest(TileKey.pack(3, 0, 0), delivered));
+    for (int x = 0; x < 4; x++) {
+      queue.put(new RecordingRequest(TileKey.pack(4, x, 0), delivered));
+    }
+
+    List<RecordingRequest> batch = queue.poll(3);
+    assertEquals(3, batch.size());
+    for (RecordingRequest request : batch) {
+      assertEquals(4, request.z);
+    }
+    assertEquals(4, queue.poll(10).size() + batch.size());
+    assertEquals(3, queue.poll().z);
+    assertNull(queue.poll());
+  }
+
+  /**
+   * Queues a request and submits a task that runs the most important queued request, as sources do.
+   */
+  private static void submit(final TileRequestQueue<RecordingRequest> queue, RecordingRequest request,
+                             ExecutorService executor) {
+    queue.put(request);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        RecordingRequest next = queue.poll();
+        if (next != null) {
+          next.run();
+          queue.complete(next);
+        }
+      }
+    });
+  }
+
+  private static CountDownLatch block(ExecutorService executor) {
+    final CountDownLatch gate = new CountDownLatch(1);
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          gate.await();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    return gate;
+  }
+
+  private static void finish(ExecutorService executor) throws InterruptedException {
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  private static class RecordingRequest extends TileRequestQueue.Request implements Runnable {
+
+    private final List<Long> delivered;
+
+    RecordingRequest(long key, List<Long> delivered) {
+      super(key);
+      this.delivered = delivered;
+    }
+
+    @Override
+    public void run() {
+      if (!isCancelled()) {
+        delivered.add(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.mapbox.mapboxsdk.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal benchmark harness for the JVM unit test source set.
+ * <p>
+ * JMH is not part of the Android build, so benchmarks are plain classes with a main method that run on the
+ * unit test classpath. Each task is warmed up before it is measured and the median run is reported, results are
+ * consumed through a volatile sink so the JIT can't drop the work. See TESTS.md for how to run them.
+ * </p>
+ */
+public final class MicroBenchmark {
+
+  private static volatile Object sink;
+
+  private MicroBenchmark() {
+  }
+
+  /**
+   * Unit of work to be measured.
+   */
+  public interface Task {
+
+    /**
+     * Run the work once.
+     *
+     * @return a result derived from the work, consumed by the harness
+     */
+    Object run() throws Exception;
+  }
+
+  /**
+   * Warm up and measure a task, printing the median run.
+   *
+   * @param name       the name to report
+   * @param warmups    the amount of unmeasured runs
+   * @param iterations the amount of measured runs
+   * @param task       the work to measure
+   * @return the median run time in nanoseconds
+   */
+  public static long measure(String name, int warmups, int iterations, Task task) {
+    try {
+      for (int i = 0; i < warmups; i++) {
+        sink = task.run();
+      }
+      long[] times = new long[iterations];
+      for (int i = 0; i < iterations; i++) {
+        long start = System.nanoTime();
+        sink = task.run();
+        times[i] = System.nanoTime() - start;
+      }
+      Arrays.sort(times);
+      long median = times[iterations / 2];
+      System.out.println(String.format(Locale.US, "%-48s %12.3f ms (min %.3f, max %.3f, n=%d)",
+        name, median / 1e6, times[0] / 1e6, times[iterations - 1] / 1e6, iterations));
+      return median;
+    } catch (Exception exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  /**
+   * Print a value that isn't a run time, for example a memory footprint.
+   *
+   * @param name  the name to report
+   * @param value the value
+   * @param unit  the unit of the value
+   */
+  public static void report(String name, double value, String unit) {
+    System.out.println(String.format(Locale.US, "%-48s %12.3f %s", name, value, unit));
+  }
+
+  /**
+   * Get the heap in use after requesting a garbage collection.
+   *
+   * @return the used heap in bytes
+   */
+  public static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  /**
+   * Get the amount of heap allocated by the current thread so far, where the JVM reports it.
+   *
+   * @return the allocated bytes, or -1 if not supported
+   */
+  public static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  /**
+   * Keep a value alive so the work that produced it can't be eliminated.
+   *
+   * @param value the value to consume
+   */
+  public static void consume(Object value) {
+    sink = value;
+  }
+}
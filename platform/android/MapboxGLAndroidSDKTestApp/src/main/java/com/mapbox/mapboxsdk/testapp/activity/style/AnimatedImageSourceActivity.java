@@ -5,7 +5,6 @@ import android.graphics.Bitmap;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
-import android.os.Handler;
 import android.support.annotation.NonNull;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
@@ -17,12 +16,13 @@ import com.mapbox.mapboxsdk.maps.MapView;
 import com.mapbox.mapboxsdk.maps.MapboxMap;
 import com.mapbox.mapboxsdk.maps.OnMapReadyCallback;
 import com.mapbox.mapboxsdk.style.layers.RasterLayer;
-import com.mapbox.mapboxsdk.style.sources.ImageSource;
+import com.mapbox.mapboxsdk.style.sources.AnimatedImageSource;
+import com.mapbox.mapboxsdk.style.sources.AnimatedImageSourceOptions;
 import com.mapbox.mapboxsdk.testapp.R;
 
 /**
  * Test activity showing how to use a series of images to create an animation
- * with an ImageSource
+ * with an AnimatedImageSource
  * <p>
  *   GL-native equivalent of https://www.mapbox.com/mapbox-gl-js/example/animate-images/
  * </p>
@@ -34,9 +34,7 @@ public class AnimatedImageSourceActivity extends AppCompatActivity implements On
 
   private MapView mapView;
   private MapboxMap mapboxMap;
-
-  private Handler handler;
-  private Runnable runnable;
+  private AnimatedImageSource imageSource;
 
   @Override
   protected void onCreate(Bundle savedInstanceState) {
@@ -58,22 +56,31 @@ public class AnimatedImageSourceActivity extends AppCompatActivity implements On
         new LatLng(46.437, -71.516),
         new LatLng(37.936, -71.516),
         new LatLng(37.936, -80.425));
-    mapboxMap.addSource(new ImageSource(ID_IMAGE_SOURCE, quad, R.drawable.southeast_radar_0));
+    Bitmap[] frames = new Bitmap[] {
+      getBitmap(R.drawable.southeast_radar_0),
+      getBitmap(R.drawable.southeast_radar_1),
+      getBitmap(R.drawable.southeast_radar_2),
+      getBitmap(R.drawable.southeast_radar_3)
+    };
+    imageSource = new AnimatedImageSource(ID_IMAGE_SOURCE, quad, frames,
+      new AnimatedImageSourceOptions().withFrameDuration(1000));
+    mapboxMap.addSource(imageSource);
 
     // add layer
     RasterLayer layer = new RasterLayer(ID_IMAGE_LAYER, ID_IMAGE_SOURCE);
     mapboxMap.addLayer(layer);
 
-    // loop refresh geojson
-    handler = new Handler();
-    runnable = new RefreshImageRunnable(mapboxMap, handler);
-    handler.postDelayed(runnable, 100);
+    // loop through the frames
+    imageSource.start();
   }
 
   @Override
   protected void onStart() {
     super.onStart();
     mapView.onStart();
+    if (imageSource != null) {
+      imageSource.start();
+    }
   }
 
   @Override
@@ -92,7 +99,9 @@ public class AnimatedImageSourceActivity extends AppCompatActivity implements On
   protected void onStop() {
     super.onStop();
     mapView.onStop();
-    handler.removeCallbacks(runnable);
+    if (imageSource != null) {
+      imageSource.stop();
+    }
   }
 
   @Override
@@ -107,41 +116,13 @@ public class AnimatedImageSourceActivity extends AppCompatActivity implements On
     mapView.onSaveInstanceState(outState);
   }
 
-  private static class RefreshImageRunnable implements Runnable {
-
-    private MapboxMap mapboxMap;
-    private Handler handler;
-    private Bitmap[] drawables;
-    private int drawableIndex;
-
-    Bitmap getBitmap(int resourceId) {
-      Context context = Mapbox.getApplicationContext();
-      Drawable drawable = ContextCompat.getDrawable(context, resourceId);
-      if (drawable instanceof BitmapDrawable) {
-        BitmapDrawable bitmapDrawable = (BitmapDrawable) drawable;
-        return bitmapDrawable.getBitmap();
-      }
-      return null;
-    }
-
-    RefreshImageRunnable(MapboxMap mapboxMap, Handler handler) {
-      this.mapboxMap = mapboxMap;
-      this.handler = handler;
-      drawables = new Bitmap[4];
-      drawables[0] = getBitmap(R.drawable.southeast_radar_0);
-      drawables[1] = getBitmap(R.drawable.southeast_radar_1);
-      drawables[2] = getBitmap(R.drawable.southeast_radar_2);
-      drawables[3] = getBitmap(R.drawable.southeast_radar_3);
-      drawableIndex = 1;
-    }
-
-    @Override
-    public void run() {
-      ((ImageSource) mapboxMap.getSource(ID_IMAGE_SOURCE)).setImage(drawables[drawableIndex++]);
-      if (drawableIndex > 3) {
-        drawableIndex = 0;
-      }
-      handler.postDelayed(this, 1000);
+  private static Bitmap getBitmap(int resourceId) {
+    Context context = Mapbox.getApplicationContext();
+    Drawable drawable = ContextCompat.getDrawable(context, resourceId);
+    if (drawable instanceof BitmapDrawable) {
+      BitmapDrawable bitmapDrawable = (BitmapDrawable) drawable;
+      return bitmapDrawable.getBitmap();
     }
+    return null;
   }
 }
@@ -176,10 +176,16 @@ add_library(mbgl-android STATIC
     platform/android/src/style/layers/unknown_layer.hpp
     platform/android/src/style/sources/geojson_source.cpp
     platform/android/src/style/sources/geojson_source.hpp
+    platform/android/src/style/sources/geojson_source_data.cpp
+    platform/android/src/style/sources/geojson_source_data.hpp
     platform/android/src/style/sources/custom_geometry_source.cpp
     platform/android/src/style/sources/custom_geometry_source.hpp
+    platform/android/src/style/sources/custom_raster_source.cpp
+    platform/android/src/style/sources/custom_raster_source.hpp
     platform/android/src/style/sources/source.cpp
     platform/android/src/style/sources/source.hpp
+    platform/android/src/style/sources/feature_pager.cpp
+    platform/android/src/style/sources/feature_pager.hpp
     platform/android/src/style/sources/raster_source.cpp
     platform/android/src/style/sources/raster_source.hpp
     platform/android/src/style/sources/unknown_source.cpp
@@ -244,6 +250,8 @@ add_library(mbgl-android STATIC
     platform/android/src/geojson/point.hpp
     platform/android/src/geojson/polygon.cpp
     platform/android/src/geojson/polygon.hpp
+    platform/android/src/geojson/property_columns.cpp
+    platform/android/src/geojson/property_columns.hpp
 
     # Geometry
     platform/android/src/geometry/lat_lng.cpp
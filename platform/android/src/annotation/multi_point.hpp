@@ -3,6 +3,8 @@
 #include <mbgl/util/noncopyable.hpp>
 #include <jni/jni.hpp>
 
+#include <vector>
+
 #include "../geometry/lat_lng.hpp"
 #include "../java/util.hpp"
 
@@ -36,6 +38,24 @@ protected:
       jni::DeleteLocalRef(env, jarray);
       return geometry;
   }
+
+  template <class Geometry>
+  static Geometry toGeometry(JNIEnv& env, jni::Array<jni::jdouble> coordinates, std::size_t pointCount) {
+      NullCheck(env, &coordinates);
+
+      // Interleaved longitude/latitude pairs, copied in one go
+      std::vector<jni::jdouble> lonLat(pointCount * 2);
+      jni::GetArrayRegion(env, *coordinates, 0, lonLat.size(), lonLat.data());
+
+      Geometry geometry;
+      geometry.reserve(pointCount);
+
+      for (std::size_t i = 0; i < pointCount; i++) {
+          geometry.emplace_back(lonLat[i * 2], lonLat[i * 2 + 1]);
+      }
+
+      return geometry;
+  }
 };
 
 } // namespace android
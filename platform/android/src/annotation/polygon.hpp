@@ -26,7 +26,9 @@ public:
 
 private:
 
-    static jni::Object<java::util::List> getPoints(jni::JNIEnv&, jni::Object<Polygon>);
+    static jni::Array<jni::jdouble> getCoordinates(jni::JNIEnv&, jni::Object<Polygon>);
+
+    static std::size_t getPointCount(jni::JNIEnv&, jni::Object<Polygon>);
 
     static jni::Object<java::util::List> getHoles(jni::JNIEnv&, jni::Object<Polygon>);
 
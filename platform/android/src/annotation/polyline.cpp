@@ -8,20 +8,25 @@ namespace android {
 jni::Class<Polyline> Polyline::javaClass;
 
 mbgl::LineAnnotation Polyline::toAnnotation(jni::JNIEnv& env, jni::Object<Polyline> polyline) {
-    auto points = Polyline::getPoints(env, polyline);
+    auto coordinates = Polyline::getCoordinates(env, polyline);
 
-    mbgl::LineAnnotation annotation { MultiPoint::toGeometry<mbgl::LineString<double>>(env, points) };
+    mbgl::LineAnnotation annotation { MultiPoint::toGeometry<mbgl::LineString<double>>(env, coordinates, Polyline::getPointCount(env, polyline)) };
     annotation.opacity = { Polyline::getOpacity(env, polyline) };
     annotation.color = { Polyline::getColor(env, polyline) };
     annotation.width = { Polyline::getWidth(env, polyline) };
 
-    jni::DeleteLocalRef(env, points);
+    jni::DeleteLocalRef(env, coordinates);
 
     return annotation;
 }
 
-jni::Object<java::util::List> Polyline::getPoints(jni::JNIEnv& env, jni::Object<Polyline> polyline) {
-    static auto field = Polyline::javaClass.GetField<jni::Object<java::util::List>>(env, "points");
+jni::Array<jni::jdouble> Polyline::getCoordinates(jni::JNIEnv& env, jni::Object<Polyline> polyline) {
+    static auto field = Polyline::javaClass.GetField<jni::Array<jni::jdouble>>(env, "coordinates");
+    return polyline.Get(env, field);
+}
+
+std::size_t Polyline::getPointCount(jni::JNIEnv& env, jni::Object<Polyline> polyline) {
+    static auto field = Polyline::javaClass.GetField<jni::jint>(env, "pointCount");
     return polyline.Get(env, field);
 }
 
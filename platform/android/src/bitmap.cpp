@@ -115,13 +115,16 @@ PremultipliedImage Bitmap::GetImage(jni::JNIEnv& env, jni::Object<Bitmap> bitmap
 
     const PixelGuard guard(env, bitmap);
 
-    // Copy the Android Bitmap into the PremultipliedImage.
-    auto pixels =
-        std::make_unique<uint8_t[]>(info.width * info.height * PremultipliedImage::channels);
-    for (uint32_t y = 0; y < info.height; y++) {
-        auto begin = guard.get() + y * info.stride;
-        std::copy(begin, begin + info.width * PremultipliedImage::channels,
-                  pixels.get() + y * info.width * PremultipliedImage::channels);
+    // Copy the Android Bitmap into the PremultipliedImage, straight from the locked pixels.
+    const uint32_t rowBytes = info.width * PremultipliedImage::channels;
+    auto pixels = std::make_unique<uint8_t[]>(rowBytes * info.height);
+    if (info.stride == rowBytes) {
+        std::copy(guard.get(), guard.get() + rowBytes * info.height, pixels.get());
+    } else {
+        for (uint32_t y = 0; y < info.height; y++) {
+            auto begin = guard.get() + y * info.stride;
+            std::copy(begin, begin + rowBytes, pixels.get() + y * rowBytes);
+        }
     }
 
     return { Size{ info.width, info.height }, std::move(pixels) };
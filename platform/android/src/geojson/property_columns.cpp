@@ -0,0 +1,115 @@
+#include "property_columns.hpp"
+
+#include <algorithm>
+#include <string>
+#include <vector>
+
+namespace mbgl {
+namespace android {
+namespace geojson {
+
+// Keep in sync with PropertyColumns.java
+enum class ColumnType : jni::jbyte {
+    Number = 0,
+    Boolean = 1,
+    String = 2
+};
+
+template <class T>
+static std::vector<T> readArray(jni::JNIEnv& env, jni::Array<T> jArray) {
+    std::vector<T> values;
+    if (jArray) {
+        std::size_t size = jArray.Length(env);
+        values.resize(size);
+        if (size > 0) {
+            jni::GetArrayRegion(env, *jArray, 0, size, values.data());
+        }
+    }
+    jni::DeleteLocalRef(env, jArray);
+    return values;
+}
+
+static std::vector<std::string> readStrings(jni::JNIEnv& env, jni::Array<jni::String> jArray) {
+    std::vector<std::string> values;
+    if (jArray) {
+        std::size_t size = jArray.Length(env);
+        values.reserve(size);
+        for (std::size_t i = 0; i < size; i++) {
+            auto jString = jArray.Get(env, i);
+            values.push_back(jni::Make<std::string>(env, jString));
+            jni::DeleteLocalRef(env, jString);
+        }
+    }
+    jni::DeleteLocalRef(env, jArray);
+    return values;
+}
+
+void PropertyColumns::apply(jni::JNIEnv& env, jni::Object<PropertyColumns> jColumns, mbgl::FeatureCollection& features) {
+    if (!jColumns) {
+        return;
+    }
+
+    static auto rowCountField = PropertyColumns::javaClass.GetField<jni::jint>(env, "rowCount");
+    static auto namesField = PropertyColumns::javaClass.GetField<jni::Array<jni::String>>(env, "names");
+    static auto typesField = PropertyColumns::javaClass.GetField<jni::Array<jni::jbyte>>(env, "types");
+    static auto numbersField = PropertyColumns::javaClass.GetField<jni::Array<jni::jdouble>>(env, "numbers");
+    static auto booleansField = PropertyColumns::javaClass.GetField<jni::Array<jni::jbyte>>(env, "booleans");
+    static auto stringsField = PropertyColumns::javaClass.GetField<jni::Array<jni::jint>>(env, "strings");
+    static auto dictionaryField = PropertyColumns::javaClass.GetField<jni::Array<jni::String>>(env, "dictionary");
+
+    // One bulk copy per array, independent of the amount of features
+    const std::size_t rowCount = jColumns.Get(env, rowCountField);
+    const auto names = readStrings(env, jColumns.Get(env, namesField));
+    const auto types = readArray<jni::jbyte>(env, jColumns.Get(env, typesField));
+    const auto numbers = readArray<jni::jdouble>(env, jColumns.Get(env, numbersField));
+    const auto booleans = readArray<jni::jbyte>(env, jColumns.Get(env, booleansField));
+    const auto strings = readArray<jni::jint>(env, jColumns.Get(env, stringsField));
+    const auto dictionary = readStrings(env, jColumns.Get(env, dictionaryField));
+
+    const std::size_t rows = std::min(rowCount, features.size());
+    std::size_t numberColumn = 0;
+    std::size_t booleanColumn = 0;
+    std::size_t stringColumn = 0;
+
+    for (std::size_t column = 0; column < names.size() && column < types.size(); column++) {
+        const std::string& name = names[column];
+        switch (static_cast<ColumnType>(types[column])) {
+            case ColumnType::Number: {
+                const jni::jdouble* values = numbers.data() + numberColumn++ * rowCount;
+                for (std::size_t row = 0; row < rows; row++) {
+                    if (values[row] == values[row]) { // skip NaN, it marks an absent value
+                        features[row].properties[name] = static_cast<double>(values[row]);
+                    }
+                }
+                break;
+            }
+            case ColumnType::Boolean: {
+                const jni::jbyte* values = booleans.data() + booleanColumn++ * rowCount;
+                for (std::size_t row = 0; row < rows; row++) {
+                    features[row].properties[name] = values[row] != 0;
+                }
+                break;
+            }
+            case ColumnType::String: {
+                const jni::jint* values = strings.data() + stringColumn++ * rowCount;
+                for (std::size_t row = 0; row < rows; row++) {
+                    if (values[row] >= 0 && std::size_t(values[row]) < dictionary.size()) {
+                        features[row].properties[name] = dictionary[values[row]];
+                    }
+                }
+                break;
+            }
+        }
+    }
+}
+
+void PropertyColumns::registerNative(jni::JNIEnv& env) {
+    // Lookup the class
+    javaClass = *jni::Class<PropertyColumns>::Find(env).NewGlobalRef(env).release();
+}
+
+jni::Class<PropertyColumns> PropertyColumns::javaClass;
+
+} // namespace geojson
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,30 @@
+#pragma once
+
+#include <mbgl/util/geojson.hpp>
+#include <mbgl/util/noncopyable.hpp>
+
+#include <jni/jni.hpp>
+
+namespace mbgl {
+namespace android {
+namespace geojson {
+
+/**
+ * Columnar feature properties, see PropertyColumns.java. All values are read
+ * with bulk array copies instead of walking a JsonObject per feature.
+ */
+class PropertyColumns : private mbgl::util::noncopyable {
+public:
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/style/sources/PropertyColumns"; };
+
+    // Merges row i of the columns into the properties of feature i
+    static void apply(jni::JNIEnv&, jni::Object<PropertyColumns>, mbgl::FeatureCollection&);
+
+    static jni::Class<PropertyColumns> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+};
+
+} // namespace geojson
+} // namespace android
+} // namespace mbgl
@@ -21,6 +21,7 @@
 #include "geojson/multi_polygon.hpp"
 #include "geojson/point.hpp"
 #include "geojson/polygon.hpp"
+#include "geojson/property_columns.hpp"
 #include "geometry/lat_lng.hpp"
 #include "geometry/lat_lng_bounds.hpp"
 #include "geometry/lat_lng_quad.hpp"
@@ -130,6 +131,7 @@ void registerNatives(JavaVM *vm) {
     geojson::MultiPolygon::registerNative(env);
     geojson::Point::registerNative(env);
     geojson::Polygon::registerNative(env);
+    geojson::PropertyColumns::registerNative(env);
 
     // Geometry
     LatLng::registerNative(env);
@@ -497,6 +497,53 @@ jni::Object<LatLng> NativeMapView::latLngForPixel(JNIEnv& env, jfloat x, jfloat
     return LatLng::New(env, map->latLngForPixel(mbgl::ScreenCoordinate(x, y)));
 }
 
+void NativeMapView::pixelsForLatLngs(JNIEnv& env, jni::Array<jdouble> jLonLat, jni::Array<jfloat> jPixels,
+                                     jfloat pixelRatio) {
+    NullCheck(env, &jLonLat);
+    NullCheck(env, &jPixels);
+    std::size_t count = jLonLat.Length(env) / 2;
+    std::vector<jdouble> lonLat(count * 2);
+    jni::GetArrayRegion(env, *jLonLat, 0, lonLat.size(), lonLat.data());
+
+    std::vector<mbgl::LatLng> latLngs;
+    latLngs.reserve(count);
+    for (std::size_t i = 0; i < count; i++) {
+        latLngs.emplace_back(lonLat[i * 2 + 1], lonLat[i * 2]);
+    }
+
+    std::vector<mbgl::ScreenCoordinate> pixels = map->pixelsForLatLngs(latLngs);
+    std::vector<jfloat> buffer(count * 2);
+    for (std::size_t i = 0; i < count; i++) {
+        buffer[i * 2] = static_cast<jfloat>(pixels[i].x * pixelRatio);
+        buffer[i * 2 + 1] = static_cast<jfloat>(pixels[i].y * pixelRatio);
+    }
+    jni::SetArrayRegion(env, *jPixels, 0, buffer.size(), buffer.data());
+}
+
+void NativeMapView::latLngsForPixels(JNIEnv& env, jni::Array<jfloat> jPixels, jni::Array<jdouble> jLonLat,
+                                     jfloat pixelRatio) {
+    NullCheck(env, &jPixels);
+    NullCheck(env, &jLonLat);
+    std::size_t count = jPixels.Length(env) / 2;
+    std::vector<jfloat> buffer(count * 2);
+    jni::GetArrayRegion(env, *jPixels, 0, buffer.size(), buffer.data());
+
+    std::vector<mbgl::ScreenCoordinate> pixels;
+    pixels.reserve(count);
+    for (std::size_t i = 0; i < count; i++) {
+        pixels.emplace_back(buffer[i * 2] / pixelRatio, buffer[i * 2 + 1] / pixelRatio);
+    }
+
+    std::vector<mbgl::LatLng> latLngs = map->latLngsForPixels(pixels);
+    std::vector<jdouble> lonLat(count * 2);
+    for (std::size_t i = 0; i < count; i++) {
+        mbgl::LatLng latLng = latLngs[i].wrapped();
+        lonLat[i * 2] = latLng.longitude();
+        lonLat[i * 2 + 1] = latLng.latitude();
+    }
+    jni::SetArrayRegion(env, *jLonLat, 0, lonLat.size(), lonLat.data());
+}
+
 jni::Array<jlong> NativeMapView::addPolylines(JNIEnv& env, jni::Array<jni::Object<Polyline>> polylines) {
     NullCheck(env, &polylines);
     std::size_t len = polylines.Length(env);
@@ -554,6 +601,73 @@ void NativeMapView::updatePolygon(JNIEnv& env, jlong polygonId, jni::Object<Poly
     map->updateAnnotation(polygonId, annotation);
 }
 
+void NativeMapView::appendPolylinePoints(JNIEnv& env, jlong polylineId, jni::Array<jdouble> jLonLat) {
+    NullCheck(env, &jLonLat);
+    std::size_t size = jLonLat.Length(env);
+    std::vector<jdouble> lonLat(size);
+    jni::GetArrayRegion(env, *jLonLat, 0, size, lonLat.data());
+
+    mbgl::LineString<double> points;
+    points.reserve(size / 2);
+    for (std::size_t i = 0; i + 1 < size; i += 2) {
+        points.emplace_back(lonLat[i], lonLat[i + 1]);
+    }
+    map->appendAnnotationPoints(polylineId, points);
+}
+
+void NativeMapView::updateAnnotations(JNIEnv& env,
+                                      jni::Array<jlong> jMarkerIds, jni::Array<jdouble> jMarkerPositions,
+                                      jni::Array<jni::String> jMarkerIcons,
+                                      jni::Array<jlong> jPolylineIds, jni::Array<jni::Object<Polyline>> jPolylines,
+                                      jni::Array<jlong> jPolygonIds, jni::Array<jni::Object<Polygon>> jPolygons) {
+    NullCheck(env, &jMarkerIds);
+    NullCheck(env, &jMarkerPositions);
+    NullCheck(env, &jMarkerIcons);
+    NullCheck(env, &jPolylineIds);
+    NullCheck(env, &jPolylines);
+    NullCheck(env, &jPolygonIds);
+    NullCheck(env, &jPolygons);
+
+    std::size_t markerCount = jMarkerIds.Length(env);
+    std::size_t polylineCount = jPolylineIds.Length(env);
+    std::size_t polygonCount = jPolygonIds.Length(env);
+
+    std::vector<jlong> markerIds(markerCount);
+    std::vector<jdouble> markerPositions(markerCount * 2);
+    std::vector<jlong> polylineIds(polylineCount);
+    std::vector<jlong> polygonIds(polygonCount);
+    jni::GetArrayRegion(env, *jMarkerIds, 0, markerCount, markerIds.data());
+    jni::GetArrayRegion(env, *jMarkerPositions, 0, markerCount * 2, markerPositions.data());
+    jni::GetArrayRegion(env, *jPolylineIds, 0, polylineCount, polylineIds.data());
+    jni::GetArrayRegion(env, *jPolygonIds, 0, polygonCount, polygonIds.data());
+
+    std::vector<std::pair<mbgl::AnnotationID, mbgl::Annotation>> annotations;
+    annotations.reserve(markerCount + polylineCount + polygonCount);
+
+    for (std::size_t i = 0; i < markerCount; i++) {
+        jni::String jIconId = jMarkerIcons.Get(env, i);
+        annotations.emplace_back(markerIds[i], mbgl::SymbolAnnotation {
+            mbgl::Point<double>(markerPositions[i * 2 + 1], markerPositions[i * 2]),
+            jni::Make<std::string>(env, jIconId)
+        });
+        jni::DeleteLocalRef(env, jIconId);
+    }
+
+    for (std::size_t i = 0; i < polylineCount; i++) {
+        jni::Object<Polyline> polyline = jPolylines.Get(env, i);
+        annotations.emplace_back(polylineIds[i], Polyline::toAnnotation(env, polyline));
+        jni::DeleteLocalRef(env, polyline);
+    }
+
+    for (std::size_t i = 0; i < polygonCount; i++) {
+        jni::Object<Polygon> polygon = jPolygons.Get(env, i);
+        annotations.emplace_back(polygonIds[i], Polygon::toAnnotation(env, polygon));
+        jni::DeleteLocalRef(env, polygon);
+    }
+
+    map->updateAnnotations(annotations);
+}
+
 void NativeMapView::removeAnnotations(JNIEnv& env, jni::Array<jlong> ids) {
     NullCheck(env, &ids);
     std::size_t len = ids.Length(env);
@@ -568,18 +682,12 @@ void NativeMapView::removeAnnotations(JNIEnv& env, jni::Array<jlong> ids) {
     }
 }
 
-void NativeMapView::addAnnotationIcon(JNIEnv& env, jni::String symbol, jint w, jint h, jfloat scale, jni::Array<jbyte> jpixels) {
+void NativeMapView::addAnnotationIcon(JNIEnv& env, jni::String symbol, jni::Object<Bitmap> jBitmap, jfloat scale) {
     const std::string symbolName = jni::Make<std::string>(env, symbol);
 
-    NullCheck(env, &jpixels);
-    std::size_t size = jpixels.Length(env);
-
-    mbgl::PremultipliedImage premultipliedImage({ static_cast<uint32_t>(w), static_cast<uint32_t>(h) });
-    if (premultipliedImage.bytes() != uint32_t(size)) {
-        throw mbgl::util::SpriteImageException("Sprite image pixel count mismatch");
-    }
-
-    jni::GetArrayRegion(env, *jpixels, 0, size, reinterpret_cast<jbyte*>(premultipliedImage.data.get()));
+    // The pixels are copied once, straight from the locked bitmap
+    NullCheck(env, &jBitmap);
+    mbgl::PremultipliedImage premultipliedImage = Bitmap::GetImage(env, jBitmap);
     map->addAnnotationImage(std::make_unique<mbgl::style::Image>(
         symbolName, std::move(premultipliedImage), float(scale)));
 }
@@ -1000,10 +1108,14 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
             METHOD(&NativeMapView::pixelForLatLng, "nativePixelForLatLng"),
             METHOD(&NativeMapView::latLngForProjectedMeters, "nativeLatLngForProjectedMeters"),
             METHOD(&NativeMapView::latLngForPixel, "nativeLatLngForPixel"),
+            METHOD(&NativeMapView::pixelsForLatLngs, "nativePixelsForLatLngs"),
+            METHOD(&NativeMapView::latLngsForPixels, "nativeLatLngsForPixels"),
             METHOD(&NativeMapView::addPolylines, "nativeAddPolylines"),
             METHOD(&NativeMapView::addPolygons, "nativeAddPolygons"),
             METHOD(&NativeMapView::updatePolyline, "nativeUpdatePolyline"),
             METHOD(&NativeMapView::updatePolygon, "nativeUpdatePolygon"),
+            METHOD(&NativeMapView::appendPolylinePoints, "nativeAppendPolylinePoints"),
+            METHOD(&NativeMapView::updateAnnotations, "nativeUpdateAnnotations"),
             METHOD(&NativeMapView::removeAnnotations, "nativeRemoveAnnotations"),
             METHOD(&NativeMapView::addAnnotationIcon, "nativeAddAnnotationIcon"),
             METHOD(&NativeMapView::removeAnnotationIcon, "nativeRemoveAnnotationIcon"),
@@ -172,6 +172,10 @@ public:
 
     jni::Object<LatLng> latLngForPixel(JNIEnv&, jfloat, jfloat);
 
+    void pixelsForLatLngs(JNIEnv&, jni::Array<jdouble>, jni::Array<jfloat>, jfloat);
+
+    void latLngsForPixels(JNIEnv&, jni::Array<jfloat>, jni::Array<jdouble>, jfloat);
+
     jni::Array<jlong> addPolylines(JNIEnv&, jni::Array<jni::Object<Polyline>>);
 
     jni::Array<jlong> addPolygons(JNIEnv&, jni::Array<jni::Object<Polygon>>);
@@ -180,9 +184,16 @@ public:
 
     void updatePolygon(JNIEnv&, jlong, jni::Object<Polygon>);
 
+    void appendPolylinePoints(JNIEnv&, jlong, jni::Array<jdouble>);
+
+    void updateAnnotations(JNIEnv&,
+                           jni::Array<jlong>, jni::Array<jdouble>, jni::Array<jni::String>,
+                           jni::Array<jlong>, jni::Array<jni::Object<Polyline>>,
+                           jni::Array<jlong>, jni::Array<jni::Object<Polygon>>);
+
     void removeAnnotations(JNIEnv&, jni::Array<jlong>);
 
-    void addAnnotationIcon(JNIEnv&, jni::String, jint, jint, jfloat, jni::Array<jbyte>);
+    void addAnnotationIcon(JNIEnv&, jni::String, jni::Object<Bitmap>, jfloat);
 
     void removeAnnotationIcon(JNIEnv&, jni::String);
 
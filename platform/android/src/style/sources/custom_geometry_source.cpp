@@ -12,7 +12,10 @@
 #include "../../geojson/conversion/feature.hpp"
 #include <mbgl/style/conversion/custom_geometry_source_options.hpp>
 
+#include <memory>
 #include <string>
+#include <utility>
+#include <vector>
 
 namespace mbgl {
 namespace android {
@@ -54,7 +57,26 @@ namespace android {
         : Source(env, coreSource, createJavaPeer(env), frontend) {
     }
 
-    CustomGeometrySource::~CustomGeometrySource() = default;
+    CustomGeometrySource::~CustomGeometrySource() {
+        // Destroyed by the map it was added to, e.g. along with the map or its style
+        if (!ownedSource && javaPeer) {
+            android::UniqueEnv _env = android::AttachEnv();
+            static auto releaseExecutor = javaClass.GetMethod<void ()>(*_env, "releaseExecutor");
+            auto peer = jni::Cast(*_env, *javaPeer, javaClass);
+            peer.Call(*_env, releaseExecutor);
+        }
+    }
+
+    void CustomGeometrySource::removeFromMap(JNIEnv& env, jni::Object<Source> obj, mbgl::Map& map) {
+        Source::removeFromMap(env, obj, map);
+
+        // Owned again if the removal succeeded, no more tiles will be requested
+        if (ownedSource) {
+            static auto releaseExecutor = javaClass.GetMethod<void ()>(env, "releaseExecutor");
+            auto peer = jni::Cast(env, obj, javaClass);
+            peer.Call(env, releaseExecutor);
+        }
+    }
 
     void CustomGeometrySource::fetchTile (const mbgl::CanonicalTileID& tileID) {
         android::UniqueEnv _env = android::AttachEnv();
@@ -92,6 +114,63 @@ namespace android {
         source.as<mbgl::style::CustomGeometrySource>()->CustomGeometrySource::setTileData(CanonicalTileID(z, x, y), GeoJSON(geometry));
     }
 
+    void CustomGeometrySource::setTileDataWithColumns(jni::JNIEnv& env,
+                                                      jni::jint z,
+                                                      jni::jint x,
+                                                      jni::jint y,
+                                                      jni::Object<geojson::FeatureCollection> jFeatures,
+                                                      jni::Object<geojson::PropertyColumns> jColumns) {
+        using namespace mbgl::android::geojson;
+
+        // Convert the jni object, properties are read in bulk from the columns
+        auto geometry = geojson::FeatureCollection::convert(env, jFeatures);
+        PropertyColumns::apply(env, jColumns, geometry);
+
+        // Update the core source
+        source.as<mbgl::style::CustomGeometrySource>()->CustomGeometrySource::setTileData(CanonicalTileID(z, x, y), GeoJSON(geometry));
+    }
+
+    void CustomGeometrySource::setVectorTileData(jni::JNIEnv& env,
+                                                 jni::jint z,
+                                                 jni::jint x,
+                                                 jni::jint y,
+                                                 jni::Array<jni::jbyte> jData) {
+        // Copy the encoded tile as is, it's parsed by the core vector tile parser
+        auto data = std::make_shared<std::string>(jData.Length(env), char());
+        if (!data->empty()) {
+            jni::GetArrayRegion(env, *jData, 0, data->size(), reinterpret_cast<jbyte*>(&(*data)[0]));
+        }
+
+        // Update the core source
+        source.as<mbgl::style::CustomGeometrySource>()->CustomGeometrySource::setVectorTileData(CanonicalTileID(z, x, y), std::move(data));
+    }
+
+    void CustomGeometrySource::setTileDataBatch(jni::JNIEnv& env,
+                                                jni::Array<jni::jint> jTiles,
+                                                jni::Array<jni::Object<geojson::FeatureCollection>> jData) {
+        using namespace mbgl::android::geojson;
+
+        // z, x and y of every tile in one bulk copy
+        std::size_t count = jData.Length(env);
+        std::vector<jni::jint> tiles(count * 3);
+        if (count > 0) {
+            jni::GetArrayRegion(env, *jTiles, 0, tiles.size(), tiles.data());
+        }
+
+        // Convert all tiles before handing them to the core source at once
+        std::vector<std::pair<CanonicalTileID, GeoJSON>> data;
+        data.reserve(count);
+        for (std::size_t i = 0; i < count; i++) {
+            auto jFeatures = jData.Get(env, i);
+            data.emplace_back(CanonicalTileID(tiles[i * 3], tiles[i * 3 + 1], tiles[i * 3 + 2]),
+                              GeoJSON(geojson::FeatureCollection::convert(env, jFeatures)));
+            jni::DeleteLocalRef(env, jFeatures);
+        }
+
+        // Update the core source
+        source.as<mbgl::style::CustomGeometrySource>()->CustomGeometrySource::setTileData(std::move(data));
+    }
+
     void CustomGeometrySource::invalidateTile(jni::JNIEnv&, jni::jint z, jni::jint x, jni::jint y) {
         source.as<mbgl::style::CustomGeometrySource>()->CustomGeometrySource::invalidateTile(CanonicalTileID(z, x, y));
     }
@@ -113,6 +192,13 @@ namespace android {
         return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, features);
     }
 
+    void CustomGeometrySource::querySourceFeaturesPaged(jni::JNIEnv& env, jni::Array<jni::Object<>> jfilter,
+                                                        jni::Array<jni::String> jproperties,
+                                                        jni::Object<FeaturePager> pager) {
+        using namespace mbgl::android::conversion;
+        queryFeaturesPaged(env, { {},  toFilter(env, jfilter) }, jproperties, pager);
+    }
+
     jni::Class<CustomGeometrySource> CustomGeometrySource::javaClass;
 
     jni::Object<Source> CustomGeometrySource::createJavaPeer(jni::JNIEnv& env) {
@@ -133,7 +219,11 @@ namespace android {
             "initialize",
             "finalize",
             METHOD(&CustomGeometrySource::querySourceFeatures, "querySourceFeatures"),
+            METHOD(&CustomGeometrySource::querySourceFeaturesPaged, "nativeQuerySourceFeaturesPaged"),
             METHOD(&CustomGeometrySource::setTileData, "nativeSetTileData"),
+            METHOD(&CustomGeometrySource::setTileDataWithColumns, "nativeSetTileDataWithColumns"),
+            METHOD(&CustomGeometrySource::setTileDataBatch, "nativeSetTileDataBatch"),
+            METHOD(&CustomGeometrySource::setVectorTileData, "nativeSetVectorTileData"),
             METHOD(&CustomGeometrySource::invalidateTile, "nativeInvalidateTile"),
             METHOD(&CustomGeometrySource::invalidateBounds, "nativeInvalidateBounds")
         );
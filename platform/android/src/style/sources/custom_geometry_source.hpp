@@ -7,6 +7,7 @@
 #include "../../geojson/geometry.hpp"
 #include "../../geojson/feature.hpp"
 #include "../../geojson/feature_collection.hpp"
+#include "../../geojson/property_columns.hpp"
 #include "../../geometry/lat_lng_bounds.hpp"
 #include <jni/jni.hpp>
 
@@ -28,9 +29,17 @@ public:
 
     ~CustomGeometrySource();
 
+    void removeFromMap(JNIEnv&, jni::Object<Source>, mbgl::Map&) override;
+
     void fetchTile(const mbgl::CanonicalTileID& tileID);
     void cancelTile(const mbgl::CanonicalTileID& tileID);
     void setTileData(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y, jni::Object<geojson::FeatureCollection> jf);
+    void setTileDataWithColumns(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y,
+                                jni::Object<geojson::FeatureCollection> jf, jni::Object<geojson::PropertyColumns> jc);
+    void setVectorTileData(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y, jni::Array<jni::jbyte> jData);
+
+    void setTileDataBatch(jni::JNIEnv& env, jni::Array<jni::jint> jTiles,
+                          jni::Array<jni::Object<geojson::FeatureCollection>> jData);
 
     void invalidateTile(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y);
     void invalidateBounds(jni::JNIEnv& env, jni::Object<LatLngBounds> bounds);
@@ -38,6 +47,9 @@ public:
     jni::Array<jni::Object<geojson::Feature>> querySourceFeatures(jni::JNIEnv&,
                                                                   jni::Array<jni::Object<>> );
 
+    void querySourceFeaturesPaged(jni::JNIEnv&, jni::Array<jni::Object<>> jfilter, jni::Array<jni::String> properties,
+                                  jni::Object<FeaturePager>);
+
 private:
     jni::Object<Source> createJavaPeer(jni::JNIEnv&);
 
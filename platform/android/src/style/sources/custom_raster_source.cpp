@@ -0,0 +1,122 @@
+#include "custom_raster_source.hpp"
+
+#include <memory>
+#include <string>
+
+namespace mbgl {
+namespace android {
+
+    static style::CustomRasterSource::Options convertCustomRasterSourceOptions(jni::jint minZoom,
+                                                                               jni::jint maxZoom,
+                                                                               jni::jint tileSize,
+                                                                               style::TileFunction fetchFn,
+                                                                               style::TileFunction cancelFn) {
+        style::CustomRasterSource::Options options;
+        options.fetchTileFunction = fetchFn;
+        options.cancelTileFunction = cancelFn;
+        options.zoomRange = { static_cast<uint8_t>(minZoom), static_cast<uint8_t>(maxZoom) };
+        options.tileSize = static_cast<uint16_t>(tileSize);
+        return options;
+    }
+
+    CustomRasterSource::CustomRasterSource(jni::JNIEnv& env,
+                                           jni::String sourceId,
+                                           jni::jint minZoom,
+                                           jni::jint maxZoom,
+                                           jni::jint tileSize)
+        : Source(env, std::make_unique<mbgl::style::CustomRasterSource>(
+                         jni::Make<std::string>(env, sourceId),
+                         convertCustomRasterSourceOptions(minZoom, maxZoom, tileSize,
+                                 std::bind(&CustomRasterSource::fetchTile, this, std::placeholders::_1),
+                                 std::bind(&CustomRasterSource::cancelTile, this, std::placeholders::_1)))) {
+    }
+
+    CustomRasterSource::~CustomRasterSource() {
+        // Destroyed by the map it was added to, e.g. along with the map or its style
+        if (!ownedSource && javaPeer) {
+            android::UniqueEnv _env = android::AttachEnv();
+            static auto releaseExecutor = javaClass.GetMethod<void ()>(*_env, "releaseExecutor");
+            auto peer = jni::Cast(*_env, *javaPeer, javaClass);
+            peer.Call(*_env, releaseExecutor);
+        }
+    }
+
+    void CustomRasterSource::removeFromMap(JNIEnv& env, jni::Object<Source> obj, mbgl::Map& map) {
+        Source::removeFromMap(env, obj, map);
+
+        // Owned again if the removal succeeded, no more tiles will be requested
+        if (ownedSource) {
+            static auto releaseExecutor = javaClass.GetMethod<void ()>(env, "releaseExecutor");
+            auto peer = jni::Cast(env, obj, javaClass);
+            peer.Call(env, releaseExecutor);
+        }
+    }
+
+    void CustomRasterSource::fetchTile(const mbgl::CanonicalTileID& tileID) {
+        android::UniqueEnv _env = android::AttachEnv();
+
+        static auto fetchTile = javaClass.GetMethod<void (jni::jint, jni::jint, jni::jint)>(*_env, "fetchTile");
+
+        assert(javaPeer);
+
+        auto peer = jni::Cast(*_env, *javaPeer, javaClass);
+        peer.Call(*_env, fetchTile, (int)tileID.z, (int)tileID.x, (int)tileID.y);
+    };
+
+    void CustomRasterSource::cancelTile(const mbgl::CanonicalTileID& tileID) {
+        android::UniqueEnv _env = android::AttachEnv();
+
+        static auto cancelTile = javaClass.GetMethod<void (jni::jint, jni::jint, jni::jint)>(*_env, "cancelTile");
+
+        assert(javaPeer);
+
+        auto peer = jni::Cast(*_env, *javaPeer, javaClass);
+        peer.Call(*_env, cancelTile, (int)tileID.z, (int)tileID.x, (int)tileID.y);
+    };
+
+    void CustomRasterSource::setTileImage(jni::JNIEnv& env,
+                                          jni::jint z,
+                                          jni::jint x,
+                                          jni::jint y,
+                                          jni::Object<Bitmap> jBitmap) {
+        // The pixels are copied on the calling worker thread, a missing bitmap leaves the tile empty
+        std::shared_ptr<PremultipliedImage> image;
+        if (jBitmap) {
+            image = std::make_shared<PremultipliedImage>(Bitmap::GetImage(env, jBitmap));
+        }
+
+        // Update the core source
+        source.as<mbgl::style::CustomRasterSource>()->CustomRasterSource::setTileData(CanonicalTileID(z, x, y), std::move(image));
+    }
+
+    void CustomRasterSource::invalidateTile(jni::JNIEnv&, jni::jint z, jni::jint x, jni::jint y) {
+        source.as<mbgl::style::CustomRasterSource>()->CustomRasterSource::invalidateTile(CanonicalTileID(z, x, y));
+    }
+
+    void CustomRasterSource::invalidateBounds(jni::JNIEnv& env, jni::Object<LatLngBounds> jBounds) {
+        auto bounds = LatLngBounds::getLatLngBounds(env, jBounds);
+        source.as<mbgl::style::CustomRasterSource>()->CustomRasterSource::invalidateRegion(bounds);
+    }
+
+    jni::Class<CustomRasterSource> CustomRasterSource::javaClass;
+
+    void CustomRasterSource::registerNative(jni::JNIEnv& env) {
+        // Lookup the class
+        CustomRasterSource::javaClass = *jni::Class<CustomRasterSource>::Find(env).NewGlobalRef(env).release();
+
+        #define METHOD(MethodPtr, name) jni::MakeNativePeerMethod<decltype(MethodPtr), (MethodPtr)>(name)
+
+        // Register the peer
+        jni::RegisterNativePeer<CustomRasterSource>(
+            env, CustomRasterSource::javaClass, "nativePtr",
+            std::make_unique<CustomRasterSource, JNIEnv&, jni::String, jni::jint, jni::jint, jni::jint>,
+            "initialize",
+            "finalize",
+            METHOD(&CustomRasterSource::setTileImage, "nativeSetTileImage"),
+            METHOD(&CustomRasterSource::invalidateTile, "nativeInvalidateTile"),
+            METHOD(&CustomRasterSource::invalidateBounds, "nativeInvalidateBounds")
+        );
+    }
+
+} // namespace android
+} // namespace mbgl
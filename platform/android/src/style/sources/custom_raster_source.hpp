@@ -0,0 +1,38 @@
+#pragma once
+
+#include "source.hpp"
+#include <mbgl/style/sources/custom_raster_source.hpp>
+#include <mbgl/tile/tile_id.hpp>
+#include "../../bitmap.hpp"
+#include "../../geometry/lat_lng_bounds.hpp"
+#include <jni/jni.hpp>
+
+namespace mbgl {
+namespace android {
+
+class CustomRasterSource : public Source {
+public:
+
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/style/sources/CustomRasterSource"; };
+
+    static jni::Class<CustomRasterSource> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+
+    CustomRasterSource(jni::JNIEnv&, jni::String, jni::jint minZoom, jni::jint maxZoom, jni::jint tileSize);
+
+    ~CustomRasterSource();
+
+    void removeFromMap(JNIEnv&, jni::Object<Source>, mbgl::Map&) override;
+
+    void fetchTile(const mbgl::CanonicalTileID& tileID);
+    void cancelTile(const mbgl::CanonicalTileID& tileID);
+    void setTileImage(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y, jni::Object<Bitmap> bitmap);
+
+    void invalidateTile(jni::JNIEnv& env, jni::jint z, jni::jint x, jni::jint y);
+    void invalidateBounds(jni::JNIEnv& env, jni::Object<LatLngBounds> bounds);
+
+}; // class CustomRasterSource
+
+} // namespace android
+} // namespace mbgl
@@ -0,0 +1,25 @@
+#include "feature_pager.hpp"
+
+namespace mbgl {
+namespace android {
+
+jni::jint FeaturePager::begin(jni::JNIEnv& env, jni::Object<FeaturePager> pager, jni::jint featureCount) {
+    static auto method = FeaturePager::javaClass.GetMethod<jni::jint (jni::jint)>(env, "begin");
+    return pager.Call(env, method, featureCount);
+}
+
+jni::jint FeaturePager::onPage(jni::JNIEnv& env, jni::Object<FeaturePager> pager,
+                               jni::Array<jni::Object<geojson::Feature>> features) {
+    static auto method = FeaturePager::javaClass.GetMethod<jni::jint (jni::Array<jni::Object<geojson::Feature>>)>(env, "onPage");
+    return pager.Call(env, method, features);
+}
+
+jni::Class<FeaturePager> FeaturePager::javaClass;
+
+void FeaturePager::registerNative(jni::JNIEnv& env) {
+    // Lookup the class
+    FeaturePager::javaClass = *jni::Class<FeaturePager>::Find(env).NewGlobalRef(env).release();
+}
+
+} // namespace android
+} // namespace mbgl
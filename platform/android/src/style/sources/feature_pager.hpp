@@ -0,0 +1,31 @@
+#pragma once
+
+#include <mbgl/util/noncopyable.hpp>
+
+#include "../../geojson/feature.hpp"
+
+#include <jni/jni.hpp>
+
+namespace mbgl {
+namespace android {
+
+/**
+ * Decides the pages a source query result is delivered in, see FeaturePager.java.
+ */
+class FeaturePager : private mbgl::util::noncopyable {
+public:
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/style/sources/FeaturePager"; };
+
+    // Returns the size of the first page, 0 if nothing is to be delivered
+    static jni::jint begin(jni::JNIEnv&, jni::Object<FeaturePager>, jni::jint featureCount);
+
+    // Returns the size of the next page, 0 to stop
+    static jni::jint onPage(jni::JNIEnv&, jni::Object<FeaturePager>, jni::Array<jni::Object<geojson::Feature>>);
+
+    static jni::Class<FeaturePager> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+};
+
+} // namespace android
+} // namespace mbgl
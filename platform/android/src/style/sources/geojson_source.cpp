@@ -23,7 +23,7 @@ namespace android {
     // This conversion is expected not to fail because it's used only in contexts where
     // the value was originally a GeoJsonOptions object on the Java side. If it fails
     // to convert, it's a bug in our serialization or Java-side static typing.
-    static style::GeoJSONOptions convertGeoJSONOptions(jni::JNIEnv& env, jni::Object<> options) {
+    style::GeoJSONOptions convertGeoJSONOptions(jni::JNIEnv& env, jni::Object<> options) {
         using namespace mbgl::style::conversion;
         if (!options) {
             return style::GeoJSONOptions();
@@ -76,6 +76,24 @@ namespace android {
         source.as<mbgl::style::GeoJSONSource>()->GeoJSONSource::setGeoJSON(GeoJSON(features));
     }
 
+    void GeoJSONSource::setFeatureCollectionWithColumns(jni::JNIEnv& env,
+                                                        jni::Object<geojson::FeatureCollection> jFeatures,
+                                                        jni::Object<geojson::PropertyColumns> jColumns) {
+        using namespace mbgl::android::geojson;
+
+        // Convert the jni object, properties are read in bulk from the columns
+        auto features = FeatureCollection::convert(env, jFeatures);
+        PropertyColumns::apply(env, jColumns, features);
+
+        // Update the core source
+        source.as<mbgl::style::GeoJSONSource>()->GeoJSONSource::setGeoJSON(GeoJSON(features));
+    }
+
+    void GeoJSONSource::setGeoJSONData(jni::JNIEnv& env, jni::Object<GeoJSONSourceData> jData) {
+        // Update the core source, the data is shared and not copied
+        source.as<mbgl::style::GeoJSONSource>()->GeoJSONSource::setGeoJSONData(GeoJSONSourceData::getData(env, jData));
+    }
+
     void GeoJSONSource::setFeature(jni::JNIEnv& env, jni::Object<geojson::Feature> jFeature) {
         using namespace mbgl::android::geojson;
 
@@ -118,6 +136,13 @@ namespace android {
         return *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, features);
     }
 
+    void GeoJSONSource::querySourceFeaturesPaged(jni::JNIEnv& env, jni::Array<jni::Object<>> jfilter,
+                                                 jni::Array<jni::String> jproperties,
+                                                 jni::Object<FeaturePager> pager) {
+        using namespace mbgl::android::conversion;
+        queryFeaturesPaged(env, { {},  toFilter(env, jfilter) }, jproperties, pager);
+    }
+
     jni::Class<GeoJSONSource> GeoJSONSource::javaClass;
 
     jni::Object<Source> GeoJSONSource::createJavaPeer(jni::JNIEnv& env) {
@@ -139,11 +164,14 @@ namespace android {
             "finalize",
             METHOD(&GeoJSONSource::setGeoJSONString, "nativeSetGeoJsonString"),
             METHOD(&GeoJSONSource::setFeatureCollection, "nativeSetFeatureCollection"),
+            METHOD(&GeoJSONSource::setFeatureCollectionWithColumns, "nativeSetFeatureCollectionWithColumns"),
+            METHOD(&GeoJSONSource::setGeoJSONData, "nativeSetGeoJsonData"),
             METHOD(&GeoJSONSource::setFeature, "nativeSetFeature"),
             METHOD(&GeoJSONSource::setGeometry, "nativeSetGeometry"),
             METHOD(&GeoJSONSource::setURL, "nativeSetUrl"),
             METHOD(&GeoJSONSource::getURL, "nativeGetUrl"),
-            METHOD(&GeoJSONSource::querySourceFeatures, "querySourceFeatures")
+            METHOD(&GeoJSONSource::querySourceFeatures, "querySourceFeatures"),
+            METHOD(&GeoJSONSource::querySourceFeaturesPaged, "nativeQuerySourceFeaturesPaged")
         );
     }
 
@@ -5,11 +5,15 @@
 #include "../../geojson/geometry.hpp"
 #include "../../geojson/feature.hpp"
 #include "../../geojson/feature_collection.hpp"
+#include "../../geojson/property_columns.hpp"
+#include "geojson_source_data.hpp"
 #include <jni/jni.hpp>
 
 namespace mbgl {
 namespace android {
 
+style::GeoJSONOptions convertGeoJSONOptions(jni::JNIEnv&, jni::Object<> options);
+
 class GeoJSONSource : public Source {
 public:
 
@@ -29,6 +33,11 @@ public:
 
     void setFeatureCollection(jni::JNIEnv&, jni::Object<geojson::FeatureCollection>);
 
+    void setFeatureCollectionWithColumns(jni::JNIEnv&, jni::Object<geojson::FeatureCollection>,
+                                         jni::Object<geojson::PropertyColumns>);
+
+    void setGeoJSONData(jni::JNIEnv&, jni::Object<GeoJSONSourceData>);
+
     void setFeature(jni::JNIEnv&, jni::Object<geojson::Feature>);
 
     void setGeometry(jni::JNIEnv&, jni::Object<geojson::Geometry>);
@@ -38,6 +47,9 @@ public:
     jni::Array<jni::Object<geojson::Feature>> querySourceFeatures(jni::JNIEnv&,
                                                                   jni::Array<jni::Object<>> jfilter);
 
+    void querySourceFeaturesPaged(jni::JNIEnv&, jni::Array<jni::Object<>> jfilter, jni::Array<jni::String> properties,
+                                  jni::Object<FeaturePager>);
+
     jni::String getURL(jni::JNIEnv&);
 
 private:
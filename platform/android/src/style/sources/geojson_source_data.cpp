@@ -0,0 +1,42 @@
+#include "geojson_source_data.hpp"
+#include "geojson_source.hpp"
+
+#include <cassert>
+
+namespace mbgl {
+namespace android {
+
+GeoJSONSourceData::GeoJSONSourceData(jni::JNIEnv& env,
+                                     jni::Object<geojson::FeatureCollection> jFeatures,
+                                     jni::Object<> options)
+    : data(style::GeoJSONSource::createData(GeoJSON(geojson::FeatureCollection::convert(env, jFeatures)),
+                                            convertGeoJSONOptions(env, options))) {
+}
+
+GeoJSONSourceData::~GeoJSONSourceData() = default;
+
+std::shared_ptr<style::GeoJSONData> GeoJSONSourceData::getData(jni::JNIEnv& env,
+                                                               jni::Object<GeoJSONSourceData> jData) {
+    static auto field = GeoJSONSourceData::javaClass.GetField<jlong>(env, "nativePtr");
+    GeoJSONSourceData* sourceData = reinterpret_cast<GeoJSONSourceData*>(jData.Get(env, field));
+    assert(sourceData != nullptr);
+    return sourceData->data;
+}
+
+jni::Class<GeoJSONSourceData> GeoJSONSourceData::javaClass;
+
+void GeoJSONSourceData::registerNative(jni::JNIEnv& env) {
+    // Lookup the class
+    GeoJSONSourceData::javaClass = *jni::Class<GeoJSONSourceData>::Find(env).NewGlobalRef(env).release();
+
+    // Register the peer
+    jni::RegisterNativePeer<GeoJSONSourceData>(
+        env, GeoJSONSourceData::javaClass, "nativePtr",
+        std::make_unique<GeoJSONSourceData, JNIEnv&, jni::Object<geojson::FeatureCollection>, jni::Object<>>,
+        "initialize",
+        "finalize"
+    );
+}
+
+} // namespace android
+} // namespace mbgl
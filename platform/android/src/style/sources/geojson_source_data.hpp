@@ -0,0 +1,38 @@
+#pragma once
+
+#include <mbgl/util/noncopyable.hpp>
+#include <mbgl/style/sources/geojson_source.hpp>
+
+#include "../../geojson/feature_collection.hpp"
+
+#include <jni/jni.hpp>
+
+#include <memory>
+
+namespace mbgl {
+namespace android {
+
+/**
+ * Peer of GeoJsonSourceData.java, holds a reference to tiled GeoJSON data that
+ * is shared by the core sources it is set on.
+ */
+class GeoJSONSourceData : private mbgl::util::noncopyable {
+public:
+    static constexpr auto Name() { return "com/mapbox/mapboxsdk/style/sources/GeoJsonSourceData"; };
+
+    static jni::Class<GeoJSONSourceData> javaClass;
+
+    static void registerNative(jni::JNIEnv&);
+
+    static std::shared_ptr<style::GeoJSONData> getData(jni::JNIEnv&, jni::Object<GeoJSONSourceData>);
+
+    GeoJSONSourceData(jni::JNIEnv&, jni::Object<geojson::FeatureCollection>, jni::Object<>);
+
+    ~GeoJSONSourceData();
+
+private:
+    std::shared_ptr<style::GeoJSONData> data;
+};
+
+} // namespace android
+} // namespace mbgl
@@ -12,8 +12,12 @@
 
 // C++ -> Java conversion
 #include "../conversion/property_value.hpp"
+#include "../../conversion/collection.hpp"
+#include "../../geojson/conversion/feature.hpp"
 
+#include <algorithm>
 #include <string>
+#include <unordered_set>
 
 // Core Sources
 #include <mbgl/style/sources/geojson_source.hpp>
@@ -28,6 +32,7 @@
 #include "unknown_source.hpp"
 #include "vector_source.hpp"
 #include "custom_geometry_source.hpp"
+#include "custom_raster_source.hpp"
 #include "raster_dem_source.hpp"
 
 namespace mbgl {
@@ -135,6 +140,52 @@ namespace android {
         rendererFrontend = nullptr;
     }
 
+    void Source::queryFeaturesPaged(jni::JNIEnv& env, const mbgl::SourceQueryOptions& options,
+                                    jni::Array<jni::String> jproperties, jni::Object<FeaturePager> pager) {
+        using namespace mbgl::android::conversion;
+        using namespace mbgl::android::geojson;
+
+        if (!rendererFrontend) {
+            return;
+        }
+
+        std::vector<mbgl::Feature> features = rendererFrontend->querySourceFeatures(source.getID(), options);
+
+        optional<std::unordered_set<std::string>> projection;
+        if (jproperties) {
+            std::vector<std::string> keys = toVector(env, jproperties);
+            projection = std::unordered_set<std::string>(keys.begin(), keys.end());
+        }
+
+        // Only one page of Java objects is alive at a time, the pager decides the page sizes
+        std::size_t offset = 0;
+        jni::jint size = FeaturePager::begin(env, pager, static_cast<jni::jint>(features.size()));
+        while (size > 0 && offset < features.size()) {
+            const std::size_t end = std::min(offset + static_cast<std::size_t>(size), features.size());
+            std::vector<mbgl::Feature> page;
+            page.reserve(end - offset);
+            for (std::size_t i = offset; i < end; i++) {
+                mbgl::Feature& feature = features[i];
+                if (projection) {
+                    mbgl::PropertyMap projected;
+                    for (const auto& key : *projection) {
+                        auto it = feature.properties.find(key);
+                        if (it != feature.properties.end()) {
+                            projected.emplace(key, std::move(it->second));
+                        }
+                    }
+                    feature.properties = std::move(projected);
+                }
+                page.push_back(std::move(feature));
+            }
+            offset = end;
+
+            auto jfeatures = *convert<jni::Array<jni::Object<Feature>>, std::vector<mbgl::Feature>>(env, page);
+            size = FeaturePager::onPage(env, pager, jfeatures);
+            jni::DeleteLocalRef(env, jfeatures);
+        }
+    }
+
     jni::Class<Source> Source::javaClass;
 
     void Source::registerNative(jni::JNIEnv& env) {
@@ -149,13 +200,17 @@ namespace android {
             METHOD(&Source::getAttribution, "nativeGetAttribution")
         );
 
+        FeaturePager::registerNative(env);
+
         // Register subclasses
         GeoJSONSource::registerNative(env);
+        GeoJSONSourceData::registerNative(env);
         ImageSource::registerNative(env);
         RasterSource::registerNative(env);
         UnknownSource::registerNative(env);
         VectorSource::registerNative(env);
         CustomGeometrySource::registerNative(env);
+        CustomRasterSource::registerNative(env);
         RasterDEMSource::registerNative(env);
     }
 
@@ -3,9 +3,11 @@
 #include <mbgl/util/noncopyable.hpp>
 #include <mbgl/map/map.hpp>
 #include <mbgl/style/source.hpp>
+#include <mbgl/renderer/query.hpp>
 
 #include "../value.hpp"
 #include "../../android_renderer_frontend.hpp"
+#include "feature_pager.hpp"
 
 #include <jni/jni.hpp>
 
@@ -37,13 +39,20 @@ public:
 
     void addToMap(JNIEnv&, jni::Object<Source>, mbgl::Map&, AndroidRendererFrontend&);
 
-    void removeFromMap(JNIEnv&, jni::Object<Source>, mbgl::Map&);
+    virtual void removeFromMap(JNIEnv&, jni::Object<Source>, mbgl::Map&);
 
     jni::String getId(jni::JNIEnv&);
 
     jni::String getAttribution(jni::JNIEnv&);
 
 protected:
+    /*
+     * Runs the query once and hands the result to the pager in the page sizes it asks for,
+     * keeping only the given properties (all if null).
+     */
+    void queryFeaturesPaged(jni::JNIEnv&, const mbgl::SourceQueryOptions&, jni::Array<jni::String> properties,
+                            jni::Object<FeaturePager>);
+
     // Set on newly created sources until added to the map.
     std::unique_ptr<mbgl::style::Source> ownedSource;
 
@@ -52,6 +52,30 @@ bool AnnotationManager::updateAnnotation(const AnnotationID& id, const Annotatio
     return dirty;
 }
 
+bool AnnotationManager::updateAnnotations(const std::vector<std::pair<AnnotationID, Annotation>>& annotations) {
+    std::lock_guard<std::mutex> lock(mutex);
+    for (const auto& annotation : annotations) {
+        Annotation::visit(annotation.second, [&] (const auto& annotation_) {
+            this->update(annotation.first, annotation_);
+        });
+    }
+    return dirty;
+}
+
+bool AnnotationManager::appendAnnotationPoints(const AnnotationID& id, const LineString<double>& points) {
+    std::lock_guard<std::mutex> lock(mutex);
+    auto it = shapeAnnotations.find(id);
+    if (it == shapeAnnotations.end()) {
+        assert(false); // Attempt to append to a non-existent shape annotation
+        return dirty;
+    }
+
+    if (!points.empty() && it->second->appendPoints(points)) {
+        dirty = true;
+    }
+    return dirty;
+}
+
 void AnnotationManager::removeAnnotation(const AnnotationID& id) {
     std::lock_guard<std::mutex> lock(mutex);
     remove(id);
@@ -8,6 +8,7 @@
 #include <mutex>
 #include <string>
 #include <vector>
+#include <utility>
 #include <unordered_set>
 #include <unordered_map>
 
@@ -30,6 +31,8 @@ public:
 
     AnnotationID addAnnotation(const Annotation&);
     bool updateAnnotation(const AnnotationID&, const Annotation&);
+    bool updateAnnotations(const std::vector<std::pair<AnnotationID, Annotation>>&);
+    bool appendAnnotationPoints(const AnnotationID&, const LineString<double>&);
     void removeAnnotation(const AnnotationID&);
 
     void addImage(std::unique_ptr<style::Image>);
@@ -32,4 +32,30 @@ const ShapeAnnotationGeometry& LineAnnotationImpl::geometry() const {
     return annotation.geometry;
 }
 
+bool LineAnnotationImpl::appendPoints(const LineString<double>& points) {
+    if (!annotation.geometry.is<LineString<double>>()) {
+        return false;
+    }
+
+    auto& line = annotation.geometry.get<LineString<double>>();
+    line.insert(line.end(), points.begin(), points.end());
+    shapeTiler.reset();
+
+    if (line.size() - sealedPoints > SealedChunkSize) {
+        // Tile the tail once more and keep it, consecutive chunks share their last and first
+        // point so the line stays connected.
+        sealedTilers.push_back(makeTiler(tiledGeometry()));
+        sealedPoints = line.size() - 1;
+    }
+    return true;
+}
+
+ShapeAnnotationGeometry LineAnnotationImpl::tiledGeometry() const {
+    if (sealedPoints == 0) {
+        return annotation.geometry;
+    }
+    const auto& line = annotation.geometry.get<LineString<double>>();
+    return LineString<double>(line.begin() + sealedPoints, line.end());
+}
+
 } // namespace mbgl
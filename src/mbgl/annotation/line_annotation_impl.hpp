@@ -12,8 +12,18 @@ public:
     void updateStyle(style::Style::Impl&) const final;
     const ShapeAnnotationGeometry& geometry() const final;
 
+    bool appendPoints(const LineString<double>&) final;
+
+    // Amount of appended points after which the tail of a line is sealed into its own tiler.
+    static constexpr std::size_t SealedChunkSize = 512;
+
+protected:
+    ShapeAnnotationGeometry tiledGeometry() const final;
+
 private:
-    const LineAnnotation annotation;
+    LineAnnotation annotation;
+    // Index of the first point that is not part of a sealed tiler
+    std::size_t sealedPoints = 0;
 };
 
 } // namespace mbgl
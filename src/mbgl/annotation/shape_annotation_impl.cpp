@@ -18,25 +18,36 @@ ShapeAnnotationImpl::ShapeAnnotationImpl(const AnnotationID id_)
       layerID(AnnotationManager::ShapeLayerID + util::toString(id)) {
 }
 
-void ShapeAnnotationImpl::updateTileData(const CanonicalTileID& tileID, AnnotationTileData& data) {
+std::unique_ptr<geojsonvt::GeoJSONVT> ShapeAnnotationImpl::makeTiler(const ShapeAnnotationGeometry& geometry) {
     static const double baseTolerance = 4;
 
+    mapbox::geometry::feature_collection<double> features;
+    features.emplace_back(ShapeAnnotationGeometry::visit(geometry, [] (auto&& geom) {
+        return Feature { std::move(geom) };
+    }));
+    mapbox::geojsonvt::Options options;
+    // The annotation source is currently hard coded to maxzoom 16, so we're topping out at z16
+    // here as well.
+    options.maxZoom = 16;
+    options.buffer = 255u;
+    options.extent = util::EXTENT;
+    options.tolerance = baseTolerance;
+    return std::make_unique<mapbox::geojsonvt::GeoJSONVT>(features, options);
+}
+
+void ShapeAnnotationImpl::updateTileData(const CanonicalTileID& tileID, AnnotationTileData& data) {
     if (!shapeTiler) {
-        mapbox::geometry::feature_collection<double> features;
-        features.emplace_back(ShapeAnnotationGeometry::visit(geometry(), [] (auto&& geom) {
-            return Feature { std::move(geom) };
-        }));
-        mapbox::geojsonvt::Options options;
-        // The annotation source is currently hard coded to maxzoom 16, so we're topping out at z16
-        // here as well.
-        options.maxZoom = 16;
-        options.buffer = 255u;
-        options.extent = util::EXTENT;
-        options.tolerance = baseTolerance;
-        shapeTiler = std::make_unique<mapbox::geojsonvt::GeoJSONVT>(features, options);
+        shapeTiler = makeTiler(tiledGeometry());
     }
 
-    const auto& shapeTile = shapeTiler->getTile(tileID.z, tileID.x, tileID.y);
+    for (auto& sealedTiler : sealedTilers) {
+        addTileFeatures(*sealedTiler, tileID, data);
+    }
+    addTileFeatures(*shapeTiler, tileID, data);
+}
+
+void ShapeAnnotationImpl::addTileFeatures(geojsonvt::GeoJSONVT& tiler, const CanonicalTileID& tileID, AnnotationTileData& data) {
+    const auto& shapeTile = tiler.getTile(tileID.z, tileID.x, tileID.y);
     if (shapeTile.features.empty())
         return;
 
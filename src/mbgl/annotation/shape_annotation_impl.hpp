@@ -9,6 +9,7 @@
 
 #include <string>
 #include <memory>
+#include <vector>
 
 namespace mbgl {
 
@@ -23,11 +24,26 @@ public:
     virtual void updateStyle(style::Style::Impl&) const = 0;
     virtual const ShapeAnnotationGeometry& geometry() const = 0;
 
+    // Appends points to the end of a line, returns false if the annotation isn't a single line.
+    virtual bool appendPoints(const LineString<double>&) { return false; }
+
     void updateTileData(const CanonicalTileID&, AnnotationTileData&);
 
     const AnnotationID id;
     const std::string layerID;
     std::unique_ptr<mapbox::geojsonvt::GeoJSONVT> shapeTiler;
+
+protected:
+    // The part of the geometry that is tiled by shapeTiler. Parts that don't change anymore
+    // can be moved to sealedTilers, so they aren't tiled again when the annotation grows.
+    virtual ShapeAnnotationGeometry tiledGeometry() const { return geometry(); }
+
+    static std::unique_ptr<mapbox::geojsonvt::GeoJSONVT> makeTiler(const ShapeAnnotationGeometry&);
+
+    std::vector<std::unique_ptr<mapbox::geojsonvt::GeoJSONVT>> sealedTilers;
+
+private:
+    void addTileFeatures(mapbox::geojsonvt::GeoJSONVT&, const CanonicalTileID&, AnnotationTileData&);
 };
 
 struct CloseShapeAnnotation {
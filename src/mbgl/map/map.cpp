@@ -660,6 +660,27 @@ LatLng Map::latLngForPixel(const ScreenCoordinate& pixel) const {
     return impl->transform.screenCoordinateToLatLng(pixel);
 }
 
+std::vector<ScreenCoordinate> Map::pixelsForLatLngs(const std::vector<LatLng>& latLngs) const {
+    const LatLng center = getLatLng();
+    std::vector<ScreenCoordinate> pixels;
+    pixels.reserve(latLngs.size());
+    for (const auto& latLng : latLngs) {
+        LatLng unwrappedLatLng = latLng.wrapped();
+        unwrappedLatLng.unwrapForShortestPath(center);
+        pixels.emplace_back(impl->transform.latLngToScreenCoordinate(unwrappedLatLng));
+    }
+    return pixels;
+}
+
+std::vector<LatLng> Map::latLngsForPixels(const std::vector<ScreenCoordinate>& pixels) const {
+    std::vector<LatLng> latLngs;
+    latLngs.reserve(pixels.size());
+    for (const auto& pixel : pixels) {
+        latLngs.emplace_back(impl->transform.screenCoordinateToLatLng(pixel));
+    }
+    return latLngs;
+}
+
 #pragma mark - Annotations
 
 void Map::addAnnotationImage(std::unique_ptr<style::Image> image) {
@@ -686,6 +707,18 @@ void Map::updateAnnotation(AnnotationID id, const Annotation& annotation) {
     }
 }
 
+void Map::updateAnnotations(const std::vector<std::pair<AnnotationID, Annotation>>& annotations) {
+    if (impl->annotationManager.updateAnnotations(annotations)) {
+        impl->onUpdate();
+    }
+}
+
+void Map::appendAnnotationPoints(AnnotationID annotation, const LineString<double>& points) {
+    if (impl->annotationManager.appendAnnotationPoints(annotation, points)) {
+        impl->onUpdate();
+    }
+}
+
 void Map::removeAnnotation(AnnotationID annotation) {
     impl->annotationManager.removeAnnotation(annotation);
     impl->onUpdate();
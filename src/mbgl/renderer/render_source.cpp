@@ -8,6 +8,7 @@
 #include <mbgl/annotation/render_annotation_source.hpp>
 #include <mbgl/renderer/sources/render_image_source.hpp>
 #include <mbgl/renderer/sources/render_custom_geometry_source.hpp>
+#include <mbgl/renderer/sources/render_custom_raster_source.hpp>
 #include <mbgl/tile/tile.hpp>
 
 namespace mbgl {
@@ -33,6 +34,8 @@ std::unique_ptr<RenderSource> RenderSource::create(Immutable<Source::Impl> impl)
         return std::make_unique<RenderImageSource>(staticImmutableCast<ImageSource::Impl>(impl));
     case SourceType::CustomVector:
         return std::make_unique<RenderCustomGeometrySource>(staticImmutableCast<CustomGeometrySource::Impl>(impl));
+    case SourceType::CustomRaster:
+        return std::make_unique<RenderCustomRasterSource>(staticImmutableCast<CustomRasterSource::Impl>(impl));
     }
 
     // Not reachable, but placate GCC.
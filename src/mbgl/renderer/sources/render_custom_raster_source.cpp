@@ -0,0 +1,85 @@
+#include <mbgl/renderer/sources/render_custom_raster_source.hpp>
+#include <mbgl/renderer/render_tile.hpp>
+#include <mbgl/tile/custom_raster_tile.hpp>
+#include <mbgl/algorithm/update_tile_masks.hpp>
+
+namespace mbgl {
+
+using namespace style;
+
+RenderCustomRasterSource::RenderCustomRasterSource(Immutable<style::CustomRasterSource::Impl> impl_)
+    : RenderSource(impl_) {
+    tilePyramid.setObserver(this);
+}
+
+const style::CustomRasterSource::Impl& RenderCustomRasterSource::impl() const {
+    return static_cast<const style::CustomRasterSource::Impl&>(*baseImpl);
+}
+
+bool RenderCustomRasterSource::isLoaded() const {
+    return tilePyramid.isLoaded();
+}
+
+void RenderCustomRasterSource::update(Immutable<style::Source::Impl> baseImpl_,
+                                      const std::vector<Immutable<Layer::Impl>>& layers,
+                                      const bool needsRendering,
+                                      const bool needsRelayout,
+                                      const TileParameters& parameters) {
+    std::swap(baseImpl, baseImpl_);
+
+    enabled = needsRendering;
+
+    auto tileLoader = impl().getTileLoader();
+    if (!tileLoader) {
+        return;
+    }
+
+    // Covered like a regular raster source, parent and child tiles are shown while loading
+    tilePyramid.update(layers,
+                       needsRendering,
+                       needsRelayout,
+                       parameters,
+                       SourceType::Raster,
+                       impl().getTileSize(),
+                       impl().getZoomRange(),
+                       {},
+                       [&] (const OverscaledTileID& tileID) {
+                           return std::make_unique<CustomRasterTile>(tileID, *tileLoader);
+                       });
+}
+
+void RenderCustomRasterSource::startRender(PaintParameters& parameters) {
+    algorithm::updateTileMasks(tilePyramid.getRenderTiles());
+    tilePyramid.startRender(parameters);
+}
+
+void RenderCustomRasterSource::finishRender(PaintParameters& parameters) {
+    tilePyramid.finishRender(parameters);
+}
+
+std::vector<std::reference_wrapper<RenderTile>> RenderCustomRasterSource::getRenderTiles() {
+    return tilePyramid.getRenderTiles();
+}
+
+std::unordered_map<std::string, std::vector<Feature>>
+RenderCustomRasterSource::queryRenderedFeatures(const ScreenLineString&,
+                                                const TransformState&,
+                                                const std::vector<const RenderLayer*>&,
+                                                const RenderedQueryOptions&,
+                                                const mat4&) const {
+    return std::unordered_map<std::string, std::vector<Feature>> {};
+}
+
+std::vector<Feature> RenderCustomRasterSource::querySourceFeatures(const SourceQueryOptions&) const {
+    return {};
+}
+
+void RenderCustomRasterSource::reduceMemoryUse() {
+    tilePyramid.reduceMemoryUse();
+}
+
+void RenderCustomRasterSource::dumpDebugLogs() const {
+    tilePyramid.dumpDebugLogs();
+}
+
+} // namespace mbgl
@@ -0,0 +1,49 @@
+#pragma once
+
+#include <mbgl/style/sources/custom_geometry_source.hpp>
+#include <mbgl/tile/tile_id.hpp>
+#include <mbgl/util/image.hpp>
+#include <mbgl/actor/actor_ref.hpp>
+
+#include <map>
+#include <memory>
+#include <tuple>
+#include <unordered_map>
+#include <vector>
+
+namespace mbgl {
+
+class CustomRasterTile;
+
+namespace style {
+
+class CustomRasterTileLoader : private util::noncopyable {
+public:
+
+    using OverscaledIDFunctionTuple = std::tuple<uint8_t, int16_t, ActorRef<CustomRasterTile>>;
+
+    CustomRasterTileLoader(const TileFunction& fetchTileFn, const TileFunction& cancelTileFn);
+
+    void fetchTile(const OverscaledTileID& tileID, ActorRef<CustomRasterTile> tileRef);
+    void cancelTile(const OverscaledTileID& tileID);
+
+    void removeTile(const OverscaledTileID& tileID);
+    void setTileData(const CanonicalTileID& tileID, std::shared_ptr<PremultipliedImage> image);
+
+    void invalidateTile(const CanonicalTileID&);
+    void invalidateRegion(const LatLngBounds&);
+
+private:
+    void invokeTileFetch(const CanonicalTileID& tileID);
+    void invokeTileCancel(const CanonicalTileID& tileID);
+
+    TileFunction fetchTileFunction;
+    TileFunction cancelTileFunction;
+    std::unordered_map<CanonicalTileID, std::vector<OverscaledIDFunctionTuple>> tileCallbackMap;
+    // Images are shared by wrapped and over-zoomed tiles of the same canonical tile
+    std::map<CanonicalTileID, std::shared_ptr<PremultipliedImage>> dataCache;
+
+};
+
+} // namespace style
+} // namespace mbgl
@@ -5,6 +5,18 @@
 namespace mbgl {
 namespace style {
 
+static void deliverTileData(ActorRef<CustomGeometryTile> tileRef,
+                            const variant<GeoJSON, std::shared_ptr<const std::string>>& data) {
+    data.match(
+        [&] (const GeoJSON& geoJSON) {
+            tileRef.invoke(&CustomGeometryTile::setTileData, geoJSON);
+        },
+        [&] (const std::shared_ptr<const std::string>& vectorTile) {
+            tileRef.invoke(&CustomGeometryTile::setVectorTileData, vectorTile);
+        }
+    );
+}
+
 CustomTileLoader::CustomTileLoader(const TileFunction& fetchTileFn, const TileFunction& cancelTileFn) {
     fetchTileFunction = fetchTileFn;
     cancelTileFunction = cancelTileFn;
@@ -13,7 +25,7 @@ CustomTileLoader::CustomTileLoader(const TileFunction& fetchTileFn, const TileFu
 void CustomTileLoader::fetchTile(const OverscaledTileID& tileID, ActorRef<CustomGeometryTile> tileRef) {
     auto cachedTileData = dataCache.find(tileID.canonical);
     if (cachedTileData != dataCache.end()) {
-        tileRef.invoke(&CustomGeometryTile::setTileData, *(cachedTileData->second));
+        deliverTileData(tileRef, *(cachedTileData->second));
     }
     auto tileCallbacks = tileCallbackMap.find(tileID.canonical);
     if (tileCallbacks == tileCallbackMap.end()) {
@@ -56,17 +68,28 @@ void CustomTileLoader::removeTile(const OverscaledTileID& tileID) {
 }
 
 void CustomTileLoader::setTileData(const CanonicalTileID& tileID, const GeoJSON& data) {
+    storeTileData(tileID, std::make_unique<TileData>(data));
+}
 
+void CustomTileLoader::setVectorTileData(const CanonicalTileID& tileID, std::shared_ptr<const std::string> data) {
+    storeTileData(tileID, std::make_unique<TileData>(std::move(data)));
+}
+
+void CustomTileLoader::storeTileData(const CanonicalTileID& tileID, std::unique_ptr<TileData> dataPtr) {
     auto iter = tileCallbackMap.find(tileID);
     if (iter == tileCallbackMap.end()) return;
-    auto dataPtr = std::make_unique<mapbox::geojson::geojson>(std::move(data));
     for (auto tuple : iter->second) {
-        auto actor = std::get<2>(tuple);
-        actor.invoke(&CustomGeometryTile::setTileData, *dataPtr);
+        deliverTileData(std::get<2>(tuple), *dataPtr);
     }
     dataCache[tileID] = std::move(dataPtr);
 }
 
+void CustomTileLoader::setTileDataBatch(const std::vector<std::pair<CanonicalTileID, GeoJSON>>& tiles) {
+    for (const auto& tile : tiles) {
+        setTileData(tile.first, tile.second);
+    }
+}
+
 void CustomTileLoader::invalidateTile(const CanonicalTileID& tileID) {
     auto tileCallbacks = tileCallbackMap.find(tileID);
     if (tileCallbacks == tileCallbackMap.end()) { return; }
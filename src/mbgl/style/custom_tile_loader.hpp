@@ -4,8 +4,11 @@
 #include <mbgl/tile/tile_id.hpp>
 #include <mbgl/util/geojson.hpp>
 #include <mbgl/actor/actor_ref.hpp>
+#include <mbgl/util/variant.hpp>
 
 #include <map>
+#include <memory>
+#include <string>
 
 namespace mbgl {
 
@@ -25,11 +28,17 @@ public:
 
     void removeTile(const OverscaledTileID& tileID);
     void setTileData(const CanonicalTileID& tileID, const GeoJSON& data);
+    void setTileDataBatch(const std::vector<std::pair<CanonicalTileID, GeoJSON>>& tiles);
+    void setVectorTileData(const CanonicalTileID& tileID, std::shared_ptr<const std::string> data);
 
     void invalidateTile(const CanonicalTileID&);
     void invalidateRegion(const LatLngBounds&, Range<uint8_t>);
 
 private:
+    // Tile data is either GeoJSON or an encoded vector tile
+    using TileData = variant<GeoJSON, std::shared_ptr<const std::string>>;
+
+    void storeTileData(const CanonicalTileID& tileID, std::unique_ptr<TileData> data);
     void invokeTileFetch(const CanonicalTileID& tileID);
     void invokeTileCancel(const CanonicalTileID& tileID);
 
@@ -37,7 +46,7 @@ private:
     TileFunction cancelTileFunction;
     std::unordered_map<CanonicalTileID, std::vector<OverscaledIDFunctionTuple>> tileCallbackMap;
     // Keep around a cache of tile data to serve back for wrapped and over-zooomed tiles
-    std::map<CanonicalTileID, std::unique_ptr<GeoJSON>> dataCache;
+    std::map<CanonicalTileID, std::unique_ptr<TileData>> dataCache;
 
 };
 
@@ -0,0 +1,43 @@
+#include <mbgl/style/sources/custom_raster_source.hpp>
+#include <mbgl/style/custom_raster_tile_loader.hpp>
+#include <mbgl/style/sources/custom_raster_source_impl.hpp>
+#include <mbgl/actor/actor.hpp>
+#include <mbgl/actor/scheduler.hpp>
+#include <mbgl/tile/tile_id.hpp>
+#include <mbgl/util/shared_thread_pool.hpp>
+
+namespace mbgl {
+namespace style {
+
+CustomRasterSource::CustomRasterSource(std::string id,
+                                       const CustomRasterSource::Options options)
+    : Source(makeMutable<CustomRasterSource::Impl>(std::move(id), options)),
+    loader(std::make_unique<Actor<CustomRasterTileLoader>>(*sharedThreadPool(), options.fetchTileFunction, options.cancelTileFunction)) {
+}
+
+CustomRasterSource::~CustomRasterSource() = default;
+
+const CustomRasterSource::Impl& CustomRasterSource::impl() const {
+    return static_cast<const CustomRasterSource::Impl&>(*baseImpl);
+}
+
+void CustomRasterSource::loadDescription(FileSource&) {
+    baseImpl = makeMutable<CustomRasterSource::Impl>(impl(), loader->self());
+    loaded = true;
+}
+
+void CustomRasterSource::setTileData(const CanonicalTileID& tileID,
+                                     std::shared_ptr<PremultipliedImage> image) {
+    loader->invoke(&CustomRasterTileLoader::setTileData, tileID, std::move(image));
+}
+
+void CustomRasterSource::invalidateTile(const CanonicalTileID& tileID) {
+    loader->invoke(&CustomRasterTileLoader::invalidateTile, tileID);
+}
+
+void CustomRasterSource::invalidateRegion(const LatLngBounds& bounds) {
+    loader->invoke(&CustomRasterTileLoader::invalidateRegion, bounds);
+}
+
+} // namespace style
+} // namespace mbgl
@@ -0,0 +1,38 @@
+#include <mbgl/style/sources/custom_raster_source_impl.hpp>
+
+namespace mbgl {
+namespace style {
+
+CustomRasterSource::Impl::Impl(std::string id_,
+                               const CustomRasterSource::Options options)
+    : Source::Impl(SourceType::CustomRaster, std::move(id_)),
+      tileSize(options.tileSize),
+      zoomRange(options.zoomRange),
+      loaderRef({}) {
+}
+
+CustomRasterSource::Impl::Impl(const Impl& impl, ActorRef<CustomRasterTileLoader> loaderRef_)
+    : Source::Impl(impl),
+      tileSize(impl.tileSize),
+      zoomRange(impl.zoomRange),
+      loaderRef(loaderRef_) {
+}
+
+optional<std::string> CustomRasterSource::Impl::getAttribution() const {
+    return {};
+}
+
+uint16_t CustomRasterSource::Impl::getTileSize() const {
+    return tileSize;
+}
+
+Range<uint8_t> CustomRasterSource::Impl::getZoomRange() const {
+    return zoomRange;
+}
+
+optional<ActorRef<CustomRasterTileLoader>> CustomRasterSource::Impl::getTileLoader() const {
+    return loaderRef;
+}
+
+} // namespace style
+} // namespace mbgl
@@ -0,0 +1,29 @@
+#pragma once
+
+#include <mbgl/style/source_impl.hpp>
+#include <mbgl/style/sources/custom_raster_source.hpp>
+#include <mbgl/style/custom_raster_tile_loader.hpp>
+#include <mbgl/actor/actor_ref.hpp>
+
+namespace mbgl {
+namespace style {
+
+class CustomRasterSource::Impl : public Source::Impl {
+public:
+    Impl(std::string id, CustomRasterSource::Options options);
+    Impl(const Impl&, ActorRef<CustomRasterTileLoader>);
+
+    optional<std::string> getAttribution() const final;
+
+    uint16_t getTileSize() const;
+    Range<uint8_t> getZoomRange() const;
+    optional<ActorRef<CustomRasterTileLoader>> getTileLoader() const;
+
+private:
+    uint16_t tileSize;
+    Range<uint8_t> zoomRange;
+    optional<ActorRef<CustomRasterTileLoader>> loaderRef;
+};
+
+} // namespace style
+} // namespace mbgl
@@ -36,6 +36,12 @@ void GeoJSONSource::setGeoJSON(const mapbox::geojson::geojson& geoJSON) {
     observer->onSourceChanged(*this);
 }
 
+void GeoJSONSource::setGeoJSONData(std::shared_ptr<GeoJSONData> data) {
+    req.reset();
+    baseImpl = makeMutable<Impl>(impl(), std::move(data));
+    observer->onSourceChanged(*this);
+}
+
 optional<std::string> GeoJSONSource::getURL() const {
     return url;
 }
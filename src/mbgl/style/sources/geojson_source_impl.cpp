@@ -7,6 +7,7 @@
 #include <supercluster.hpp>
 
 #include <cmath>
+#include <mutex>
 
 namespace mbgl {
 namespace style {
@@ -39,14 +40,26 @@ private:
     mapbox::supercluster::Supercluster impl;
 };
 
-GeoJSONSource::Impl::Impl(std::string id_, GeoJSONOptions options_)
-    : Source::Impl(SourceType::GeoJSON, std::move(id_)),
-      options(std::move(options_)) {
-}
+// Data returned by GeoJSONSource::createData. Tiles are created lazily and the data may be
+// shared by the render threads of several maps, so tile creation is serialized.
+class SharedGeoJSONData : public GeoJSONData {
+public:
+    explicit SharedGeoJSONData(std::unique_ptr<GeoJSONData> data_)
+        : data(std::move(data_)) {}
 
-GeoJSONSource::Impl::Impl(const Impl& other, const GeoJSON& geoJSON)
-    : Source::Impl(other),
-      options(other.options) {
+    mapbox::geometry::feature_collection<int16_t> getTile(const CanonicalTileID& tileID) final {
+        std::lock_guard<std::mutex> lock(mutex);
+        return data->getTile(tileID);
+    }
+
+private:
+    std::mutex mutex;
+    std::unique_ptr<GeoJSONData> data;
+};
+
+namespace {
+
+std::unique_ptr<GeoJSONData> createUnsharedData(const GeoJSON& geoJSON, const GeoJSONOptions& options) {
     double scale = util::EXTENT / util::tileSize;
 
     if (options.cluster
@@ -56,7 +69,7 @@ GeoJSONSource::Impl::Impl(const Impl& other, const GeoJSON& geoJSON)
         clusterOptions.maxZoom = options.clusterMaxZoom;
         clusterOptions.extent = util::EXTENT;
         clusterOptions.radius = ::round(scale * options.clusterRadius);
-        data = std::make_unique<SuperclusterData>(
+        return std::make_unique<SuperclusterData>(
             geoJSON.get<mapbox::geometry::feature_collection<double>>(), clusterOptions);
     } else {
         mapbox::geojsonvt::Options vtOptions;
@@ -64,10 +77,31 @@ GeoJSONSource::Impl::Impl(const Impl& other, const GeoJSON& geoJSON)
         vtOptions.extent = util::EXTENT;
         vtOptions.buffer = ::round(scale * options.buffer);
         vtOptions.tolerance = scale * options.tolerance;
-        data = std::make_unique<GeoJSONVTData>(geoJSON, vtOptions);
+        return std::make_unique<GeoJSONVTData>(geoJSON, vtOptions);
     }
 }
 
+} // namespace
+
+GeoJSONSource::Impl::Impl(std::string id_, GeoJSONOptions options_)
+    : Source::Impl(SourceType::GeoJSON, std::move(id_)),
+      options(std::move(options_)) {
+}
+
+std::shared_ptr<GeoJSONData> GeoJSONSource::createData(const GeoJSON& geoJSON, const GeoJSONOptions& options) {
+    return std::make_shared<SharedGeoJSONData>(createUnsharedData(geoJSON, options));
+}
+
+GeoJSONSource::Impl::Impl(const Impl& other, const GeoJSON& geoJSON)
+    : Impl(other, std::shared_ptr<GeoJSONData>(createUnsharedData(geoJSON, other.options))) {
+}
+
+GeoJSONSource::Impl::Impl(const Impl& other, std::shared_ptr<GeoJSONData> data_)
+    : Source::Impl(other),
+      options(other.options),
+      data(std::move(data_)) {
+}
+
 GeoJSONSource::Impl::~Impl() = default;
 
 Range<uint8_t> GeoJSONSource::Impl::getZoomRange() const {
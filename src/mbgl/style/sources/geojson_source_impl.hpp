@@ -21,6 +21,7 @@ class GeoJSONSource::Impl : public Source::Impl {
 public:
     Impl(std::string id, GeoJSONOptions);
     Impl(const GeoJSONSource::Impl&, const GeoJSON&);
+    Impl(const GeoJSONSource::Impl&, std::shared_ptr<GeoJSONData>);
     ~Impl() final;
 
     Range<uint8_t> getZoomRange() const;
@@ -30,7 +31,9 @@ public:
 
 private:
     GeoJSONOptions options;
-    std::unique_ptr<GeoJSONData> data;
+
+    // Shared with the sources the data was set on, possibly across maps
+    std::shared_ptr<GeoJSONData> data;
 };
 
 } // namespace style
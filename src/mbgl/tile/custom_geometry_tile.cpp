@@ -1,5 +1,7 @@
 #include <mbgl/tile/custom_geometry_tile.hpp>
 #include <mbgl/tile/geojson_tile_data.hpp>
+#include <mbgl/tile/vector_tile_data.hpp>
+#include <mbgl/util/optional.hpp>
 #include <mbgl/renderer/query.hpp>
 #include <mbgl/renderer/tile_parameters.hpp>
 #include <mbgl/actor/scheduler.hpp>
@@ -12,6 +14,38 @@
 
 namespace mbgl {
 
+namespace {
+
+// Vector tile data of a custom source. Style layers of custom sources usually have no source layer,
+// these use the first layer of the tile.
+class CustomVectorTileData : public VectorTileData {
+public:
+    CustomVectorTileData(std::shared_ptr<const std::string> data_)
+        : VectorTileData(data_), data(std::move(data_)) {
+    }
+
+    std::unique_ptr<GeometryTileData> clone() const override {
+        return std::make_unique<CustomVectorTileData>(data);
+    }
+
+    std::unique_ptr<GeometryTileLayer> getLayer(const std::string& name) const override {
+        if (!name.empty()) {
+            return VectorTileData::getLayer(name);
+        }
+        if (!firstLayer) {
+            auto names = layerNames();
+            firstLayer = names.empty() ? std::string() : names.front();
+        }
+        return VectorTileData::getLayer(*firstLayer);
+    }
+
+private:
+    std::shared_ptr<const std::string> data;
+    mutable optional<std::string> firstLayer;
+};
+
+} // namespace
+
 CustomGeometryTile::CustomGeometryTile(const OverscaledTileID& overscaledTileID,
                          std::string sourceID_,
                          const TileParameters& parameters,
@@ -46,6 +80,13 @@ void CustomGeometryTile::setTileData(const GeoJSON& geoJSON) {
     setData(std::make_unique<GeoJSONTileData>(std::move(featureData)));
 }
 
+void CustomGeometryTile::setVectorTileData(std::shared_ptr<const std::string> data) {
+    if (!data || data->empty()) {
+        setNecessity(TileNecessity::Optional);
+    }
+    setData(data ? std::make_unique<CustomVectorTileData>(std::move(data)) : nullptr);
+}
+
 void CustomGeometryTile::invalidateTileData() {
     stale = true;
     observer->onTileChanged(*this);
@@ -6,6 +6,9 @@
 #include <mbgl/util/geojson.hpp>
 #include <mbgl/actor/mailbox.hpp>
 
+#include <memory>
+#include <string>
+
 namespace mbgl {
 
 class TileParameters;
@@ -24,6 +27,7 @@ public:
     ~CustomGeometryTile() override;
 
     void setTileData(const GeoJSON& data);
+    void setVectorTileData(std::shared_ptr<const std::string> data);
     void invalidateTileData();
 
     void setNecessity(TileNecessity) final;
@@ -0,0 +1,71 @@
+#include <mbgl/tile/custom_raster_tile.hpp>
+#include <mbgl/tile/tile_observer.hpp>
+#include <mbgl/style/custom_raster_tile_loader.hpp>
+#include <mbgl/renderer/buckets/raster_bucket.hpp>
+#include <mbgl/actor/scheduler.hpp>
+
+namespace mbgl {
+
+CustomRasterTile::CustomRasterTile(const OverscaledTileID& overscaledTileID,
+                                   ActorRef<style::CustomRasterTileLoader> loader_)
+    : Tile(overscaledTileID),
+    necessity(TileNecessity::Optional),
+    loader(loader_),
+    mailbox(std::make_shared<Mailbox>(*Scheduler::GetCurrent())),
+    actorRef(*this, mailbox) {
+}
+
+CustomRasterTile::~CustomRasterTile() {
+    loader.invoke(&style::CustomRasterTileLoader::removeTile, id);
+}
+
+// The image is decoded by the application and shared with the other tiles of the same canonical tile,
+// no worker is involved.
+void CustomRasterTile::setTileData(std::shared_ptr<PremultipliedImage> image) {
+    if (image && image->valid()) {
+        bucket = std::make_unique<RasterBucket>(std::move(image));
+    } else {
+        bucket.reset();
+        setNecessity(TileNecessity::Optional);
+    }
+    loaded = true;
+    pending = false;
+    renderable = bucket ? true : false;
+    observer->onTileChanged(*this);
+}
+
+void CustomRasterTile::invalidateTileData() {
+    stale = true;
+    observer->onTileChanged(*this);
+}
+
+// Like custom geometry tiles, only required tiles make fetchTile requests.
+void CustomRasterTile::setNecessity(TileNecessity newNecessity) {
+    if (newNecessity != necessity || stale) {
+        necessity = newNecessity;
+        if (necessity == TileNecessity::Required) {
+            loader.invoke(&style::CustomRasterTileLoader::fetchTile, id, actorRef);
+            stale = false;
+        } else if (!isRenderable()) {
+            loader.invoke(&style::CustomRasterTileLoader::cancelTile, id);
+        }
+    }
+}
+
+void CustomRasterTile::upload(gl::Context& context) {
+    if (bucket) {
+        bucket->upload(context);
+    }
+}
+
+Bucket* CustomRasterTile::getBucket(const style::Layer::Impl&) const {
+    return bucket.get();
+}
+
+void CustomRasterTile::setMask(TileMask&& mask) {
+    if (bucket) {
+        bucket->setMask(std::move(mask));
+    }
+}
+
+} // namespace mbgl
@@ -0,0 +1,44 @@
+#pragma once
+
+#include <mbgl/tile/tile.hpp>
+#include <mbgl/util/image.hpp>
+#include <mbgl/actor/actor_ref.hpp>
+#include <mbgl/actor/mailbox.hpp>
+
+#include <memory>
+
+namespace mbgl {
+
+class RasterBucket;
+
+namespace style {
+class CustomRasterTileLoader;
+} // namespace style
+
+class CustomRasterTile : public Tile {
+public:
+    CustomRasterTile(const OverscaledTileID&,
+                     ActorRef<style::CustomRasterTileLoader> loader);
+    ~CustomRasterTile() override;
+
+    void setTileData(std::shared_ptr<PremultipliedImage> image);
+    void invalidateTileData();
+
+    void setNecessity(TileNecessity) final;
+
+    void upload(gl::Context&) override;
+    Bucket* getBucket(const style::Layer::Impl&) const override;
+
+    void setMask(TileMask&&) override;
+
+private:
+    bool stale = true;
+    TileNecessity necessity;
+    ActorRef<style::CustomRasterTileLoader> loader;
+    std::shared_ptr<Mailbox> mailbox;
+    ActorRef<CustomRasterTile> actorRef;
+
+    std::unique_ptr<RasterBucket> bucket;
+};
+
+} // namespace mbgl
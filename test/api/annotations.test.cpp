@@ -188,6 +188,23 @@ TEST(Annotations, UpdateSymbolAnnotationGeometry) {
     test.checkRendering("update_point");
 }
 
+TEST(Annotations, UpdateSymbolAnnotationsBatch) {
+    AnnotationTest test;
+
+    test.map.getStyle().loadJSON(util::read_file("test/fixtures/api/empty.json"));
+    test.map.addAnnotationImage(namedMarker("default_marker"));
+    AnnotationID point = test.map.addAnnotation(SymbolAnnotation { Point<double> { 0, 0 }, "default_marker" });
+
+    test.frontend.render(test.map);
+
+    // Later updates of the same annotation in a batch win.
+    test.map.updateAnnotations({
+        { point, SymbolAnnotation { Point<double> { 10, 0 }, "default_marker" } },
+        { point, SymbolAnnotation { Point<double> { -10, 0 }, "default_marker" } }
+    });
+    test.checkRendering("update_point");
+}
+
 TEST(Annotations, UpdateSymbolAnnotationIcon) {
     AnnotationTest test;
 
@@ -219,6 +236,22 @@ TEST(Annotations, UpdateLineAnnotationGeometry) {
     test.checkRendering("update_line_geometry");
 }
 
+TEST(Annotations, AppendLineAnnotationPoints) {
+    AnnotationTest test;
+
+    LineAnnotation annotation { LineString<double> {{ { 0, 0 }, { 45, 45 } }} };
+    annotation.color = Color::red();
+    annotation.width = { 5 };
+
+    test.map.getStyle().loadJSON(util::read_file("test/fixtures/api/empty.json"));
+    AnnotationID line = test.map.addAnnotation(annotation);
+
+    test.frontend.render(test.map);
+
+    test.map.appendAnnotationPoints(line, LineString<double> {{ { 30, 0 } }});
+    test.checkRendering("line_annotation");
+}
+
 TEST(Annotations, UpdateLineAnnotationStyle) {
     AnnotationTest test;
 
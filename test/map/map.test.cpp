@@ -99,6 +99,30 @@ TEST(Map, LatLngsToCamera) {
     EXPECT_NEAR(virtualCamera.center->longitude(), 74.97437, 1e-5);
 }
 
+TEST(Map, ProjectBatch) {
+    MapTest<> test;
+
+    test.map.setLatLngZoom({ 10, 175 }, 3);
+    test.map.setBearing(30);
+
+    std::vector<LatLng> latLngs {{ 10, 175 }, { 20, -170 }, { -5, 160 }};
+    std::vector<ScreenCoordinate> pixels = test.map.pixelsForLatLngs(latLngs);
+    ASSERT_EQ(latLngs.size(), pixels.size());
+    for (std::size_t i = 0; i < latLngs.size(); i++) {
+        ScreenCoordinate pixel = test.map.pixelForLatLng(latLngs[i]);
+        EXPECT_DOUBLE_EQ(pixel.x, pixels[i].x);
+        EXPECT_DOUBLE_EQ(pixel.y, pixels[i].y);
+    }
+
+    std::vector<LatLng> unprojected = test.map.latLngsForPixels(pixels);
+    ASSERT_EQ(pixels.size(), unprojected.size());
+    for (std::size_t i = 0; i < pixels.size(); i++) {
+        LatLng latLng = test.map.latLngForPixel(pixels[i]);
+        EXPECT_DOUBLE_EQ(latLng.latitude(), unprojected[i].latitude());
+        EXPECT_DOUBLE_EQ(latLng.longitude(), unprojected[i].longitude());
+    }
+}
+
 TEST(Map, CameraToLatLngBounds) {
     MapTest<> test;
 
@@ -9,6 +9,7 @@
 #include <mbgl/style/sources/raster_dem_source.hpp>
 #include <mbgl/style/sources/vector_source.hpp>
 #include <mbgl/style/sources/geojson_source.hpp>
+#include <mbgl/style/sources/geojson_source_impl.hpp>
 #include <mbgl/style/sources/image_source.hpp>
 #include <mbgl/style/sources/custom_geometry_source.hpp>
 #include <mbgl/style/layers/hillshade_layer.cpp>
@@ -708,6 +709,28 @@ TEST(Source, GeoJSonSourceUrlUpdate) {
     test.run();
 }
 
+TEST(Source, GeoJSONSourceSharedData) {
+    std::shared_ptr<GeoJSONData> data = GeoJSONSource::createData(GeoJSON{ FeatureCollection{} });
+
+    GeoJSONSource source1("source1");
+    GeoJSONSource source2("source2");
+    StubStyleObserver observer;
+    source1.setObserver(&observer);
+    source2.setObserver(&observer);
+
+    source1.setGeoJSONData(data);
+    source2.setGeoJSONData(data);
+
+    // Both sources reference the same data instead of a copy
+    EXPECT_EQ(data.get(), source1.impl().getData());
+    EXPECT_EQ(data.get(), source2.impl().getData());
+    EXPECT_EQ(3, data.use_count());
+
+    source1.setGeoJSON(GeoJSON{ FeatureCollection{} });
+    EXPECT_NE(data.get(), source1.impl().getData());
+    EXPECT_EQ(2, data.use_count());
+}
+
 TEST(Source, ImageSourceImageUpdate) {
     SourceTest test;
 
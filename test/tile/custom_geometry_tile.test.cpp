@@ -11,6 +11,9 @@
 #include <mbgl/renderer/tile_parameters.hpp>
 #include <mbgl/style/style.hpp>
 #include <mbgl/style/layers/circle_layer.hpp>
+#include <mbgl/style/layers/fill_layer.hpp>
+#include <mbgl/renderer/query.hpp>
+#include <mbgl/util/io.hpp>
 #include <mbgl/annotation/annotation_manager.hpp>
 #include <mbgl/renderer/image_manager.hpp>
 #include <mbgl/text/glyph_manager.hpp>
@@ -128,3 +131,70 @@ TEST(CustomGeometryTile, InvokeTileChanged) {
         test.loop.runOnce();
     }
 }
+
+TEST(CustomGeometryTile, SetTileDataBatch) {
+    CustomTileTest test;
+
+    CircleLayer layer("circle", "source");
+
+    mapbox::geometry::feature_collection<double> features;
+    features.push_back(mapbox::geometry::feature<double> {
+        mapbox::geometry::point<double>(0, 0)
+    });
+
+    std::vector<CanonicalTileID> fetched;
+    CustomTileLoader loader([&](const CanonicalTileID& tileId) {
+        fetched.push_back(tileId);
+    }, nullptr);
+    auto mb =std::make_shared<Mailbox>(*Scheduler::GetCurrent());
+    ActorRef<CustomTileLoader> loaderActor(loader, mb);
+
+    CustomGeometryTile tileA(OverscaledTileID(1, 0, 0), "source", test.tileParameters, CustomGeometrySource::TileOptions(),
+    loaderActor);
+    CustomGeometryTile tileB(OverscaledTileID(1, 1, 0), "source", test.tileParameters, CustomGeometrySource::TileOptions(),
+    loaderActor);
+    tileA.setLayers({{ layer.baseImpl }});
+    tileB.setLayers({{ layer.baseImpl }});
+
+    tileA.setNecessity(TileNecessity::Required);
+    tileB.setNecessity(TileNecessity::Required);
+    while (fetched.size() < 2) {
+        test.loop.runOnce();
+    }
+
+    loader.setTileDataBatch({
+        { CanonicalTileID(1, 0, 0), GeoJSON { features } },
+        { CanonicalTileID(1, 1, 0), GeoJSON { features } }
+    });
+
+    while (!tileA.isComplete() || !tileB.isComplete()) {
+        test.loop.runOnce();
+    }
+}
+
+TEST(CustomGeometryTile, VectorTileData) {
+    CustomTileTest test;
+
+    // The first layer of the tile is used by style layers without a source layer
+    FillLayer layer("water", "source");
+
+    CustomTileLoader loader(nullptr, nullptr);
+    auto mb =std::make_shared<Mailbox>(*Scheduler::GetCurrent());
+    ActorRef<CustomTileLoader> loaderActor(loader, mb);
+
+    CustomGeometryTile tile(OverscaledTileID(0, 0, 0), "source", test.tileParameters, CustomGeometrySource::TileOptions(),
+    loaderActor);
+
+    tile.setLayers({{ layer.baseImpl }});
+    tile.setVectorTileData(std::make_shared<std::string>(util::read_file("test/fixtures/api/assets/streets/0-0-0.vector.pbf")));
+
+    while (!tile.isComplete()) {
+        test.loop.runOnce();
+    }
+
+    ASSERT_NE(nullptr, tile.getBucket(*layer.baseImpl));
+
+    std::vector<Feature> features;
+    tile.querySourceFeatures(features, SourceQueryOptions());
+    EXPECT_FALSE(features.empty());
+}
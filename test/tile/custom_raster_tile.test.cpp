@@ -0,0 +1,80 @@
+#include <mbgl/test/util.hpp>
+#include <mbgl/test/stub_tile_observer.hpp>
+#include <mbgl/style/sources/custom_raster_source.hpp>
+#include <mbgl/tile/custom_raster_tile.hpp>
+#include <mbgl/style/custom_raster_tile_loader.hpp>
+#include <mbgl/style/layers/raster_layer.hpp>
+
+#include <mbgl/util/run_loop.hpp>
+
+#include <memory>
+
+using namespace mbgl;
+using namespace mbgl::style;
+
+TEST(CustomRasterTile, InvokeFetchTile) {
+    util::RunLoop loop;
+
+    CustomRasterTileLoader loader([&](const CanonicalTileID& tileId) {
+        EXPECT_EQ(tileId, CanonicalTileID(0,0,0));
+        loop.stop();
+    }, nullptr);
+    auto mb = std::make_shared<Mailbox>(*Scheduler::GetCurrent());
+    ActorRef<CustomRasterTileLoader> loaderActor(loader, mb);
+
+    CustomRasterTile tile(OverscaledTileID(0, 0, 0), loaderActor);
+    tile.setNecessity(TileNecessity::Required);
+
+    loop.run();
+}
+
+TEST(CustomRasterTile, SetTileData) {
+    util::RunLoop loop;
+    RasterLayer layer("raster", "source");
+
+    bool fetched = false;
+    CustomRasterTileLoader loader([&](const CanonicalTileID&) {
+        fetched = true;
+    }, nullptr);
+    auto mb = std::make_shared<Mailbox>(*Scheduler::GetCurrent());
+    ActorRef<CustomRasterTileLoader> loaderActor(loader, mb);
+
+    CustomRasterTile tile(OverscaledTileID(1, 0, 1, 0, 0), loaderActor);
+    CustomRasterTile wrapped(OverscaledTileID(1, 1, 1, 0, 0), loaderActor);
+    tile.setNecessity(TileNecessity::Required);
+    wrapped.setNecessity(TileNecessity::Required);
+    while (!fetched) {
+        loop.runOnce();
+    }
+
+    StubTileObserver observer;
+    observer.tileChanged = [&] (const Tile& changed) {
+        ASSERT_NE(nullptr, changed.getBucket(*layer.baseImpl));
+    };
+    tile.setObserver(&observer);
+    wrapped.setObserver(&observer);
+
+    // A single image is shared by both tiles
+    loader.setTileData(CanonicalTileID(1, 0, 0), std::make_shared<PremultipliedImage>(Size { 256, 256 }));
+
+    while (!tile.isRenderable() || !wrapped.isRenderable()) {
+        loop.runOnce();
+    }
+    EXPECT_TRUE(tile.isComplete());
+    EXPECT_TRUE(wrapped.isComplete());
+}
+
+TEST(CustomRasterTile, EmptyTile) {
+    util::RunLoop loop;
+
+    CustomRasterTileLoader loader(nullptr, nullptr);
+    auto mb = std::make_shared<Mailbox>(*Scheduler::GetCurrent());
+    ActorRef<CustomRasterTileLoader> loaderActor(loader, mb);
+
+    CustomRasterTile tile(OverscaledTileID(0, 0, 0), loaderActor);
+    tile.setTileData(nullptr);
+
+    EXPECT_FALSE(tile.isRenderable());
+    EXPECT_TRUE(tile.isLoaded());
+    EXPECT_TRUE(tile.isComplete());
+}